@@ -0,0 +1,130 @@
+package com.dontgoback.msa.extension.config.interserverauth.jwt;
+
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerKeyProperties;
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerKeySet;
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerPublicKeyManager;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 간 JWT 검증(RS256) 비용과 검증 캐시 히트 비용. 인증 서버 없이 로컬에서 만든 RSA 키쌍으로 서명/검증한다.
+ *
+ * reject*: 잘못된 토큰이 몰릴 때 요청당 거부 비용. *Legacy는 사전 검사/거부 캐시를 끈 검증기(모든 토큰을 jjwt로 파싱)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InterServerJwtVerifierBenchmark {
+
+    static final String ISSUER = "dontgoback-auth-server";
+
+    InterServerJwtVerifier verifier;
+    InterServerJwtVerifier legacyVerifier;
+    String token;
+    String expiredToken;
+    String forgedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+        InterServerJwtProperties jwtProperties = new InterServerJwtProperties();
+        jwtProperties.setIssuer(ISSUER);
+
+        // 인증 서버 호출 없이 고정 공개키를 돌려주는 키 매니저
+        InterServerKeySet keySet = InterServerKeySet.of(publicKey);
+        InterServerPublicKeyManager keyManager = new InterServerPublicKeyManager(new InterServerKeyProperties(), null, new SimpleMeterRegistry()) {
+            @Override
+            public InterServerKeySet getKeySet() {
+                return keySet;
+            }
+        };
+        verifier = new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry());
+        verifier.init();
+
+        InterServerJwtProperties legacyProperties = new InterServerJwtProperties();
+        legacyProperties.setIssuer(ISSUER);
+        legacyProperties.getReject().setPrecheck(false);
+        legacyProperties.getReject().setNegativeCacheEnabled(false);
+        legacyVerifier = new InterServerJwtVerifier(legacyProperties, keyManager, new SimpleMeterRegistry());
+        legacyVerifier.init();
+
+        token = token(keyPair, TimeUnit.HOURS.toMillis(1));
+        expiredToken = token(keyPair, -TimeUnit.MINUTES.toMillis(1));
+        forgedToken = token(generator.generateKeyPair(), TimeUnit.HOURS.toMillis(1)); // 형식/iss/exp는 맞고 서명만 틀림
+    }
+
+    private static String token(KeyPair keyPair, long ttlMillis) {
+        return Jwts.builder()
+                .setIssuer(ISSUER)
+                .setSubject("dontgoback-core-server")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    /** 매번 RS256 서명 검증 */
+    @Benchmark
+    public Object parseAndValidate() {
+        return verifier.parseAndValidate(token);
+    }
+
+    /** 검증 완료 토큰 캐시 히트 (SHA-256 + 조회) */
+    @Benchmark
+    public Object authenticateCached() {
+        return verifier.authenticate(token);
+    }
+
+    /** JWT 형식이 아닌 값: 사전 검사에서 거부 (첫 요청 이후는 거부 캐시) */
+    @Benchmark
+    public Object rejectGarbage() {
+        return rejected(verifier, "not-a-jwt");
+    }
+
+    @Benchmark
+    public Object rejectGarbageLegacy() {
+        return rejected(legacyVerifier, "not-a-jwt");
+    }
+
+    /** 만료 토큰 반복 */
+    @Benchmark
+    public Object rejectExpired() {
+        return rejected(verifier, expiredToken);
+    }
+
+    @Benchmark
+    public Object rejectExpiredLegacy() {
+        return rejected(legacyVerifier, expiredToken);
+    }
+
+    /** 서명이 틀린 토큰 반복: 첫 요청만 RSA 검증, 이후 거부 캐시 */
+    @Benchmark
+    public Object rejectForged() {
+        return rejected(verifier, forgedToken);
+    }
+
+    @Benchmark
+    public Object rejectForgedLegacy() {
+        return rejected(legacyVerifier, forgedToken);
+    }
+
+    private static Object rejected(InterServerJwtVerifier target, String badToken) {
+        try {
+            return target.authenticate(badToken);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
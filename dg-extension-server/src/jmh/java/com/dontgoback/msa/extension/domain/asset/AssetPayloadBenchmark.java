@@ -0,0 +1,68 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetResponse;
+import com.dontgoback.msa.extension.responseDto.ResData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * update-asset 한 건의 본문을 형식별(JSON, CBOR, Smile)로 비교한다. (BinaryCodecConfiguration)
+ * - writeResponse: 서버가 ResData<UpdateAssetResponse>를 쓰는 비용
+ * - readRequest: 서버가 UpdateAssetRequest를 읽는 비용
+ * - readResponse: 코어 서버가 응답 봉투를 읽는 비용 (트리로 읽음)
+ * 본문 크기(바이트)는 Setup에서 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AssetPayloadBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    ObjectMapper mapper;
+    ResData<UpdateAssetResponse> response;
+    byte[] responseBytes;
+    byte[] requestBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException(format);
+        };
+        mapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build(); // Boot 기본값과 같게
+
+        response = ResData.of("S", "Update asset success",
+                new UpdateAssetResponse(1_234_567L, 15_000_000L, 1.0123456789012345, 15_185_185L, "2026-10-18"));
+        responseBytes = mapper.writeValueAsBytes(response);
+        requestBytes = mapper.writeValueAsBytes(Map.of("asset", 15_000_000L, "snapshotDay", "2026-10-18"));
+
+        System.out.printf("%n[%s] response %d B, request %d B%n", format, responseBytes.length, requestBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public UpdateAssetRequest readRequest() throws IOException {
+        return mapper.readValue(requestBytes, UpdateAssetRequest.class);
+    }
+
+    @Benchmark
+    public JsonNode readResponse() throws IOException {
+        return mapper.readTree(responseBytes);
+    }
+}
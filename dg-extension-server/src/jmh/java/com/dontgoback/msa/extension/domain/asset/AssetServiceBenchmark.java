@@ -0,0 +1,69 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AssetService 핫패스 벤치마크.
+ * - updateAssetHit: 이미 배수가 저장된 유저(저장소 히트)
+ * - updateAssetMiss: 매 호출 새로운 유저(생성 + 저장 + 상한 도달 후 eviction)
+ * - generateMultiplier: 로그정규 배수 생성만
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AssetServiceBenchmark {
+
+    static final int HOT_USERS = 100_000;
+    static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    AssetService assetService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AssetProperties props = new AssetProperties();
+        props.getCaffeine().setMaxSize(300_000);
+        props.getCaffeine().setRecordStats(true);
+
+        Clock clock = Clock.fixed(LocalDate.of(2025, 8, 9).atStartOfDay(KST).toInstant(), KST);
+        assetService = new AssetService(props, new ThreadLocalNormalGenerator(), clock, new SimpleMeterRegistry());
+        assetService.init();
+
+        for (long userId = 0; userId < HOT_USERS; userId++) {
+            assetService.updateAsset(userId, 1_000_000L, null);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MissCursor {
+        long nextUserId;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            // 스레드마다 겹치지 않는 userId 구간에서 시작
+            nextUserId = HOT_USERS + ThreadLocalRandom.current().nextLong(1L << 20) * 1_000_000L;
+        }
+    }
+
+    @Benchmark
+    public Object updateAssetHit() {
+        long userId = ThreadLocalRandom.current().nextLong(HOT_USERS);
+        return assetService.updateAsset(userId, 1_000_000L, null);
+    }
+
+    @Benchmark
+    public Object updateAssetMiss(MissCursor cursor) {
+        return assetService.updateAsset(cursor.nextUserId++, 1_000_000L, null);
+    }
+
+    @Benchmark
+    public double generateMultiplier() {
+        return assetService.generateMultiplier();
+    }
+}
@@ -0,0 +1,48 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 표준정규 난수 생성 비용 (단건 / 벌크 64개)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NormalGeneratorBenchmark {
+
+    static final int BULK = 64;
+
+    ThreadLocalNormalGenerator boxMuller = new ThreadLocalNormalGenerator();
+    ZigguratNormalGenerator ziggurat = new ZigguratNormalGenerator();
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        double[] out = new double[BULK];
+    }
+
+    @Benchmark
+    public double threadLocalBoxMuller() {
+        return boxMuller.nextZ();
+    }
+
+    @Benchmark
+    public double ziggurat() {
+        return ziggurat.nextZ();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public double[] threadLocalBoxMullerBulk(Buffer buffer) {
+        boxMuller.nextZ(buffer.out);
+        return buffer.out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public double[] zigguratBulk(Buffer buffer) {
+        ziggurat.nextZ(buffer.out);
+        return buffer.out;
+    }
+}
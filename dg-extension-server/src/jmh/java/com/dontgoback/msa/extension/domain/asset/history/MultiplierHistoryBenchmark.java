@@ -0,0 +1,65 @@
+package com.dontgoback.msa.extension.domain.asset.history;
+
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 1년(365일) 범위 조회 = 날짜 파일 365개에서 이진 탐색 365번.
+ * - yearRange: 유저 한 명의 1년치 배수를 모두 찾아 곱한다 (AssetHistoryService.multiplierHistory의 이력 파일 경로)
+ * 날짜당 엔트리 수(users)는 DAU 규모(임시 디렉터리에 365 × users × 16B). 파일은 페이지 캐시에 올라와 있는 상태를 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MultiplierHistoryBenchmark {
+
+    static final long FIRST_DAY = 20_309L; // 2025-08-09
+    static final int DAYS = 365;
+
+    @Param({"300000"})
+    int users;
+
+    MultiplierHistory history;
+    Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("multiplier-history-bench");
+        history = new MultiplierHistory(directory);
+        history.open();
+        for (int d = 0; d < DAYS; d++) {
+            MultiplierHistory.Batch batch = new MultiplierHistory.Batch();
+            for (long userId = 0; userId < users; userId++) {
+                batch.accept(DailyMultiplierStore.packKey(userId, FIRST_DAY + d), 1.0 + (userId % 100) / 10_000.0);
+            }
+            history.archive(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        history.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public double yearRange() {
+        long userId = ThreadLocalRandom.current().nextLong(users);
+        double compounded = 1.0;
+        for (long day = FIRST_DAY; day < FIRST_DAY + DAYS; day++) {
+            double multiplier = history.find(userId, day);
+            if (!Double.isNaN(multiplier)) compounded *= multiplier;
+        }
+        return compounded;
+    }
+}
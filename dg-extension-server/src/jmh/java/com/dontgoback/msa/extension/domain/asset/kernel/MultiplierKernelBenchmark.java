@@ -0,0 +1,47 @@
+package com.dontgoback.msa.extension.domain.asset.kernel;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배수 1개당 exp/클램프 비용: Math.exp 스칼라 vs Vector API (미리 생성 배치 크기 1024 기준)
+ * jmh 태스크는 --add-modules jdk.incubator.vector로 실행된다. 결과의 kernel 이름으로 실제 구현을 확인할 수 있다.
+ * (x86은 AVX2/AVX-512, 라즈베리파이는 NEON 128bit = 레인 2개)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MultiplierKernelBenchmark {
+
+    static final int BATCH = 1024;
+    static final double SIGMA = 0.02;
+    static final double MU = -0.5 * SIGMA * SIGMA;
+
+    @Param({"scalar", "vector"})
+    String kernel;
+
+    MultiplierKernel implementation;
+    double[] z = new double[BATCH];
+    double[] out = new double[BATCH];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        implementation = "vector".equals(kernel)
+                ? MultiplierKernels.create(MU, SIGMA, 0.95, 1.05, true)
+                : MultiplierKernels.scalar(MU, SIGMA, 0.95, 1.05);
+        System.out.println("kernel=" + implementation.name());
+        Random random = new Random(1);
+        for (int i = 0; i < BATCH; i++) {
+            z[i] = random.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] apply() {
+        implementation.apply(z, out, BATCH);
+        return out;
+    }
+}
@@ -0,0 +1,67 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 일별 배수 로그의 쓰기 오버헤드.
+ * - storeMiss: 새 엔트리 생성 경로. journal=false와의 차이가 엔트리당 로그 기록 비용
+ * 복원 시간은 MultiplierJournal.stats().restoreMillis / 기동 로그로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MultiplierJournalBenchmark {
+
+    static final long DAY = 20_309L; // 2025-08-09
+
+    @Param({"false", "true"})
+    boolean journal;
+
+    DailyMultiplierStore store;
+    MultiplierJournal multiplierJournal;
+    Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        store = new DailyMultiplierStore(300_000, false);
+        if (journal) {
+            directory = Files.createTempDirectory("multiplier-journal-bench");
+            multiplierJournal = new MultiplierJournal(directory, store, 64 * 1024);
+            multiplierJournal.open(Duration.ofSeconds(1), Duration.ofMinutes(10), () -> DAY - 1);
+            store.setInsertListener(multiplierJournal);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (multiplierJournal == null) return;
+        multiplierJournal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MissCursor {
+        long nextUserId;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            nextUserId = ThreadLocalRandom.current().nextLong(1L << 20) * 1_000_000L;
+        }
+    }
+
+    @Benchmark
+    public double storeMiss(MissCursor cursor) {
+        return store.getOrCompute(cursor.nextUserId++, DAY, () -> 1.01);
+    }
+}
@@ -0,0 +1,79 @@
+package com.dontgoback.msa.extension.config.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 응답 지연에 따라 움직이는 동시 처리 한도 (AIMD).
+ *
+ * - 목표 지연 안에 끝난 요청이 한도만큼 쌓이면 +1 (한도의 절반 이상을 쓰고 있을 때만. 한가할 때 부풀지 않도록)
+ * - 목표 지연을 넘긴 요청이 나오면 × backoffRatio. 느린 응답이 한꺼번에 끝나도 목표 지연 간격에 한 번만 줄인다
+ *
+ * 모든 상태는 Atomic 변수이고 갱신은 CAS로만 한다. 시각은 System.nanoTime() 기준
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger fastSinceIncrease = new AtomicInteger();
+    private final AtomicLong lastDecreaseAt;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos,
+                             double backoffRatio, long nowNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit)));
+        this.lastDecreaseAt = new AtomicLong(nowNanos - targetLatencyNanos);
+    }
+
+    /** @return 한도 안이면 true (이때만 release 해야 한다) */
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() <= limit.get()) return true;
+        inFlight.decrementAndGet();
+        return false;
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > targetLatencyNanos) {
+            decrease(nowNanos);
+        } else {
+            increase(inFlightBefore);
+        }
+    }
+
+    /** 지연을 반영하지 않고 자리만 돌려준다 (벌크/스트리밍처럼 지연이 과부하를 뜻하지 않는 요청) */
+    void releaseUnmeasured() {
+        inFlight.decrementAndGet();
+    }
+
+    private void decrease(long nowNanos) {
+        long last = lastDecreaseAt.get();
+        if (nowNanos - last < targetLatencyNanos || !lastDecreaseAt.compareAndSet(last, nowNanos)) return;
+        limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        fastSinceIncrease.set(0);
+    }
+
+    private void increase(int inFlightBefore) {
+        int current = limit.get();
+        if (current >= maxLimit || inFlightBefore * 2 < current) return;
+        if (fastSinceIncrease.incrementAndGet() < current) return;
+        fastSinceIncrease.set(0);
+        limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+    }
+
+    int limit() {
+        return limit.get();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
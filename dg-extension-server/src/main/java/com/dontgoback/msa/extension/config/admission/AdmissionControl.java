@@ -0,0 +1,159 @@
+package com.dontgoback.msa.extension.config.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /msa/ext/api 요청 수용 제어. 인증 필터 다음에서 호출한다. (AdmissionControlFilter, AdmissionControlWebFilter)
+ *
+ * 1. 클라이언트(JWT subject)별 토큰 버킷: 넘치면 429 (일일 갱신/재시도 폭주를 보낸 클라이언트만 늦춘다)
+ * 2. 서버 전체 동시 처리 한도(지연 기반 AIMD): 넘치면 503 (Tomcat 큐에 쌓여 지연이 폭증하기 전에 빨리 거절)
+ *    unmeasured-paths(벌크 NDJSON 등)는 자리만 차지하고 응답 지연은 한도 조정에 쓰지 않는다
+ *
+ * 클라이언트는 인증된 내부 서버뿐이라 클라이언트별 상태를 지우지 않는다.
+ *
+ * 지표
+ * - admission.rate.limit / admission.rate.available {client}: 적용 중인 초당 허용 수, 남은 토큰
+ * - admission.concurrency.limit / admission.concurrency.in-flight: 현재 동시 처리 한도, 처리 중 요청 수
+ * - admission.rejected {reason=rate|concurrency, client}: 거절 수
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionControl {
+
+    static final String ANONYMOUS = "anonymous";
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, ClientState> clients = new ConcurrentHashMap<>();
+    private AdaptiveConcurrencyLimit concurrency;
+
+    @PostConstruct
+    void init() {
+        var props = properties.getConcurrency();
+        concurrency = new AdaptiveConcurrencyLimit(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit(),
+                props.getTargetLatency().toNanos(), props.getBackoffRatio(), System.nanoTime());
+
+        Gauge.builder("admission.concurrency.limit", concurrency, AdaptiveConcurrencyLimit::limit)
+                .description("지연에 맞춰 조정되는 동시 처리 한도")
+                .register(meterRegistry);
+        Gauge.builder("admission.concurrency.in-flight", concurrency, AdaptiveConcurrencyLimit::inFlight)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 요청을 받을지 판정한다. admitted()인 Permit은 응답을 마친 뒤 반드시 release 해야 한다.
+     */
+    public Permit acquire(String clientId) {
+        return acquire(clientId, null);
+    }
+
+    /** path가 unmeasured-paths에 있으면 응답 지연을 한도 조정에 쓰지 않는다 */
+    public Permit acquire(String clientId, String path) {
+        boolean measured = path == null || !properties.getConcurrency().getUnmeasuredPaths().contains(path);
+        ClientState client = clients.computeIfAbsent(clientId, this::newClient);
+        long now = System.nanoTime();
+
+        if (client.bucket() != null) {
+            long waitNanos = client.bucket().tryAcquire(now);
+            if (waitNanos > 0) {
+                client.rateLimited().increment();
+                return new Permit(Outcome.RATE_LIMITED, now, waitNanos, measured);
+            }
+        }
+        if (!concurrency.tryAcquire()) {
+            client.overloaded().increment();
+            return new Permit(Outcome.OVERLOADED, now, TimeUnit.SECONDS.toNanos(1), measured);
+        }
+        return new Permit(Outcome.ADMITTED, now, 0L, measured);
+    }
+
+    public void release(Permit permit) {
+        if (!permit.admitted()) return;
+        if (!permit.measured()) {
+            concurrency.releaseUnmeasured();
+            return;
+        }
+        long now = System.nanoTime();
+        concurrency.release(now - permit.startedAt(), now);
+    }
+
+    /** 인증 필터가 넣은 Authentication의 subject (없으면 anonymous) */
+    public static String clientId(Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) return ANONYMOUS;
+        return authentication.getName();
+    }
+
+    private ClientState newClient(String clientId) {
+        var rate = properties.getRate();
+        var override = rate.getClients().get(clientId);
+        double permitsPerSecond = override != null && override.getPermitsPerSecond() != null
+                ? override.getPermitsPerSecond() : rate.getPermitsPerSecond();
+        int burst = override != null && override.getBurst() != null ? override.getBurst() : rate.getBurst();
+
+        TokenBucket bucket = null;
+        if (permitsPerSecond > 0) {
+            bucket = new TokenBucket(permitsPerSecond, burst, System.nanoTime());
+            Gauge.builder("admission.rate.limit", bucket, TokenBucket::permitsPerSecond)
+                    .tag("client", clientId)
+                    .description("클라이언트별 초당 허용 요청 수")
+                    .register(meterRegistry);
+            Gauge.builder("admission.rate.available", bucket, b -> b.available(System.nanoTime()))
+                    .tag("client", clientId)
+                    .register(meterRegistry);
+        }
+        return new ClientState(bucket,
+                rejected("rate", clientId),
+                rejected("concurrency", clientId));
+    }
+
+    private Counter rejected(String reason, String clientId) {
+        return Counter.builder("admission.rejected")
+                .tag("reason", reason)
+                .tag("client", clientId)
+                .register(meterRegistry);
+    }
+
+    public enum Outcome {
+        ADMITTED,
+        /** 클라이언트별 속도 초과 → 429 */
+        RATE_LIMITED,
+        /** 서버 동시 처리 한도 초과 → 503 */
+        OVERLOADED
+    }
+
+    /**
+     * @param startedAt       판정 시각 (System.nanoTime, 지연 측정 기준)
+     * @param retryAfterNanos 거절 시 다시 시도해도 되는 때까지 남은 시간
+     * @param measured        응답 지연을 동시 처리 한도 조정에 쓸지
+     */
+    public record Permit(Outcome outcome, long startedAt, long retryAfterNanos, boolean measured) {
+
+        public boolean admitted() {
+            return outcome == Outcome.ADMITTED;
+        }
+
+        /** Retry-After 헤더 값 (초, 올림, 최소 1) */
+        public long retryAfterSeconds() {
+            return Math.max(1L, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        }
+    }
+
+    /** bucket은 속도 제한이 없으면 null */
+    private record ClientState(TokenBucket bucket, Counter rateLimited, Counter overloaded) {
+    }
+}
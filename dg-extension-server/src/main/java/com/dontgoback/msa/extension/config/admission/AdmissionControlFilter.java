@@ -0,0 +1,51 @@
+package com.dontgoback.msa.extension.config.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 인증된 요청에 AdmissionControl을 적용한다. 거절은 본문 없이 429/503 + Retry-After.
+ * 빈으로 등록하지 않고 InterServerSecurityConfig의 /msa/ext/api 체인에 인증 필터 다음으로 넣는다.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admission;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!admission.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionControl.Permit permit = admission.acquire(
+                AdmissionControl.clientId(SecurityContextHolder.getContext().getAuthentication()),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (!permit.admitted()) {
+            HttpStatus status = permit.outcome() == AdmissionControl.Outcome.RATE_LIMITED
+                    ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+            response.setStatus(status.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(permit.retryAfterSeconds()));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admission.release(permit);
+        }
+    }
+}
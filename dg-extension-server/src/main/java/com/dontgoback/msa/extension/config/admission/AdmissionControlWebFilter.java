@@ -0,0 +1,43 @@
+package com.dontgoback.msa.extension.config.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * AdmissionControlFilter의 WebFlux 버전 (reactive 프로필).
+ * 인증 필터가 Reactor Context에 넣은 Authentication으로 클라이언트를 구분하고, 응답이 끝나거나 취소되면 release 한다.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlWebFilter implements WebFilter {
+
+    private final AdmissionControl admission;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!admission.isEnabled()) return chain.filter(exchange);
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> AdmissionControl.clientId(context.getAuthentication()))
+                .defaultIfEmpty(AdmissionControl.ANONYMOUS)
+                .flatMap(clientId -> {
+                    AdmissionControl.Permit permit = admission.acquire(clientId,
+                            exchange.getRequest().getPath().pathWithinApplication().value());
+                    if (!permit.admitted()) return reject(exchange.getResponse(), permit);
+                    return chain.filter(exchange).doFinally(signal -> admission.release(permit));
+                });
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, AdmissionControl.Permit permit) {
+        response.setStatusCode(permit.outcome() == AdmissionControl.Outcome.RATE_LIMITED
+                ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(permit.retryAfterSeconds()));
+        return response.setComplete();
+    }
+}
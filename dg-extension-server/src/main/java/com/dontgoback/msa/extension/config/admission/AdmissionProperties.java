@@ -0,0 +1,83 @@
+package com.dontgoback.msa.extension.config.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+    /**
+     * 끄면 /msa/ext/api 요청을 제한 없이 통과시킨다
+     */
+    private boolean enabled = true;
+    private Rate rate = new Rate();
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter @Setter
+    public static class Rate {
+        /**
+         * 클라이언트(JWT subject)별 초당 허용 요청 수. 0 이하면 속도 제한 없음
+         */
+        private double permitsPerSecond = 2_000;
+
+        /**
+         * 쉬고 있던 클라이언트가 한꺼번에 보낼 수 있는 요청 수 (버킷 크기)
+         */
+        private int burst = 2_000;
+
+        /**
+         * 클라이언트별 덮어쓰기. 예: admission.rate.clients.dontgoback-core-server.permits-per-second=500
+         * 비운 값은 위 기본값을 따른다
+         */
+        private Map<String, Client> clients = new HashMap<>();
+    }
+
+    @Getter @Setter
+    public static class Client {
+        private Double permitsPerSecond;
+        private Integer burst;
+    }
+
+    /**
+     * 동시 처리 한도. 응답이 target-latency 안에 나오면 천천히 늘리고(+1), 넘으면 backoff-ratio만큼 줄인다.
+     */
+    @Getter @Setter
+    public static class Concurrency {
+        /**
+         * 기동 직후 한도
+         */
+        private int initialLimit = 64;
+
+        private int minLimit = 8;
+
+        /**
+         * Tomcat 스레드 수(기본 200)보다 작게 두어야 큐에 쌓이기 전에 거부한다
+         */
+        private int maxLimit = 160;
+
+        /**
+         * 이보다 느린 응답이 나오면 과부하로 보고 한도를 줄인다. 줄이는 것도 이 간격에 한 번만
+         */
+        private Duration targetLatency = Duration.ofMillis(500);
+
+        /**
+         * 한 번 줄일 때 곱하는 비율
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * 응답 지연을 한도 조정에 쓰지 않는 경로. 처리 시간이 본문 크기에 비례하는 벌크/스트리밍 요청이
+         * 길게 걸렸다고 서버 전체 한도를 줄이지 않도록 한다. 동시 처리 수에는 그대로 포함된다
+         */
+        private List<String> unmeasuredPaths = List.of("/msa/ext/api/update-assets");
+    }
+}
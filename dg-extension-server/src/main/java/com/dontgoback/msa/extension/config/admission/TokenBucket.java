@@ -0,0 +1,53 @@
+package com.dontgoback.msa.extension.config.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 토큰 버킷 (GCRA 방식). 상태는 "다음 요청이 기다림 없이 들어올 수 있는 이론상 시각" 하나뿐이라
+ * 요청마다 AtomicLong CAS 한 번으로 판정한다. (락 없음, 리필 스레드 없음)
+ *
+ * 시각은 System.nanoTime() 기준이며, 테스트에서 넘길 수 있도록 인자로 받는다.
+ */
+final class TokenBucket {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;   // 토큰 하나가 차는 시간
+    private final long capacityNanos;   // burst개가 차는 시간
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = intervalNanos * this.burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0이면 통과, 아니면 토큰이 하나 찰 때까지 남은 나노초
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) return wait;
+            if (theoreticalArrival.compareAndSet(arrival, next)) return 0L;
+        }
+    }
+
+    /** 지금 남아 있는 토큰 수 (지표용) */
+    double available(long nowNanos) {
+        long backlog = Math.max(0L, theoreticalArrival.get() - nowNanos);
+        return (capacityNanos - backlog) / (double) intervalNanos;
+    }
+
+    double permitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    int burst() {
+        return burst;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dontgoback.msa.extension.config.interserverauth;
+
+import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 서버 간 인증 실패 로그. 잘못된 토큰이 몰려도 로그가 거부 비용이 되지 않도록
+ * 간격(auth.jwt.reject.log-interval)당 WARN 한 줄만 남기고, 그 사이 실패는 개수만 센다.
+ *
+ * 스택 트레이스는 남기지 않는다. 거부 사유(예외 메시지)로 충분하고, 예기치 못한 예외의 스택은 DEBUG로만.
+ * 서블릿/리액티브 필터와 두 보안 체인이 한 인스턴스를 같이 쓴다.
+ */
+@Slf4j
+@Component
+public class InterServerAuthFailureLog {
+
+    private final long intervalNanos;
+    private final AtomicLong nextLogAt;
+    private final LongAdder suppressed = new LongAdder();
+
+    @Autowired
+    public InterServerAuthFailureLog(InterServerJwtProperties jwtProperties) {
+        this(jwtProperties.getReject().getLogInterval());
+    }
+
+    InterServerAuthFailureLog(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextLogAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @param method 요청 메서드
+     * @param path   요청 경로
+     * @param e      검증기가 던진 예외 (IllegalArgumentException = 토큰 거부, 그 외 = 검증 불가)
+     */
+    public void failed(String method, String path, Exception e) {
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+        if (now - next < 0 || !nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return;
+        }
+
+        long skipped = suppressed.sumThenReset();
+        if (e instanceof IllegalArgumentException) {
+            log.warn("서버 간 인증 실패: {} {} - {} (직전 로그 이후 생략 {}건)", method, path, e.getMessage(), skipped);
+        } else {
+            log.warn("서버 간 인증 필터 오류: {} {} - {} (직전 로그 이후 생략 {}건)", method, path, e, skipped);
+            log.debug("서버 간 인증 필터 오류 상세", e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.dontgoback.msa.extension.config.interserverauth;
 
 import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtVerifier;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +28,7 @@ import java.util.Collections;
 public class InterServerAuthenticationFilter extends OncePerRequestFilter {
 
     private final InterServerJwtVerifier jwtVerifier;
+    private final InterServerAuthFailureLog failureLog;
     private final static String HEADER_AUTHORIZATION = "Authorization";
     private final static String TOKEN_PREFIX = "Bearer ";
 
@@ -48,16 +48,14 @@ public class InterServerAuthenticationFilter extends OncePerRequestFilter {
         try {
             // 헤더에서 JWT 받아오기
             String token = extractToken(request);
-            // 토큰 검증 및 내용 반환
-            Claims claims = jwtVerifier.parseAndValidate(token);
-            // 인증 객체 생성 (권한은 없음, clientId만 포함)
-            Authentication authentication = jwtVerifier.getAuthentication(claims);
+            // 토큰 검증 및 인증 객체 생성 (이미 검증한 토큰이면 서명 검증 생략)
+            Authentication authentication = jwtVerifier.authenticate(token);
             // SecurityContext 에 Authentication 객체를 저장
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             log.debug("서버 간 인증 성공");
         } catch (Exception e) {
-            log.error("서버 간 인증 필터 오류", e);
+            failureLog.failed(request.getMethod(), request.getRequestURI(), e); // 간격당 한 줄, 스택 없이
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
@@ -0,0 +1,59 @@
+package com.dontgoback.msa.extension.config.interserverauth;
+
+import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtVerifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * InterServerAuthenticationFilter의 WebFlux 버전 (reactive 프로필).
+ * 요청의 JWT를 검증하고, 인증 객체를 Reactor Context의 SecurityContext에 등록한다.
+ *
+ * 검증은 이벤트 루프 스레드에서 그대로 수행한다. (이미 검증한 토큰은 캐시로 끝나고, 키 조회로 대기하지 않음)
+ * 빈으로 등록하지 않고 InterServerReactiveSecurityConfig에서 직접 생성한다. (전역 WebFilter로 잡히지 않도록)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InterServerAuthenticationWebFilter implements WebFilter {
+
+    private final InterServerJwtVerifier jwtVerifier;
+    private final InterServerAuthFailureLog failureLog;
+    private final static String TOKEN_PREFIX = "Bearer ";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Authentication authentication;
+        try {
+            // 헤더에서 JWT 받아오기 → 토큰 검증 및 인증 객체 생성 (이미 검증한 토큰이면 서명 검증 생략)
+            authentication = jwtVerifier.authenticate(extractToken(exchange.getRequest()));
+            log.debug("서버 간 인증 성공");
+        } catch (Exception e) {
+            ServerHttpRequest request = exchange.getRequest();
+            failureLog.failed(request.getMethod().name(), request.getPath().value(), e); // 간격당 한 줄, 스택 없이
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    /**
+     * Authorization 헤더에서 Bearer 토큰 추출
+     */
+    private String extractToken(ServerHttpRequest request) {
+        String authorizationHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authorizationHeader != null && authorizationHeader.startsWith(TOKEN_PREFIX)) {
+            return authorizationHeader.substring(TOKEN_PREFIX.length());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.dontgoback.msa.extension.config.interserverauth;
+
+import com.dontgoback.msa.extension.config.admission.AdmissionControl;
+import com.dontgoback.msa.extension.config.admission.AdmissionControlWebFilter;
+import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtVerifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+
+/**
+ * InterServerSecurityConfig의 WebFlux 버전 (reactive 프로필). 체인 구성과 순서는 servlet 쪽과 같다.
+ * - 세션을 만들지 않도록 NoOpServerSecurityContextRepository 사용 (servlet의 STATELESS)
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class InterServerReactiveSecurityConfig {
+    private final InterServerJwtVerifier jwtVerifier;
+    private final InterServerAuthFailureLog failureLog;
+    private final AdmissionControl admissionControl;
+
+    /**
+     * 메트릭 수집 엔드포인트(prometheus, metrics)는 서버 간 JWT로 인증
+     */
+    @Bean
+    @Order(0)
+    public SecurityWebFilterChain actuatorMetricsWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .securityMatcher(EndpointRequest.to("prometheus", "metrics"))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new InterServerAuthenticationWebFilter(jwtVerifier, failureLog), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Actuator health check 엔드포인트에 대한 익명 접근을 허용, 나머지 actuator는 차단
+     */
+    @Bean
+    @Order(1)
+    public SecurityWebFilterChain actuatorHealthWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeExchange(exchange -> exchange
+                        .matchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyExchange().denyAll()
+                )
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .build();
+    }
+
+    /**
+     * 서버 간 API. 인증 필터 다음에 수용 제어(클라이언트별 속도, 동시 처리 한도)를 둔다
+     */
+    @Bean
+    @Order(2)
+    public SecurityWebFilterChain interServerWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .securityMatcher(ServerWebExchangeMatchers.pathMatchers("/msa/ext/api/**"))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new InterServerAuthenticationWebFilter(jwtVerifier, failureLog), SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAfter(new AdmissionControlWebFilter(admissionControl), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -1,9 +1,12 @@
 package com.dontgoback.msa.extension.config.interserverauth;
 
+import com.dontgoback.msa.extension.config.admission.AdmissionControl;
+import com.dontgoback.msa.extension.config.admission.AdmissionControlFilter;
 import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtVerifier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -14,15 +17,39 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class InterServerSecurityConfig {
     private final InterServerJwtVerifier jwtVerifier;
+    private final InterServerAuthFailureLog failureLog;
+    private final AdmissionControl admissionControl;
+
     /**
-     * Actuator health check 엔드포인트에 대한 익명 접근을 허용
-     * 가장 우선순위가 높은(@Order(0)) 필터 체인으로 설정하여 다른 보안 규칙보다 먼저 처리되도록 함
+     * 메트릭 수집 엔드포인트(prometheus, metrics)는 서버 간 JWT로 인증
+     * 스크레이퍼도 다른 내부 서버와 같은 토큰을 사용하며, health 체인의 denyAll보다 먼저 적용되도록 가장 앞에 둠
      */
     @Bean
     @Order(0)
+    public SecurityFilterChain actuatorMetricsFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher(EndpointRequest.to("prometheus", "metrics"))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(
+                        c -> c.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> auth
+                        .anyRequest().authenticated()
+                )
+                .addFilterBefore(new InterServerAuthenticationFilter(jwtVerifier, failureLog), UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+
+    /**
+     * Actuator health check 엔드포인트에 대한 익명 접근을 허용
+     * 메트릭 체인 다음(@Order(1))으로 두어 나머지 actuator 요청을 처리하도록 함
+     */
+    @Bean
+    @Order(1)
     public SecurityFilterChain actuatorHealthFilterChain(HttpSecurity http) throws Exception {
         return http
                 .securityMatcher(EndpointRequest.toAnyEndpoint()) // /actuator/** 전체를 이 체인으로
@@ -34,8 +61,12 @@ public class InterServerSecurityConfig {
                 .build();
     }
 
+    /**
+     * 서버 간 API. 인증 필터 다음에 수용 제어(클라이언트별 속도, 동시 처리 한도)를 둔다
+     * (인증 필터는 UsernamePasswordAuthenticationFilter 앞, 수용 제어는 뒤)
+     */
     @Bean
-    @Order(1)
+    @Order(2)
     public SecurityFilterChain interServerSecurityFilter(HttpSecurity http) throws Exception {
         return http
                 .securityMatcher("/msa/ext/api/**")
@@ -46,7 +77,8 @@ public class InterServerSecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new InterServerAuthenticationFilter(jwtVerifier), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new InterServerAuthenticationFilter(jwtVerifier, failureLog), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new AdmissionControlFilter(admissionControl), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 }
@@ -1,15 +1,18 @@
-//package com.dontgoback.msa.extension.config.interserverauth.client;
-//
-//import lombok.Getter;
-//import lombok.Setter;
-//import org.springframework.boot.context.properties.ConfigurationProperties;
-//import org.springframework.stereotype.Component;
-//
-//@Component
-//@ConfigurationProperties(prefix = "auth.client")
-//@Getter
-//@Setter
-//public class InterServerClientProperties {
-//    private String id;
-//    private String secret;
-//}
\ No newline at end of file
+package com.dontgoback.msa.extension.config.interserverauth.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 서버가 다른 서버를 호출할 때 인증 서버에서 토큰을 받는 클라이언트 자격 (InterServerTokenProvider)
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.client")
+@Getter
+@Setter
+public class InterServerClientProperties {
+    private String id;
+    private String secret;
+}
@@ -1,11 +1,20 @@
 package com.dontgoback.msa.extension.config.interserverauth.client;
 
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerKeyClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class InterServerHttpClientConfig {
 
     /** frontend 의 fetch처럼 해당 서버의 "요청"을 보내기 위한 도구를 다른 곳에서도 쓸 수 있도록 등록
@@ -13,11 +22,34 @@ public class InterServerHttpClientConfig {
      *  지연 방지를 위한 타임아웃 설정
      */
     @Bean
-    public RestTemplate interServerRestTemplate() {
+    public RestTemplate interServerRestTemplate(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return new RestTemplate(virtualThreadRequestFactory());
+        }
 
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setConnectTimeout(3000);
         factory.setReadTimeout(3000);
         return new RestTemplate(factory);
     }
+
+    /** 공개키 조회: 4xx/5xx는 RestTemplate 기본 동작대로 예외 → InterServerPublicKeyManager에서 실패로 집계 */
+    @Bean
+    public InterServerKeyClient restTemplateKeyClient(RestTemplate interServerRestTemplate) {
+        return endpoint -> interServerRestTemplate.getForEntity(endpoint, String.class);
+    }
+
+    /**
+     * 가상 스레드 모드: HttpURLConnection 대신 java.net.http.HttpClient 사용
+     * 대기 중에 캐리어 스레드를 붙잡지 않으며(pinning 없음), 타임아웃은 동일하게 3초
+     */
+    private JdkClientHttpRequestFactory virtualThreadRequestFactory() {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(3))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client);
+        factory.setReadTimeout(Duration.ofSeconds(3));
+        return factory;
+    }
 }
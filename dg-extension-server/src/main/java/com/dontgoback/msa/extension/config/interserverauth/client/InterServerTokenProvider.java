@@ -0,0 +1,147 @@
+package com.dontgoback.msa.extension.config.interserverauth.client;
+
+import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이 서버가 다른 서버(예: 복제 피어)를 호출할 때 붙일 서버 간 JWT.
+ * 인증 서버 토큰 발급 API(auth.jwt.jwt-api)에 클라이언트 자격(auth.client)을 보내 받고, 만료 1분 전까지 재사용한다.
+ *
+ * - 토큰 exp는 서명 검증 없이 payload에서만 읽는다. (발급받은 토큰을 그대로 전달할 뿐, 신뢰 판단은 받는 쪽이 함)
+ * - 발급은 한 번에 하나만 (ReentrantLock: 가상 스레드에서 불려도 캐리어를 붙잡지 않음)
+ * - 상대가 401을 돌려주면 invalidate로 버리고 다음 호출에서 새로 받는다. (키 교체 등)
+ */
+@Slf4j
+@Component
+public class InterServerTokenProvider {
+
+    static final Duration REFRESH_BEFORE_EXPIRY = Duration.ofMinutes(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(3);
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final InterServerClientProperties clientProperties;
+    private final InterServerJwtProperties jwtProperties;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile HttpClient http; // 처음 발급할 때 만든다 (다른 서버를 호출하지 않으면 스레드도 만들지 않음)
+    private volatile Issued issued;
+
+    public InterServerTokenProvider(InterServerClientProperties clientProperties, InterServerJwtProperties jwtProperties,
+                                    Clock clock) {
+        this.clientProperties = clientProperties;
+        this.jwtProperties = jwtProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 유효한 토큰 (캐시가 만료 임박이면 새로 발급)
+     * @throws IllegalStateException 설정 누락, 인증 서버 호출 실패
+     */
+    public String token() {
+        Issued current = issued;
+        if (current != null && clock.millis() < current.refreshAtMillis()) return current.token();
+
+        lock.lock();
+        try {
+            current = issued;
+            if (current != null && clock.millis() < current.refreshAtMillis()) return current.token();
+            Issued fresh = issue();
+            issued = fresh;
+            return fresh.token();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 캐시된 토큰을 버린다 (상대 서버가 401을 돌려줌) */
+    public void invalidate() {
+        issued = null;
+    }
+
+    private Issued issue() {
+        String endpoint = jwtProperties.getJwtApi();
+        if (endpoint == null || endpoint.isBlank()) throw new IllegalStateException("auth.jwt.jwt-api is not configured");
+        if (clientProperties.getId() == null || clientProperties.getSecret() == null)
+            throw new IllegalStateException("auth.client.id/secret is not configured");
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(credentials()))
+                    .build();
+            HttpResponse<String> response = httpClient().send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("token endpoint responded " + response.statusCode());
+            }
+            String token = response.body().trim();
+            long expiresAtMillis = expiresAtSeconds(token) * 1000;
+            log.debug("서버 간 토큰 발급 expiresAt={}", expiresAtMillis);
+            return new Issued(token, expiresAtMillis - REFRESH_BEFORE_EXPIRY.toMillis());
+        } catch (IOException e) {
+            throw new IllegalStateException("token request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("token request interrupted", e);
+        }
+    }
+
+    private HttpClient httpClient() {
+        HttpClient client = http;
+        if (client == null) {
+            client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+            http = client;
+        }
+        return client;
+    }
+
+    private byte[] credentials() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = JSON.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("clientId", clientProperties.getId());
+            generator.writeStringField("clientSecret", clientProperties.getSecret());
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    /** payload의 exp(초). 없거나 읽을 수 없으면 0 (캐시하지 않고 다음 호출에서 다시 발급) */
+    static long expiresAtSeconds(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0) return 0;
+        try (JsonParser parser = JSON.createParser(Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot)))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("exp".equals(field) && value == JsonToken.VALUE_NUMBER_INT) return parser.getLongValue();
+                parser.skipChildren();
+            }
+            return 0;
+        } catch (IllegalArgumentException | IOException e) {
+            return 0;
+        }
+    }
+
+    private record Issued(String token, long refreshAtMillis) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.dontgoback.msa.extension.config.interserverauth.client;
+
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerKeyClient;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * reactive 프로필용 인증 서버 클라이언트. RestTemplate 대신 서버와 같은 Netty 이벤트 루프를 쓰는 WebClient
+ * 타임아웃은 InterServerHttpClientConfig와 같게 연결/응답 각 3초
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class InterServerWebClientConfig {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+    @Bean
+    public WebClient interServerWebClient(WebClient.Builder builder) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) TIMEOUT.toMillis())
+                .responseTimeout(TIMEOUT);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    /**
+     * 공개키 조회: 호출 자체는 논블로킹이고, 결과는 갱신 스레드에서만 기다린다. (이벤트 루프 스레드는 대기하지 않음)
+     * 상태 코드와 상관없이 응답을 그대로 넘겨, 실패 판단은 InterServerPublicKeyManager에 맡긴다.
+     */
+    @Bean
+    public InterServerKeyClient webClientKeyClient(WebClient interServerWebClient) {
+        return endpoint -> interServerWebClient.get()
+                .uri(endpoint)
+                .exchangeToMono(response -> response.toEntity(String.class))
+                .block(TIMEOUT.multipliedBy(2));
+    }
+}
@@ -5,10 +5,75 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "auth.jwt")
 @Getter
 @Setter
 public class InterServerJwtProperties {
     private String issuer;
+
+    /**
+     * 토큰 발급 API (이 서버가 다른 서버를 호출할 때, InterServerTokenProvider)
+     */
+    private String jwtApi;
+    private Cache cache = new Cache();
+    private Reject reject = new Reject();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /**
+         * 검증 완료 토큰 캐시 사용 여부. 같은 토큰 재사용 시 RSA 서명 검증을 생략
+         */
+        private boolean enabled = true;
+
+        /**
+         * 캐시 최대 토큰 수. 호출하는 서버(클라이언트) 수 × 동시에 유효한 토큰 수 정도면 충분
+         */
+        private long maxSize = 1_024L;
+    }
+
+    @Getter
+    @Setter
+    public static class Reject {
+        /**
+         * 서명 검증 전 사전 검사 (형식, alg, iss, exp). 통과할 수 없는 토큰을 RSA 연산 없이 거부
+         */
+        private boolean precheck = true;
+
+        /**
+         * 허용하는 서명 알고리즘(header.alg). 기본값은 공개키(RSA)로 검증할 수 있는 전부로, 사전 검사 도입 전 jjwt가 받던 것과 같다.
+         * 인증 서버가 RS256만 쓰면 [RS256]으로 좁혀 다른 alg를 서명 검증 없이 거부할 수 있다
+         */
+        private List<String> algorithms = List.of("RS256", "RS384", "RS512", "PS256", "PS384", "PS512");
+
+        /**
+         * exp 없는 토큰 거부 여부. 사전 검사 도입 전에도 exp 없는 토큰은 Authentication 생성(Map.of에 null)에서 실패해 401이었다.
+         * false면 exp 없는 토큰도 통과시키고, 검증 캐시에는 넣지 않는다 (매번 서명 검증)
+         */
+        private boolean requireExpiration = true;
+
+        /**
+         * 최근 거부한 토큰 캐시 사용 여부. 같은 잘못된 토큰이 반복되면 파싱 없이 바로 거부
+         */
+        private boolean negativeCacheEnabled = true;
+
+        /**
+         * 거부 캐시 최대 토큰 수. 넘치면 오래된 것부터 빠지므로 서로 다른 토큰으로 밀어내도 메모리는 이 크기까지
+         */
+        private long negativeCacheMaxSize = 10_000L;
+
+        /**
+         * 거부 결과 보관 시간. 공개키가 바뀌면 이보다 먼저 모두 비운다 (새 키로는 통과할 수 있으므로)
+         */
+        private Duration negativeCacheTtl = Duration.ofMinutes(5);
+
+        /**
+         * 인증 실패 로그(WARN) 최소 간격. 그 사이의 실패는 개수만 세어 다음 로그에 함께 남긴다
+         */
+        private Duration logInterval = Duration.ofSeconds(10);
+    }
 }
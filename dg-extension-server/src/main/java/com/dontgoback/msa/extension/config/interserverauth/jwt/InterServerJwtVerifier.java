@@ -4,14 +4,28 @@ package com.dontgoback.msa.extension.config.interserverauth.jwt;
 /** 목표
  * 요청에 담긴 JWT를 파싱하고, 서명을 검증하며,
  * 내부적으로 필요한 정보를 추출 (예: clientId, issuer, 만료 시간 등)
- * 서명 검증에는 InterServerPublicKeyManager가 제공하는 공개키를 사용
+ * 서명 검증에는 InterServerPublicKeyManager가 제공하는 공개키 묶음에서 kid로 고른 키를 사용
  */
 
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerKeySet;
 import com.dontgoback.msa.extension.config.interserverauth.key.InterServerPublicKeyManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,9 +36,18 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
 import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 전제 조건
@@ -40,6 +63,147 @@ public class InterServerJwtVerifier {
     private final InterServerJwtProperties jwtProperties;
 //    private final InterServerClientProperties clientProperties;
     private final InterServerPublicKeyManager publicKeyManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 검증 완료 토큰 캐시: SHA-256(token) 앞 128bit -> 검증 결과
+     * 코어 서버는 만료 전까지 같은 토큰을 재사용하므로, 히트 시 RSA 서명 검증 없이 Authentication을 만든다.
+     * 엔트리는 토큰의 exp 시각에 만료되고, 공개키가 바뀌면 전체 무효화한다.
+     * 엔트리마다 검증에 쓴 키 묶음을 함께 두고, 현재 묶음(verifiedWith)이 아니면 miss로 본다.
+     * (무효화 직전에 이전 키로 검증을 시작한 요청이 무효화 뒤에 put해도 쓰이지 않음)
+     */
+    private Cache<TokenDigest, VerifiedToken> verifiedTokens; // auth.jwt.cache.enabled=false 이면 null
+    private volatile InterServerKeySet verifiedWith;
+
+    /**
+     * 거부 토큰 캐시: SHA-256(token) 앞 128bit -> 거부 사유
+     * 같은 잘못된 토큰이 반복되면(클라이언트 설정 오류, 재전송 폭주) 사전 검사/서명 검증 없이 같은 사유로 거부한다.
+     * 크기와 수명이 제한되고, 공개키가 바뀌면 검증 캐시와 함께 비운다. (알 수 없는 kid였던 토큰이 새 키로 통과할 수 있음)
+     */
+    private Cache<TokenDigest, RejectedToken> rejectedTokens; // auth.jwt.reject.negative-cache-enabled=false 이면 null
+
+    /** 허용하는 서명 알고리즘 (auth.jwt.reject.algorithms, 사전 검사를 꺼도 서명 검증 뒤에 확인) */
+    private Set<String> algorithms;
+
+    /** 서명 검증 전 사전 검사 (auth.jwt.reject.precheck=false 이면 null) */
+    private InterServerTokenPrecheck precheck;
+
+    /** 키 묶음 스냅샷별로 한 번만 만드는 파서 (JwtParser는 불변/스레드 안전) */
+    private volatile ParserForKeySet parser;
+
+    /**
+     * interserver.jwt.authenticate: 요청당 인증 전체 (캐시 히트 포함)
+     * interserver.jwt.parse: 서명 검증 + 파싱 (캐시 miss일 때만)
+     */
+    private Timer authenticateSuccess;
+    private Timer authenticateFailure;
+    private Timer parseSuccess;
+    private Timer parseFailure;
+
+    /** interserver.jwt.rejected: 사유별 새로 거부한 토큰 수 (거부 캐시 히트는 interserver.jwt.rejected-tokens 캐시 지표) */
+    private final Map<TokenRejection, Counter> rejections = new EnumMap<>(TokenRejection.class);
+
+    @PostConstruct
+    void init() {
+        authenticateSuccess = timer("interserver.jwt.authenticate", "success");
+        authenticateFailure = timer("interserver.jwt.authenticate", "failure");
+        parseSuccess = timer("interserver.jwt.parse", "success");
+        parseFailure = timer("interserver.jwt.parse", "failure");
+        for (TokenRejection rejection : TokenRejection.values()) {
+            rejections.put(rejection, Counter.builder("interserver.jwt.rejected")
+                    .tag("reason", rejection.tag())
+                    .register(meterRegistry));
+        }
+
+        var rejectProps = jwtProperties.getReject();
+        this.algorithms = Set.copyOf(rejectProps.getAlgorithms());
+        if (rejectProps.isPrecheck()) {
+            this.precheck = new InterServerTokenPrecheck(jwtProperties.getIssuer(), algorithms, rejectProps.isRequireExpiration());
+        }
+        if (rejectProps.isNegativeCacheEnabled()) {
+            this.rejectedTokens = Caffeine.newBuilder()
+                    .maximumSize(rejectProps.getNegativeCacheMaxSize())
+                    .expireAfterWrite(rejectProps.getNegativeCacheTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, rejectedTokens, "interserver.jwt.rejected-tokens");
+        }
+
+        var cacheProps = jwtProperties.getCache();
+        if (!cacheProps.isEnabled()) return;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheProps.getMaxSize())
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "interserver.jwt.verified-tokens");
+    }
+
+    private Timer timer(String name, String outcome) {
+        return Timer.builder(name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰을 검증하고 Authentication을 만든다.
+     * 이미 검증한 토큰이면 캐시된 결과로 암호 연산 없이 처리한다.
+     * 최근 거부한 토큰이거나 사전 검사에서 걸러지는 토큰도 서명 검증 없이 거부한다. (IllegalArgumentException)
+     */
+    public Authentication authenticate(String token) {
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            Authentication authentication = authenticateToken(token);
+            success = true;
+            return authentication;
+        } finally {
+            (success ? authenticateSuccess : authenticateFailure).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Authentication authenticateToken(String token) {
+        if (token == null || token.isEmpty()) throw reject(TokenRejection.MISSING);
+        InterServerKeySet keySet = publicKeyManager.getKeySet(); // 요청당 한 번 읽고, 검증과 캐시 모두 이 스냅샷 기준
+        if (verifiedTokens == null && rejectedTokens == null) return getAuthentication(verify(token, keySet));
+
+        invalidateIfKeyChanged(keySet);
+
+        TokenDigest digest = TokenDigest.of(token);
+        if (verifiedTokens != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null && cached.keySet() == verifiedWith && cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached.toAuthentication();
+            }
+        }
+        if (rejectedTokens != null) {
+            RejectedToken rejected = rejectedTokens.getIfPresent(digest);
+            if (rejected != null && rejected.keySet() == verifiedWith) throw new RejectedTokenException(rejected.rejection());
+        }
+
+        Claims claims;
+        try {
+            claims = verify(token, keySet);
+        } catch (RejectedTokenException e) {
+            if (rejectedTokens != null) rejectedTokens.put(digest, new RejectedToken(e.rejection(), keySet));
+            throw e;
+        }
+        if (verifiedTokens == null) return getAuthentication(claims);
+
+        VerifiedToken verified = VerifiedToken.from(claims, keySet);
+        verifiedTokens.put(digest, verified);
+        return verified.toAuthentication();
+    }
+
+    /** 사전 검사를 통과한 토큰만 서명 검증까지 간다. */
+    private Claims verify(String token, InterServerKeySet keySet) {
+        if (precheck != null) {
+            TokenRejection rejection = precheck.check(token, System.currentTimeMillis());
+            if (rejection != null) throw reject(rejection);
+        }
+        return parseAndValidate(token, keySet);
+    }
 
     /**
      * 서버 간 인증용 JWT의 유효성을 검증합니다.
@@ -48,34 +212,72 @@ public class InterServerJwtVerifier {
      * - subject(clientId) 확인
      */
     public Claims parseAndValidate(String token){
-        try {
-            Claims claims = getClaims(token);
+        return parseAndValidate(token, publicKeyManager.getKeySet());
+    }
 
-            if (! issuerMatches(claims)) {
-                log.warn("JWT issuer 불일치: {}", claims.getIssuer());
-                throw new IllegalArgumentException("잘못된 issuer");
-            }
-//            if (!subjectMatches(claims)) {
-//                log.warn("JWT subject(clientId) 불일치: {}", claims.getSubject());
-//                throw new IllegalArgumentException("잘못된 clientId");
-//            }
+    /** keySet 스냅샷의 키로 검증한다 (요청 처리 중 키가 교체돼도 캐시에는 이 스냅샷으로 남김) */
+    Claims parseAndValidate(String token, InterServerKeySet keySet) {
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            Claims claims = parseAndValidateClaims(token, keySet);
+            success = true;
             return claims;
+        } finally {
+            (success ? parseSuccess : parseFailure).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
 
+    // 거부 사유는 필터가 간격을 두고 WARN으로 남긴다. 여기서는 요청마다 남기지 않음 (DEBUG)
+    private Claims parseAndValidateClaims(String token, InterServerKeySet keySet) {
+        Jws<Claims> jws;
+        try {
+            jws = parserFor(keySet).parseClaimsJws(token); // 여기서 자동으로 만료시간도 검증함
         } catch (ExpiredJwtException e) {
-            log.warn("만료된 토큰입니다: {}", e.getMessage());
-            throw new IllegalArgumentException("만료된 서버 인증 토큰입니다.");
+            log.debug("만료된 토큰입니다: {}", e.getMessage());
+            throw reject(TokenRejection.EXPIRED);
         } catch (JwtException e) {
-            log.warn("JWT 서명 검증 실패 또는 파싱 에러", e);
-            throw new IllegalArgumentException("유효하지 않은 서버 인증 토큰입니다.");
+            log.debug("JWT 서명 검증 실패 또는 파싱 에러: {}", e.getMessage());
+            throw reject(TokenRejection.SIGNATURE);
+        } catch (IllegalStateException e) {
+            throw e; // 공개키 미로딩 (키 매니저가 갱신 요청과 함께 로그를 남김)
         } catch (Exception e) {
             log.error("JWT 파싱 중 알 수 없는 오류", e);
             throw new IllegalStateException("JWT 검증 중 예기치 못한 오류가 발생했습니다.");
         }
+
+        if (!algorithms.contains(jws.getHeader().getAlgorithm())) {
+            log.debug("허용하지 않는 서명 알고리즘: {}", jws.getHeader().getAlgorithm());
+            throw reject(TokenRejection.ALGORITHM);
+        }
+        Claims claims = jws.getBody();
+        if (claims.getExpiration() == null && jwtProperties.getReject().isRequireExpiration()) {
+            log.debug("exp 없는 토큰입니다");
+            throw reject(TokenRejection.EXPIRED);
+        }
+        if (! issuerMatches(claims)) {
+            log.debug("JWT issuer 불일치: {}", claims.getIssuer());
+            throw reject(TokenRejection.ISSUER);
+        }
+//        if (!subjectMatches(claims)) {
+//            log.warn("JWT subject(clientId) 불일치: {}", claims.getSubject());
+//            throw new IllegalArgumentException("잘못된 clientId");
+//        }
+        return claims;
+    }
+
+    private RejectedTokenException reject(TokenRejection rejection) {
+        rejections.get(rejection).increment();
+        return new RejectedTokenException(rejection);
     }
 
     /** M2M: 로컬 유저 조회 없이 곧장 Authentication 생성 */
     public Authentication getAuthentication(Claims claims) {
-        String clientId = claims.getSubject(); // 예: "dontgoback-core-server"
+        return getAuthentication(claims.getSubject(), claims.getIssuer(), claims.getExpiration());
+    }
+
+    private static Authentication getAuthentication(String clientId, String issuer, Date expiration) {
+        // clientId 예: "dontgoback-core-server"
 
         // (선택) 허용 클라이언트 화이트리스트
         // if (!allowedClients.contains(clientId)) throw new BadCredentialsException("unknown client");
@@ -87,15 +289,25 @@ public class InterServerJwtVerifier {
                 new UsernamePasswordAuthenticationToken(clientId, null, authorities);
 
         // 컨트롤러/로깅에서 쓰려고 클레임을 details에 실어두기
-        auth.setDetails(Map.of(
-                "iss", claims.getIssuer(),
-                "sub", clientId,
-                "exp", claims.getExpiration()
-        ));
+        // exp 없는 토큰(auth.jwt.reject.require-expiration=false)은 exp를 빼고 싣는다 (Map.of는 null 불가)
+        auth.setDetails(expiration != null
+                ? Map.of("iss", issuer, "sub", clientId, "exp", expiration)
+                : Map.of("iss", issuer, "sub", clientId));
 
         return auth;
     }
 
+    /** 공개키 묶음이 교체되면 이전 키로 검증한 결과를 모두 버린다. */
+    private void invalidateIfKeyChanged(InterServerKeySet currentKeySet) {
+        if (currentKeySet == verifiedWith) return;
+        synchronized (this) {
+            if (currentKeySet == verifiedWith) return;
+            if (verifiedTokens != null) verifiedTokens.invalidateAll();
+            if (rejectedTokens != null) rejectedTokens.invalidateAll();
+            verifiedWith = currentKeySet;
+        }
+    }
+
     private String getClientId(Claims claims){
         return claims.getSubject();
     }
@@ -112,13 +324,111 @@ public class InterServerJwtVerifier {
 //        return allowedClientId.equals(clientId);
 //    }
 
-    private Claims getClaims(String token) {
-        RSAPublicKey publicKey = publicKeyManager.getPublicKey();
+    private JwtParser parserFor(InterServerKeySet keySet) {
+        ParserForKeySet current = parser;
+        if (current != null && current.keySet() == keySet) return current.parser();
+
+        if (keySet.isEmpty()) publicKeyManager.getPublicKey(); // 키가 없으면 갱신 요청 후 예외
 
-        return Jwts.parserBuilder()
-                .setSigningKey(publicKey)
-                .build()
-                .parseClaimsJws(token)  // 여기서 자동으로 만료시간도 검증함
-                .getBody();
+        JwtParser built = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeySetResolver(keySet))
+                .build();
+        parser = new ParserForKeySet(keySet, built);
+        return built;
+    }
+
+    private record ParserForKeySet(InterServerKeySet keySet, JwtParser parser) {
+    }
+
+    /** 토큰 헤더의 kid로 스냅샷에서 검증 키를 고른다. kid가 없으면 primary 키 */
+    private final class KeySetResolver extends SigningKeyResolverAdapter {
+        private final InterServerKeySet keySet;
+
+        KeySetResolver(InterServerKeySet keySet) {
+            this.keySet = keySet;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            RSAPublicKey key = keySet.find(kid);
+            if (key == null) {
+                publicKeyManager.onUnknownKeyId(kid);
+                throw new UnsupportedJwtException("알 수 없는 서명 키(kid): " + kid);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * 거부 사유를 담은 IllegalArgumentException.
+     * 잘못된 토큰이 몰릴 때 거부 비용이 되지 않도록 스택 트레이스를 채우지 않는다. (사유만으로 충분)
+     */
+    private static final class RejectedTokenException extends IllegalArgumentException {
+        private final transient TokenRejection rejection;
+
+        RejectedTokenException(TokenRejection rejection) {
+            super(rejection.message());
+            this.rejection = rejection;
+        }
+
+        TokenRejection rejection() {
+            return rejection;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /** 거부 사유 + 거부 판단에 쓴 키 묶음 */
+    private record RejectedToken(TokenRejection rejection, InterServerKeySet keySet) {
+    }
+
+    /** 토큰 원문 대신 보관하는 SHA-256 앞 128bit */
+    private record TokenDigest(long high, long low) {
+        static TokenDigest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new TokenDigest(buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+
+    /** 검증 완료된 토큰에서 Authentication 생성에 필요한 값 + 검증에 쓴 키 묶음 */
+    private record VerifiedToken(String clientId, String issuer, Date expiration, long expiresAtMillis,
+                                 InterServerKeySet keySet) {
+        static VerifiedToken from(Claims claims, InterServerKeySet keySet) {
+            Date expiration = claims.getExpiration();
+            long expiresAt = expiration != null ? expiration.getTime() : 0L; // exp 없는 토큰은 캐시하지 않음과 같다
+            return new VerifiedToken(claims.getSubject(), claims.getIssuer(), expiration, expiresAt, keySet);
+        }
+
+        Authentication toAuthentication() {
+            return getAuthentication(clientId, issuer, expiration);
+        }
+    }
+
+    /** 엔트리 수명 = 토큰 exp까지 남은 시간 */
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,112 @@
+package com.dontgoback.msa.extension.config.interserverauth.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * 서명 검증 전 사전 검사. 서명되지 않은 헤더/페이로드만 보고, 통과할 수 없는 토큰을 암호 연산 없이 거른다.
+ *
+ * - 형식: header.payload.signature 세 부분, 각 부분은 비어 있지 않은 Base64URL, 전체 길이 제한
+ * - header.alg: 허용 목록(auth.jwt.reject.algorithms)에 있어야 함 (none, HS256 등은 서명 검증까지 갈 필요가 없음)
+ * - payload.iss: 설정된 issuer와 일치
+ * - payload.exp: 현재 시각 이후. 없으면 auth.jwt.reject.require-expiration=true일 때만 거부
+ *
+ * 여기를 통과해도 위조 토큰일 수 있으므로 서명 검증은 그대로 한다. (통과 = 검증할 가치가 있음)
+ */
+final class InterServerTokenPrecheck {
+
+    /** 인증 서버 토큰은 1KB 안팎. 이보다 크면 디코딩도 하지 않는다 */
+    static final int MAX_TOKEN_LENGTH = 8 * 1024;
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private final String issuer;
+    private final Set<String> algorithms;
+    private final boolean requireExpiration;
+
+    InterServerTokenPrecheck(String issuer, Set<String> algorithms, boolean requireExpiration) {
+        this.issuer = issuer;
+        this.algorithms = Set.copyOf(algorithms);
+        this.requireExpiration = requireExpiration;
+    }
+
+    /**
+     * @param nowMillis 현재 시각 (exp 비교 기준)
+     * @return 거부 사유, 통과하면 null
+     */
+    TokenRejection check(String token, long nowMillis) {
+        if (token.length() > MAX_TOKEN_LENGTH) return TokenRejection.MALFORMED;
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == token.length() - 1
+                || token.indexOf('.', secondDot + 1) >= 0) {
+            return TokenRejection.MALFORMED;
+        }
+
+        try {
+            String algorithm = readHeaderAlgorithm(decode(token, 0, firstDot));
+            if (algorithm == null || !algorithms.contains(algorithm)) return TokenRejection.ALGORITHM;
+
+            Payload payload = readPayload(decode(token, firstDot + 1, secondDot));
+            if (issuer == null || !issuer.equals(payload.issuer())) return TokenRejection.ISSUER;
+            // jjwt와 같은 기준: now >= exp 이면 만료 (exp는 초 단위, 곱하면 넘칠 수 있어 나눠서 비교)
+            Long expiresAt = payload.expiresAtSeconds();
+            if (expiresAt == null) return requireExpiration ? TokenRejection.EXPIRED : null;
+            if (expiresAt <= nowMillis / 1000) return TokenRejection.EXPIRED;
+            return null;
+        } catch (IllegalArgumentException | IOException e) {
+            return TokenRejection.MALFORMED; // Base64URL/JSON이 아님
+        }
+    }
+
+    private static byte[] decode(String token, int from, int to) {
+        return BASE64_URL.decode(token.substring(from, to));
+    }
+
+    private static String readHeaderAlgorithm(byte[] json) throws IOException {
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) throw new IOException("header is not an object");
+            String algorithm = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("alg".equals(field) && value == JsonToken.VALUE_STRING) {
+                    algorithm = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return algorithm;
+        }
+    }
+
+    private static Payload readPayload(byte[] json) throws IOException {
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) throw new IOException("payload is not an object");
+            String issuer = null;
+            Long expiresAt = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("iss".equals(field) && value == JsonToken.VALUE_STRING) {
+                    issuer = parser.getText();
+                } else if ("exp".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    expiresAt = parser.getLongValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Payload(issuer, expiresAt);
+        }
+    }
+
+    private record Payload(String issuer, Long expiresAtSeconds) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.dontgoback.msa.extension.config.interserverauth.jwt;
+
+/**
+ * 토큰 거부 사유. interserver.jwt.rejected 카운터의 reason 태그이자 거부 캐시에 보관하는 값
+ */
+enum TokenRejection {
+    /** Authorization 헤더가 없거나 Bearer 토큰이 아님 */
+    MISSING("missing", "서버 인증 토큰이 없습니다."),
+    /** 세 부분 형식, Base64URL, JSON이 아님 */
+    MALFORMED("malformed", "유효하지 않은 서버 인증 토큰입니다."),
+    /** 허용 목록(auth.jwt.reject.algorithms)에 없는 alg */
+    ALGORITHM("algorithm", "유효하지 않은 서버 인증 토큰입니다."),
+    ISSUER("issuer", "잘못된 issuer"),
+    /** exp가 지났거나, 없음 (auth.jwt.reject.require-expiration=true) */
+    EXPIRED("expired", "만료된 서버 인증 토큰입니다."),
+    /** 사전 검사는 통과했지만 서명 검증/파싱 실패 (알 수 없는 kid 포함) */
+    SIGNATURE("signature", "유효하지 않은 서버 인증 토큰입니다.");
+
+    private final String tag;
+    private final String message;
+
+    TokenRejection(String tag, String message) {
+        this.tag = tag;
+        this.message = message;
+    }
+
+    String tag() {
+        return tag;
+    }
+
+    String message() {
+        return message;
+    }
+}
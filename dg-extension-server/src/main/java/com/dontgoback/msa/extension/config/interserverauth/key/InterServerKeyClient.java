@@ -0,0 +1,13 @@
+package com.dontgoback.msa.extension.config.interserverauth.key;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 인증 서버 공개키 API 호출.
+ * 웹 스택에 따라 RestTemplate(servlet) 또는 WebClient(reactive) 구현이 등록된다. (client 패키지 참고)
+ * 요청 경로가 아닌 InterServerPublicKeyManager의 갱신 스레드에서만 호출되므로 응답을 기다려도 된다.
+ */
+@FunctionalInterface
+public interface InterServerKeyClient {
+    ResponseEntity<String> fetch(String endpoint);
+}
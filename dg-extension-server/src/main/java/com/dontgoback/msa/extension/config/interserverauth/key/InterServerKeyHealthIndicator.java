@@ -0,0 +1,26 @@
+package com.dontgoback.msa.extension.config.interserverauth.key;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 공개키를 받기 전에는 토큰을 검증할 수 없으므로 OUT_OF_SERVICE (/actuator/health/readiness → 503).
+ * 한 번 받은 뒤에는 인증 서버가 내려가도 기존 키로 검증을 계속하므로 UP을 유지한다.
+ * liveness 그룹에는 넣지 않는다. (인증 서버 장애로 재시작되지 않도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class InterServerKeyHealthIndicator implements HealthIndicator {
+    private final InterServerPublicKeyManager keyManager;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = keyManager.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("keys", keyManager.getKeySet().size())
+                .withDetail("consecutiveFailures", keyManager.getConsecutiveFailures())
+                .build();
+    }
+}
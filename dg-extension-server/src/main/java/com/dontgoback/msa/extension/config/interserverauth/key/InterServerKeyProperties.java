@@ -5,10 +5,38 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @ConfigurationProperties(prefix = "auth.key")
 @Getter
 @Setter
 public class InterServerKeyProperties {
     private String publicKeyApi;
+
+    /**
+     * 정상 상태에서 공개키 목록을 다시 받아오는 주기
+     */
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    /**
+     * 갱신 실패 시 재시도 대기 시간(지수 백오프 하한/상한)
+     */
+    private Duration retryMinBackoff = Duration.ofSeconds(1);
+    private Duration retryMaxBackoff = Duration.ofMinutes(1);
+
+    /**
+     * 알 수 없는 kid / 키 없음으로 요청되는 즉시 갱신의 최소 간격 (잘못된 토큰으로 인한 폭주 방지)
+     */
+    private Duration onDemandMinInterval = Duration.ofSeconds(10);
+
+    /**
+     * 인증 서버 목록에서 빠진 이전 키를 유지하는 기간. 토큰 최대 수명보다 길게 설정
+     */
+    private Duration retiredKeyGrace = Duration.ofHours(1);
+
+    /**
+     * 키 조회 스레드를 가상 스레드로 실행 (spring.threads.virtual.enabled와 함께 켬)
+     */
+    private boolean virtualThreads = false;
 }
@@ -0,0 +1,81 @@
+package com.dontgoback.msa.extension.config.interserverauth.key;
+
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 서버 간 JWT 검증용 공개키 묶음의 불변 스냅샷.
+ * 요청 스레드는 이 스냅샷을 읽기만 하고, 교체는 InterServerPublicKeyManager의 갱신 스레드만 수행한다.
+ *
+ * - primary: kid 헤더가 없는 토큰을 검증할 키 (인증 서버의 현재 서명 키)
+ * - keys: kid -> 공개키. 인증 서버 목록에서 빠진 이전 키도 유예 기간 동안 남겨 키 교체 중 401을 막는다.
+ */
+public final class InterServerKeySet {
+
+    public static final InterServerKeySet EMPTY = new InterServerKeySet(null, Map.of(), Map.of());
+
+    private final RSAPublicKey primary;
+    private final Map<String, RSAPublicKey> keys;
+    private final Map<String, Instant> retiredAt; // 인증 서버 목록에서 빠진 kid -> 처음 빠진 시각
+
+    InterServerKeySet(RSAPublicKey primary, Map<String, RSAPublicKey> keys, Map<String, Instant> retiredAt) {
+        this.primary = primary;
+        this.keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+        this.retiredAt = Map.copyOf(retiredAt);
+    }
+
+    /** kid 없이 키 하나만 쓰는 경우 (기존 Base64 단일 키 응답) */
+    public static InterServerKeySet of(RSAPublicKey primary) {
+        return new InterServerKeySet(primary, Map.of(), Map.of());
+    }
+
+    /** kid가 없으면 primary, 있으면 해당 kid의 키. 없으면 null */
+    public RSAPublicKey find(String kid) {
+        return kid == null ? primary : keys.get(kid);
+    }
+
+    public RSAPublicKey primary() {
+        return primary;
+    }
+
+    public boolean isEmpty() {
+        return primary == null && keys.isEmpty();
+    }
+
+    public int size() {
+        return keys.isEmpty() && primary != null ? 1 : keys.size();
+    }
+
+    /**
+     * 새로 받아온 키 묶음으로 교체한 스냅샷을 만든다.
+     * 목록에서 빠진 이전 키는 grace 동안 유지하고, 내용이 같으면 this를 그대로 돌려준다(검증 캐시 유지).
+     */
+    InterServerKeySet rotateTo(InterServerKeySet fetched, Instant now, Duration grace) {
+        Map<String, RSAPublicKey> merged = new LinkedHashMap<>(fetched.keys);
+        Map<String, Instant> retired = new HashMap<>();
+        for (Map.Entry<String, RSAPublicKey> entry : keys.entrySet()) {
+            String kid = entry.getKey();
+            if (merged.containsKey(kid)) continue;
+            Instant since = retiredAt.getOrDefault(kid, now);
+            if (since.plus(grace).isAfter(now)) {
+                merged.put(kid, entry.getValue());
+                retired.put(kid, since);
+            }
+        }
+
+        InterServerKeySet next = new InterServerKeySet(fetched.primary, merged, retired);
+        return next.sameAs(this) ? this : next;
+    }
+
+    private boolean sameAs(InterServerKeySet other) {
+        return Objects.equals(primary, other.primary)
+                && keys.equals(other.keys)
+                && retiredAt.equals(other.retiredAt);
+    }
+}
@@ -0,0 +1,69 @@
+package com.dontgoback.msa.extension.config.interserverauth.key;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 인증 서버 공개키 API 응답을 InterServerKeySet으로 변환한다.
+ *
+ * 지원 형식
+ * 1) Base64 X.509 공개키 문자열 하나 (기존 형식, kid 없음)
+ * 2) {"keys":[{"kid":"2025-08","key":"<Base64 X.509>"}, ...]} — 첫 번째 키가 현재 서명 키(primary)
+ */
+final class InterServerKeySetParser {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private InterServerKeySetParser() {
+    }
+
+    static InterServerKeySet parse(String body) throws Exception {
+        if (body == null || body.isBlank()) throw new IllegalArgumentException("공개키 응답이 비어 있습니다.");
+        String trimmed = body.trim();
+        if (!trimmed.startsWith("{")) {
+            return InterServerKeySet.of(parsePublicKey(trimmed));
+        }
+
+        JsonNode keysNode = OBJECT_MAPPER.readTree(trimmed).path("keys");
+        if (!keysNode.isArray() || keysNode.isEmpty()) throw new IllegalArgumentException("keys 항목이 없습니다.");
+
+        Map<String, RSAPublicKey> keys = new LinkedHashMap<>();
+        RSAPublicKey primary = null;
+        for (JsonNode node : keysNode) {
+            String kid = node.path("kid").asText(null);
+            String encoded = node.path("key").asText(null);
+            if (kid == null || encoded == null) throw new IllegalArgumentException("kid/key 누락");
+
+            RSAPublicKey key = parsePublicKey(encoded);
+            keys.put(kid, key);
+            if (primary == null) primary = key;
+        }
+        return new InterServerKeySet(primary, keys, Map.of());
+    }
+
+    /** Base64로 인코딩된 공개키 문자열을 RSAPublicKey 객체로 변환
+     * 공개키는 X.509 포맷으로 인코딩된 경우
+     */
+    static RSAPublicKey parsePublicKey(String base64EncodedKey) throws Exception {
+        byte[] keyBytes = Base64.getDecoder().decode(base64EncodedKey);
+
+        // PEM 형식이 아니라 PKCS#8 또는 X.509의 응답인 경우
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
+        KeyFactory kf = KeyFactory.getInstance("RSA");
+        PublicKey publicKey = kf.generatePublic(spec);
+
+        if (!(publicKey instanceof RSAPublicKey)) {
+            throw new IllegalArgumentException("Not and RSA public key");
+        }
+
+        return (RSAPublicKey) publicKey;
+    }
+}
@@ -1,100 +1,219 @@
 package com.dontgoback.msa.extension.config.interserverauth.key;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
-import java.security.PublicKey;
+import java.lang.management.ManagementFactory;
 import java.security.interfaces.RSAPublicKey;
-import java.util.Base64;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * InterServerPublicKeyManager는 인증 서버(Auth Server)로부터
  * 비대칭키 방식의 JWT 검증을 위한 공개키를 가져와 캐시하는 컴포넌트입니다.
- * 서버 시작 시 1회 요청하며, 이후 메모리에 저장된 키를 활용합니다.
+ *
+ * - 요청 스레드는 불변 스냅샷(InterServerKeySet)만 읽으며, 절대 네트워크 호출로 대기하지 않습니다.
+ * - 키 조회는 전용 갱신 스레드 하나에서만 수행(single-flight)하고, 주기 갱신 + 실패 시 지수 백오프로 재시도합니다.
+ * - 키가 없거나 모르는 kid가 들어오면 즉시 갱신을 요청하되, onDemandMinInterval로 폭주를 막습니다.
+ * - 최초 조회도 갱신 스레드에서 하므로 기동을 막지 않습니다. 첫 키를 받기 전까지는 readiness가 OUT_OF_SERVICE입니다.
+ *   (InterServerKeyHealthIndicator)
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class InterServerPublicKeyManager {
     private final InterServerKeyProperties interServerKeyProperties;
-    private final RestTemplate restTemplate;
+    private final InterServerKeyClient keyClient;
+    private final MeterRegistry meterRegistry;
 
-    // 서버 간 JWT 검증을 위한 공개키 (메모리 내에 캐싱)
-    private RSAPublicKey cachedPublicKey;
+    // 서버 간 JWT 검증을 위한 공개키 스냅샷 (교체는 갱신 스레드만, 요청 스레드는 읽기만)
+    private volatile InterServerKeySet keySet = InterServerKeySet.EMPTY;
+
+    private final AtomicBoolean onDemandQueued = new AtomicBoolean();
+    private final AtomicLong lastOnDemandNanos = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final CountDownLatch firstLoad = new CountDownLatch(1);
+    private ScheduledExecutorService refresher;
+
+    /** interserver.key.fetch: 인증 서버 공개키 조회 (outcome=success|failure) */
+    private Timer fetchSuccess;
+    private Timer fetchFailure;
 
     /**
-     * 애플리케이션 시작 시, 최초 1회 공개키를 불러옴
+     * 애플리케이션 시작 시, 최초 1회 공개키 조회와 주기 갱신을 갱신 스레드에 예약 (기다리지 않음)
      * @PostConstruct는 스프링이 빈을 초기화할 때 실행되는 메서드
      */
     @PostConstruct
     public void init() {
-        loadPublicKey();
+        fetchSuccess = Timer.builder("interserver.key.fetch").tag("outcome", "success").register(meterRegistry);
+        fetchFailure = Timer.builder("interserver.key.fetch").tag("outcome", "failure").register(meterRegistry);
+        Gauge.builder("interserver.key.count", this, m -> m.getKeySet().size()).register(meterRegistry);
+        Gauge.builder("interserver.key.consecutive.failures", consecutiveFailures, AtomicInteger::get).register(meterRegistry);
+
+        refresher = Executors.newSingleThreadScheduledExecutor(refresherThreadFactory());
+        refresher.execute(() -> scheduleNext(refresh()));
     }
 
     /**
-     * 외부에서 공개키가 필요할 때 호출
-     * 캐시된 키가 없을 경우 즉시 로드
+     * 가상 스레드 모드에서는 인증 서버 응답(최대 3초)을 기다리는 동안 캐리어 스레드를 반납한다.
+     * 스레드는 하나뿐이므로 single-flight 동작은 같다.
      */
-    public RSAPublicKey getPublicKey() {
-        if (cachedPublicKey == null) {
-            log.warn("공개키 캐시가 비어 있어, 재시도합니다.");
-            loadPublicKey();
+    private ThreadFactory refresherThreadFactory() {
+        if (interServerKeyProperties.isVirtualThreads()) {
+            return Thread.ofVirtual().name("interserver-key-refresher").factory();
         }
-        if (cachedPublicKey == null) {
+        return r -> {
+            Thread t = new Thread(r, "interserver-key-refresher");
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) refresher.shutdownNow();
+    }
+
+    /**
+     * kid 헤더가 없는 토큰 검증용 현재 키. 없으면 즉시 갱신을 요청하고 예외 (요청 스레드는 대기하지 않음)
+     */
+    public RSAPublicKey getPublicKey() {
+        RSAPublicKey key = getKeySet().primary();
+        if (key == null) {
+            log.warn("공개키 캐시가 비어 있어, 갱신을 요청합니다.");
+            requestRefresh();
             throw new IllegalStateException("공개키를 로드할 수 없습니다. 인증 서버 상태를 확인해주세요.");
         }
-        return cachedPublicKey;
+        return key;
+    }
+
+    /** 현재 키 묶음 스냅샷 (논블로킹) */
+    public InterServerKeySet getKeySet() {
+        return keySet;
+    }
+
+    /** 키를 한 번이라도 받아 토큰을 검증할 수 있는 상태인지 (readiness) */
+    public boolean isReady() {
+        return !keySet.isEmpty();
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * 첫 키 로드를 기다린다. (테스트, 기동 시간 측정용. 요청 스레드에서는 호출하지 않음)
+     * @return timeout 안에 로드됐으면 true
+     */
+    public boolean awaitReady(Duration timeout) throws InterruptedException {
+        return firstLoad.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /** 스냅샷에 없는 kid로 서명된 토큰을 만났을 때: 인증 서버의 키 교체 가능성 → 갱신 요청 */
+    public void onUnknownKeyId(String kid) {
+        log.warn("알 수 없는 kid={}, 공개키 갱신을 요청합니다.", kid);
+        requestRefresh();
+    }
+
+    /**
+     * 즉시 갱신 요청. 이미 대기 중이거나 최근에 요청했으면 무시한다.
+     */
+    public void requestRefresh() {
+        if (refresher == null) return;
+
+        long now = System.nanoTime();
+        long last = lastOnDemandNanos.get();
+        if (now - last < interServerKeyProperties.getOnDemandMinInterval().toNanos()) return;
+        if (!lastOnDemandNanos.compareAndSet(last, now)) return;
+        if (!onDemandQueued.compareAndSet(false, true)) return;
+
+        refresher.execute(() -> {
+            onDemandQueued.set(false);
+            refresh();
+        });
+    }
+
+    private void scheduleNext(boolean lastSucceeded) {
+        long delayMillis = lastSucceeded
+                ? interServerKeyProperties.getRefreshInterval().toMillis()
+                : backoffMillis();
+        refresher.schedule(() -> scheduleNext(refresh()), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private long backoffMillis() {
+        long min = interServerKeyProperties.getRetryMinBackoff().toMillis();
+        long max = interServerKeyProperties.getRetryMaxBackoff().toMillis();
+        int exponent = Math.min(consecutiveFailures.get() - 1, 20);
+        return Math.min(max, min << Math.max(0, exponent));
     }
 
     /**
-     * 공개키를 Name Server에서 가져와 파싱하고, 캐싱
+     * 공개키 목록을 Name Server에서 가져와 파싱하고, 스냅샷을 교체
+     * 갱신 스레드에서만 호출된다.
      */
-    private void loadPublicKey(){
-        try{
+    private boolean refresh() {
+        long started = System.nanoTime();
+        boolean loaded = fetch();
+        (loaded ? fetchSuccess : fetchFailure).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return loaded;
+    }
+
+    /** interserver.key.ready.time: JVM 시작부터 첫 키 로드까지 (application.ready.time과 비교) */
+    private void onFirstLoad() {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder("interserver.key.ready.time", () -> uptimeMillis, TimeUnit.MILLISECONDS).register(meterRegistry);
+        log.info("공개키 준비 완료 (JVM 시작 후 {} ms)", uptimeMillis);
+        firstLoad.countDown();
+    }
+
+    private boolean fetch() {
+        try {
             String endPoint = interServerKeyProperties.getPublicKeyApi();
             log.info("Fetching public key from: {}", endPoint);
 
+            // 최대 3초 지나면 타임아웃 : InterServerHttpClientConfig / InterServerWebClientConfig
+            ResponseEntity<String> response = keyClient.fetch(endPoint);
 
-            // 최대 3초 지나면 타임아웃 : InterServerHttpClientConfig
-            ResponseEntity<String> response = restTemplate.getForEntity(endPoint, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String base64Key = response.getBody();
-                cachedPublicKey = parsePublicKey(base64Key);
-                log.info("공개키 로딩 성공");
-            } else {
+            if (!response.getStatusCode().is2xxSuccessful()) {
                 log.error("공개키 로딩 실패: 상태 코드 {}", response.getStatusCode());
+                consecutiveFailures.incrementAndGet();
+                return false;
+            }
+
+            InterServerKeySet fetched = InterServerKeySetParser.parse(response.getBody());
+            InterServerKeySet current = keySet;
+            InterServerKeySet next = current.rotateTo(fetched, Instant.now(), interServerKeyProperties.getRetiredKeyGrace());
+            if (next != current) {
+                keySet = next;
+                log.info("공개키 로딩 성공 (keys={})", next.size());
             }
-        } catch (Exception e){
-            log.error("공개키 파싱 실패", e);
+            if (firstLoad.getCount() > 0 && !next.isEmpty()) onFirstLoad();
+            consecutiveFailures.set(0);
+            return true;
+        } catch (Exception e) {
+            log.error("공개키 파싱 실패 (연속 실패 {}회)", consecutiveFailures.incrementAndGet(), e);
             /** graceful degradation 전략:
              * 이 메서드에서 실패했지만 throw e 하지 않았으므로,
              * Spring 애플리케이션은 종료되지 않고 정상 기동
-             * 그러나 publicKey == null이므로, 이후 JwtVerifier나 Signature 사용 시 검증 실패가 발생
+             * 기존 스냅샷이 있으면 계속 사용하고, 없으면 JwtVerifier에서 검증 실패가 발생
              */
+            return false;
         }
     }
-
-     /** Base64로 인코딩된 공개키 문자열을 RSAPublicKey 객체로 변환
-     * 공개키는 X.509 포맷으로 인코딩된 경우
-     */
-    private RSAPublicKey parsePublicKey(String base64EncodedKey) throws Exception{
-        byte[] keyBytes = Base64.getDecoder().decode(base64EncodedKey);
-
-        // PEM 형식이 아니라 PKCS#8 또는 X.509의 응답인 경우
-        java.security.spec.X509EncodedKeySpec spec = new java.security.spec.X509EncodedKeySpec(keyBytes);
-        java.security.KeyFactory kf = java.security.KeyFactory.getInstance("RSA");
-        PublicKey publicKey = kf.generatePublic(spec);
-
-        if (!(publicKey instanceof RSAPublicKey)) {
-            throw new IllegalArgumentException("Not and RSA public key");
-        }
-
-        return (RSAPublicKey) publicKey;
-    }
-
 }
@@ -1,36 +1,108 @@
 package com.dontgoback.msa.extension.domain.asset;
 
+import com.dontgoback.msa.extension.domain.asset.dto.AssetLeaderboardResponse;
+import com.dontgoback.msa.extension.domain.asset.dto.CatchUpAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.CatchUpAssetResponse;
+import com.dontgoback.msa.extension.domain.asset.dto.MultiplierDistributionResponse;
+import com.dontgoback.msa.extension.domain.asset.dto.MultiplierHistoryResponse;
 import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetResponse;
 import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
+import com.dontgoback.msa.extension.global.config.BinaryCodecConfiguration;
 import com.dontgoback.msa.extension.responseDto.ResData;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // reactive 프로필에서는 ApiV1AssetRouter
 @RequestMapping("/msa/ext/api")
 @RestController
 public class ApiV1AssetController {
+    // 예외 응답(400/500)은 ApiV1AssetControllerAdvice에서 만든다
+    // 요청은 Content-Type, 응답은 Accept로 형식을 고른다. 지정하지 않으면 JSON (BinaryCodecConfiguration)
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+    private static final String CBOR = MediaType.APPLICATION_CBOR_VALUE;
+    private static final String SMILE = BinaryCodecConfiguration.APPLICATION_SMILE_VALUE;
+
     private final AssetService assetService;
+    private final AssetHistoryService assetHistoryService;
+    private final BulkAssetUpdater bulkAssetUpdater;
 
-    @PostMapping("/update-asset/{userId}")
+    @PostMapping(value = "/update-asset/{userId}", consumes = {JSON, CBOR, SMILE}, produces = {JSON, CBOR, SMILE})
     public ResponseEntity<ResData<UpdateAssetResponse>> updateAsset(
             @PathVariable("userId") long userId,
             @RequestBody @Validated UpdateAssetRequest request
     ) {
-        try {
-            UpdateAssetResponse response = assetService.updateAsset(userId, request);
-            return ResponseEntity.ok(ResData.of("S", "Update asset success", response));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(ResData.of("F", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ResData.of("F", "Unexpected error occurred."));
-        }
+        UpdateAssetResponse response = assetService.updateAsset(userId, request);
+        return ResponseEntity.ok(ResData.of("S", "Update asset success", response));
+    }
+
+    /**
+     * 기간 [from, to]의 일별 배수와 복리 수익률. to를 생략하면 오늘까지.
+     */
+    @GetMapping(value = "/multipliers/{userId}", produces = {JSON, CBOR, SMILE})
+    public ResponseEntity<ResData<MultiplierHistoryResponse>> multiplierHistory(
+            @PathVariable("userId") long userId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        MultiplierHistoryResponse response = assetHistoryService.multiplierHistory(userId, from, to);
+        return ResponseEntity.ok(ResData.of("S", "Multiplier history success", response));
+    }
+
+    /**
+     * 최근 days일(오늘 포함)의 적용 배수 분포: 변동률 분위수, 클램프 비율, 건수
+     */
+    @GetMapping(value = "/multiplier-distribution", produces = {JSON, CBOR, SMILE})
+    public ResponseEntity<ResData<MultiplierDistributionResponse>> multiplierDistribution(
+            @RequestParam(value = "days", defaultValue = "7") int days
+    ) {
+        MultiplierDistributionResponse response = assetService.multiplierDistribution(days);
+        return ResponseEntity.ok(ResData.of("S", "Multiplier distribution success", response));
+    }
+
+    /**
+     * 오늘 자산 갱신의 이득/손실 상위 limit명 (주기적으로 갱신되는 스냅샷)
+     */
+    @GetMapping(value = "/leaderboard", produces = {JSON, CBOR, SMILE})
+    public ResponseEntity<ResData<AssetLeaderboardResponse>> leaderboard(
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        AssetLeaderboardResponse response = assetService.leaderboard(limit);
+        return ResponseEntity.ok(ResData.of("S", "Leaderboard success", response));
+    }
+
+    /**
+     * 여러 날 갱신하지 않은 유저의 자산을 [from, to] 각 날짜의 배수로 한 번에 갱신
+     */
+    @PostMapping(value = "/catch-up-asset/{userId}", consumes = {JSON, CBOR, SMILE}, produces = {JSON, CBOR, SMILE})
+    public ResponseEntity<ResData<CatchUpAssetResponse>> catchUpAsset(
+            @PathVariable("userId") long userId,
+            @RequestBody @Validated CatchUpAssetRequest request
+    ) {
+        CatchUpAssetResponse response = assetHistoryService.catchUpAsset(userId, request);
+        return ResponseEntity.ok(ResData.of("S", "Catch-up asset success", response));
+    }
+
+    /**
+     * 벌크 자산 갱신 (NDJSON 스트리밍)
+     * 요청 한 줄 {userId, asset, snapshotDay}마다 응답 한 줄(ResData)을 같은 순서로 돌려준다.
+     * 잘못된 줄은 해당 줄만 resultCode "F"로 응답하고 나머지는 계속 처리한다.
+     */
+    @PostMapping(value = "/update-assets", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void updateAssets(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkAssetUpdater.process(body, response.getOutputStream());
     }
 }
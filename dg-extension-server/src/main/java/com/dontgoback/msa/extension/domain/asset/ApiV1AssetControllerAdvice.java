@@ -0,0 +1,39 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.responseDto.ResData;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * ApiV1AssetController의 예외 응답. (reactive 프로필은 ApiV1AssetHandler.handle)
+ * - IllegalArgumentException: 400, 메시지를 그대로 돌려준다
+ * - 그 밖의 예외: 500
+ * 요청 바인딩/검증 오류(ErrorResponse, 본문 파싱, 타입 변환)는 Spring 기본 응답 그대로 둔다.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestControllerAdvice(assignableTypes = ApiV1AssetController.class)
+public class ApiV1AssetControllerAdvice {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ResData<Void>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity
+                .badRequest()
+                .body(ResData.of("F", e.getMessage()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ResData<Void>> unexpected(Exception e) throws Exception {
+        if (e instanceof ErrorResponse || e instanceof HttpMessageNotReadableException || e instanceof TypeMismatchException) {
+            throw e;
+        }
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResData.of("F", "Unexpected error occurred."));
+    }
+}
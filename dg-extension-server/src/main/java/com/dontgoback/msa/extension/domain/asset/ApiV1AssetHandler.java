@@ -0,0 +1,148 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.domain.asset.dto.CatchUpAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
+import com.dontgoback.msa.extension.global.config.BinaryCodecConfiguration;
+import com.dontgoback.msa.extension.responseDto.ResData;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * ApiV1AssetController의 WebFlux 버전 (reactive 프로필). 라우팅은 ApiV1AssetRouter.
+ *
+ * 갱신 로직은 같은 AssetService를 쓰되, 호출은 boundedElastic 스레드에서 한다. (offload)
+ * AssetService는 대기할 수 있다: 이력 파일/스필 영역의 mmap 페이지 폴트, 날짜 전환(이력 파일 쓰기)을 기다리는
+ * synchronized 구간 등. 본문 디코딩과 응답 인코딩만 이벤트 루프에서 처리한다.
+ * 응답 형식(ResData, 400/500 구분)은 servlet 쪽과 같다. 본문은 JSON 외에 CBOR/Smile도 주고받는다 (BinaryCodecConfiguration).
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ApiV1AssetHandler {
+    private final AssetService assetService;
+    private final AssetHistoryService assetHistoryService;
+    private final Validator validator;
+
+    public Mono<ServerResponse> updateAsset(ServerRequest request) {
+        long userId;
+        try {
+            userId = Long.parseLong(request.pathVariable("userId"));
+        } catch (NumberFormatException e) {
+            return badRequest(request, "userId must be a number");
+        }
+
+        return handle(request, "Update asset success", request.bodyToMono(UpdateAssetRequest.class)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("request body must not be empty")))
+                .flatMap(body -> offload(() -> assetService.updateAsset(userId, validate(body)))));
+    }
+
+    /** GET /multipliers/{userId}?from=YYYY-MM-DD[&to=YYYY-MM-DD] */
+    public Mono<ServerResponse> multiplierHistory(ServerRequest request) {
+        long userId;
+        LocalDate from;
+        LocalDate to;
+        try {
+            userId = Long.parseLong(request.pathVariable("userId"));
+            from = request.queryParam("from").map(LocalDate::parse)
+                    .orElseThrow(() -> new IllegalArgumentException("from must not be null"));
+            to = request.queryParam("to").map(LocalDate::parse).orElse(null);
+        } catch (NumberFormatException e) {
+            return badRequest(request, "userId must be a number");
+        } catch (DateTimeParseException e) {
+            return badRequest(request, "from/to must be YYYY-MM-DD");
+        } catch (IllegalArgumentException e) {
+            return badRequest(request, e.getMessage());
+        }
+
+        return handle(request, "Multiplier history success",
+                offload(() -> assetHistoryService.multiplierHistory(userId, from, to)));
+    }
+
+    /** GET /multiplier-distribution[?days=N] */
+    public Mono<ServerResponse> multiplierDistribution(ServerRequest request) {
+        int days;
+        try {
+            days = request.queryParam("days").map(Integer::parseInt).orElse(7);
+        } catch (NumberFormatException e) {
+            return badRequest(request, "days must be a number");
+        }
+
+        return handle(request, "Multiplier distribution success", offload(() -> assetService.multiplierDistribution(days)));
+    }
+
+    /** GET /leaderboard[?limit=N] */
+    public Mono<ServerResponse> leaderboard(ServerRequest request) {
+        int limit;
+        try {
+            limit = request.queryParam("limit").map(Integer::parseInt).orElse(10);
+        } catch (NumberFormatException e) {
+            return badRequest(request, "limit must be a number");
+        }
+
+        return handle(request, "Leaderboard success", offload(() -> assetService.leaderboard(limit)));
+    }
+
+    public Mono<ServerResponse> catchUpAsset(ServerRequest request) {
+        long userId;
+        try {
+            userId = Long.parseLong(request.pathVariable("userId"));
+        } catch (NumberFormatException e) {
+            return badRequest(request, "userId must be a number");
+        }
+
+        return handle(request, "Catch-up asset success", request.bodyToMono(CatchUpAssetRequest.class)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("request body must not be empty")))
+                .flatMap(body -> offload(() -> assetHistoryService.catchUpAsset(userId, validate(body)))));
+    }
+
+    /** AssetService 호출을 이벤트 루프 밖에서 실행한다 */
+    private static <T> Mono<T> offload(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** 성공 응답과 예외별 응답(400/415/500)을 만든다 */
+    private static Mono<ServerResponse> handle(ServerRequest request, String successMessage, Mono<?> result) {
+        return result
+                .flatMap(response -> respond(request, ServerResponse.ok(), ResData.of("S", successMessage, response)))
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(request, e.getMessage()))
+                .onErrorResume(ServerWebInputException.class, e -> badRequest(request, "Invalid request body"))
+                .onErrorResume(UnsupportedMediaTypeStatusException.class, e -> respond(request,
+                        ServerResponse.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE), ResData.of("F", "Unsupported content type")))
+                .onErrorResume(e -> respond(request, ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR),
+                        ResData.of("F", "Unexpected error occurred.")));
+    }
+
+    /** @Validated 대신 Bean Validation을 직접 적용 */
+    private <T> T validate(T body) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<T> first = violations.iterator().next();
+            throw new IllegalArgumentException(first.getPropertyPath() + " " + first.getMessage());
+        }
+        return body;
+    }
+
+    private static Mono<ServerResponse> badRequest(ServerRequest request, String message) {
+        return respond(request, ServerResponse.badRequest(), ResData.of("F", message));
+    }
+
+    /** 함수형 엔드포인트는 Accept로 인코더를 고르지 않으므로 Content-Type을 직접 정한다 (기본 JSON) */
+    private static Mono<ServerResponse> respond(ServerRequest request, ServerResponse.BodyBuilder builder, ResData<?> body) {
+        return builder.contentType(BinaryCodecConfiguration.negotiate(request.headers().accept())).bodyValue(body);
+    }
+}
@@ -0,0 +1,29 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * reactive 프로필의 자산 API 라우팅 (servlet 프로필에서는 ApiV1AssetController)
+ * 벌크 NDJSON 갱신(/update-assets)은 servlet 스택에서만 제공한다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ApiV1AssetRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> assetRoutes(ApiV1AssetHandler handler) {
+        return RouterFunctions.route()
+                .path("/msa/ext/api", builder -> builder
+                        .POST("/update-asset/{userId}", handler::updateAsset)
+                        .GET("/multipliers/{userId}", handler::multiplierHistory)
+                        .GET("/multiplier-distribution", handler::multiplierDistribution)
+                        .GET("/leaderboard", handler::leaderboard)
+                        .POST("/catch-up-asset/{userId}", handler::catchUpAsset))
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.domain.asset.dto.CatchUpAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.CatchUpAssetResponse;
+import com.dontgoback.msa.extension.domain.asset.dto.DailyMultiplier;
+import com.dontgoback.msa.extension.domain.asset.dto.MultiplierHistoryResponse;
+import com.dontgoback.msa.extension.domain.asset.history.MultiplierHistory;
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 일별 배수의 기간 조회(multiplierHistory)와 몰아서 갱신(catchUpAsset).
+ *
+ * asset.history.enabled=true이고 RANDOM 모드이면 보관 기간이 지나 저장소에서 버리는 날짜를 MultiplierHistory 파일로 남기고,
+ * AssetService에 MultiplierArchive로 연결해 저장소에 없는 지난 날짜의 배수를 파일에서 찾게 한다.
+ * 배수 조회/생성, 분포·감사 기록은 AssetService와 같은 경로를 쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssetHistoryService implements MultiplierArchive {
+
+    private final AssetService assetService;
+    private final AssetProperties props;
+    private final MeterRegistry meterRegistry;
+
+    /** RANDOM 모드, asset.history.enabled=true이고 열기에 성공했을 때만 사용 (그 외에는 null) */
+    private MultiplierHistory history;
+
+    @PostConstruct
+    void init() {
+        if (!props.getHistory().isEnabled() || !assetService.storesMultipliers()) return;
+        openHistory();
+        if (history == null) return;
+        Gauge.builder("asset.multiplier.history.days", history, MultiplierHistory::days)
+                .register(meterRegistry);
+        assetService.attachArchive(this);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (history == null) return;
+        assetService.attachArchive(null);
+        MultiplierHistory h = history;
+        DailyMultiplierStore store = assetService.multiplierStore();
+        // 아직 보관 기간 안인 날짜도 남긴다 (재시작 후 로그 없이도 같은 배수, 이후 기록은 병합)
+        h.submit(() -> h.archive(copyEntries(store)));
+        h.close(); // 기록이 끝날 때까지 기다림
+    }
+
+    /**
+     * 이력 파일을 연다. 실패해도 기동은 계속하고, 이력 없이(저장소에 남은 날짜만으로) 서비스한다.
+     */
+    private void openHistory() {
+        var cfg = props.getHistory();
+        MultiplierHistory opened = new MultiplierHistory(Path.of(cfg.getDirectory()));
+        try {
+            opened.open();
+        } catch (IOException e) {
+            log.error("일별 배수 이력을 열 수 없어, 이력 없이 시작합니다. directory={}", cfg.getDirectory(), e);
+            return;
+        }
+        this.history = opened;
+    }
+
+    @Override
+    public boolean hasDay(long epochDay) {
+        return history.hasDay(epochDay);
+    }
+
+    @Override
+    public double find(long userId, long epochDay) {
+        return history.find(userId, epochDay);
+    }
+
+    @Override
+    public void archiveAndExpire(DailyMultiplierStore store, long retainFrom, long todayEpochDay) {
+        long historyFrom = todayEpochDay - props.getHistory().getRetentionDays();
+        history.submit(() -> retireAndArchive(store, retainFrom, historyFrom));
+    }
+
+    /**
+     * (이력 스레드) 버릴 날짜를 저장소에서 떼어 내 파일에 남긴 뒤 버린다. 쓰는 동안에도 떼어 낸 날짜는 저장소에서 조회된다.
+     * 떼어 낸 뒤에 들어온 지난 날짜 엔트리는 떼어 낸 테이블이 아니라 overflow에 쌓여 다음 rollover에서 기록된다.
+     */
+    private void retireAndArchive(DailyMultiplierStore store, long retainFrom, long historyFrom) {
+        DailyMultiplierStore.Retired retired = store.retireBefore(retainFrom);
+        try {
+            MultiplierHistory.Batch batch = new MultiplierHistory.Batch();
+            retired.forEach(batch);
+            history.archive(batch);
+        } finally {
+            store.release(retired);
+        }
+        history.expireBefore(historyFrom);
+    }
+
+    /** 저장소의 모든 엔트리 복사본 */
+    private static MultiplierHistory.Batch copyEntries(DailyMultiplierStore store) {
+        MultiplierHistory.Batch batch = new MultiplierHistory.Batch();
+        store.forEach(Long.MIN_VALUE, batch);
+        return batch;
+    }
+
+    /**
+     * 기간 [from, to]의 일별 배수와 복리 수익률(배수의 곱).
+     * RANDOM 모드에서 배수가 없는 날짜(그날 갱신하지 않음)는 빠진다. to가 null이면 오늘까지.
+     */
+    public MultiplierHistoryResponse multiplierHistory(long userId, LocalDate from, LocalDate to) {
+        LocalDate end = (to != null) ? to : assetService.today().date();
+        checkRange(from, end);
+
+        List<DailyMultiplier> multipliers = new ArrayList<>();
+        double compounded = 1.0;
+        for (LocalDate day = from; !day.isAfter(end); day = day.plusDays(1)) {
+            double multiplier = assetService.existingMultiplier(userId, day.toEpochDay());
+            if (Double.isNaN(multiplier)) continue;
+            multipliers.add(new DailyMultiplier(day.toString(), multiplier));
+            compounded *= multiplier;
+        }
+        return new MultiplierHistoryResponse(userId, from.toString(), end.toString(), multipliers,
+                compounded, (compounded - 1.0) * 100.0);
+    }
+
+    /**
+     * 여러 날 갱신하지 않은 유저를 [from, to] 각 날짜의 배수로 한 번에 갱신한다.
+     * 날짜마다 updateAsset과 같은 배수/반올림을 차례로 적용하므로, 하루씩 갱신한 결과와 같다.
+     * 배수가 없는 날짜는 이때 생성한다. to가 null이면 오늘까지.
+     */
+    public CatchUpAssetResponse catchUpAsset(long userId, CatchUpAssetRequest req) {
+        Objects.requireNonNull(req, "request must not be null");
+
+        Long originalBoxed = req.getAsset();
+        if (originalBoxed == null) throw new IllegalArgumentException("asset must not be null");
+        long original = originalBoxed;
+        if (original < 0) throw new IllegalArgumentException("asset must be >= 0");
+        LocalDate end = (req.getTo() != null) ? req.getTo() : assetService.today().date();
+        checkRange(req.getFrom(), end);
+
+        long updated = original;
+        double compounded = 1.0;
+        List<DailyMultiplier> applied = new ArrayList<>();
+        long todayEpochDay = assetService.today().epochDay();
+        for (LocalDate day = req.getFrom(); !day.isAfter(end); day = day.plusDays(1)) {
+            double multiplier = assetService.multiplierFor(userId, day);
+            long before = updated;
+            updated = Math.max(0L, Math.round(before * multiplier));
+            compounded *= multiplier;
+            applied.add(new DailyMultiplier(day.toString(), multiplier));
+            assetService.recordCatchUp(todayEpochDay, userId, day, before, multiplier, updated);
+        }
+
+        if (assetService.sampledForLog()) {
+            log.info("catchUpAsset userId={} from={} to={} days={} original={} compounded={} updated={}",
+                    userId, req.getFrom(), end, applied.size(), original, String.format("%.6f", compounded), updated);
+        }
+        return new CatchUpAssetResponse(userId, original, updated, req.getFrom().toString(), end.toString(),
+                applied, compounded);
+    }
+
+    /** 미래 날짜(미리 생성된 배수)는 노출하지 않고, 한 번에 maxRangeDays까지만 허용한다 */
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from == null) throw new IllegalArgumentException("from must not be null");
+        if (from.isAfter(to)) throw new IllegalArgumentException("from must not be after to");
+        if (to.isAfter(assetService.today().date())) throw new IllegalArgumentException("to must not be after today");
+        int maxDays = props.getHistory().getMaxRangeDays();
+        if (to.toEpochDay() - from.toEpochDay() + 1 > maxDays)
+            throw new IllegalArgumentException("range must be at most " + maxDays + " days");
+    }
+}
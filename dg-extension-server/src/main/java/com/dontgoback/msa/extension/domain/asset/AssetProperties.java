@@ -5,6 +5,10 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @Setter
 @Configuration
@@ -14,6 +18,16 @@ public class AssetProperties {
     private Clamp clamp = new Clamp();
     private Cache cache = new Cache();
     private Caffeine caffeine = new Caffeine();
+    private Spill spill = new Spill();
+    private Generator generator = new Generator();
+    private Bulk bulk = new Bulk();
+    private Journal journal = new Journal();
+    private Prewarm prewarm = new Prewarm();
+    private Audit audit = new Audit();
+    private History history = new History();
+    private Replication replication = new Replication();
+    private Distribution distribution = new Distribution();
+    private Leaderboard leaderboard = new Leaderboard();
 
     @Getter @Setter
     public static class Volatility {
@@ -45,15 +59,19 @@ public class AssetProperties {
         private String zoneId = "Asia/Seoul";
     }
 
+    /**
+     * 일별 배수 저장소(DailyMultiplierStore) 설정.
+     * 기존 Caffeine 캐시 설정 키(asset.caffeine.*)를 그대로 사용한다.
+     */
     @Getter @Setter
     public static class Caffeine {
         /**
-         * expireAfterWrite 기간(일 단위). 기본 1일
+         * 보관 기간(일 단위). 기본 1일. 이보다 오래된 날짜의 테이블은 날짜가 바뀔 때 통째로 버린다.
          */
         private int expireAfterWriteDays = 1;
 
         /**
-         * 캐시 최대 엔트리 수. DAU에 맞춰 조정
+         * 하루(날짜 테이블 하나)의 최대 엔트리 수. DAU에 맞춰 조정
          */
         private long maxSize = 300_000L;
 
@@ -62,4 +80,294 @@ public class AssetProperties {
          */
         private boolean recordStats = true;
     }
+
+    /**
+     * 힙 저장소에서 밀려난 배수를 받아 두는 off-heap 저장소(OffHeapMultiplierTier) 설정
+     */
+    @Getter @Setter
+    public static class Spill {
+        /**
+         * 사용 여부. 끄면 caffeine.maxSize를 넘는 날에는 밀려난 유저가 같은 날 다른 배수를 받을 수 있다
+         */
+        private boolean enabled = false;
+
+        /**
+         * 최대 엔트리 수 (힙 밖, 슬롯당 16B / 적재율 0.375~0.75). 총 수용량 ≈ caffeine.maxSize + capacity
+         */
+        private long capacity = 3_000_000L;
+
+        /**
+         * 비우면 direct 메모리, 지정하면 이 디렉터리의 파일을 mmap (메모리가 부족하면 커널이 디스크로 내보냄)
+         */
+        private String directory = "";
+    }
+
+    @Getter @Setter
+    public static class Generator {
+        /**
+         * 배수 생성 방식.
+         * RANDOM: 요청 시 난수로 생성하고 저장소에 보관 (기본)
+         * DETERMINISTIC: (userId, snapshotDay, secret) 해시로 Z를 계산. 저장소 없이 재시작/인스턴스 간 동일
+         */
+        private Mode mode = Mode.RANDOM;
+
+        /**
+         * DETERMINISTIC 모드의 키. 노출되면 배수를 미리 계산할 수 있으므로 secret 설정으로 관리
+         */
+        private String secret;
+
+        /**
+         * RANDOM 모드의 표준정규 난수 구현.
+         * BOX_MULLER: ThreadLocalNormalGenerator (기본)
+         * ZIGGURAT: ZigguratNormalGenerator (대부분 비교/곱셈만으로 생성, 벌크 생성 지원)
+         */
+        private Algorithm algorithm = Algorithm.BOX_MULLER;
+
+        /**
+         * 여러 유저의 배수를 한꺼번에 만들 때(미리 생성) exp/클램프를 Vector API(SIMD)로 계산할지 여부.
+         * JVM이 --add-modules jdk.incubator.vector로 떠 있지 않으면 이 값과 관계없이 스칼라로 계산한다
+         */
+        private boolean vectorized = true;
+
+        public enum Mode { RANDOM, DETERMINISTIC }
+
+        public enum Algorithm { BOX_MULLER, ZIGGURAT }
+    }
+
+    @Getter @Setter
+    public static class Bulk {
+        /**
+         * 벌크 갱신 병렬도. 1이면 요청 스레드에서 순차 처리
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 동시에 처리 중일 수 있는 최대 레코드 수. 요청 크기와 무관하게 메모리 사용량을 이 값으로 제한
+         */
+        private int window = 256;
+
+        /**
+         * NDJSON 한 줄 최대 바이트 수. 초과한 줄은 해당 레코드만 실패 처리
+         */
+        private int maxLineBytes = 1024;
+    }
+
+    /**
+     * 일별 배수 로그/스냅샷(MultiplierJournal) 설정. 재시작 후에도 같은 날 같은 multiplier를 유지한다.
+     */
+    @Getter @Setter
+    public static class Journal {
+        /**
+         * 사용 여부. 끄면 재시작 시 저장소가 비어 있는 상태로 시작한다
+         */
+        private boolean enabled = false;
+
+        /**
+         * 스냅샷/로그 파일 디렉터리 (컨테이너에서는 볼륨으로 마운트)
+         */
+        private String directory = "data/multiplier-journal";
+
+        /**
+         * 메모리 버퍼를 로그 파일에 쓰는 주기. 비정상 종료 시 최대 이 시간만큼의 엔트리를 잃을 수 있다
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 로그를 스냅샷으로 압축하는 주기
+         */
+        private Duration compactInterval = Duration.ofMinutes(10);
+
+        /**
+         * 로그 링 버퍼 크기(바이트). 레코드당 16B. flushInterval 동안 새로 생성되는 엔트리보다 커야 하고,
+         * 가득 차면 레코드를 버리고 다음 flush에서 스냅샷을 만든다
+         */
+        private int bufferBytes = 64 * 1024;
+    }
+
+    /**
+     * 자정 전 다음 날 배수 미리 생성(MultiplierPrewarmer) 설정
+     */
+    @Getter @Setter
+    public static class Prewarm {
+        /**
+         * 사용 여부
+         */
+        private boolean enabled = false;
+
+        /**
+         * 실행 시각 (cache.zoneId 기준). 자정 직전에 실행되어야 한다
+         */
+        private String cron = "0 50 23 * * *";
+
+        /**
+         * 최근 며칠 동안 배수를 받은 유저를 활성 유저로 볼지 (오늘 포함)
+         */
+        private int activeDays = 2;
+
+        /**
+         * 미리 생성 워커 수
+         */
+        private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * 워커 하나가 CPU를 쓰는 시간 비율(0~1]. 0.25면 배치 하나를 처리한 시간의 3배만큼 쉰다
+         */
+        private double cpuBudget = 0.25;
+
+        /**
+         * 쉬기 전에 한 번에 처리할 유저 수
+         */
+        private int batchSize = 1024;
+    }
+
+    /**
+     * 자산 갱신 감사 로그(AssetAuditLog) 및 사람이 보는 로그 설정
+     */
+    @Getter @Setter
+    public static class Audit {
+        /**
+         * 바이너리 감사 로그 사용 여부
+         */
+        private boolean enabled = false;
+
+        /**
+         * 감사 로그 파일 디렉터리 (컨테이너에서는 볼륨으로 마운트)
+         */
+        private String directory = "data/asset-audit";
+
+        /**
+         * 링 버퍼 크기(레코드 수, 2의 거듭제곱으로 올림). 가득 차면 요청을 막지 않고 레코드를 버린다
+         */
+        private int bufferRecords = 16 * 1024;
+
+        /**
+         * 파일에 한 번에 쓰는 최대 레코드 수. 레코드당 48B
+         */
+        private int writeBatchRecords = 1024;
+
+        /**
+         * 쓸 레코드가 없을 때 writer가 쉬는 시간
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * 파일 하나의 최대 크기(바이트). 넘으면 새 파일로 교체
+         */
+        private long maxFileBytes = 64L * 1024 * 1024;
+
+        /**
+         * 남겨 둘 파일 수 (오래된 것부터 삭제)
+         */
+        private int maxFiles = 8;
+
+        /**
+         * 갱신 1건마다 INFO 로그를 남길 확률(0~1). 1이면 매 건, 0이면 남기지 않음
+         */
+        private double logSampleRate = 1.0;
+    }
+
+    /**
+     * 일별 배수 이력(MultiplierHistory) 및 기간 조회/몰아서 갱신 설정. RANDOM 모드에서만 파일로 남긴다.
+     */
+    @Getter @Setter
+    public static class History {
+        /**
+         * 보관 기간이 지난 날짜의 배수를 날짜별 파일로 남길지 여부
+         */
+        private boolean enabled = false;
+
+        /**
+         * 이력 파일 디렉터리 (컨테이너에서는 볼륨으로 마운트)
+         */
+        private String directory = "data/multiplier-history";
+
+        /**
+         * 이력 파일 보관 일수. 날짜당 파일 하나(엔트리당 16B)
+         */
+        private int retentionDays = 400;
+
+        /**
+         * 기간 조회/몰아서 갱신 한 번에 허용하는 최대 일수
+         */
+        private int maxRangeDays = 366;
+    }
+
+    /**
+     * 인스턴스 간 일별 배수 복제(MultiplierReplicator) 설정. RANDOM 모드에서만 동작한다.
+     * 새로 생성한 배수를 모아 peers에 보내고, 받은 배수는 DailyMultiplierStore.merge 규칙으로 합친다.
+     */
+    @Getter @Setter
+    public static class Replication {
+        /**
+         * 사용 여부. 끄면 인스턴스마다 독립적으로 배수를 만든다 (ADR 04의 기존 동작)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 보낼 인스턴스의 base URL 목록. 예: http://10.0.0.12:8092 (자기 자신은 넣지 않는다)
+         */
+        private List<String> peers = new ArrayList<>();
+
+        /**
+         * 모은 엔트리를 보내는 주기. 복제 지연의 하한
+         */
+        private Duration batchInterval = Duration.ofMillis(200);
+
+        /**
+         * 보내기 전까지 모아 둘 최대 엔트리 수. 넘치면 버리고 asset.replication.dropped로 센다 (엔트리당 16B)
+         */
+        private int bufferEntries = 64 * 1024;
+
+        /**
+         * 피어별로 실패한 엔트리를 다음 주기에 다시 보내기 위해 남겨 두는 최대 수. 넘치면 오래된 것부터 버린다
+         */
+        private int retryEntries = 256 * 1024;
+
+        /**
+         * 피어 호출 연결/응답 타임아웃
+         */
+        private Duration timeout = Duration.ofSeconds(3);
+    }
+
+    /**
+     * 적용된 배수의 날짜별 분포 스케치(MultiplierDistribution) 설정. 모드와 관계없이 갱신마다 기록한다.
+     */
+    @Getter @Setter
+    public static class Distribution {
+        /**
+         * 사용 여부. 끄면 /multiplier-distribution 조회가 빈 결과를 돌려준다
+         */
+        private boolean enabled = true;
+
+        /**
+         * 오늘을 포함해 분포를 보관할 일수
+         */
+        private int retentionDays = 7;
+
+        /**
+         * 구간 폭(변동률 %p). 분위수의 최대 오차. 날짜당 메모리 = 클램프 범위 / 폭 × 8B × 스트라이프 수(최대 8)
+         */
+        private double resolutionPercent = 0.01;
+    }
+
+    /**
+     * 오늘 자산 갱신의 이득/손실 상위 목록(AssetLeaderboard) 설정. 날짜가 바뀌면 지난 날짜 목록은 버린다.
+     */
+    @Getter @Setter
+    public static class Leaderboard {
+        /**
+         * 사용 여부. 끄면 /leaderboard 조회가 빈 목록을 돌려준다
+         */
+        private boolean enabled = true;
+
+        /**
+         * 방향(이득/손실)별 보관 인원 = 조회 limit 상한. 메모리 = 2 × 스트라이프 수(CPU 수, 최대 64) × size × 40B
+         */
+        private int size = 100;
+
+        /**
+         * 조회 스냅샷을 다시 만드는 주기. 조회 결과는 최대 이만큼 늦다
+         */
+        private Duration refreshInterval = Duration.ofSeconds(1);
+    }
 }
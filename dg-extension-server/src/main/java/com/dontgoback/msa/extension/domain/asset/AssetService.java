@@ -1,27 +1,66 @@
 package com.dontgoback.msa.extension.domain.asset;
 
+import com.dontgoback.msa.extension.domain.asset.audit.AssetAuditLog;
+import com.dontgoback.msa.extension.domain.asset.distribution.MultiplierDistribution;
+import com.dontgoback.msa.extension.domain.asset.distribution.MultiplierSketch;
+import com.dontgoback.msa.extension.domain.asset.dto.AssetLeaderboardResponse;
+import com.dontgoback.msa.extension.domain.asset.dto.DailyMultiplierDistribution;
+import com.dontgoback.msa.extension.domain.asset.dto.MultiplierDistributionResponse;
+import com.dontgoback.msa.extension.domain.asset.dto.MultiplierDistributionStats;
 import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
 import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetResponse;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.dontgoback.msa.extension.domain.asset.kernel.MultiplierKernel;
+import com.dontgoback.msa.extension.domain.asset.kernel.MultiplierKernels;
+import com.dontgoback.msa.extension.domain.asset.leaderboard.AssetLeaderboard;
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+import com.dontgoback.msa.extension.domain.asset.store.MultiplierJournal;
+import com.dontgoback.msa.extension.domain.asset.store.MultiplierJournalStats;
+import com.dontgoback.msa.extension.domain.asset.store.MultiplierStoreStats;
+import com.dontgoback.msa.extension.domain.asset.store.OffHeapMultiplierTier;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
 
 /**
- * 유저별·일별 로그정규 배수(multiplier)를 Caffeine 캐시에 저장하여
+ * 유저별·일별 로그정규 배수(multiplier)를 DailyMultiplierStore에 저장하여
  * 같은 날에는 같은 multiplier를 재사용하도록 한다.
  *
  * multiplier는 로그정규 분포 exp(μ + σZ)를 사용하며,
  * 평균 1을 맞추기 위해 μ = -0.5 * σ^2 를 사용한다.
  * 극단값 방지를 위해 최종 multiplier는 [1+min%, 1+max%]로 클램프한다.
+ *
+ * asset.generator.mode=DETERMINISTIC이면 저장소 없이 (userId, day, secret) 해시로 Z를 계산한다.
+ * asset.journal.enabled=true이면 새로 생성한 multiplier를 로그/스냅샷에 남겨 재시작 후에도 복원한다.
+ * asset.history.enabled=true이면 AssetHistoryService가 MultiplierArchive로 연결되어, 보관 기간이 지나 버리는 날짜를 넘겨받고
+ * 저장소에 없는 지난 날짜의 배수를 찾아 준다. (기간 조회/몰아서 갱신도 AssetHistoryService)
+ * asset.replication.enabled=true이면 새 multiplier를 피어 인스턴스에 복제하고(attachReplication),
+ * 받은 multiplier는 mergeReplicated로 합쳐 인스턴스 간 같은 값으로 수렴한다.
+ * asset.distribution.enabled=true이면 적용한 multiplier를 날짜별 분포 스케치(MultiplierDistribution)에 넣고,
+ * multiplierDistribution으로 분위수/클램프 비율을 조회한다. (ADR 04의 변동률 분포 모니터링)
+ * asset.leaderboard.enabled=true이면 오늘 갱신의 이득/손실 상위 유저를 AssetLeaderboard에 유지하고, leaderboard로 조회한다.
  */
 @Slf4j
 @Service
@@ -31,12 +70,49 @@ public class AssetService {
     private final AssetProperties props;
     private final NormalGenerator normal; // 주입
     private final Clock clock; // 이제 이 Clock은 ClockConfiguration에 의해 타임존이 설정된 상태로 주입됩니다.
+    private final MeterRegistry meterRegistry;
 
     /**
-     * userId|YYYY-MM-DD -> multiplier(double)
-     * Caffeine 캐시는 expireAfterWrite + maximumSize 정책으로 메모리 위생을 관리한다.
+     * (userId, epochDay) -> multiplier(double)
+     * 날짜별 테이블에 primitive로 저장되어, 호출마다 문자열 키/박싱 객체를 만들지 않는다.
+     * 메모리 위생은 날짜 테이블당 maxSize 상한 + 날짜가 바뀔 때 지난 날짜 테이블을 통째로 버리는 것으로 관리한다.
      */
-    private Cache<String, Double> dailyMultiplier;
+    private DailyMultiplierStore dailyMultiplier;
+    private final DoubleSupplier multiplierGenerator = this::generateMultiplier;
+
+    /** 기준 타임존의 오늘. 다음 자정이 지난 뒤 첫 호출에서만 다시 계산한다 */
+    private volatile Today today;
+
+    /** DETERMINISTIC 모드에서만 사용 (RANDOM 모드에서는 null) */
+    private DeterministicNormalGenerator deterministic;
+
+    /** 여러 유저의 배수를 한꺼번에 만들 때(미리 생성) 쓰는 exp/클램프 배열 연산 */
+    private MultiplierKernel kernel;
+
+    /** asset.spill.enabled=true이고 할당에 성공했을 때만 사용 (그 외에는 null) */
+    private OffHeapMultiplierTier spill;
+
+    /** asset.journal.enabled=true이고 열기에 성공했을 때만 사용 (그 외에는 null) */
+    private MultiplierJournal journal;
+
+    /** asset.audit.enabled=true이고 열기에 성공했을 때만 사용 (그 외에는 null) */
+    private AssetAuditLog audit;
+
+    /** AssetHistoryService가 연결했을 때만 사용 (그 외에는 null) */
+    private volatile MultiplierArchive archive;
+
+    /** asset.distribution.enabled=true일 때만 사용 (그 외에는 null) */
+    private MultiplierDistribution distribution;
+
+    /** asset.leaderboard.enabled=true일 때만 사용 (그 외에는 null) */
+    private AssetLeaderboard leaderboard;
+
+    /** 분포 조회 응답의 분위수 (키 → q) */
+    private static final Map<String, Double> QUANTILES = quantiles();
+
+    /** asset.update: 갱신 1건 처리 시간 / asset.update.applied.percent: 적용된 배수(%, 100 = 변동 없음) */
+    private Timer updateTimer;
+    private DistributionSummary appliedPercent;
 
     @PostConstruct
     void init() {
@@ -46,14 +122,193 @@ public class AssetService {
             throw new IllegalArgumentException("asset.clamp.minPercent must be <= maxPercent");
 
         var caf = props.getCaffeine();
-        Caffeine<Object, Object> builder = Caffeine.newBuilder()
-                .expireAfterWrite(caf.getExpireAfterWriteDays(), TimeUnit.DAYS)
-                .maximumSize(caf.getMaxSize());
-        if (caf.isRecordStats()) builder = builder.recordStats();
-        this.dailyMultiplier = builder.build();
+        if (caf.getExpireAfterWriteDays() < 1)
+            throw new IllegalArgumentException("asset.caffeine.expireAfterWriteDays must be >= 1");
+        if (props.getSpill().isEnabled()) {
+            this.spill = openSpill();
+        }
+        this.dailyMultiplier = new DailyMultiplierStore(caf.getMaxSize(), caf.isRecordStats(), spill);
+
+        double minMul = 1.0 + props.getClamp().getMinPercent() / 100.0;
+        double maxMul = 1.0 + props.getClamp().getMaxPercent() / 100.0;
+        this.kernel = MultiplierKernels.create(-0.5 * sigma * sigma, sigma, minMul, maxMul, props.getGenerator().isVectorized());
+        log.info("배수 벌크 계산 구현 kernel={}", kernel.name());
+        if (props.getDistribution().isEnabled()) {
+            var cfg = props.getDistribution();
+            this.distribution = new MultiplierDistribution(minMul, maxMul, cfg.getResolutionPercent() / 100.0, cfg.getRetentionDays());
+        }
+        if (props.getLeaderboard().isEnabled()) {
+            var cfg = props.getLeaderboard();
+            this.leaderboard = new AssetLeaderboard(cfg.getSize(), cfg.getRefreshInterval().toMillis());
+        }
+
+        if (props.getGenerator().getMode() == AssetProperties.Generator.Mode.DETERMINISTIC) {
+            this.deterministic = new DeterministicNormalGenerator(props.getGenerator().getSecret());
+        } else {
+            if (props.getJournal().isEnabled()) openJournal();
+        }
+        if (props.getAudit().isEnabled()) {
+            openAudit();
+        }
+        bindMetrics();
+    }
+
+    /**
+     * 갱신 지연/배수 분포와 저장소·로그 통계를 Micrometer에 등록한다.
+     * 저장소 통계는 asset.caffeine.record-stats=true일 때만 증가한다.
+     */
+    private void bindMetrics() {
+        updateTimer = Timer.builder("asset.update")
+                .description("자산 갱신 1건 처리 시간 (단건/벌크 공통)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        // 음수 변동률은 히스토그램 버킷으로 표현할 수 없어, 원금 대비 %(100 = 변동 없음)로 기록한다
+        double min = 100.0 + props.getClamp().getMinPercent();
+        double max = 100.0 + props.getClamp().getMaxPercent();
+        int steps = (int) Math.ceil((max - min) / 0.5);
+        double[] buckets = new double[steps + 1];
+        for (int i = 0; i <= steps; i++) {
+            buckets[i] = Math.max(0.5, min + i * 0.5);
+        }
+        appliedPercent = DistributionSummary.builder("asset.update.applied.percent")
+                .description("적용된 배수(원금 대비 %, 100 = 변동 없음)")
+                .baseUnit("percent")
+                .serviceLevelObjectives(buckets)
+                .register(meterRegistry);
+
+        DailyMultiplierStore store = dailyMultiplier;
+        FunctionCounter.builder("asset.multiplier.store.requests", store, s -> s.stats().hitCount())
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("asset.multiplier.store.requests", store, s -> s.stats().missCount())
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("asset.multiplier.store.evictions", store, s -> s.stats().evictionCount())
+                .register(meterRegistry);
+        Gauge.builder("asset.multiplier.store.size", store, DailyMultiplierStore::size)
+                .register(meterRegistry);
+
+        if (spill != null) {
+            OffHeapMultiplierTier t = spill;
+            Gauge.builder("asset.multiplier.spill.size", t, OffHeapMultiplierTier::size)
+                    .register(meterRegistry);
+            Gauge.builder("asset.multiplier.spill.capacity", t, OffHeapMultiplierTier::capacityBytes)
+                    .baseUnit("bytes").register(meterRegistry);
+            FunctionCounter.builder("asset.multiplier.spill.transfers", t, OffHeapMultiplierTier::spillCount)
+                    .tag("direction", "spill").register(meterRegistry);
+            FunctionCounter.builder("asset.multiplier.spill.transfers", t, OffHeapMultiplierTier::promotionCount)
+                    .tag("direction", "promote").register(meterRegistry);
+            FunctionCounter.builder("asset.multiplier.spill.rejected", t, OffHeapMultiplierTier::rejectedCount)
+                    .register(meterRegistry);
+        }
+        if (journal != null) {
+            MultiplierJournal j = journal;
+            FunctionCounter.builder("asset.multiplier.journal.appended", j, it -> it.stats().appendedRecords())
+                    .register(meterRegistry);
+            FunctionCounter.builder("asset.multiplier.journal.dropped", j, it -> it.stats().droppedRecords())
+                    .description("링 버퍼가 가득 차 로그 대신 다음 스냅샷으로 넘긴 레코드")
+                    .register(meterRegistry);
+            TimeGauge.builder("asset.multiplier.journal.restore", j, TimeUnit.MILLISECONDS, it -> it.stats().restoreMillis())
+                    .register(meterRegistry);
+        }
+        if (audit != null) {
+            AssetAuditLog a = audit;
+            FunctionCounter.builder("asset.audit.records", a, AssetAuditLog::writtenRecords)
+                    .tag("result", "written").register(meterRegistry);
+            FunctionCounter.builder("asset.audit.records", a, AssetAuditLog::droppedRecords)
+                    .tag("result", "dropped").register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (journal != null) journal.close();
+        if (audit != null) audit.close();
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                log.warn("spill 파일 정리 실패", e);
+            }
+        }
+    }
+
+    /**
+     * off-heap spill 저장소를 만든다. 실패하면(direct 메모리 부족, 디렉터리 권한 등) 없이 시작한다.
+     */
+    private OffHeapMultiplierTier openSpill() {
+        var cfg = props.getSpill();
+        Path directory = cfg.getDirectory() == null || cfg.getDirectory().isBlank() ? null : Path.of(cfg.getDirectory());
+        try {
+            OffHeapMultiplierTier created = new OffHeapMultiplierTier(cfg.getCapacity(), directory);
+            log.info("off-heap spill 저장소 준비 capacity={} bytes={} mmap={}", cfg.getCapacity(), created.capacityBytes(), directory);
+            return created;
+        } catch (IOException | OutOfMemoryError e) {
+            log.error("off-heap spill 저장소를 만들 수 없어, 없이 시작합니다. capacity={} directory={}",
+                    cfg.getCapacity(), directory, e);
+            return null;
+        }
+    }
+
+    /**
+     * 스냅샷 + 로그를 저장소에 복원한 뒤 새 엔트리 기록을 시작한다.
+     * 실패해도 기동은 계속하고, 저장소가 빈 상태(기존 동작)로 서비스한다.
+     */
+    private void openJournal() {
+        var cfg = props.getJournal();
+        MultiplierJournal opened = new MultiplierJournal(Path.of(cfg.getDirectory()), dailyMultiplier, cfg.getBufferBytes());
+        try {
+            opened.open(cfg.getFlushInterval(), cfg.getCompactInterval(), this::retainFromDay);
+        } catch (IOException e) {
+            log.error("일별 배수 로그를 열 수 없어, 복원/기록 없이 시작합니다. directory={}", cfg.getDirectory(), e);
+            opened.close();
+            return;
+        }
+        dailyMultiplier.setInsertListener(opened);
+        this.journal = opened;
+    }
+
+    /**
+     * 감사 로그 writer를 시작한다. 실패해도 기동은 계속하고, 감사 로그 없이 서비스한다.
+     */
+    private void openAudit() {
+        var cfg = props.getAudit();
+        AssetAuditLog opened = new AssetAuditLog(Path.of(cfg.getDirectory()), cfg.getBufferRecords(),
+                cfg.getWriteBatchRecords(), cfg.getMaxFileBytes(), cfg.getMaxFiles());
+        try {
+            opened.open(cfg.getFlushInterval());
+        } catch (IOException e) {
+            log.error("감사 로그를 열 수 없어, 감사 로그 없이 시작합니다. directory={}", cfg.getDirectory(), e);
+            return;
+        }
+        this.audit = opened;
+    }
+
+    /**
+     * 보관 기간이 지난 날짜를 넘기고 지난 날짜의 배수를 찾을 곳을 연결한다. null이면 연결을 끊는다.
+     * 연결하기 전/끊은 뒤의 rollover는 지난 날짜를 기록 없이 버린다.
+     */
+    void attachArchive(MultiplierArchive archive) {
+        this.archive = archive;
+    }
+
+    /** 보관 대상인 가장 오래된 날짜 (rollover와 같은 기준) */
+    private long retainFromDay() {
+        return retainFromDay(today().date().toEpochDay());
+    }
+
+    private long retainFromDay(long todayEpochDay) {
+        return todayEpochDay - props.getCaffeine().getExpireAfterWriteDays();
     }
 
 
+    /** 사람이 보는 INFO 로그는 asset.audit.logSampleRate 비율만 남긴다 (전체 내역은 감사 로그에) */
+    boolean sampledForLog() {
+        if (!log.isInfoEnabled()) return false;
+        double rate = props.getAudit().getLogSampleRate();
+        if (rate >= 1.0) return true;
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
     /**
      * 자산 갱신.
      * - 원금이 0일 수는 있지만, 음수는 허용하지 않는다.
@@ -65,20 +320,329 @@ public class AssetService {
         Long originalBoxed = req.getAsset();
         if (originalBoxed == null) throw new IllegalArgumentException("asset must not be null");
 
-        long original = originalBoxed;
-        if (original < 0) throw new IllegalArgumentException("asset must be >= 0");
+        return updateAsset(userId, originalBoxed, req.getSnapshotDay());
+    }
 
-        LocalDate snapshotDay = (req.getSnapshotDay() != null) ? req.getSnapshotDay() : LocalDate.now(clock);
-        String key = userId + "|" + snapshotDay;
+    /**
+     * 자산 갱신 (단건/벌크 공통).
+     * snapshotDay가 null이면 오늘(기준 타임존) 날짜를 사용한다.
+     * RANDOM 모드에서는 userId가 0 이상 2^43 미만, 날짜가 1970-01-01 이후여야 한다. (DailyMultiplierStore 키 범위, 밖이면 IllegalArgumentException)
+     */
+    public UpdateAssetResponse updateAsset(long userId, long original, LocalDate requestedDay) {
+        if (original < 0) throw new IllegalArgumentException("asset must be >= 0");
 
-        double multiplier = dailyMultiplier.get(key, k -> generateMultiplier());
+        long started = System.nanoTime();
+        Today today = today();
+        LocalDate snapshotDay = (requestedDay != null) ? requestedDay : today.date();
+        double multiplier = multiplierFor(userId, snapshotDay);
         long updated = Math.max(0L, Math.round(original * multiplier));
+        if (distribution != null) distribution.record(today.epochDay(), snapshotDay.toEpochDay(), multiplier);
+        if (leaderboard != null) {
+            leaderboard.record(today.epochDay(), snapshotDay.toEpochDay(), userId, original, updated, multiplier);
+        }
+
+        if (audit != null) {
+            audit.append(clock.millis(), userId, snapshotDay.toEpochDay(), original, multiplier, updated);
+        }
+        if (sampledForLog()) {
+            double pct = (multiplier - 1.0) * 100.0;
+            log.info("updateAsset userId={} date={} original={} multiplier={} updated={} change={}%",
+                    userId, snapshotDay, original, String.format("%.6f", multiplier), updated, String.format("%.2f", pct));
+        }
+
+        UpdateAssetResponse response = new UpdateAssetResponse(userId, original, multiplier, updated, snapshotDay.toString());
+        appliedPercent.record(multiplier * 100.0);
+        updateTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    /**
+     * RANDOM 모드: 저장소에서 조회하고, 없으면 생성해 보관한다.
+     * DETERMINISTIC 모드: 조회/보관 없이 매번 같은 값을 계산한다.
+     */
+    double multiplierFor(long userId, LocalDate snapshotDay) {
+        long epochDay = snapshotDay.toEpochDay();
+        if (deterministic != null) {
+            return toMultiplier(deterministic.nextZ(userId, epochDay));
+        }
+        today(); // 자정이 지났으면 지난 날짜 테이블 정리
+        MultiplierArchive a = archive;
+        if (a != null && a.hasDay(epochDay)) {
+            // 이력 파일이 있는 날짜: 저장소에 없으면 기록된 값을 다시 쓴다 (보관 기간이 지난 소급 요청, 재시작 후)
+            return dailyMultiplier.getOrCompute(userId, epochDay, () -> archivedOrGenerate(a, userId, epochDay));
+        }
+        return dailyMultiplier.getOrCompute(userId, epochDay, multiplierGenerator);
+    }
+
+    private double archivedOrGenerate(MultiplierArchive archive, long userId, long epochDay) {
+        double archived = archive.find(userId, epochDay);
+        return Double.isNaN(archived) ? generateMultiplier() : archived;
+    }
+
+    private static double archivedOr(MultiplierArchive archive, long userId, long epochDay, double generated) {
+        double archived = archive.find(userId, epochDay);
+        return Double.isNaN(archived) ? generated : archived;
+    }
 
-        double pct = (multiplier - 1.0) * 100.0;
-        log.info("updateAsset userId={} date={} original={} multiplier={} updated={} change={}%",
-                userId, snapshotDay, original, String.format("%.6f", multiplier), updated, String.format("%.2f", pct));
+    /**
+     * 이미 정해진 배수만 조회한다(새로 생성하지 않음).
+     * RANDOM: 저장소 → 이력 파일 순, 없으면 NaN / DETERMINISTIC: 항상 계산 가능
+     */
+    double existingMultiplier(long userId, long epochDay) {
+        if (deterministic != null) {
+            return toMultiplier(deterministic.nextZ(userId, epochDay));
+        }
+        double multiplier = dailyMultiplier.get(userId, epochDay);
+        MultiplierArchive a = archive;
+        if (Double.isNaN(multiplier) && a != null) multiplier = a.find(userId, epochDay);
+        return multiplier;
+    }
 
-        return new UpdateAssetResponse(userId, original, multiplier, updated, snapshotDay.toString());
+    /**
+     * 몰아서 갱신(AssetHistoryService.catchUpAsset)의 하루치를 분포/감사 로그에 updateAsset과 같이 남긴다.
+     */
+    void recordCatchUp(long todayEpochDay, long userId, LocalDate day, long before, double multiplier, long after) {
+        if (distribution != null) distribution.record(todayEpochDay, day.toEpochDay(), multiplier);
+        if (audit != null) {
+            audit.append(clock.millis(), userId, day.toEpochDay(), before, multiplier, after);
+        }
+    }
+
+    /**
+     * 최근 days일(오늘 포함)의 날짜별 배수 분포와, 그 날짜들을 합친 분포.
+     * 분위수는 변동률(%)이며, 기록이 없는 날짜는 빠진다. 분포를 쓰지 않으면 목록이 비어 있다.
+     */
+    public MultiplierDistributionResponse multiplierDistribution(int days) {
+        int maxDays = distribution != null ? distribution.retentionDays() : props.getDistribution().getRetentionDays();
+        if (days < 1 || days > maxDays) throw new IllegalArgumentException("days must be between 1 and " + maxDays);
+
+        LocalDate to = today().date();
+        LocalDate from = to.minusDays(days - 1);
+        List<DailyMultiplierDistribution> daily = new ArrayList<>();
+        MultiplierSketch.Snapshot total = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            MultiplierSketch.Snapshot snapshot = distribution != null ? distribution.snapshot(day.toEpochDay()) : null;
+            if (snapshot == null) continue;
+            daily.add(new DailyMultiplierDistribution(day.toString(), toStats(snapshot)));
+            total = total == null ? snapshot : total.merge(snapshot);
+        }
+        MultiplierDistributionStats totalStats = total != null ? toStats(total)
+                : new MultiplierDistributionStats(0, 0, 0, 0.0, Map.of());
+        return new MultiplierDistributionResponse(from.toString(), to.toString(), daily, totalStats);
+    }
+
+    /**
+     * 오늘 자산 갱신의 이득/손실 상위 limit명. 주기적으로 다시 만드는 스냅샷에서 읽으므로
+     * asset.leaderboard.refresh-interval만큼 늦을 수 있다. 리더보드를 쓰지 않으면 목록이 비어 있다.
+     */
+    public AssetLeaderboardResponse leaderboard(int limit) {
+        int maxLimit = leaderboard != null ? leaderboard.size() : props.getLeaderboard().getSize();
+        if (limit < 1 || limit > maxLimit) throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+
+        Today today = today();
+        long now = clock.millis();
+        if (leaderboard == null) {
+            return new AssetLeaderboardResponse(today.date().toString(), Instant.ofEpochMilli(now).toString(), List.of(), List.of());
+        }
+        AssetLeaderboard.Snapshot snapshot = leaderboard.snapshot(today.epochDay(), now);
+        return new AssetLeaderboardResponse(today.date().toString(), Instant.ofEpochMilli(snapshot.refreshedAtMillis()).toString(),
+                head(snapshot.gainers(), limit), head(snapshot.losers(), limit));
+    }
+
+    private static <T> List<T> head(List<T> list, int limit) {
+        return list.size() <= limit ? list : list.subList(0, limit);
+    }
+
+    private static MultiplierDistributionStats toStats(MultiplierSketch.Snapshot snapshot) {
+        Map<String, Double> quantiles = new LinkedHashMap<>();
+        if (snapshot.count() > 0) {
+            QUANTILES.forEach((name, q) -> quantiles.put(name, (snapshot.quantile(q) - 1.0) * 100.0));
+        }
+        return new MultiplierDistributionStats(snapshot.count(), snapshot.lowerClampCount(), snapshot.upperClampCount(),
+                snapshot.clampRatio(), quantiles);
+    }
+
+    private static Map<String, Double> quantiles() {
+        Map<String, Double> quantiles = new LinkedHashMap<>();
+        quantiles.put("p1", 0.01);
+        quantiles.put("p5", 0.05);
+        quantiles.put("p25", 0.25);
+        quantiles.put("p50", 0.50);
+        quantiles.put("p75", 0.75);
+        quantiles.put("p95", 0.95);
+        quantiles.put("p99", 0.99);
+        return Collections.unmodifiableMap(quantiles);
+    }
+
+    /**
+     * RANDOM 모드에서만 저장소를 사용한다. (DETERMINISTIC 모드는 미리 생성할 것이 없음)
+     */
+    boolean storesMultipliers() {
+        return deterministic == null;
+    }
+
+    /**
+     * 해당 날짜 테이블에 배수가 있는 userId 목록 (미리 생성 대상 추정용)
+     */
+    long[] userIdsOn(long epochDay) {
+        return dailyMultiplier.userIds(epochDay);
+    }
+
+    /**
+     * users[from, to)의 epochDay 배수를 요청 없이 미리 생성해 둔다. 이미 있는 유저는 그대로 둔다.
+     * 없는 유저만 골라 정규 난수(NormalGenerator.nextZ(double[]))와 exp/클램프(MultiplierKernel)를 배열 단위로 계산한 뒤 저장한다.
+     * 이력 파일이 있는 날짜는 기록된 값을 우선한다.
+     */
+    void prewarm(long[] users, int from, int to, long epochDay) {
+        long[] missing = new long[to - from];
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            if (Double.isNaN(dailyMultiplier.get(users[i], epochDay))) missing[n++] = users[i];
+        }
+        if (n == 0) return;
+
+        double[] multipliers = new double[n];
+        normal.nextZ(multipliers);
+        kernel.apply(multipliers, multipliers, n);
+
+        MultiplierArchive a = archive;
+        boolean archived = a != null && a.hasDay(epochDay);
+        PrecomputedMultiplier precomputed = new PrecomputedMultiplier();
+        for (int i = 0; i < n; i++) {
+            long userId = missing[i];
+            precomputed.value = archived ? archivedOr(a, userId, epochDay, multipliers[i]) : multipliers[i];
+            dailyMultiplier.getOrCompute(userId, epochDay, precomputed); // 그 사이 요청으로 생겼으면 기존 값 유지
+        }
+    }
+
+    /** 미리 계산한 값을 돌려주는 generator (유저마다 새 람다를 만들지 않기 위해 재사용) */
+    private static final class PrecomputedMultiplier implements DoubleSupplier {
+        double value;
+
+        @Override
+        public double getAsDouble() {
+            return value;
+        }
+    }
+
+    /**
+     * 새로 생성된 배수를 listener(예: MultiplierReplicator)에도 알린다. 로그를 쓰면 로그에 먼저 남긴 뒤 호출한다.
+     * listener는 저장소 스트라이프 쓰기 락 안에서 불리므로 버퍼에 넣기만 해야 한다.
+     * listener가 null이면 연결하지 않고 복제할 수 있는 모드인지만 알려 준다. (피어 없이 받기만 할 때)
+     * @return DETERMINISTIC 모드(저장소 미사용, 인스턴스마다 이미 같은 값)이면 false
+     */
+    public boolean attachReplication(DailyMultiplierStore.InsertListener listener) {
+        if (deterministic != null) return false;
+        if (listener == null) return true;
+        MultiplierJournal j = journal;
+        dailyMultiplier.setInsertListener(j == null ? listener : (key, value) -> {
+            j.onInsert(key, value);
+            listener.onInsert(key, value);
+        });
+        return true;
+    }
+
+    /**
+     * 다른 인스턴스가 보낸 배수 묶음을 합치기 전에 검사한다. 하나라도 어긋나면 묶음 전체를 받지 않는다.
+     * - 키: 0 이상 (음수는 저장소의 빈 슬롯 표식과 겹친다)
+     * - 날짜: [보관 시작일, 오늘 + 1] (자정 무렵 피어 시계가 먼저 넘어간 경우까지)
+     * - multiplier: 유한하고 클램프 범위 [1 + minPercent/100, 1 + maxPercent/100] 안
+     * @throws IllegalArgumentException 범위를 벗어난 엔트리가 있음 (복제 API는 400)
+     */
+    public void validateReplicated(long[] packedKeys, double[] values, int count) {
+        long todayEpochDay = today().date().toEpochDay();
+        long fromDay = retainFromDay(todayEpochDay);
+        double minMul = 1.0 + props.getClamp().getMinPercent() / 100.0;
+        double maxMul = 1.0 + props.getClamp().getMaxPercent() / 100.0;
+        for (int i = 0; i < count; i++) {
+            long key = packedKeys[i];
+            double value = values[i];
+            if (key < 0)
+                throw new IllegalArgumentException("replicated key is negative at " + i);
+            long day = DailyMultiplierStore.dayOf(key);
+            if (day < fromDay || day > todayEpochDay + 1)
+                throw new IllegalArgumentException("replicated day " + day + " is outside [" + fromDay + ", " + (todayEpochDay + 1) + "]");
+            if (!(value >= minMul && value <= maxMul)) // NaN도 여기서 걸린다
+                throw new IllegalArgumentException("replicated multiplier " + value + " is outside [" + minMul + ", " + maxMul + "]");
+        }
+    }
+
+    /**
+     * 다른 인스턴스가 만든 배수를 합친다 (DailyMultiplierStore.merge 규칙). 추가/교체된 엔트리는 로그에 남기고,
+     * 다시 복제하지는 않는다. (받은 엔트리는 보낸 쪽이 이미 모든 피어에 보냄)
+     * @param packedKey DailyMultiplierStore.packKey(userId, epochDay)
+     * @return 보관 기간이 지난 날짜라 무시했으면 null
+     */
+    public DailyMultiplierStore.MergeResult mergeReplicated(long packedKey, double value) {
+        if (DailyMultiplierStore.dayOf(packedKey) < retainFromDay()) return null; // today()로 rollover도 반영
+        DailyMultiplierStore.MergeResult result = dailyMultiplier.merge(packedKey, value);
+        if (journal != null
+                && (result == DailyMultiplierStore.MergeResult.INSERTED || result == DailyMultiplierStore.MergeResult.REPLACED)) {
+            journal.onInsert(packedKey, value);
+        }
+        return result;
+    }
+
+    /**
+     * 저장된 배수 조회 (복제 응답에서 이 인스턴스가 가진 값을 돌려줄 때)
+     * @return 없으면 NaN
+     */
+    public double storedMultiplier(long packedKey) {
+        return dailyMultiplier.get(DailyMultiplierStore.userIdOf(packedKey), DailyMultiplierStore.dayOf(packedKey));
+    }
+
+    /**
+     * 일별 배수 저장소의 hit/miss/eviction 통계 (asset.caffeine.record-stats=true일 때만 집계)
+     */
+    public MultiplierStoreStats dailyMultiplierStats() {
+        return dailyMultiplier.stats();
+    }
+
+    /**
+     * 일별 배수 로그의 복원/기록 통계. 로그를 사용하지 않으면 null
+     */
+    public MultiplierJournalStats journalStats() {
+        return journal != null ? journal.stats() : null;
+    }
+
+    /**
+     * 오늘 날짜. 호출마다 clock.millis() 비교 한 번이고, 자정이 지난 뒤 첫 호출에서만 rollover한다.
+     */
+    Today today() {
+        Today current = today;
+        if (current != null && clock.millis() < current.nextMidnightMillis()) return current;
+        return rollover();
+    }
+
+    /**
+     * 날짜가 바뀐 뒤 첫 호출에서 오늘을 다시 계산하고, expireAfterWriteDays보다 오래된 날짜 테이블을 버린다.
+     * 어제 마지막에 쓰인 엔트리도 최소 expireAfterWriteDays 동안은 유지된다.
+     * 이력을 쓰면 버리는 작업은 MultiplierArchive에 넘겨, 기록한 뒤 이력 스레드에서 한다.
+     */
+    private synchronized Today rollover() {
+        Today current = today;
+        if (current != null && clock.millis() < current.nextMidnightMillis()) return current;
+
+        LocalDate date = LocalDate.now(clock);
+        long nextMidnight = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        long retainFrom = retainFromDay(date.toEpochDay());
+        MultiplierArchive a = archive;
+        if (a != null) {
+            a.archiveAndExpire(dailyMultiplier, retainFrom, date.toEpochDay());
+        } else {
+            dailyMultiplier.expireBefore(retainFrom);
+        }
+        Today next = new Today(date, date.toEpochDay(), nextMidnight);
+        today = next;
+        return next;
+    }
+
+    /** 일별 배수 저장소 (AssetHistoryService가 종료 시 남은 날짜를 기록할 때) */
+    DailyMultiplierStore multiplierStore() {
+        return dailyMultiplier;
+    }
+
+    record Today(LocalDate date, long epochDay, long nextMidnightMillis) {
     }
 
     /**
@@ -88,11 +652,13 @@ public class AssetService {
      *  - multiplier = exp(μ + σZ)
      *  - 클램프: [1+min%, 1+max%]
      */
-    private double generateMultiplier() {
+    double generateMultiplier() { // 벤치마크에서 직접 호출하기 위해 package-private
+        return toMultiplier(normal.nextZ()); // 테스트에서 고정값 주입 가능
+    }
+
+    private double toMultiplier(double z) {
         double sigma = props.getVolatility().getSigma();
         double mu = -0.5 * sigma * sigma;
-
-        double z = normal.nextZ(); // 테스트에서 고정값 주입 가능
         double raw = Math.exp(mu + sigma * z);
 
         double minMul = 1.0 + props.getClamp().getMinPercent() / 100.0;
@@ -0,0 +1,196 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.domain.asset.dto.BulkUpdateAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetResponse;
+import com.dontgoback.msa.extension.responseDto.ResData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NDJSON 벌크 자산 갱신.
+ *
+ * 입력 한 줄({userId, asset, snapshotDay})마다 출력 한 줄(ResData)을 같은 순서로 쓴다.
+ * - 스트리밍: 한 줄씩 읽고, 처리 중인 레코드는 최대 window개로 제한하여 요청 크기와 무관하게 메모리 사용량이 일정하다.
+ * - 병렬: 파싱 + 갱신 + 직렬화를 워커 스레드에서 수행하고, 요청 스레드는 순서대로 쓰기만 한다.
+ * - 실패 격리: 잘못된 줄은 해당 줄만 "F" 결과로 응답하고 스트림은 계속 처리한다.
+ */
+@Slf4j
+@Component
+public class BulkAssetUpdater {
+
+    private static final byte NEWLINE = '\n';
+
+    private final AssetService assetService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final int window;
+    private final int maxLineBytes;
+    private final ExecutorService workers; // parallelism=1이면 null (요청 스레드에서 처리)
+
+    public BulkAssetUpdater(AssetService assetService, ObjectMapper objectMapper, AssetProperties props) {
+        var bulk = props.getBulk();
+        if (bulk.getParallelism() < 1) throw new IllegalArgumentException("asset.bulk.parallelism must be >= 1");
+        if (bulk.getWindow() < 1) throw new IllegalArgumentException("asset.bulk.window must be >= 1");
+
+        this.assetService = assetService;
+        this.requestReader = objectMapper.readerFor(BulkUpdateAssetRequest.class);
+        this.resultWriter = objectMapper.writerFor(ResData.class);
+        this.window = bulk.getWindow();
+        this.maxLineBytes = bulk.getMaxLineBytes();
+        this.workers = bulk.getParallelism() > 1
+                ? Executors.newFixedThreadPool(bulk.getParallelism(), workerThreadFactory())
+                : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (workers != null) workers.shutdown();
+    }
+
+    /**
+     * in의 NDJSON 레코드를 끝까지 처리하고, 결과를 out에 NDJSON으로 쓴다.
+     */
+    public void process(InputStream in, OutputStream out) throws IOException {
+        LineReader lines = new LineReader(in, maxLineBytes);
+        ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>(window);
+
+        int lineNo = 0;
+        long written = 0;
+        byte[] line;
+        while ((line = lines.next()) != null) {
+            lineNo++;
+            if (line == LineReader.BLANK) continue; // 빈 줄은 무시
+
+            if (pending.size() >= window) {
+                writeLine(out, pending.poll().join());
+                if (++written % window == 0) out.flush(); // window 단위로 클라이언트에 흘려보낸다
+            }
+            pending.add(submit(lineNo, line));
+        }
+        while (!pending.isEmpty()) {
+            writeLine(out, pending.poll().join());
+        }
+        out.flush();
+    }
+
+    private CompletableFuture<byte[]> submit(int lineNo, byte[] line) {
+        if (workers == null) return CompletableFuture.completedFuture(handle(lineNo, line));
+        return CompletableFuture.supplyAsync(() -> handle(lineNo, line), workers);
+    }
+
+    private byte[] handle(int lineNo, byte[] line) {
+        ResData<?> result;
+        try {
+            if (line == LineReader.TOO_LONG) throw new IllegalArgumentException("line exceeds " + maxLineBytes + " bytes");
+
+            BulkUpdateAssetRequest req = parse(line);
+            if (req.getUserId() == null) throw new IllegalArgumentException("userId must not be null");
+            if (req.getAsset() == null) throw new IllegalArgumentException("asset must not be null");
+
+            UpdateAssetResponse response = assetService.updateAsset(req.getUserId(), req.getAsset(), req.getSnapshotDay());
+            result = ResData.of("S", "Update asset success", response);
+        } catch (IllegalArgumentException e) {
+            result = ResData.of("F", "line " + lineNo + ": " + e.getMessage());
+        } catch (Exception e) {
+            log.error("벌크 자산 갱신 중 오류 line={}", lineNo, e);
+            result = ResData.of("F", "line " + lineNo + ": Unexpected error occurred.");
+        }
+        return serialize(result);
+    }
+
+    private BulkUpdateAssetRequest parse(byte[] line) {
+        try {
+            return requestReader.readValue(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed record");
+        }
+    }
+
+    private byte[] serialize(ResData<?> result) {
+        try {
+            return resultWriter.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("결과 직렬화 실패", e);
+        }
+    }
+
+    private static void writeLine(OutputStream out, byte[] json) throws IOException {
+        out.write(json);
+        out.write(NEWLINE);
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "bulk-asset-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * 최대 길이가 제한된 줄 단위 리더. 빈 줄은 BLANK, 한도를 넘는 줄은 끝까지 버리고 TOO_LONG을 반환한다.
+     */
+    static final class LineReader {
+        static final byte[] BLANK = new byte[0];
+        static final byte[] TOO_LONG = new byte[0];
+
+        private final InputStream in;
+        private final int maxLineBytes;
+        private final byte[] buf = new byte[8192];
+        private int pos;
+        private int limit;
+        private byte[] line;
+
+        LineReader(InputStream in, int maxLineBytes) {
+            this.in = in;
+            this.maxLineBytes = maxLineBytes;
+            this.line = new byte[Math.min(256, maxLineBytes)];
+        }
+
+        byte[] next() throws IOException {
+            int len = 0;
+            boolean tooLong = false;
+            while (true) {
+                if (pos == limit) {
+                    limit = in.read(buf, 0, buf.length);
+                    pos = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        if (len == 0 && !tooLong) return null;
+                        break;
+                    }
+                }
+                byte b = buf[pos++];
+                if (b == NEWLINE) break;
+                if (tooLong) continue;
+                if (len == maxLineBytes) {
+                    tooLong = true;
+                    continue;
+                }
+                if (len == line.length) line = Arrays.copyOf(line, Math.min(maxLineBytes, line.length << 1));
+                line[len++] = b;
+            }
+            if (tooLong) return TOO_LONG;
+            if (len > 0 && line[len - 1] == '\r') len--;
+            if (len == 0) return BLANK;
+            return Arrays.copyOf(line, len);
+        }
+    }
+}
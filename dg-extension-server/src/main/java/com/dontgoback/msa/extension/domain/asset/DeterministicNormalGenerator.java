@@ -0,0 +1,61 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * (userId, epochDay, secret)로부터 표준정규 Z ~ N(0,1)을 결정론적으로 계산한다.
+ *
+ * 카운터 기반 PRNG: secret의 SHA-256에서 얻은 키(k0, k1)와 (userId, epochDay) 카운터를
+ * SplitMix64 혼합 함수로 섞어 64bit 균등 난수 두 개를 만들고, Box–Muller로 Z를 얻는다.
+ * 상태가 없으므로 스레드 안전하고, 같은 입력이면 재시작/인스턴스가 달라도 같은 Z가 나온다.
+ */
+public class DeterministicNormalGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final long k0;
+    private final long k1;
+
+    public DeterministicNormalGenerator(String secret) {
+        if (secret == null || secret.isBlank())
+            throw new IllegalArgumentException("asset.generator.secret must not be blank in DETERMINISTIC mode");
+        ByteBuffer digest = ByteBuffer.wrap(sha256(secret.getBytes(StandardCharsets.UTF_8)));
+        this.k0 = digest.getLong();
+        this.k1 = digest.getLong();
+    }
+
+    /** 표준정규 Z ~ N(0,1), (userId, epochDay)가 같으면 항상 같은 값 */
+    public double nextZ(long userId, long epochDay) {
+        long state = mix64(k0 ^ mix64(userId * GOLDEN_GAMMA + k1));
+        state = mix64(state ^ (epochDay * GOLDEN_GAMMA));
+
+        // U1=0 회피: 하한 이하이면 카운터를 증가시켜 결정론적으로 다시 뽑는다
+        long counter = 1;
+        double u1;
+        do {
+            u1 = (mix64(state + counter++ * GOLDEN_GAMMA) >>> 11) * DOUBLE_UNIT;
+        } while (u1 <= 1e-12);
+        double u2 = (mix64(state + counter * GOLDEN_GAMMA) >>> 11) * DOUBLE_UNIT;
+
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /** SplitMix64 finalizer (Stafford variant 13) */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+
+/**
+ * AssetService가 보관 기간이 지난 날짜를 넘기고, 저장소에서 버린 날짜의 배수를 다시 찾는 곳. (AssetHistoryService)
+ * AssetService.attachArchive로 연결한다.
+ */
+interface MultiplierArchive {
+
+    /** 해당 날짜가 기록되어 있는지 */
+    boolean hasDay(long epochDay);
+
+    /** @return 기록이 없으면 NaN */
+    double find(long userId, long epochDay);
+
+    /**
+     * 날짜가 바뀐 뒤 한 번: retainFrom 이전 날짜를 저장소에서 떼어 내 기록한 뒤 버린다. 요청 스레드를 막지 않도록 비동기로 한다.
+     */
+    void archiveAndExpire(DailyMultiplierStore store, long retainFrom, long todayEpochDay);
+}
@@ -0,0 +1,134 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 자정 직전에 활성 유저의 다음 날 배수를 미리 생성한다.
+ *
+ * 자정 직후에는 모든 활성 유저의 첫 요청이 저장소 miss가 되어 생성 + 쓰기 락 경로로 한꺼번에 몰린다.
+ * (코어 서버의 일일 갱신 시각과 겹침) 미리 생성해 두면 자정 이후 첫 요청도 평소처럼 히트 경로로 끝난다.
+ *
+ * - 활성 유저: 최근 activeDays일 동안의 날짜 테이블에 있는 userId
+ * - CPU 예산: 낮은 우선순위 워커 parallelism개가 batchSize명씩 처리하고, 처리에 걸린 시간에 비례해 쉰다(cpuBudget)
+ * - batchSize명의 배수는 한 번에 계산한다 (정규 난수 벌크 생성 + MultiplierKernel의 SIMD exp/클램프)
+ * - 미리 생성한 값도 일반 생성과 같은 경로로 저장되므로, 로그(MultiplierJournal)에도 남는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MultiplierPrewarmer {
+
+    private final AssetService assetService;
+    private final AssetProperties props;
+    private final Clock clock;
+
+    @Scheduled(cron = "${asset.prewarm.cron:0 50 23 * * *}", zone = "${asset.cache.zone-id:Asia/Seoul}")
+    public void prewarmTomorrow() {
+        if (!props.getPrewarm().isEnabled() || !assetService.storesMultipliers()) return;
+        prewarm(LocalDate.now(clock).plusDays(1));
+    }
+
+    /**
+     * targetDay 전날까지의 활성 유저에 대해 targetDay의 배수를 미리 생성한다.
+     * @return 대상 유저 수
+     */
+    public int prewarm(LocalDate targetDay) {
+        var cfg = props.getPrewarm();
+        if (cfg.getParallelism() < 1) throw new IllegalArgumentException("asset.prewarm.parallelism must be >= 1");
+        if (cfg.getBatchSize() < 1) throw new IllegalArgumentException("asset.prewarm.batchSize must be >= 1");
+        if (!(cfg.getCpuBudget() > 0 && cfg.getCpuBudget() <= 1))
+            throw new IllegalArgumentException("asset.prewarm.cpuBudget must be in (0, 1]");
+
+        long started = System.nanoTime();
+        long[] users = activeUsers(targetDay.minusDays(1).toEpochDay(), cfg.getActiveDays());
+        long targetEpochDay = targetDay.toEpochDay();
+
+        int workers = (int) Math.max(1, Math.min(cfg.getParallelism(), (long) users.length / cfg.getBatchSize()));
+        ExecutorService pool = Executors.newFixedThreadPool(workers, workerThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                int from = (int) ((long) users.length * w / workers);
+                int to = (int) ((long) users.length * (w + 1) / workers);
+                futures.add(pool.submit(() -> warmRange(users, from, to, targetEpochDay, cfg.getBatchSize(), cfg.getCpuBudget())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("다음 날 배수 미리 생성이 중단되었습니다. day={}", targetDay);
+        } catch (ExecutionException e) {
+            log.error("다음 날 배수 미리 생성 중 오류 day={}", targetDay, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        log.info("다음 날 배수 미리 생성 완료 day={} users={} workers={} millis={}",
+                targetDay, users.length, workers, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return users.length;
+    }
+
+    /** lastEpochDay부터 거슬러 days일 동안의 날짜 테이블 userId 합집합 (정렬, 중복 제거) */
+    private long[] activeUsers(long lastEpochDay, int days) {
+        long[][] perDay = new long[Math.max(1, days)][];
+        int total = 0;
+        for (int i = 0; i < perDay.length; i++) {
+            perDay[i] = assetService.userIdsOn(lastEpochDay - i);
+            total += perDay[i].length;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] ids : perDay) {
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        Arrays.sort(all);
+
+        int unique = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) all[unique++] = all[i];
+        }
+        return Arrays.copyOf(all, unique);
+    }
+
+    private void warmRange(long[] users, int from, int to, long targetEpochDay, int batchSize, double cpuBudget) {
+        for (int start = from; start < to; start += batchSize) {
+            long began = System.nanoTime();
+            int end = Math.min(to, start + batchSize);
+            assetService.prewarm(users, start, end, targetEpochDay);
+            if (cpuBudget < 1.0) {
+                long busy = System.nanoTime() - began;
+                LockSupport.parkNanos((long) (busy * (1.0 - cpuBudget) / cpuBudget));
+            }
+            if (Thread.currentThread().isInterrupted()) return;
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "multiplier-prewarm-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY); // 실시간 요청 스레드보다 뒤로
+            return t;
+        };
+    }
+}
@@ -4,4 +4,11 @@ package com.dontgoback.msa.extension.domain.asset;
 public interface NormalGenerator {
     /** 표준정규 Z ~ N(0,1) */
     double nextZ();
-}
\ No newline at end of file
+
+    /** out 전체를 표준정규 Z로 채운다. 구현체는 호출당 오버헤드를 나눠 갖도록 재정의할 수 있다 */
+    default void nextZ(double[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = nextZ();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.dontgoback.msa.extension.domain.asset;
 
-import org.springframework.stereotype.Component;
-
 
 
 /**
@@ -9,8 +7,7 @@ import org.springframework.stereotype.Component;
  * Box–Muller 변환: Z = sqrt(-2 ln U1) * cos(2πU2)
  * U1, U2 ~ Uniform(0,1), 단 U1=0 회피를 위해 작은 하한을 둔다.
  */
-// 2) 운영용 기본 구현 (기존 Box–Muller)
-@Component
+// 2) 운영용 기본 구현 (기존 Box–Muller), 선택은 NormalGeneratorConfiguration
 public class ThreadLocalNormalGenerator implements NormalGenerator {
     @Override
     public double nextZ() {
@@ -20,4 +17,21 @@ public class ThreadLocalNormalGenerator implements NormalGenerator {
         double u2 = r.nextDouble();
         return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
     }
-}
\ No newline at end of file
+
+    /**
+     * 벌크 생성: 한 번의 변환에서 나오는 독립 정규값 두 개(cos, sin)를 모두 사용한다.
+     */
+    @Override
+    public void nextZ(double[] out) {
+        var r = java.util.concurrent.ThreadLocalRandom.current();
+        int i = 0;
+        while (i < out.length) {
+            double u1;
+            do { u1 = r.nextDouble(); } while (u1 <= 1e-12);
+            double radius = Math.sqrt(-2.0 * Math.log(u1));
+            double theta = 2 * Math.PI * r.nextDouble();
+            out[i++] = radius * Math.cos(theta);
+            if (i < out.length) out[i++] = radius * Math.sin(theta);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * 표준정규 난수 Z ~ N(0,1) 생성 (Ziggurat, Marsaglia–Tsang / Doornik ZIGNOR 128층)
+ *
+ * 약 98.8%의 호출은 64bit 난수 1개 + 비교 1번 + 곱셈 1번으로 끝나고,
+ * 쐐기/꼬리 영역에서만 exp/log를 계산한다. (Box–Muller: 매 호출 log + sqrt + cos)
+ * 층 인덱스(하위 7bit)와 균등값(상위 53bit)은 서로 다른 비트에서 뽑아 상관을 없앤다.
+ *
+ * 난수는 ThreadLocalRandom에서 뽑는다. 상태가 Thread 필드에 있어 경쟁이 없고,
+ * 가상 스레드(요청마다 새 스레드)에서도 스레드마다 별도 객체를 만들지 않는다.
+ */
+public class ZigguratNormalGenerator implements NormalGenerator {
+
+    private static final int LAYERS = 128;
+    private static final double R = 3.442619855899;          // 꼬리 시작점
+    private static final double V = 9.91256303526217e-3;     // 각 층의 면적
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private static final double[] X = new double[LAYERS + 1]; // 층 경계
+    private static final double[] RATIO = new double[LAYERS]; // X[i+1] / X[i]
+
+    static {
+        double f = Math.exp(-0.5 * R * R);
+        X[0] = V / f;
+        X[1] = R;
+        X[LAYERS] = 0.0;
+        for (int i = 2; i < LAYERS; i++) {
+            X[i] = Math.sqrt(-2.0 * Math.log(V / X[i - 1] + f));
+            f = Math.exp(-0.5 * X[i] * X[i]);
+        }
+        for (int i = 0; i < LAYERS; i++) {
+            RATIO[i] = X[i + 1] / X[i];
+        }
+    }
+
+    @Override
+    public double nextZ() {
+        return sample(ThreadLocalRandom.current());
+    }
+
+    /** ThreadLocalRandom 조회를 배열 전체에 한 번만 수행한다. */
+    @Override
+    public void nextZ(double[] out) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        for (int i = 0; i < out.length; i++) {
+            out[i] = sample(random);
+        }
+    }
+
+    static double sample(RandomGenerator random) {
+        while (true) {
+            long bits = random.nextLong();
+            int i = (int) (bits & (LAYERS - 1));
+            double u = 2.0 * ((bits >>> 11) * DOUBLE_UNIT) - 1.0; // (-1, 1)
+
+            if (Math.abs(u) < RATIO[i]) return u * X[i]; // 사각형 내부: 대부분 여기서 끝
+
+            if (i == 0) return tail(random, u < 0);
+
+            double x = u * X[i];
+            double f0 = Math.exp(-0.5 * (X[i] * X[i] - x * x));
+            double f1 = Math.exp(-0.5 * (X[i + 1] * X[i + 1] - x * x));
+            if (f1 + random.nextDouble() * (f0 - f1) < 1.0) return x;
+        }
+    }
+
+    /** |Z| > R 꼬리 (Marsaglia 1964) */
+    private static double tail(RandomGenerator random, boolean negative) {
+        double x, y;
+        do {
+            x = Math.log(nonZero(random)) / R;
+            y = Math.log(nonZero(random));
+        } while (-2.0 * y < x * x);
+        return negative ? x - R : R - x;
+    }
+
+    private static double nonZero(RandomGenerator random) {
+        double u;
+        do { u = random.nextDouble(); } while (u <= 1e-300);
+        return u;
+    }
+}
@@ -0,0 +1,231 @@
+package com.dontgoback.msa.extension.domain.asset.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 자산 갱신 감사 로그. 요청 스레드는 고정 길이 레코드를 링 버퍼에 넣기만 하고, 전용 스레드가 모아서 파일에 쓴다.
+ *
+ * 파일 구성 (directory 아래)
+ * - asset-audit-{seq}.bin : 헤더(매직, 버전 8B) + 레코드
+ * - 레코드: 시각(ms), userId, epochDay, 원금, multiplier의 double 비트, 갱신액 = 8B x 6 = 48B 고정 길이
+ *
+ * - 쓰기: 요청 스레드는 CAS로 슬롯을 예약하고 값을 채운 뒤 슬롯 시퀀스를 발행한다(락 없음, 할당 없음).
+ *   버퍼가 가득 차면 기다리지 않고 레코드를 버린 뒤 droppedRecords로 센다.
+ * - 기록: writer 스레드가 발행된 레코드를 순서대로 모아 한 번에 쓴다. 쓸 것이 없으면 flushInterval만큼 쉰다.
+ * - 교체: 파일이 maxFileBytes를 넘기면 새 파일로 넘어가고, 최근 maxFiles개만 남긴다.
+ *   fsync는 닫을 때만 한다. (감사 로그는 사람이 보는 로그를 대신하는 용도라 일부 유실을 허용)
+ *
+ * 파일은 AssetAuditReader로 읽는다.
+ */
+@Slf4j
+public class AssetAuditLog implements AutoCloseable {
+
+    static final int RECORD_BYTES = 48;
+    static final int HEADER_BYTES = 8;
+    static final int MAGIC = 0x44474141; // "DGAA"
+    static final int VERSION = 1;
+    static final String FILE_PREFIX = "asset-audit-";
+    static final String FILE_SUFFIX = ".bin";
+
+    private static final int FIELDS = RECORD_BYTES / Long.BYTES;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Path directory;
+    private final int capacity;
+    private final int mask;
+    private final long[] slots;     // capacity * FIELDS
+    private final long[] sequences; // 슬롯별 발행된 시퀀스 + 1 (0 = 아직 비어 있음)
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;     // writer 스레드만 증가시킴
+    private final LongAdder dropped = new LongAdder();
+
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final ByteBuffer out;
+
+    // 아래는 writer 스레드(종료 후에는 close 호출 스레드)만 접근
+    private FileChannel file;
+    private long fileSeq;
+    private long fileBytes;
+
+    private volatile long writtenRecords;
+    private volatile long writeErrors;
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * @param bufferRecords 링 버퍼 크기(레코드 수). 2의 거듭제곱으로 올림
+     * @param writeBatchRecords writer가 한 번에 파일에 쓰는 최대 레코드 수
+     */
+    public AssetAuditLog(Path directory, int bufferRecords, int writeBatchRecords, long maxFileBytes, int maxFiles) {
+        if (bufferRecords < 2) throw new IllegalArgumentException("bufferRecords must be >= 2");
+        if (writeBatchRecords < 1) throw new IllegalArgumentException("writeBatchRecords must be >= 1");
+        if (maxFileBytes < HEADER_BYTES + RECORD_BYTES)
+            throw new IllegalArgumentException("maxFileBytes must be >= " + (HEADER_BYTES + RECORD_BYTES));
+        if (maxFiles < 1) throw new IllegalArgumentException("maxFiles must be >= 1");
+
+        this.directory = directory;
+        this.capacity = Integer.highestOneBit(bufferRecords - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new long[capacity * FIELDS];
+        this.sequences = new long[capacity];
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.out = ByteBuffer.allocateDirect(Math.min(writeBatchRecords, capacity) * RECORD_BYTES);
+    }
+
+    /** 새 파일을 열고 writer 스레드를 시작한다. 기존 파일에는 이어 쓰지 않는다. */
+    public synchronized void open(Duration flushInterval) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> seqs = AssetAuditReader.fileSeqs(directory);
+        openFile(seqs.isEmpty() ? 1 : seqs.get(seqs.size() - 1) + 1);
+
+        long idleNanos = flushInterval.toNanos();
+        running = true;
+        writer = new Thread(() -> writeLoop(idleNanos), "asset-audit-writer");
+        writer.setDaemon(true);
+        writer.setPriority(Thread.MIN_PRIORITY);
+        writer.start();
+    }
+
+    /**
+     * 레코드 하나를 버퍼에 넣는다. 요청 스레드에서 호출되며 블로킹/할당이 없다.
+     *
+     * @return 버퍼가 가득 차서 버렸으면 false
+     */
+    public boolean append(long timestampMillis, long userId, long epochDay, long original, double multiplier, long updated) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        int index = (int) (seq & mask);
+        int base = index * FIELDS;
+        slots[base] = timestampMillis;
+        slots[base + 1] = userId;
+        slots[base + 2] = epochDay;
+        slots[base + 3] = original;
+        slots[base + 4] = Double.doubleToRawLongBits(multiplier);
+        slots[base + 5] = updated;
+        SEQUENCE.setRelease(sequences, index, seq + 1);
+        return true;
+    }
+
+    public long writtenRecords() {
+        return writtenRecords;
+    }
+
+    public long droppedRecords() {
+        return dropped.sum();
+    }
+
+    public long writeErrors() {
+        return writeErrors;
+    }
+
+    /** writer 스레드를 멈추고 남은 레코드를 모두 쓴 뒤 fsync하고 닫는다. */
+    @Override
+    public synchronized void close() {
+        if (writer == null) return;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("감사 로그 writer가 제때 끝나지 않아 남은 레코드를 버립니다.");
+        } else {
+            drainAll();
+        }
+        writer = null;
+        try {
+            file.force(false);
+            file.close();
+        } catch (IOException e) {
+            log.error("감사 로그 닫기 실패", e);
+        }
+    }
+
+    private void writeLoop(long idleNanos) {
+        while (running) {
+            if (drainOnce() == 0) LockSupport.parkNanos(this, idleNanos);
+        }
+    }
+
+    private void drainAll() {
+        while (drainOnce() > 0) {
+            // 발행된 레코드가 없을 때까지
+        }
+    }
+
+    /** 발행된 레코드를 최대 버퍼 크기만큼 모아 파일에 쓴다. 예약만 되고 아직 채워지지 않은 슬롯에서 멈춘다. */
+    private int drainOnce() {
+        long position = head;
+        int batch = out.capacity() / RECORD_BYTES;
+        int count = 0;
+        out.clear();
+        while (count < batch) {
+            int index = (int) (position & mask);
+            if ((long) SEQUENCE.getAcquire(sequences, index) != position + 1) break;
+            int base = index * FIELDS;
+            for (int i = 0; i < FIELDS; i++) out.putLong(slots[base + i]);
+            position++;
+            count++;
+        }
+        if (count == 0) return 0;
+        head = position; // 슬롯 재사용 허용 (값은 이미 out에 복사됨)
+
+        out.flip();
+        try {
+            if (fileBytes + out.remaining() > maxFileBytes) roll();
+            fileBytes += out.remaining();
+            while (out.hasRemaining()) file.write(out);
+            writtenRecords += count;
+        } catch (IOException e) {
+            writeErrors++;
+            log.error("감사 로그 쓰기 실패, 레코드 {}건을 버립니다.", count, e);
+        }
+        return count;
+    }
+
+    private void roll() throws IOException {
+        file.close();
+        openFile(fileSeq + 1);
+
+        List<Long> seqs = AssetAuditReader.fileSeqs(directory);
+        for (int i = 0; i < seqs.size() - maxFiles; i++) {
+            Files.deleteIfExists(AssetAuditReader.filePath(directory, seqs.get(i)));
+        }
+    }
+
+    private void openFile(long seq) throws IOException {
+        FileChannel channel = FileChannel.open(AssetAuditReader.filePath(directory, seq),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) channel.write(header);
+        file = channel;
+        fileSeq = seq;
+        fileBytes = HEADER_BYTES;
+    }
+}
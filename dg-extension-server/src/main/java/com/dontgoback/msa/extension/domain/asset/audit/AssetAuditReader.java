@@ -0,0 +1,111 @@
+package com.dontgoback.msa.extension.domain.asset.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * AssetAuditLog 파일(asset-audit-{seq}.bin)을 읽는다.
+ *
+ * 명령행 사용 (CSV로 출력):
+ * ./gradlew readAudit --args="data/asset-audit"               : 디렉터리 안의 파일 전체 (오래된 순)
+ * ./gradlew readAudit --args="data/asset-audit --user 42"     : 특정 유저만
+ * ./gradlew readAudit --args="data/asset-audit/asset-audit-0000000003.bin"
+ */
+public final class AssetAuditReader {
+
+    private AssetAuditReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        Long userFilter = null;
+        for (int i = 0; i < args.length; i++) {
+            if ("--user".equals(args[i]) && i + 1 < args.length) {
+                userFilter = Long.parseLong(args[++i]);
+            } else {
+                paths.add(Path.of(args[i]));
+            }
+        }
+        if (paths.isEmpty()) {
+            System.err.println("usage: AssetAuditReader <directory|file>... [--user <userId>]");
+            System.exit(2);
+        }
+
+        PrintStream out = System.out;
+        out.println("timestamp,userId,snapshotDay,original,multiplier,updated");
+        Long user = userFilter;
+        Consumer<AssetAuditRecord> printer = r -> {
+            if (user != null && r.userId() != user) return;
+            out.println(r.timestamp() + "," + r.userId() + "," + r.snapshotDay() + "," + r.original() + ","
+                    + r.multiplier() + "," + r.updated());
+        };
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                for (long seq : fileSeqs(path)) read(filePath(path, seq), printer);
+            } else {
+                read(path, printer);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * 파일 하나의 레코드를 순서대로 넘긴다. 쓰는 중에 잘린 꼬리 레코드는 무시한다.
+     *
+     * @return 읽은 레코드 수
+     */
+    public static long read(Path file, Consumer<AssetAuditRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < AssetAuditLog.HEADER_BYTES) return 0;
+
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt() != AssetAuditLog.MAGIC || map.getInt() != AssetAuditLog.VERSION) {
+                throw new IOException("감사 로그 파일 형식이 아닙니다: " + file);
+            }
+            long records = (size - AssetAuditLog.HEADER_BYTES) / AssetAuditLog.RECORD_BYTES;
+            for (long i = 0; i < records; i++) {
+                consumer.accept(new AssetAuditRecord(
+                        map.getLong(),
+                        map.getLong(),
+                        map.getLong(),
+                        map.getLong(),
+                        Double.longBitsToDouble(map.getLong()),
+                        map.getLong()));
+            }
+            return records;
+        }
+    }
+
+    /** 디렉터리 안의 감사 로그 파일 순번 (오름차순) */
+    static List<Long> fileSeqs(Path directory) throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        String prefix = AssetAuditLog.FILE_PREFIX;
+        String suffix = AssetAuditLog.FILE_SUFFIX;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    seqs.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException ignored) {
+                    // 다른 파일은 무시
+                }
+            }
+        }
+        seqs.sort(null);
+        return seqs;
+    }
+
+    static Path filePath(Path directory, long seq) {
+        return directory.resolve(String.format("%s%010d%s", AssetAuditLog.FILE_PREFIX, seq, AssetAuditLog.FILE_SUFFIX));
+    }
+}
@@ -0,0 +1,31 @@
+package com.dontgoback.msa.extension.domain.asset.audit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 감사 로그 레코드 하나 (AssetAuditReader로 읽은 값).
+ *
+ * @param timestampMillis 처리 시각 (epoch ms)
+ * @param userId          유저 ID
+ * @param epochDay        적용된 기준 날짜
+ * @param original        원금
+ * @param multiplier      적용된 배수
+ * @param updated         갱신된 자산
+ */
+public record AssetAuditRecord(
+        long timestampMillis,
+        long userId,
+        long epochDay,
+        long original,
+        double multiplier,
+        long updated
+) {
+    public Instant timestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+
+    public LocalDate snapshotDay() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+}
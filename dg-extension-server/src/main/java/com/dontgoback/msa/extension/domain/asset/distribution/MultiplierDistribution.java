@@ -0,0 +1,69 @@
+package com.dontgoback.msa.extension.domain.asset.distribution;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 최근 retentionDays일의 날짜별 MultiplierSketch. 오늘 기준 범위 밖(보관 기간 이전, 미래)의 날짜는 기록하지 않는다.
+ *
+ * 날짜 → 칸은 epochDay % retentionDays로 고정이므로 맵 조회/박싱이 없다. 날짜가 바뀌면 그 칸에 있던
+ * (retentionDays일 전) 스케치를 새 스케치로 CAS 교체한다. 따라서 전체 메모리도 retentionDays × 스케치 크기로 고정이다.
+ */
+public class MultiplierDistribution {
+
+    private final int retentionDays;
+    private final double min;
+    private final double max;
+    private final int bins;
+    private final int stripes;
+    private final AtomicReferenceArray<MultiplierSketch> days;
+
+    /**
+     * @param min             하한 클램프 배수
+     * @param max             상한 클램프 배수
+     * @param resolution      구간 폭 (배수 단위, 예: 0.0001 = 0.01%p)
+     * @param retentionDays   오늘을 포함해 보관할 일수
+     */
+    public MultiplierDistribution(double min, double max, double resolution, int retentionDays) {
+        if (retentionDays < 1) throw new IllegalArgumentException("retentionDays must be >= 1");
+        if (!(resolution > 0)) throw new IllegalArgumentException("resolution must be > 0");
+        this.retentionDays = retentionDays;
+        this.min = min;
+        this.max = max;
+        this.bins = (int) Math.max(1, Math.min(1 << 14, Math.ceil((max - min) / resolution - 1e-9)));
+        this.stripes = Runtime.getRuntime().availableProcessors();
+        this.days = new AtomicReferenceArray<>(retentionDays);
+    }
+
+    public int retentionDays() {
+        return retentionDays;
+    }
+
+    /**
+     * @param todayEpochDay 오늘 (기준 타임존)
+     * @param epochDay      배수의 날짜 (snapshotDay)
+     */
+    public void record(long todayEpochDay, long epochDay, double multiplier) {
+        if (epochDay > todayEpochDay || epochDay <= todayEpochDay - retentionDays) return;
+        MultiplierSketch sketch = sketchFor(epochDay);
+        if (sketch != null) sketch.record(multiplier);
+    }
+
+    private MultiplierSketch sketchFor(long epochDay) {
+        int slot = (int) Math.floorMod(epochDay, retentionDays);
+        while (true) {
+            MultiplierSketch current = days.get(slot);
+            if (current != null && current.epochDay() == epochDay) return current;
+            if (current != null && current.epochDay() > epochDay) return null; // 칸이 이미 더 최근 날짜 (시계가 뒤로 감)
+            MultiplierSketch created = new MultiplierSketch(epochDay, min, max, bins, stripes);
+            if (days.compareAndSet(slot, current, created)) return created;
+        }
+    }
+
+    /**
+     * @return 해당 날짜의 스냅샷, 기록이 없거나 보관 범위 밖이면 null
+     */
+    public MultiplierSketch.Snapshot snapshot(long epochDay) {
+        MultiplierSketch sketch = days.get((int) Math.floorMod(epochDay, retentionDays));
+        return sketch != null && sketch.epochDay() == epochDay ? sketch.snapshot() : null;
+    }
+}
@@ -0,0 +1,150 @@
+package com.dontgoback.msa.extension.domain.asset.distribution;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 하루 동안 적용된 배수의 분포 스케치. 고정 폭 구간(bin)별 개수만 센다.
+ *
+ * 배수는 항상 클램프 범위 [min, max] 안에 있으므로(ADR 04), t-digest/KLL처럼 값에 맞춰 구간을 조정할 필요가 없다.
+ * - 메모리: (구간 수 + 2) × 8B × 스트라이프 수로 고정. 하루 10명이든 1천만 명이든 같다.
+ * - 오차: 분위수는 구간 안에서 선형 보간하므로 절대 오차는 구간 폭(binWidth) 이하.
+ * - 클램프: 경계값(이하/이상)은 별도 칸에 세어 클램프 비율을 정확히 낸다.
+ * - 동시성: 스레드 id로 고른 스트라이프(AtomicLongArray)의 칸 하나를 원자적으로 증가시킨다. 락 없음, 할당 없음.
+ * - 병합: 같은 구간 구성이면 칸별로 더하면 된다 (Snapshot.merge, 여러 날/여러 인스턴스)
+ * - 클램프 범위가 한 점(min == max, 고정 배수)이면 모든 값을 구간 하나에 센다. 클램프 칸은 비어 있다.
+ */
+public final class MultiplierSketch {
+
+    private static final int MAX_STRIPES = 8;
+
+    private final long epochDay;
+    private final double min;
+    private final double max;
+    private final double binWidth;
+    private final int bins; // 클램프 칸을 뺀 구간 수
+    private final boolean fixed; // min == max
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+
+    /**
+     * @param min      하한 클램프 배수 (이하는 하한 클램프 칸)
+     * @param max      상한 클램프 배수 (이상은 상한 클램프 칸)
+     * @param bins     [min, max) 를 나눌 구간 수 (min == max이면 1로 고정)
+     * @param stripes  동시 기록 스트라이프 수 (2의 거듭제곱으로 내림, 최대 8)
+     */
+    public MultiplierSketch(long epochDay, double min, double max, int bins, int stripes) {
+        if (!(min <= max)) throw new IllegalArgumentException("min must be <= max");
+        if (bins < 1) throw new IllegalArgumentException("bins must be >= 1");
+        this.epochDay = epochDay;
+        this.min = min;
+        this.max = max;
+        this.fixed = min == max;
+        if (fixed) bins = 1;
+        this.bins = bins;
+        this.binWidth = (max - min) / bins;
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, stripes)));
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new AtomicLongArray(bins + 2);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public long epochDay() {
+        return epochDay;
+    }
+
+    public void record(double multiplier) {
+        int idx;
+        if (fixed) {
+            idx = 1;
+        } else if (multiplier <= min) {
+            idx = 0;
+        } else if (multiplier >= max) {
+            idx = bins + 1;
+        } else {
+            idx = 1 + Math.min(bins - 1, (int) ((multiplier - min) / binWidth));
+        }
+        stripes[(int) Thread.currentThread().threadId() & stripeMask].getAndIncrement(idx);
+    }
+
+    /** 스트라이프를 합친 개수 복사본. 기록과 동시에 읽으면 칸마다 조금씩 다른 시점의 값일 수 있다 */
+    public Snapshot snapshot() {
+        long[] counts = new long[bins + 2];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return new Snapshot(min, max, counts);
+    }
+
+    /** 스케치가 차지하는 개수 배열 크기 (기록 수와 무관) */
+    public long countBytes() {
+        return (long) stripes.length * (bins + 2) * Long.BYTES;
+    }
+
+    /**
+     * 개수 스냅샷. counts[0] = 하한 클램프, counts[마지막] = 상한 클램프, 그 사이는 [min, max)의 고정 폭 구간.
+     */
+    public record Snapshot(double min, double max, long[] counts) {
+
+        public long count() {
+            long total = 0;
+            for (long c : counts) total += c;
+            return total;
+        }
+
+        public long lowerClampCount() {
+            return counts[0];
+        }
+
+        public long upperClampCount() {
+            return counts[counts.length - 1];
+        }
+
+        /** (하한 + 상한 클램프) / 전체, 비어 있으면 0 */
+        public double clampRatio() {
+            long total = count();
+            return total == 0 ? 0.0 : (double) (lowerClampCount() + upperClampCount()) / total;
+        }
+
+        /**
+         * q 분위 배수 (0 <= q <= 1). 클램프 칸에 걸리면 경계값, 구간에 걸리면 구간 안에서 선형 보간.
+         * @return 비어 있으면 NaN
+         */
+        public double quantile(double q) {
+            if (q < 0 || q > 1) throw new IllegalArgumentException("quantile must be in [0, 1]");
+            long total = count();
+            if (total == 0) return Double.NaN;
+
+            long rank = Math.max(1, (long) Math.ceil(q * total)); // 1부터
+            int last = counts.length - 1;
+            double binWidth = (max - min) / (last - 1);
+            long cumulative = 0;
+            for (int i = 0; i <= last; i++) {
+                long c = counts[i];
+                if (c == 0 || cumulative + c < rank) {
+                    cumulative += c;
+                    continue;
+                }
+                if (i == 0) return min;
+                if (i == last) return max;
+                return min + binWidth * (i - 1 + (rank - cumulative - 0.5) / c);
+            }
+            return max;
+        }
+
+        /** 같은 구간 구성의 스냅샷을 더한다 */
+        public Snapshot merge(Snapshot other) {
+            if (other.counts.length != counts.length || other.min != min || other.max != max) {
+                throw new IllegalArgumentException("sketch layouts differ");
+            }
+            long[] merged = counts.clone();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other.counts[i];
+            }
+            return new Snapshot(min, max, merged);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 오늘 자산 갱신의 이득/손실 상위 목록. 유저당 그날 가장 큰 이득(손실) 갱신 한 건만 들어간다.
+ */
+@Getter
+@AllArgsConstructor
+public class AssetLeaderboardResponse {
+    private String date;                   // YYYY-MM-DD (기준 타임존, 오늘)
+    private String refreshedAt;            // 스냅샷을 만든 시각 (ISO-8601). 이후 갱신은 다음 스냅샷부터 반영
+    private List<LeaderboardEntry> gainers; // 이득 금액이 큰 순
+    private List<LeaderboardEntry> losers;  // 손실 금액이 큰 순
+}
@@ -0,0 +1,19 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 벌크 갱신(NDJSON) 한 줄: {"userId":1,"asset":1000,"snapshotDay":"2025-08-09"}
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateAssetRequest {
+    private Long userId;
+    private Long asset;
+    private LocalDate snapshotDay; // 선택적 필드
+}
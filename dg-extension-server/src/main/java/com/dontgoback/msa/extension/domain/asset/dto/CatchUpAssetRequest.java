@@ -0,0 +1,29 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * 여러 날을 건너뛴 유저의 자산을 [from, to] 각 날짜의 배수로 한 번에 갱신한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatchUpAssetRequest {
+    @NotNull
+    @PositiveOrZero
+    private Long asset;
+
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to; // 선택적 필드 (없으면 오늘)
+}
@@ -0,0 +1,18 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CatchUpAssetResponse {
+    private long userId;
+    private long originalAsset;
+    private long updatedAsset;
+    private String from;                 // YYYY-MM-DD
+    private String to;                   // YYYY-MM-DD
+    private List<DailyMultiplier> multipliers; // 날짜순으로 적용된 배수
+    private double compoundedMultiplier; // 적용된 배수의 곱 (updatedAsset은 날짜마다 반올림하므로 original × 이 값과 다를 수 있음)
+}
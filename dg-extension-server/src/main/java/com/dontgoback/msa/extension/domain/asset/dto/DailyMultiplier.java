@@ -0,0 +1,11 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class DailyMultiplier {
+    private String date;           // YYYY-MM-DD (기준 타임존)
+    private double multiplier;
+}
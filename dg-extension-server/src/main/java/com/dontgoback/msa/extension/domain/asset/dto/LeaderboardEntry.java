@@ -0,0 +1,15 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private int rank;              // 1부터
+    private long userId;
+    private long originalAsset;
+    private long updatedAsset;
+    private long change;           // updatedAsset - originalAsset (손실이면 음수)
+    private double changePercent;  // (multiplier - 1) × 100
+}
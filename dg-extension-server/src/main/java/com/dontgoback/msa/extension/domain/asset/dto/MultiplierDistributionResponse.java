@@ -0,0 +1,18 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 기간 [from, to]의 날짜별 배수 분포와 기간 전체를 합친 분포. 기록이 없는 날짜는 목록에서 빠진다.
+ */
+@Getter
+@AllArgsConstructor
+public class MultiplierDistributionResponse {
+    private String from;                   // YYYY-MM-DD
+    private String to;                     // YYYY-MM-DD (오늘)
+    private List<DailyMultiplierDistribution> days;
+    private MultiplierDistributionStats total; // days의 스케치를 병합한 결과
+}
@@ -0,0 +1,19 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 적용된 배수의 분포 요약. 분위수는 변동률(%, 0 = 변동 없음)이고 오차는 asset.distribution.resolution-percent 이하.
+ */
+@Getter
+@AllArgsConstructor
+public class MultiplierDistributionStats {
+    private long count;                 // 적용 건수 (같은 유저가 여러 번 갱신하면 모두 셈)
+    private long lowerClampCount;       // 하한 클램프(min%)에 걸린 건수
+    private long upperClampCount;       // 상한 클램프(max%)에 걸린 건수
+    private double clampRatio;          // (lower + upper) / count, 건수가 0이면 0
+    private Map<String, Double> changePercentQuantiles; // "p50" -> 변동률(%), 건수가 0이면 비어 있음
+}
@@ -0,0 +1,20 @@
+package com.dontgoback.msa.extension.domain.asset.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 기간 [from, to]의 일별 배수와 복리 수익률. 배수가 없는 날짜(갱신하지 않은 날)는 목록에서 빠진다.
+ */
+@Getter
+@AllArgsConstructor
+public class MultiplierHistoryResponse {
+    private long userId;
+    private String from;                   // YYYY-MM-DD
+    private String to;                     // YYYY-MM-DD
+    private List<DailyMultiplier> multipliers;
+    private double compoundedMultiplier;   // 목록의 배수를 모두 곱한 값 (목록이 비면 1.0)
+    private double compoundedReturnPercent; // (compoundedMultiplier - 1) * 100
+}
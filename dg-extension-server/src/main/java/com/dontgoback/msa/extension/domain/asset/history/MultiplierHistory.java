@@ -0,0 +1,346 @@
+package com.dontgoback.msa.extension.domain.asset.history;
+
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 일별 multiplier 이력. DailyMultiplierStore가 보관 기간이 지나 버리는 날짜를 파일로 남긴다.
+ *
+ * - 형식: 날짜마다 파일 하나(multipliers-YYYY-MM-DD.col). 열 지향 고정폭으로 userId 열(오름차순) 다음에
+ *   multiplier 열을 둔다. 엔트리당 16B이고, 조회는 mmap한 userId 열에서 이진 탐색(DAU 30만 기준 19회 비교)만 한다.
+ *   1년 범위 조회 = 날짜 365개 × 이진 탐색이다. (MultiplierHistoryBenchmark 참고)
+ * - 기록: 같은 날짜를 여러 번 기록하면 기존 파일과 병합한다(기존 값 우선). 임시 파일에 쓴 뒤 교체하므로
+ *   읽는 쪽은 항상 완성된 파일만 본다. 파일 쓰기는 전용 스레드(multiplier-history)에서 한다.
+ * - 보관: 보관 기간(asset.history.retention-days)이 지난 날짜 파일은 expireBefore에서 지운다.
+ */
+@Slf4j
+public class MultiplierHistory implements AutoCloseable {
+
+    static final int MAGIC = 0x44474D48; // "DGMH"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;  // magic(4) + version(4) + epochDay(8) + count(8)
+    static final String FILE_PREFIX = "multipliers-";
+    static final String FILE_SUFFIX = ".col";
+    private static final int USER_ID_BITS = 43; // DailyMultiplierStore 패킹과 같은 폭
+    private static final long USER_ID_MASK = (1L << USER_ID_BITS) - 1;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_ENTRIES_PER_DAY = (Integer.MAX_VALUE - HEADER_BYTES) / 16;
+
+    private final Path directory;
+    private final ConcurrentHashMap<Long, DayColumn> columns = new ConcurrentHashMap<>();
+    private ExecutorService writer;
+
+    public MultiplierHistory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 디렉터리의 날짜 파일을 모두 mmap하고 기록 스레드를 시작한다. 형식이 맞지 않는 파일은 건너뛴다.
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                Long day = dayOf(file);
+                if (day == null) continue;
+                try {
+                    columns.put(day, DayColumn.map(file));
+                } catch (IOException e) {
+                    log.warn("multiplier 이력 파일을 읽을 수 없어 건너뜁니다. file={}", file, e);
+                }
+            }
+        }
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "multiplier-history");
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("multiplier 이력 준비 days={} directory={}", columns.size(), directory);
+    }
+
+    /** 해당 날짜 파일이 있는지 */
+    public boolean hasDay(long epochDay) {
+        return columns.containsKey(epochDay);
+    }
+
+    /** @return 기록이 없으면 NaN */
+    public double find(long userId, long epochDay) {
+        DayColumn column = columns.get(epochDay);
+        return column != null ? column.find(userId) : Double.NaN;
+    }
+
+    /** 파일이 있는 날짜 수 */
+    public int days() {
+        return columns.size();
+    }
+
+    /**
+     * 모은 엔트리를 날짜별 파일로 기록한다. 호출한 스레드에서 바로 쓰므로 보통은 submit으로 기록 스레드에서 부른다.
+     * batch는 이 메서드가 정렬하므로 호출자가 다시 쓰면 안 된다.
+     */
+    public synchronized void archive(Batch batch) {
+        int count = batch.size;
+        if (count == 0) return;
+        long[] keys = batch.keys;
+        double[] values = batch.values;
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            keys[i] = (DailyMultiplierStore.dayOf(key) << USER_ID_BITS) | DailyMultiplierStore.userIdOf(key); // 날짜 → userId 순
+        }
+        sort(keys, values, 0, count - 1);
+
+        int start = 0;
+        while (start < count) {
+            long day = keys[start] >>> USER_ID_BITS;
+            int end = start;
+            while (end < count && (keys[end] >>> USER_ID_BITS) == day) end++;
+            try {
+                writeDay(day, keys, values, start, end);
+            } catch (IOException e) {
+                log.error("multiplier 이력 기록 실패 date={} entries={}", LocalDate.ofEpochDay(day), end - start, e);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * 기록 스레드에서 실행한다. (자정 rollover에서 요청 스레드를 막지 않기 위해)
+     * 작업은 제출 순서대로 하나씩 실행된다.
+     */
+    public void submit(Runnable task) {
+        writer.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("multiplier 이력 작업 실패", e);
+            }
+        });
+    }
+
+    /** minEpochDay보다 이전 날짜 파일을 지운다 */
+    public synchronized void expireBefore(long minEpochDay) {
+        for (Long day : columns.keySet()) {
+            if (day >= minEpochDay) continue;
+            columns.remove(day);
+            try {
+                Files.deleteIfExists(filePath(day));
+            } catch (IOException e) {
+                log.warn("오래된 multiplier 이력 삭제 실패 date={}", LocalDate.ofEpochDay(day), e);
+            }
+        }
+    }
+
+    /** 대기 중인 기록을 마치고 스레드를 멈춘다 */
+    @Override
+    public void close() {
+        if (writer == null) return;
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) log.warn("multiplier 이력 기록이 끝나지 않은 채 종료합니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * keys[start, end): (day << 43 | userId) 오름차순. 기존 파일이 있으면 병합(기존 값 우선)해 새 파일로 교체한다.
+     */
+    private void writeDay(long day, long[] keys, double[] values, int start, int end) throws IOException {
+        DayColumn existing = columns.get(day);
+        int oldCount = existing != null ? existing.count : 0;
+
+        long[] ids = new long[oldCount + (end - start)];
+        double[] vals = new double[ids.length];
+        int n = 0;
+        int i = 0;
+        int j = start;
+        while (i < oldCount || j < end) {
+            long oldId = i < oldCount ? existing.userIdAt(i) : Long.MAX_VALUE;
+            long newId = j < end ? keys[j] & USER_ID_MASK : Long.MAX_VALUE;
+            if (oldId <= newId) {
+                ids[n] = oldId;
+                vals[n++] = existing.valueAt(i++);
+                if (oldId == newId) j++;
+            } else {
+                ids[n] = newId;
+                vals[n++] = values[j++];
+            }
+            while (j < end && (keys[j] & USER_ID_MASK) == ids[n - 1]) j++; // 같은 유저 중복(순회 중 이동) 제거
+        }
+        if (n == oldCount) return; // 새 유저 없음
+        if (n > MAX_ENTRIES_PER_DAY) throw new IOException("too many entries for one day: " + n);
+
+        Path target = filePath(day);
+        Path tmp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            buf.putInt(MAGIC).putInt(VERSION).putLong(day).putLong(n);
+            for (int k = 0; k < n; k++) {
+                if (!buf.hasRemaining()) drain(channel, buf);
+                buf.putLong(ids[k]);
+            }
+            for (int k = 0; k < n; k++) {
+                if (!buf.hasRemaining()) drain(channel, buf);
+                buf.putLong(Double.doubleToRawLongBits(vals[k]));
+            }
+            drain(channel, buf);
+            channel.force(false);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        columns.put(day, DayColumn.map(target)); // 이전 매핑은 참조가 사라지면 GC 때 해제
+        log.info("multiplier 이력 기록 date={} entries={} added={}", LocalDate.ofEpochDay(day), n, n - oldCount);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) channel.write(buf);
+        buf.clear();
+    }
+
+    Path filePath(long epochDay) {
+        return directory.resolve(FILE_PREFIX + LocalDate.ofEpochDay(epochDay) + FILE_SUFFIX);
+    }
+
+    private static Long dayOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return LocalDate.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return null; // 다른 파일은 무시
+        }
+    }
+
+    /** keys 기준 오름차순 정렬 (values를 함께 옮김). 엔트리 수가 수백만이어도 박싱 없이 정렬하기 위해 직접 구현 */
+    static void sort(long[] keys, double[] values, int lo, int hi) {
+        while (hi - lo > 16) {
+            long pivot = median(keys[lo], keys[(lo + hi) >>> 1], keys[hi]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) swap(keys, values, i++, j--);
+            }
+            // 작은 쪽만 재귀 (깊이 O(log n))
+            if (j - lo < hi - i) {
+                sort(keys, values, lo, j);
+                lo = i;
+            } else {
+                sort(keys, values, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            long k = keys[i];
+            double v = values[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > k) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = k;
+            values[j + 1] = v;
+        }
+    }
+
+    private static long median(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(long[] keys, double[] values, int i, int j) {
+        long k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        double v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+
+    /**
+     * DailyMultiplierStore.forEach로 (패킹된 키, multiplier)를 모으는 버퍼. 박싱 없이 배열을 두 배씩 늘린다.
+     */
+    public static final class Batch implements DailyMultiplierStore.EntryConsumer {
+        private long[] keys = new long[1024];
+        private double[] values = new double[1024];
+        private int size;
+
+        @Override
+        public void accept(long packedKey, double value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = packedKey;
+            values[size++] = value;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * mmap한 날짜 파일 하나. 읽기 전용 버퍼에 절대 위치로만 접근하므로 여러 스레드가 동시에 읽어도 된다.
+     */
+    static final class DayColumn {
+        private final MappedByteBuffer buffer;
+        private final int count;
+
+        private DayColumn(MappedByteBuffer buffer, int count) {
+            this.buffer = buffer;
+            this.count = count;
+        }
+
+        static DayColumn map(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES || size > Integer.MAX_VALUE) throw new IOException("잘못된 이력 파일 크기: " + size);
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) throw new IOException("이력 파일 형식이 아닙니다: " + file);
+                long count = map.getLong(16);
+                if (count < 0 || HEADER_BYTES + count * 16 != size) throw new IOException("이력 파일이 잘렸습니다: " + file);
+                return new DayColumn(map, (int) count);
+            }
+        }
+
+        double find(long userId) {
+            int lo = 0;
+            int hi = count - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                long id = userIdAt(mid);
+                if (id < userId) lo = mid + 1;
+                else if (id > userId) hi = mid - 1;
+                else return valueAt(mid);
+            }
+            return Double.NaN;
+        }
+
+        long userIdAt(int i) {
+            return buffer.getLong(HEADER_BYTES + i * 8);
+        }
+
+        double valueAt(int i) {
+            return Double.longBitsToDouble(buffer.getLong(HEADER_BYTES + count * 8 + i * 8));
+        }
+    }
+}
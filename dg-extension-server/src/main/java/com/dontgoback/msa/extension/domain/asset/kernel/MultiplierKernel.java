@@ -0,0 +1,16 @@
+package com.dontgoback.msa.extension.domain.asset.kernel;
+
+/**
+ * 표준정규 Z 배열을 일일 배수 배열로 바꾼다: out[i] = clamp(exp(μ + σ·z[i]), minMultiplier, maxMultiplier)
+ * (AssetService.toMultiplier의 배열 버전. 미리 생성처럼 유저 여러 명의 배수를 한꺼번에 만들 때 사용)
+ *
+ * 구현 선택은 MultiplierKernels.create. z와 out은 같은 배열이어도 된다.
+ */
+public interface MultiplierKernel {
+
+    /** z[0, n)을 변환해 out[0, n)에 쓴다 */
+    void apply(double[] z, double[] out, int n);
+
+    /** 로그/메트릭용 구현 이름 (예: "scalar", "vector-256") */
+    String name();
+}
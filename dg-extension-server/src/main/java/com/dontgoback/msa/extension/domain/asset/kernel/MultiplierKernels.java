@@ -0,0 +1,46 @@
+package com.dontgoback.msa.extension.domain.asset.kernel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MultiplierKernel 구현 선택.
+ *
+ * jdk.incubator.vector는 인큐베이터 모듈이라 JVM을 --add-modules jdk.incubator.vector로 띄운 경우에만 쓸 수 있다.
+ * 모듈이 없거나(옵션 누락, 다른 런타임) 로딩에 실패하면 스칼라 구현으로 대신한다.
+ * SIMD 구현은 인큐베이터 모듈을 붙여 컴파일하는 별도 소스셋(src/vector/java)에 있어 이름으로 찾아 만든다.
+ */
+@Slf4j
+public final class MultiplierKernels {
+
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+    static final String VECTOR_KERNEL = "com.dontgoback.msa.extension.domain.asset.kernel.VectorMultiplierKernel";
+
+    private MultiplierKernels() {
+    }
+
+    /**
+     * @param vectorized false이면 항상 스칼라 구현
+     */
+    public static MultiplierKernel create(double mu, double sigma, double minMultiplier, double maxMultiplier,
+                                          boolean vectorized) {
+        if (vectorized && vectorApiAvailable()) {
+            try {
+                return (MultiplierKernel) Class.forName(VECTOR_KERNEL)
+                        .getDeclaredConstructor(double.class, double.class, double.class, double.class)
+                        .newInstance(mu, sigma, minMultiplier, maxMultiplier);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector API를 초기화할 수 없어 스칼라 배수 계산을 사용합니다.", e);
+            }
+        }
+        return new ScalarMultiplierKernel(mu, sigma, minMultiplier, maxMultiplier);
+    }
+
+    /** 비교 기준(테스트/벤치마크)용 스칼라 구현 */
+    public static MultiplierKernel scalar(double mu, double sigma, double minMultiplier, double maxMultiplier) {
+        return new ScalarMultiplierKernel(mu, sigma, minMultiplier, maxMultiplier);
+    }
+
+    public static boolean vectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
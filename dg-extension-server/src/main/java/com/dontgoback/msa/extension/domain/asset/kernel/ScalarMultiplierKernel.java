@@ -0,0 +1,32 @@
+package com.dontgoback.msa.extension.domain.asset.kernel;
+
+/**
+ * Math.exp로 한 개씩 계산한다. 단건 경로(AssetService.toMultiplier)와 결과가 비트 단위로 같다.
+ * Vector API를 쓸 수 없는 JVM에서의 대체 구현이자, 정확도 비교 기준.
+ */
+final class ScalarMultiplierKernel implements MultiplierKernel {
+
+    private final double mu;
+    private final double sigma;
+    private final double minMultiplier;
+    private final double maxMultiplier;
+
+    ScalarMultiplierKernel(double mu, double sigma, double minMultiplier, double maxMultiplier) {
+        this.mu = mu;
+        this.sigma = sigma;
+        this.minMultiplier = minMultiplier;
+        this.maxMultiplier = maxMultiplier;
+    }
+
+    @Override
+    public void apply(double[] z, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.min(maxMultiplier, Math.max(minMultiplier, Math.exp(mu + sigma * z[i])));
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,154 @@
+package com.dontgoback.msa.extension.domain.asset.leaderboard;
+
+import com.dontgoback.msa.extension.domain.asset.dto.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 오늘(기준 타임존) 자산 갱신의 이득/손실 상위 size명.
+ *
+ * - 기록: 유저 id로 고른 스트라이프의 BoundedTopK에 넣는다. 같은 유저는 항상 같은 스트라이프이므로 유저당 한 번만 남고,
+ *   스트라이프마다 size명을 유지하므로 합친 상위 size명은 정확하다. (근사 아님)
+ * - 날짜가 바뀐 뒤 첫 기록에서 오늘 보드를 새로 만들어 CAS로 교체한다. 지난 날짜 보드는 그대로 버린다.
+ * - 조회: 불변 스냅샷을 돌려준다. 스냅샷이 refreshMillis보다 오래됐거나 지난 날짜이면, 조회한 스레드 하나가
+ *   스트라이프를 합쳐 다시 만든다. (스트라이프 수 × size건 정렬. 다른 조회는 만드는 동안 이전 스냅샷을 받음)
+ */
+public class AssetLeaderboard {
+
+    private static final Comparator<BoundedTopK.Ranked> BY_SCORE =
+            Comparator.comparingLong(BoundedTopK.Ranked::score).reversed().thenComparingLong(BoundedTopK.Ranked::userId);
+
+    private final int size;
+    private final int stripeMask;
+    private final long refreshMillis;
+    private final AtomicReference<Board> current = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param size          방향(이득/손실)별 보관 인원 = 조회 limit 상한
+     * @param refreshMillis 스냅샷을 다시 만드는 주기
+     */
+    public AssetLeaderboard(int size, long refreshMillis) {
+        if (size < 1) throw new IllegalArgumentException("size must be >= 1");
+        if (refreshMillis < 0) throw new IllegalArgumentException("refreshMillis must be >= 0");
+        this.size = size;
+        this.stripeMask = Integer.highestOneBit(Math.min(64, Runtime.getRuntime().availableProcessors())) - 1;
+        this.refreshMillis = refreshMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 갱신 1건을 기록한다. 오늘 날짜의 갱신만 받고, 변동이 없으면(updated == original) 무시한다.
+     *
+     * @param todayEpochDay 오늘 (기준 타임존)
+     * @param epochDay      갱신한 날짜 (snapshotDay)
+     */
+    public void record(long todayEpochDay, long epochDay, long userId, long original, long updated, double multiplier) {
+        if (epochDay != todayEpochDay || updated == original) return;
+        Board board = boardFor(epochDay);
+        if (board == null) return;
+
+        int stripe = (int) ((userId * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask;
+        if (updated > original) {
+            board.gainers[stripe].offer(userId, updated - original, original, updated, multiplier);
+        } else {
+            board.losers[stripe].offer(userId, original - updated, original, updated, multiplier);
+        }
+    }
+
+    private Board boardFor(long epochDay) {
+        while (true) {
+            Board board = current.get();
+            if (board != null && board.epochDay == epochDay) return board;
+            if (board != null && board.epochDay > epochDay) return null; // 이미 다음 날짜 (시계가 뒤로 감)
+            Board created = new Board(epochDay, stripeMask + 1, size);
+            if (current.compareAndSet(board, created)) return created;
+        }
+    }
+
+    /**
+     * @return 오늘 스냅샷 (기록이 없으면 빈 목록). 최대 refreshMillis만큼 지난 내용일 수 있다
+     */
+    public Snapshot snapshot(long todayEpochDay, long nowMillis) {
+        Snapshot s = snapshot;
+        if (fresh(s, todayEpochDay, nowMillis)) return s;
+
+        boolean sameDay = s != null && s.epochDay() == todayEpochDay;
+        if (sameDay) {
+            if (!refreshLock.tryLock()) return s; // 다른 조회가 만드는 중
+        } else {
+            refreshLock.lock(); // 지난 날짜 스냅샷은 돌려주지 않는다
+        }
+        try {
+            s = snapshot;
+            if (fresh(s, todayEpochDay, nowMillis)) return s;
+            s = build(todayEpochDay, nowMillis);
+            snapshot = s;
+            return s;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean fresh(Snapshot s, long todayEpochDay, long nowMillis) {
+        return s != null && s.epochDay() == todayEpochDay && nowMillis - s.refreshedAtMillis() < refreshMillis;
+    }
+
+    private Snapshot build(long todayEpochDay, long nowMillis) {
+        Board board = current.get();
+        if (board == null || board.epochDay != todayEpochDay) {
+            return new Snapshot(todayEpochDay, nowMillis, List.of(), List.of());
+        }
+        return new Snapshot(todayEpochDay, nowMillis, rank(board.gainers), rank(board.losers));
+    }
+
+    private List<LeaderboardEntry> rank(BoundedTopK[] stripes) {
+        List<BoundedTopK.Ranked> all = new ArrayList<>(stripes.length * size);
+        for (BoundedTopK stripe : stripes) {
+            stripe.copyTo(all);
+        }
+        all.sort(BY_SCORE);
+
+        int n = Math.min(size, all.size());
+        List<LeaderboardEntry> ranked = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            BoundedTopK.Ranked r = all.get(i);
+            ranked.add(new LeaderboardEntry(i + 1, r.userId(), r.original(), r.updated(),
+                    r.updated() - r.original(), (r.multiplier() - 1.0) * 100.0));
+        }
+        return Collections.unmodifiableList(ranked);
+    }
+
+    /**
+     * 조회용 불변 스냅샷. gainers/losers는 이득/손실 금액이 큰 순서 (같으면 userId 오름차순)
+     */
+    public record Snapshot(long epochDay, long refreshedAtMillis,
+                           List<LeaderboardEntry> gainers, List<LeaderboardEntry> losers) {
+    }
+
+    /** 하루치 보드: 방향별 스트라이프 */
+    private static final class Board {
+        final long epochDay;
+        final BoundedTopK[] gainers;
+        final BoundedTopK[] losers;
+
+        Board(long epochDay, int stripes, int size) {
+            this.epochDay = epochDay;
+            this.gainers = new BoundedTopK[stripes];
+            this.losers = new BoundedTopK[stripes];
+            for (int i = 0; i < stripes; i++) {
+                gainers[i] = new BoundedTopK(size);
+                losers[i] = new BoundedTopK(size);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.dontgoback.msa.extension.domain.asset.leaderboard;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 점수 상위 capacity명을 유지하는 최소 힙 (스트라이프 하나). 같은 유저는 한 번만, 그날 가장 큰 점수로 남는다.
+ *
+ * - 힙이 가득 차면 최솟값을 floor(volatile)에 둔다. floor 이하인 점수는 락 없이 읽기 한 번으로 버린다.
+ *   (하루 중 대부분의 갱신이 이 경로. 락은 상위권에 들어갈 후보만 잡는다)
+ * - 유저 중복 확인은 힙 선형 탐색이다. capacity가 작고(기본 100) 락 경로에서만 하므로 맵을 두지 않는다.
+ * - 락은 ReentrantLock (가상 스레드에서 불려도 캐리어를 붙잡지 않음)
+ */
+final class BoundedTopK {
+
+    private final int capacity;
+    private final long[] users;
+    private final long[] scores;
+    private final long[] originals;
+    private final long[] updateds;
+    private final double[] multipliers;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int size;
+    private volatile long floor = Long.MIN_VALUE; // 가득 차기 전에는 모든 점수를 받는다
+
+    BoundedTopK(int capacity) {
+        this.capacity = capacity;
+        this.users = new long[capacity];
+        this.scores = new long[capacity];
+        this.originals = new long[capacity];
+        this.updateds = new long[capacity];
+        this.multipliers = new double[capacity];
+    }
+
+    /**
+     * @return 힙이 바뀌었으면 true
+     */
+    boolean offer(long userId, long score, long original, long updated, double multiplier) {
+        if (score <= floor) return false;
+        lock.lock();
+        try {
+            int at = indexOf(userId);
+            if (at >= 0) {
+                if (score <= scores[at]) return false;
+                set(at, userId, score, original, updated, multiplier);
+                siftDown(at); // 점수가 커졌으므로 아래로
+            } else if (size < capacity) {
+                set(size, userId, score, original, updated, multiplier);
+                siftUp(size++);
+            } else {
+                if (score <= scores[0]) return false;
+                set(0, userId, score, original, updated, multiplier);
+                siftDown(0);
+            }
+            if (size == capacity) floor = scores[0];
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 현재 엔트리를 out에 복사한다 (순서 없음) */
+    void copyTo(List<Ranked> out) {
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                out.add(new Ranked(users[i], scores[i], originals[i], updateds[i], multipliers[i]));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int indexOf(long userId) {
+        for (int i = 0; i < size; i++) {
+            if (users[i] == userId) return i;
+        }
+        return -1;
+    }
+
+    private void set(int i, long userId, long score, long original, long updated, double multiplier) {
+        users[i] = userId;
+        scores[i] = score;
+        originals[i] = original;
+        updateds[i] = updated;
+        multipliers[i] = multiplier;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= scores[i]) return;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) return;
+            int smaller = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[i] <= scores[smaller]) return;
+            swap(i, smaller);
+            i = smaller;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long user = users[a]; users[a] = users[b]; users[b] = user;
+        long score = scores[a]; scores[a] = scores[b]; scores[b] = score;
+        long original = originals[a]; originals[a] = originals[b]; originals[b] = original;
+        long updated = updateds[a]; updateds[a] = updateds[b]; updateds[b] = updated;
+        double multiplier = multipliers[a]; multipliers[a] = multipliers[b]; multipliers[b] = multiplier;
+    }
+
+    /** 스냅샷을 만들 때만 쓰는 엔트리 (score: 이득/손실 금액의 절댓값) */
+    record Ranked(long userId, long score, long original, long updated, double multiplier) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 피어 인스턴스가 보내는 일별 배수 복제 (MultiplierReplicator). 다른 API와 같이 서버 간 JWT 인증과 수용 제어를 거친다.
+ * 본문과 응답은 MultiplierReplicationCodec 바이너리 형식이다.
+ */
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // reactive 프로필에서는 ApiV1ReplicationRouter
+@RequestMapping("/msa/ext/api")
+@RestController
+public class ApiV1ReplicationController {
+
+    private final MultiplierReplicator replicator;
+
+    @PostMapping(value = "/replication/multipliers",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> replicate(@RequestBody byte[] body) {
+        if (!replicator.isEnabled()) return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        try {
+            return ResponseEntity.ok(replicator.receive(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * reactive 프로필의 복제 API 라우팅 (servlet 프로필에서는 ApiV1ReplicationController)
+ * 합치기는 메모리 저장소 연산뿐이라 이벤트 루프에서 바로 처리한다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ApiV1ReplicationRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> replicationRoutes(MultiplierReplicator replicator) {
+        return RouterFunctions.route()
+                .POST("/msa/ext/api/replication/multipliers", request -> {
+                    if (!replicator.isEnabled()) return ServerResponse.notFound().build();
+                    return request.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(replicator::receive)
+                            .flatMap(response -> ServerResponse.ok()
+                                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                    .bodyValue(response))
+                            .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest().build());
+                })
+                .build();
+    }
+}
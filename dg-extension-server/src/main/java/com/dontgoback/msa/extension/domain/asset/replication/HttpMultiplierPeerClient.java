@@ -0,0 +1,84 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * JDK HttpClient로 피어의 복제 API(PATH)를 호출한다. 피어도 같은 인증 서버의 토큰을 검증하므로
+ * 요청마다 서버 간 JWT(Bearer)를 붙인다. 401이면 토큰을 버려 다음 호출에서 새로 받는다.
+ *
+ * 피어마다 HTTP/1.1 연결 하나를 재사용하고(keep-alive), 피어들에는 동시에 보낸다.
+ */
+public class HttpMultiplierPeerClient implements MultiplierPeerClient {
+
+    static final String PATH = "/msa/ext/api/replication/multipliers";
+    static final String OCTET_STREAM = "application/octet-stream";
+
+    private final HttpClient http;
+    private final Duration timeout;
+    private final Supplier<String> token;
+    private final Runnable invalidateToken;
+
+    /**
+     * @param token           서버 간 JWT (만료 전까지 캐시된 값)
+     * @param invalidateToken 피어가 401을 돌려줬을 때 호출
+     */
+    public HttpMultiplierPeerClient(Duration timeout, Supplier<String> token, Runnable invalidateToken) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.timeout = timeout;
+        this.token = token;
+        this.invalidateToken = invalidateToken;
+    }
+
+    @Override
+    public CompletableFuture<byte[]> push(String peer, byte[] body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(stripTrailingSlash(peer) + PATH))
+                    .timeout(timeout)
+                    .header("Authorization", "Bearer " + token.get())
+                    .header("Content-Type", OCTET_STREAM)
+                    .header("Accept", OCTET_STREAM)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        } catch (RuntimeException e) { // 잘못된 URL, 토큰 발급 실패
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    int status = response.statusCode();
+                    if (status == 401) invalidateToken.run();
+                    if (status / 100 != 2) {
+                        throw new PeerResponseException(status);
+                    }
+                    return response.body();
+                });
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /** 피어가 2xx가 아닌 응답을 돌려줌 (MultiplierReplicator가 status 태그로 센다) */
+    static final class PeerResponseException extends RuntimeException {
+        private final int status;
+
+        PeerResponseException(int status) {
+            super("peer responded " + status, null, false, false);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 피어 인스턴스에 복제 본문을 보낸다. 기본 구현은 서버 간 JWT를 붙이는 HttpMultiplierPeerClient
+ */
+@FunctionalInterface
+public interface MultiplierPeerClient {
+
+    /**
+     * @param peer 피어 base URL (asset.replication.peers의 한 항목)
+     * @param body MultiplierReplicationCodec 요청 본문
+     * @return 피어가 돌려준 응답 본문(정정). 2xx가 아니거나 연결 실패면 예외로 완료
+     */
+    CompletableFuture<byte[]> push(String peer, byte[] body);
+}
@@ -0,0 +1,87 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 복제 요청/응답 본문 (application/octet-stream). 요청은 보낼 엔트리, 응답은 받은 쪽이 이긴 값(정정)이다.
+ *
+ * - 헤더: 매직 "DGMR", 버전, 보낸 인스턴스 id, 보낸 시각(ms), 엔트리 수 = 4 + 4 + 8 + 8 + 4 = 28B
+ * - 엔트리: 패킹된 키(DailyMultiplierStore.packKey), multiplier의 double 비트 = 16B 고정 길이
+ *   (저널/이력 파일 레코드와 같은 형식. JSON 대비 1/4 이하이고 파싱 없이 읽는다)
+ */
+final class MultiplierReplicationCodec {
+
+    static final int MAGIC = 0x44474d52; // "DGMR"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 28;
+    static final int ENTRY_BYTES = 16;
+
+    private MultiplierReplicationCodec() {
+    }
+
+    static byte[] encode(long origin, long sentAtMillis, Entries entries) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + entries.size() * ENTRY_BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(origin).putLong(sentAtMillis).putInt(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            buffer.putLong(entries.keys[i]).putLong(Double.doubleToRawLongBits(entries.values[i]));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException 매직/버전/길이가 맞지 않음
+     */
+    static Batch decode(byte[] body) {
+        if (body == null || body.length < HEADER_BYTES) throw new IllegalArgumentException("replication body too short");
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        if (buffer.getInt() != MAGIC) throw new IllegalArgumentException("not a replication body");
+        int version = buffer.getInt();
+        if (version != VERSION) throw new IllegalArgumentException("unsupported replication version " + version);
+        long origin = buffer.getLong();
+        long sentAtMillis = buffer.getLong();
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * ENTRY_BYTES != body.length - HEADER_BYTES) {
+            throw new IllegalArgumentException("replication body length does not match count " + count);
+        }
+
+        Entries entries = new Entries(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(buffer.getLong(), Double.longBitsToDouble(buffer.getLong()));
+        }
+        return new Batch(origin, sentAtMillis, entries);
+    }
+
+    record Batch(long origin, long sentAtMillis, Entries entries) {
+    }
+
+    /** (패킹된 키, multiplier) 배열 쌍. 엔트리마다 객체를 만들지 않는다 */
+    static final class Entries {
+        long[] keys;
+        double[] values;
+        private int size;
+
+        Entries(int capacity) {
+            keys = new long[Math.max(1, capacity)];
+            values = new double[keys.length];
+        }
+
+        void add(long key, double value) {
+            if (size == keys.length) {
+                int grown = keys.length * 2;
+                keys = Arrays.copyOf(keys, grown);
+                values = Arrays.copyOf(values, grown);
+            }
+            keys[size] = key;
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import com.dontgoback.msa.extension.config.interserverauth.client.InterServerTokenProvider;
+import com.dontgoback.msa.extension.domain.asset.AssetProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.CompletableFuture;
+
+@Configuration
+public class MultiplierReplicationConfiguration {
+
+    /**
+     * 피어 호출 클라이언트. 복제를 끄면 HttpClient(선택자 스레드)를 만들지 않는다.
+     */
+    @Bean
+    public MultiplierPeerClient multiplierPeerClient(AssetProperties props, InterServerTokenProvider tokenProvider) {
+        var cfg = props.getReplication();
+        if (!cfg.isEnabled()) {
+            return (peer, body) -> CompletableFuture.failedFuture(new IllegalStateException("asset replication is disabled"));
+        }
+        return new HttpMultiplierPeerClient(cfg.getTimeout(), tokenProvider::token, tokenProvider::invalidate);
+    }
+}
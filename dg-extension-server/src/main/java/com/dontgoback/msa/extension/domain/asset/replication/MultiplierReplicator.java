@@ -0,0 +1,396 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import com.dontgoback.msa.extension.domain.asset.AssetProperties;
+import com.dontgoback.msa.extension.domain.asset.AssetService;
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 인스턴스 간 일별 배수 복제 (asset.replication.enabled=true, RANDOM 모드).
+ *
+ * ADR 04는 인스턴스마다 같은 유저/날짜에 다른 배수를 줄 수 있음을 받아들였다. 복제를 켜면
+ * - 보내기: 이 인스턴스가 새로 만든 엔트리를 버퍼에 모아 batchInterval마다 모든 피어에 보낸다.
+ *   저장소 쓰기 락 안에서는 버퍼에 넣기만 하고(저널과 같은 방식), 전송은 복제 스레드가 한다.
+ * - 검사: 합치기 전에 묶음 전체의 날짜/배수 범위를 본다(AssetService.validateReplicated). 하나라도 어긋나면 아무것도 합치지 않고 400.
+ * - 받기: 받은 엔트리를 DailyMultiplierStore.merge로 합친다. 같은 키에 다른 값이 있으면 (키, 값) 해시가 작은 쪽이 이기므로
+ *   어느 인스턴스에서 어떤 순서로 받아도 같은 값으로 수렴한다. 받은 엔트리는 다시 보내지 않는다. (보낸 쪽이 모든 피어에 보냄)
+ * - 정정: 받은 쪽의 값이 이긴 엔트리는 응답으로 돌려주고, 보낸 쪽도 합친다. (한쪽 전송이 유실돼도 다음 교환에서 맞춰짐)
+ * - 실패: 피어별 outbox에 남겨 다음 주기에 다시 보낸다. outbox가 retryEntries를 넘으면 넘친 엔트리는 버린다.
+ *   피어가 400으로 거절한 묶음은 다시 보내도 같으므로 버린다. (설정이 다른 피어 하나 때문에 outbox가 막히지 않도록)
+ *
+ * 피어 목록은 자기 자신을 뺀 모든 인스턴스(완전 그래프)여야 한다. 지연/대역폭은 asset.replication.* 지표로 본다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MultiplierReplicator implements DailyMultiplierStore.InsertListener {
+
+    private final AssetService assetService;
+    private final AssetProperties props;
+    private final MultiplierPeerClient peerClient;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    /** 자기 자신이 보낸 본문을 알아보기 위한 id (피어 목록에 자신이 들어간 설정 실수) */
+    private final long instanceId = ThreadLocalRandom.current().nextLong();
+
+    /** 요청 스레드(onInsert)와 복제 스레드의 버퍼 교체만 보호한다 */
+    private final ReentrantLock lock = new ReentrantLock();
+    private MultiplierReplicationCodec.Entries pending;
+    private MultiplierReplicationCodec.Entries sending; // 복제 스레드 전용
+    private long pendingSince; // pending 첫 엔트리를 넣은 System.nanoTime()
+    private int bufferEntries;
+
+    private List<Peer> peers = List.of();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean enabled;
+
+    private Counter bytesSent;
+    private Counter bytesReceived;
+    private Counter entriesSent;
+    private Counter entriesReceived;
+    private Counter droppedBuffer;
+    private Counter droppedRetry;
+    private Counter droppedSelf;
+    private Counter droppedInvalid;
+    private Counter droppedRejected;
+    private Counter expired;
+    private final Map<DailyMultiplierStore.MergeResult, Counter> merged = new EnumMap<>(DailyMultiplierStore.MergeResult.class);
+
+    @PostConstruct
+    void init() {
+        var cfg = props.getReplication();
+        if (!cfg.isEnabled()) return;
+        if (cfg.getBufferEntries() < 1) throw new IllegalArgumentException("asset.replication.bufferEntries must be >= 1");
+        if (cfg.getRetryEntries() < cfg.getBufferEntries())
+            throw new IllegalArgumentException("asset.replication.retryEntries must be >= bufferEntries");
+        if (!assetService.attachReplication(null)) {
+            log.warn("DETERMINISTIC 모드는 인스턴스마다 같은 배수를 계산하므로 복제하지 않습니다.");
+            return;
+        }
+
+        this.bufferEntries = cfg.getBufferEntries();
+        this.pending = new MultiplierReplicationCodec.Entries(Math.min(bufferEntries, 1024));
+        this.sending = new MultiplierReplicationCodec.Entries(Math.min(bufferEntries, 1024));
+        List<Peer> configured = new ArrayList<>();
+        for (String url : cfg.getPeers()) {
+            if (url != null && !url.isBlank()) configured.add(new Peer(url.trim()));
+        }
+        this.peers = List.copyOf(configured);
+        bindMetrics();
+
+        if (!peers.isEmpty()) {
+            assetService.attachReplication(this); // 버퍼와 지표를 만든 뒤에 연결 (onInsert가 바로 불릴 수 있음)
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "multiplier-replication");
+                t.setDaemon(true);
+                return t;
+            });
+            long intervalMillis = cfg.getBatchInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::replicateQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        enabled = true;
+        log.info("일별 배수 복제 시작 peers={} batchInterval={}", cfg.getPeers(), cfg.getBatchInterval());
+    }
+
+    private void bindMetrics() {
+        bytesSent = Counter.builder("asset.replication.bytes").tag("direction", "sent").baseUnit("bytes")
+                .description("복제 본문 크기 (보낸 요청 + 돌려준 정정)").register(meterRegistry);
+        bytesReceived = Counter.builder("asset.replication.bytes").tag("direction", "received").baseUnit("bytes")
+                .description("복제 본문 크기 (받은 요청 + 받은 정정)").register(meterRegistry);
+        entriesSent = Counter.builder("asset.replication.entries").tag("direction", "sent").register(meterRegistry);
+        entriesReceived = Counter.builder("asset.replication.entries").tag("direction", "received").register(meterRegistry);
+        droppedBuffer = Counter.builder("asset.replication.dropped").tag("reason", "buffer").register(meterRegistry);
+        droppedRetry = Counter.builder("asset.replication.dropped").tag("reason", "retry").register(meterRegistry);
+        droppedSelf = Counter.builder("asset.replication.dropped").tag("reason", "self").register(meterRegistry);
+        droppedInvalid = Counter.builder("asset.replication.dropped").tag("reason", "invalid").register(meterRegistry);
+        droppedRejected = Counter.builder("asset.replication.dropped").tag("reason", "rejected").register(meterRegistry);
+        expired = Counter.builder("asset.replication.merged").tag("result", "expired").register(meterRegistry);
+        for (DailyMultiplierStore.MergeResult result : DailyMultiplierStore.MergeResult.values()) {
+            merged.put(result, Counter.builder("asset.replication.merged")
+                    .tag("result", result.name().toLowerCase()).register(meterRegistry));
+        }
+        Gauge.builder("asset.replication.pending", this, MultiplierReplicator::pendingEntries)
+                .description("아직 보내지 못한 엔트리 (버퍼 + 피어별 outbox)")
+                .register(meterRegistry);
+        for (Peer peer : peers) {
+            peer.bindMetrics(meterRegistry);
+        }
+    }
+
+    /** 복제 API를 받을 수 있는지 (꺼져 있으면 컨트롤러가 404) */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 새로 생성된 엔트리를 버퍼에 추가한다. (저장소 스트라이프 쓰기 락 안에서 호출됨)
+     * 버퍼가 가득 차면 기다리지 않고 버린 뒤 dropped{reason=buffer}로 센다.
+     */
+    @Override
+    public void onInsert(long key, double value) {
+        lock.lock();
+        try {
+            if (pending.size() >= bufferEntries) {
+                droppedBuffer.increment();
+                return;
+            }
+            if (pending.size() == 0) pendingSince = System.nanoTime();
+            pending.add(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 피어가 보낸 본문을 합치고, 이 인스턴스의 값이 이긴 엔트리(정정)를 응답 본문으로 돌려준다.
+     * @throws IllegalArgumentException 복제 본문 형식이 아니거나, 범위를 벗어난 엔트리가 있음 (아무것도 합치지 않음)
+     * @throws IllegalStateException    복제가 꺼져 있음
+     */
+    public byte[] receive(byte[] body) {
+        if (!enabled) throw new IllegalStateException("asset replication is disabled");
+        MultiplierReplicationCodec.Batch batch = MultiplierReplicationCodec.decode(body);
+        MultiplierReplicationCodec.Entries entries = batch.entries();
+        bytesReceived.increment(body.length);
+        entriesReceived.increment(entries.size());
+
+        MultiplierReplicationCodec.Entries corrections = new MultiplierReplicationCodec.Entries(0);
+        if (batch.origin() == instanceId) {
+            droppedSelf.increment(entries.size());
+        } else {
+            validate(entries, "request");
+            for (int i = 0; i < entries.size(); i++) {
+                long key = entries.keys[i];
+                if (merge(key, entries.values[i]) != DailyMultiplierStore.MergeResult.KEPT) continue;
+                double winner = assetService.storedMultiplier(key);
+                if (!Double.isNaN(winner)) corrections.add(key, winner);
+            }
+        }
+
+        byte[] response = MultiplierReplicationCodec.encode(instanceId, clock.millis(), corrections);
+        bytesSent.increment(response.length);
+        entriesSent.increment(corrections.size());
+        return response;
+    }
+
+    private void validate(MultiplierReplicationCodec.Entries entries, String source) {
+        try {
+            assetService.validateReplicated(entries.keys, entries.values, entries.size());
+        } catch (IllegalArgumentException e) {
+            droppedInvalid.increment(entries.size());
+            log.warn("범위를 벗어난 복제 묶음을 받지 않습니다 source={} entries={} - {}", source, entries.size(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private DailyMultiplierStore.MergeResult merge(long key, double value) {
+        DailyMultiplierStore.MergeResult result = assetService.mergeReplicated(key, value);
+        if (result == null) {
+            expired.increment();
+        } else {
+            merged.get(result).increment();
+        }
+        return result;
+    }
+
+    private void replicateQuietly() {
+        try {
+            replicate();
+        } catch (RuntimeException e) {
+            log.error("일별 배수 복제 주기 실패", e);
+        }
+    }
+
+    /**
+     * (복제 스레드) 버퍼를 비워 피어별 outbox에 더하고, 비어 있지 않은 outbox를 모든 피어에 동시에 보낸 뒤 응답을 기다린다.
+     * 성공하면 outbox를 비우고 정정을 합친다. 실패하면 outbox를 남겨 다음 주기에 다시 보낸다.
+     */
+    void replicate() {
+        long since;
+        lock.lock();
+        try {
+            MultiplierReplicationCodec.Entries drained = pending;
+            pending = sending;
+            sending = drained;
+            since = pendingSince;
+        } finally {
+            lock.unlock();
+        }
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(peers.size());
+        for (Peer peer : peers) {
+            peer.enqueue(sending, since);
+            if (peer.outbox.size() == 0) continue;
+
+            byte[] body = MultiplierReplicationCodec.encode(instanceId, clock.millis(), peer.outbox);
+            int count = peer.outbox.size();
+            bytesSent.increment(body.length);
+            entriesSent.increment(count);
+            inFlight.add(peerClient.push(peer.url, body)
+                    .handle((response, error) -> {
+                        peer.completed(count, response, unwrap(error));
+                        return null;
+                    }));
+        }
+        sending.clear();
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+
+        // 정정은 모든 응답을 받은 뒤 복제 스레드에서 합친다 (outbox/카운터를 한 스레드만 다룸)
+        for (Peer peer : peers) {
+            if (peer.discardRejected()) continue;
+            byte[] response = peer.takeResponse();
+            if (response != null) applyCorrections(peer, response);
+        }
+    }
+
+    private void applyCorrections(Peer peer, byte[] response) {
+        MultiplierReplicationCodec.Batch batch;
+        try {
+            batch = MultiplierReplicationCodec.decode(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("피어 응답을 읽을 수 없습니다 peer={} - {}", peer.url, e.getMessage());
+            return;
+        }
+        MultiplierReplicationCodec.Entries corrections = batch.entries();
+        bytesReceived.increment(response.length);
+        entriesReceived.increment(corrections.size());
+        try {
+            validate(corrections, peer.url);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        for (int i = 0; i < corrections.size(); i++) {
+            merge(corrections.keys[i], corrections.values[i]);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private double pendingEntries() {
+        long total = pending == null ? 0 : pending.size();
+        for (Peer peer : peers) {
+            total += peer.outbox.size();
+        }
+        return total;
+    }
+
+    /**
+     * 종료 전에 남은 엔트리를 한 번 더 보낸다. (피어 응답 타임아웃만큼 걸릴 수 있음)
+     */
+    @PreDestroy
+    void shutdown() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        try {
+            if (scheduler.awaitTermination(props.getReplication().getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                replicateQuietly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        enabled = false;
+    }
+
+    /** 피어 하나의 outbox, 지연 Timer, 호출 결과 카운터 (outbox는 복제 스레드만 접근) */
+    private final class Peer {
+        final String url;
+        final MultiplierReplicationCodec.Entries outbox;
+        private long outboxSince; // outbox 첫 엔트리가 버퍼에 들어간 System.nanoTime()
+        private volatile byte[] response;
+        private volatile boolean badRequest; // 피어가 400으로 거절: 다시 보내지 않고 버린다
+        private boolean failing;
+
+        private Timer lag;
+        private Counter ok;
+        private Counter rejected;
+        private Counter error;
+
+        Peer(String url) {
+            this.url = url;
+            this.outbox = new MultiplierReplicationCodec.Entries(Math.min(bufferEntries, 1024));
+        }
+
+        void bindMetrics(MeterRegistry registry) {
+            lag = Timer.builder("asset.replication.lag")
+                    .description("엔트리 생성부터 피어 응답까지 (보낸 묶음의 가장 오래된 엔트리 기준)")
+                    .tag("peer", url)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            ok = pushCounter(registry, "ok");
+            rejected = pushCounter(registry, "rejected");
+            error = pushCounter(registry, "error");
+        }
+
+        private Counter pushCounter(MeterRegistry registry, String outcome) {
+            return Counter.builder("asset.replication.push").tag("peer", url).tag("outcome", outcome).register(registry);
+        }
+
+        void enqueue(MultiplierReplicationCodec.Entries batch, long batchSince) {
+            if (batch.size() == 0) return;
+            if (outbox.size() == 0) outboxSince = batchSince;
+            int room = props.getReplication().getRetryEntries() - outbox.size();
+            int accepted = Math.min(room, batch.size());
+            for (int i = 0; i < accepted; i++) {
+                outbox.add(batch.keys[i], batch.values[i]);
+            }
+            if (accepted < batch.size()) droppedRetry.increment(batch.size() - accepted);
+        }
+
+        /** (HttpClient 스레드) 결과 기록. outbox는 건드리지 않고 응답만 넘긴다 */
+        void completed(int count, byte[] body, Throwable failure) {
+            if (failure == null) {
+                lag.record(System.nanoTime() - outboxSince, TimeUnit.NANOSECONDS);
+                ok.increment();
+                response = body;
+                if (failing) log.info("피어 복제 복구 peer={} entries={}", url, count);
+                failing = false;
+                return;
+            }
+            if (failure instanceof HttpMultiplierPeerClient.PeerResponseException e && e.status() == 400) badRequest = true;
+            (failure instanceof HttpMultiplierPeerClient.PeerResponseException ? rejected : error).increment();
+            if (!failing) log.warn("피어 복제 실패, 다음 주기에 다시 보냅니다 peer={} entries={} - {}", url, count, failure.toString());
+            failing = true;
+        }
+
+        /** (복제 스레드) 피어가 400으로 거절했으면 outbox를 버린다 */
+        boolean discardRejected() {
+            if (!badRequest) return false;
+            badRequest = false;
+            droppedRejected.increment(outbox.size());
+            outbox.clear();
+            return true;
+        }
+
+        /** (복제 스레드) 성공했으면 outbox를 비우고 응답을 꺼낸다 */
+        byte[] takeResponse() {
+            byte[] body = response;
+            if (body == null) return null;
+            response = null;
+            outbox.clear();
+            return body;
+        }
+    }
+}
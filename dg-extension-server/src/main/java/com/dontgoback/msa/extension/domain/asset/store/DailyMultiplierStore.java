@@ -0,0 +1,853 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongPredicate;
+
+/**
+ * (userId, epochDay) -> multiplier(double) 전용 저장소.
+ *
+ * Caffeine Cache<String, Double>는 호출마다 "userId|YYYY-MM-DD" 문자열 키와 Double 박싱 객체를 만들고,
+ * 엔트리당 노드 + 문자열 + 박싱 객체로 약 150~170B를 사용한다.
+ * 이 저장소는 날짜별 테이블(DayTable)에 userId -> multiplier를 오픈 어드레싱(long[] + double[])으로 저장하므로
+ * 엔트리당 16B / 적재율(0.375~0.75) ≈ 21~43B만 사용한다. (둘 다 객체 크기로 계산한 추정치이며, 힙을 측정한 값은 아니다)
+ *
+ * - 세대(generation) 구조: 날짜마다 테이블 하나. 날짜가 바뀌면 expireBefore가 지난 날짜의 테이블을 통째로 버린다(O(날짜 수)).
+ *   엔트리별 만료 시각/타이머가 없고, 자정에 엔트리를 하나씩 지우는 작업도 없다.
+ *   버리기 전에 남겨야 하면(이력) retireBefore로 떼어 내 기록한 뒤 release로 버린다.
+ * - 날짜 테이블은 [보관 기준일, 보관 기준일 + MAX_DAY_TABLES) 범위의 날짜에만 만든다. 그 밖의 날짜(보관 기간이 지난
+ *   소급 요청, 먼 미래)는 패킹된 키(userId 43bit + epochDay 20bit)를 쓰는 overflow 테이블 하나에 모은다.
+ *   기준일이 바뀌어 범위 안으로 들어온 overflow 엔트리는 expireBefore(retireBefore)에서 날짜 테이블로 옮긴다.
+ * - 동시성: 키 해시로 고른 스트라이프마다 StampedLock을 두고, 히트 경로는 낙관적 읽기로 락 없이 처리한다.
+ * - 일관성: 같은 (userId, day)에 대해 generator는 스트라이프 쓰기 락 안에서 한 번만 호출된다.
+ * - 용량: maxSize는 날짜 테이블 하나의 상한(≈ DAU). 스트라이프별 상한으로 나누고, 가득 차면 한 엔트리를 밀어낸다(eviction).
+ *   spill 저장소(OffHeapMultiplierTier)가 있으면 밀려난 엔트리는 그쪽으로 옮겨지고, 다시 조회되면 힙으로 올라온다(promote).
+ *   이 경우 evictionCount는 spill 저장소도 가득 차서 실제로 값이 사라진 수만 센다.
+ */
+public class DailyMultiplierStore {
+
+    /**
+     * userId는 0 이상 2^43 미만, epochDay는 0 이상 2^20 미만(1970-01-01 ~ 4840년)만 패킹 가능.
+     * 범위 밖이면 getOrCompute/get이 IllegalArgumentException을 던지고 API는 400으로 응답한다.
+     * Caffeine 문자열 키(userId|날짜)를 쓰던 때는 음수 userId와 1970년 이전 날짜도 받았으므로, RANDOM 모드에서는 동작이 바뀐 부분이다.
+     * (빈 슬롯 표식 EMPTY = -1 때문에 음수 userId는 키로 쓸 수 없다. DETERMINISTIC 모드는 저장소를 쓰지 않아 그대로 받는다)
+     */
+    static final int USER_ID_BITS = 43;
+    static final int DAY_BITS = 20;
+    private static final long DAY_MASK = (1L << DAY_BITS) - 1;
+    private static final long MAX_USER_ID = (1L << USER_ID_BITS) - 1;
+
+    /** 날짜 테이블 수 상한 (보관 기간 + 오늘 + 내일 미리 생성분을 담기에 충분한 값) */
+    static final int MAX_DAY_TABLES = 8;
+    private static final long OVERFLOW_DAY = -1L;
+    private static final double RETRY = Double.NaN; // overflow → 날짜 테이블로 옮겨진 키: 다시 라우팅
+
+    private static final long EMPTY = -1L; // userId / 패킹된 키는 항상 0 이상이므로 빈 슬롯 표식으로 사용
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int stripeLimit;
+    private final boolean recordStats;
+
+    /** 날짜 오름차순. 추가/삭제 시 배열을 통째로 교체(copy-on-write)하므로 조회는 락 없이 읽는다. */
+    private volatile DayTable[] dayTables = new DayTable[0];
+    private final DayTable overflow;
+    private volatile long minEpochDay = Long.MIN_VALUE; // 마지막 expireBefore 기준일 (overflow 전체 쓰기 락 안에서만 변경)
+    private volatile Retired retired; // retireBefore ~ release 사이에만 null이 아님
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private volatile InsertListener insertListener;
+    private final OffHeapMultiplierTier spill; // null이면 밀려난 엔트리는 버림
+
+    public DailyMultiplierStore(long maxSize, boolean recordStats) {
+        this(maxSize, recordStats, null);
+    }
+
+    public DailyMultiplierStore(long maxSize, boolean recordStats, OffHeapMultiplierTier spill) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be > 0");
+        this.recordStats = recordStats;
+        this.spill = spill;
+        this.stripeLimit = (int) Math.min(1 << 28, (maxSize + STRIPES - 1) / STRIPES);
+        this.overflow = new DayTable(OVERFLOW_DAY);
+    }
+
+    /**
+     * 저장된 multiplier를 반환하고, 없으면 generator로 생성해 저장한다.
+     * 같은 (userId, epochDay)에 대해 동시에 호출되어도 generator는 한 번만 실행된다.
+     */
+    public double getOrCompute(long userId, long epochDay, DoubleSupplier generator) {
+        long packed = packKey(userId, epochDay);
+        while (true) {
+            DayTable table = tableFor(epochDay);
+            long key = table.keyOf(userId, packed);
+            long hash = mix(key);
+            double value = table.stripes[(int) (hash >>> (64 - STRIPE_BITS))].getOrCompute(key, (int) hash, generator, packed);
+            if (!Double.isNaN(value)) return value;
+        }
+    }
+
+    /**
+     * 저장된 multiplier를 생성 없이 조회한다(이력 조회용). 날짜 테이블을 만들지 않고, hit/miss 통계에도 넣지 않는다.
+     * spill 저장소에 있는 엔트리는 힙으로 올리지 않고 그 자리에서 읽는다.
+     * @return 없으면 NaN
+     */
+    public double get(long userId, long epochDay) {
+        long packed = packKey(userId, epochDay);
+        DayTable table = existingTableFor(epochDay);
+        if (table != null) {
+            long key = table.keyOf(userId, packed);
+            double value = stripeOf(table, key).get(key, (int) mix(key));
+            if (!Double.isNaN(value)) return value;
+        }
+        double retiredValue = retiredValue(packed);
+        if (!Double.isNaN(retiredValue)) return retiredValue;
+        return spill != null ? spill.get(packed) : Double.NaN;
+    }
+
+    /**
+     * 새로 생성된 엔트리마다 호출할 리스너 (예: MultiplierJournal). 복원(restore)된 엔트리에는 호출하지 않는다.
+     * spill 저장소에서 힙으로 올라온 엔트리에도 호출한다. (순회 중 이동한 엔트리가 스냅샷에서 빠지지 않도록)
+     */
+    public void setInsertListener(InsertListener insertListener) {
+        this.insertListener = insertListener;
+    }
+
+    /**
+     * 저장된 엔트리를 그대로 되살린다(재시작 시 스냅샷/로그 복원용). 이미 있으면(spill 저장소 포함) 기존 값을 유지한다.
+     * @return 새로 추가되었으면 true
+     */
+    public boolean restore(long packedKey, double value) {
+        DayTable table = tableFor(dayOf(packedKey));
+        long key = table.keyOf(userIdOf(packedKey), packedKey);
+        long hash = mix(key);
+        return table.stripes[(int) (hash >>> (64 - STRIPE_BITS))].restore(key, (int) hash, value);
+    }
+
+    /**
+     * 다른 곳에서 온 엔트리를 합친다(피어 복제, 로그 복원). 없으면 추가하고, 다른 값이 있으면 wins 규칙으로 한쪽만 남긴다.
+     * 규칙이 (키, 값)만으로 정해지므로 어느 인스턴스에서 어떤 순서로 합쳐도 같은 값으로 수렴한다.
+     * insertListener는 호출하지 않는다. (바뀐 엔트리를 어디에 남길지는 호출자가 정함)
+     */
+    public MergeResult merge(long packedKey, double value) {
+        while (true) {
+            DayTable table = tableFor(dayOf(packedKey));
+            long key = table.keyOf(userIdOf(packedKey), packedKey);
+            long hash = mix(key);
+            MergeResult result = table.stripes[(int) (hash >>> (64 - STRIPE_BITS))].merge(key, (int) hash, value);
+            if (result != null) return result;
+        }
+    }
+
+    /**
+     * 같은 키에 서로 다른 배수가 있을 때 candidate를 남길지: (키, 값 비트)를 섞은 해시가 작은 쪽이 이긴다.
+     * 엔트리마다 시각/출처를 저장하지 않아도(16B 유지) 모든 인스턴스가 같은 쪽을 고르고,
+     * 값의 크기와 무관하게 고르므로 어느 쪽이 남아도 배수 분포는 그대로이다.
+     */
+    public static boolean wins(long packedKey, double candidate, double current) {
+        return Long.compareUnsigned(mix(packedKey ^ Double.doubleToRawLongBits(candidate)),
+                mix(packedKey ^ Double.doubleToRawLongBits(current))) < 0;
+    }
+
+    private Stripe stripeOf(DayTable table, long key) {
+        return table.stripes[(int) (mix(key) >>> (64 - STRIPE_BITS))];
+    }
+
+    /**
+     * epochDay가 minEpochDay 이상인 엔트리를 (패킹된 키, multiplier)로 순회한다.
+     * 스트라이프 단위로 읽기 락 안에서 엔트리를 버퍼에 복사하고, 락을 푼 뒤에 consumer를 부른다.
+     * consumer가 디스크 쓰기 등으로 오래 걸려도 같은 스트라이프의 삽입은 막히지 않는다.
+     * 힙 → spill 저장소 순서로 돈다. 순회 중 힙에서 밀려난 엔트리는 spill 쪽에서 보이고,
+     * spill에서 힙으로 올라온 엔트리는 insertListener로 다시 알린다.
+     */
+    public void forEach(long minEpochDay, EntryConsumer consumer) {
+        forEach(minEpochDay, Long.MAX_VALUE, consumer);
+    }
+
+    /** epochDay가 [fromEpochDay, toEpochDay) 범위인 엔트리만 순회한다 (그 외 동작은 forEach(long, EntryConsumer)와 같음) */
+    public void forEach(long fromEpochDay, long toEpochDay, EntryConsumer consumer) {
+        EntryBuffer copy = new EntryBuffer();
+        for (DayTable table : dayTables) {
+            if (table.epochDay < fromEpochDay || table.epochDay >= toEpochDay) continue;
+            long day = table.epochDay;
+            for (Stripe stripe : table.stripes) {
+                stripe.copyTo(userId -> true, copy);
+                copy.drainTo((userId, value) -> consumer.accept(packKey(userId, day), value));
+            }
+        }
+        for (Stripe stripe : overflow.stripes) {
+            stripe.copyTo(key -> dayOf(key) >= fromEpochDay && dayOf(key) < toEpochDay, copy);
+            copy.drainTo(consumer);
+        }
+        if (spill != null) spill.forEach(fromEpochDay, toEpochDay, copy, consumer);
+    }
+
+    /**
+     * epochDay가 minEpochDay보다 이전인 날짜 테이블을 통째로 버린다. (expireAfterWrite 대체)
+     * 날짜 테이블은 배열 교체만으로 끝나고, 엔트리 단위 작업은 (보통 비어 있는) overflow 테이블에서만 일어난다.
+     */
+    public void expireBefore(long minEpochDay) {
+        release(retireBefore(minEpochDay));
+    }
+
+    /**
+     * epochDay가 minEpochDay보다 이전인 날짜 테이블과 overflow 엔트리를 떼어 낸다. (버리기 전에 이력으로 남길 때)
+     * - 떼어 낸 테이블에는 더 이상 쓰지 않는다. 그 뒤에 들어온 지난 날짜의 새 엔트리는 overflow로 가서 다음 정리 대상이 된다.
+     *   그래서 Retired.forEach로 복사한 엔트리와 release로 버리는 엔트리가 같다.
+     * - release 전까지는 떼어 낸 엔트리도 get/getOrCompute로 조회된다. (기록하는 동안 같은 날짜를 다시 요청해도 같은 배수)
+     * - spill 저장소의 지난 날짜 엔트리는 그대로 두었다가 release에서 버린다.
+     * 이전 retireBefore를 release하기 전에 다시 부르면 안 된다.
+     */
+    public synchronized Retired retireBefore(long minEpochDay) {
+        if (retired != null) throw new IllegalStateException("previous retired tables are not released");
+        DayTable retiredOverflow = new DayTable(OVERFLOW_DAY);
+        List<DayTable> retiring = new ArrayList<>();
+        long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = overflow.stripes[i].lock.writeLock();
+        }
+        try {
+            List<DayTable> kept = new ArrayList<>();
+            for (DayTable table : dayTables) {
+                if (table.epochDay >= minEpochDay) {
+                    kept.add(table);
+                } else {
+                    retiring.add(table);
+                }
+            }
+            // overflow의 지난 날짜는 떼어 낸 overflow로: 같은 해시라 스트라이프별 개수가 상한을 넘지 않는다
+            for (Stripe stripe : overflow.stripes) {
+                long[] ks = stripe.keys;
+                double[] vs = stripe.values;
+                for (int i = 0; i < ks.length; i++) {
+                    long key = ks[i];
+                    if (key != EMPTY && dayOf(key) < minEpochDay) stripeOf(retiredOverflow, key).insert(key, (int) mix(key), vs[i]);
+                }
+            }
+            // 조회 경로가 떼어 낸 엔트리를 놓치지 않도록, 라우팅을 바꾸기 전에 먼저 보이게 한다
+            this.retired = new Retired(minEpochDay, retiring.toArray(new DayTable[0]), retiredOverflow);
+            this.minEpochDay = minEpochDay;
+            dayTables = sorted(kept);
+
+            // overflow: 지난 날짜는 떼어 냈으므로 빼고, 범위 안으로 들어온 날짜는 날짜 테이블로 옮긴다
+            for (Stripe stripe : overflow.stripes) {
+                stripe.retainIfLocked((key, value) -> {
+                    long day = dayOf(key);
+                    if (day < minEpochDay) return false;
+                    if (routesToOverflow(day)) return true;
+                    DayTable table = tableFor(day);
+                    long userId = userIdOf(key);
+                    stripeOf(table, userId).restore(userId, (int) mix(userId), value);
+                    return false;
+                });
+            }
+        } finally {
+            for (int i = 0; i < STRIPES; i++) {
+                overflow.stripes[i].lock.unlockWrite(stamps[i]);
+            }
+        }
+
+        // 이미 테이블을 잡은 쓰기가 끝나기를 기다린 뒤 막는다. 이후 쓰기는 overflow로 다시 라우팅된다
+        for (DayTable table : retiring) {
+            for (Stripe stripe : table.stripes) {
+                long stamp = stripe.lock.writeLock();
+                stripe.retired = true;
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+        return retired;
+    }
+
+    /**
+     * retireBefore로 떼어 낸 엔트리와 spill 저장소의 지난 날짜 엔트리를 버린다.
+     */
+    public synchronized void release(Retired released) {
+        if (retired != released) throw new IllegalArgumentException("not the current retired tables");
+        retired = null;
+        if (recordStats) {
+            for (DayTable table : released.tables) {
+                evictionCount.add(table.size());
+            }
+            evictionCount.add(released.overflow.size());
+        }
+        if (spill != null) {
+            long expired = spill.expireBefore(released.minEpochDay);
+            if (recordStats) evictionCount.add(expired);
+        }
+    }
+
+    private double retiredValue(long packedKey) {
+        Retired r = retired;
+        return r != null ? r.get(packedKey) : Double.NaN;
+    }
+
+    /** 힙 테이블 + spill 저장소의 엔트리 수 */
+    public long size() {
+        long size = overflow.size() + (spill != null ? spill.size() : 0);
+        for (DayTable table : dayTables) {
+            size += table.size();
+        }
+        return size;
+    }
+
+    /**
+     * 현재 날짜 테이블의 epochDay 목록(오름차순). overflow 테이블은 포함하지 않는다.
+     */
+    public long[] days() {
+        DayTable[] tables = dayTables;
+        long[] days = new long[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            days[i] = tables[i].epochDay;
+        }
+        return days;
+    }
+
+    /**
+     * 해당 날짜 테이블(+ spill 저장소)에 있는 userId 목록 (스트라이프별 읽기 락으로 복사). 테이블이 없으면 빈 배열.
+     * overflow 테이블의 엔트리는 포함하지 않는다. 순회 중 두 저장소 사이를 옮겨 다닌 userId는 중복될 수 있다.
+     */
+    public long[] userIds(long epochDay) {
+        for (DayTable table : dayTables) {
+            if (table.epochDay != epochDay) continue;
+            long[][] perStripe = new long[STRIPES + 1][];
+            int total = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                perStripe[i] = table.stripes[i].keys();
+                total += perStripe[i].length;
+            }
+            perStripe[STRIPES] = spilledUserIds(epochDay);
+            total += perStripe[STRIPES].length;
+            long[] ids = new long[total];
+            int offset = 0;
+            for (long[] keys : perStripe) {
+                System.arraycopy(keys, 0, ids, offset, keys.length);
+                offset += keys.length;
+            }
+            return ids;
+        }
+        return new long[0];
+    }
+
+    private long[] spilledUserIds(long epochDay) {
+        if (spill == null) return new long[0];
+        long[][] buffer = {new long[64]};
+        int[] count = {0};
+        spill.forEach(epochDay, (key, value) -> {
+            if (dayOf(key) != epochDay) return;
+            if (count[0] == buffer[0].length) buffer[0] = Arrays.copyOf(buffer[0], count[0] * 2);
+            buffer[0][count[0]++] = userIdOf(key);
+        });
+        return Arrays.copyOf(buffer[0], count[0]);
+    }
+
+    /**
+     * recordStats=false이면 Caffeine의 CacheStats.empty()처럼 모든 카운트가 0이다.
+     */
+    public MultiplierStoreStats stats() {
+        return new MultiplierStoreStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size());
+    }
+
+    /**
+     * 최근 날짜부터 찾는다(보통 오늘이 마지막 또는 그 앞). 범위 안의 날짜인데 테이블이 없으면 락 안에서 만든다.
+     */
+    private DayTable tableFor(long epochDay) {
+        DayTable[] tables = dayTables;
+        for (int i = tables.length - 1; i >= 0; i--) {
+            if (tables[i].epochDay == epochDay) return tables[i];
+        }
+        if (routesToOverflow(epochDay)) return overflow;
+        return createTable(epochDay);
+    }
+
+    /** 이미 있는 날짜 테이블 또는 overflow. 범위 안의 날짜인데 테이블이 없으면 null (만들지 않음) */
+    private DayTable existingTableFor(long epochDay) {
+        DayTable[] tables = dayTables;
+        for (int i = tables.length - 1; i >= 0; i--) {
+            if (tables[i].epochDay == epochDay) return tables[i];
+        }
+        return routesToOverflow(epochDay) ? overflow : null;
+    }
+
+    private synchronized DayTable createTable(long epochDay) {
+        for (DayTable table : dayTables) {
+            if (table.epochDay == epochDay) return table;
+        }
+        if (routesToOverflow(epochDay)) return overflow;
+
+        List<DayTable> tables = new ArrayList<>(Arrays.asList(dayTables));
+        DayTable created = new DayTable(epochDay);
+        tables.add(created);
+        dayTables = sorted(tables);
+        return created;
+    }
+
+    /**
+     * 테이블이 없는 날짜가 overflow로 가는지. 기준일이 정해지기 전(expireBefore 호출 전)에는 테이블 수로만 제한한다.
+     * 결과는 retireBefore(overflow 전체 쓰기 락 보유) 안에서만 false → true 외의 방향으로 바뀐다.
+     */
+    private boolean routesToOverflow(long epochDay) {
+        long min = minEpochDay;
+        if (min == Long.MIN_VALUE) return dayTables.length >= MAX_DAY_TABLES;
+        return epochDay < min || epochDay >= min + MAX_DAY_TABLES;
+    }
+
+    /** overflow 쓰기 락 안에서: 이 날짜가 아직 overflow 소속인지 (아니면 날짜 테이블로 다시 라우팅) */
+    private boolean stillOverflow(long epochDay) {
+        for (DayTable table : dayTables) {
+            if (table.epochDay == epochDay) return false;
+        }
+        return routesToOverflow(epochDay);
+    }
+
+    private static DayTable[] sorted(List<DayTable> tables) {
+        DayTable[] array = tables.toArray(new DayTable[0]);
+        Arrays.sort(array, (a, b) -> Long.compare(a.epochDay, b.epochDay));
+        return array;
+    }
+
+    public static long packKey(long userId, long epochDay) {
+        if (userId < 0 || userId > MAX_USER_ID)
+            throw new IllegalArgumentException("userId must be between 0 and " + MAX_USER_ID);
+        if (epochDay < 0 || epochDay > DAY_MASK)
+            throw new IllegalArgumentException("snapshotDay is out of supported range");
+        return (userId << DAY_BITS) | epochDay;
+    }
+
+    public static long dayOf(long key) {
+        return key & DAY_MASK;
+    }
+
+    public static long userIdOf(long key) {
+        return key >>> DAY_BITS;
+    }
+
+    /**
+     * 엔트리 생성 알림. 스트라이프 쓰기 락 안에서 키마다 한 번만 호출되므로 가볍게 유지해야 한다.
+     * 새로 생성한 값만 알린다. (spill에서 다시 올라온 값, merge로 합친 값은 제외)
+     */
+    @FunctionalInterface
+    public interface InsertListener {
+        void onInsert(long key, double value);
+    }
+
+    public enum MergeResult {
+        /** 없던 키라 추가 */
+        INSERTED,
+        /** 받은 값이 이겨 교체 */
+        REPLACED,
+        /** 이미 있던 값이 이겨 그대로 둠 (보낸 쪽에 이긴 값을 알려 줄 대상) */
+        KEPT,
+        /** 같은 값 */
+        SAME
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, double value);
+    }
+
+    /**
+     * 순회용 복사 버퍼. 스트라이프 하나를 읽기 락 안에서 담아 두었다가 락 밖에서 내보내며, 한 번의 순회 동안 재사용한다.
+     */
+    static final class EntryBuffer {
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private double[] values = new double[INITIAL_CAPACITY];
+        private int size;
+
+        void ensureCapacity(int capacity) {
+            if (capacity <= keys.length) return;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        void add(long key, double value) {
+            if (size == keys.length) ensureCapacity(size * 2);
+            keys[size] = key;
+            values[size++] = value;
+        }
+
+        void drainTo(EntryConsumer consumer) {
+            int n = size;
+            size = 0;
+            for (int i = 0; i < n; i++) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryFilter {
+        boolean keep(long key, double value);
+    }
+
+    /**
+     * retireBefore로 떼어 낸 날짜 테이블과 overflow 엔트리. 더 이상 쓰이지 않으며, release 전까지 조회된다.
+     */
+    public final class Retired {
+        private final long minEpochDay;
+        private final DayTable[] tables;
+        private final DayTable overflow;
+
+        private Retired(long minEpochDay, DayTable[] tables, DayTable overflow) {
+            this.minEpochDay = minEpochDay;
+            this.tables = tables;
+            this.overflow = overflow;
+        }
+
+        /** 떼어 낸 엔트리와 spill 저장소의 지난 날짜 엔트리를 (패킹된 키, multiplier)로 순회한다 */
+        public void forEach(EntryConsumer consumer) {
+            EntryBuffer copy = new EntryBuffer();
+            for (DayTable table : tables) {
+                long day = table.epochDay;
+                for (Stripe stripe : table.stripes) {
+                    stripe.copyTo(userId -> true, copy);
+                    copy.drainTo((userId, value) -> consumer.accept(packKey(userId, day), value));
+                }
+            }
+            for (Stripe stripe : overflow.stripes) {
+                stripe.copyTo(key -> true, copy);
+                copy.drainTo(consumer);
+            }
+            if (spill != null) spill.forEach(Long.MIN_VALUE, minEpochDay, copy, consumer);
+        }
+
+        private double get(long packedKey) {
+            long day = dayOf(packedKey);
+            if (day >= minEpochDay) return Double.NaN;
+            for (DayTable table : tables) {
+                if (table.epochDay != day) continue;
+                long userId = userIdOf(packedKey);
+                return stripeOf(table, userId).get(userId, (int) mix(userId));
+            }
+            return stripeOf(overflow, packedKey).get(packedKey, (int) mix(packedKey));
+        }
+    }
+
+    /**
+     * 하루치 테이블. 키는 userId (overflow 테이블만 패킹된 키)
+     */
+    private final class DayTable {
+        private final long epochDay;
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        DayTable(long epochDay) {
+            this.epochDay = epochDay;
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(stripeLimit, epochDay);
+            }
+        }
+
+        long keyOf(long userId, long packedKey) {
+            return epochDay == OVERFLOW_DAY ? packedKey : userId;
+        }
+
+        long size() {
+            long size = 0;
+            for (Stripe stripe : stripes) {
+                size += stripe.size;
+            }
+            return size;
+        }
+    }
+
+    /** murmur3 fmix64: 연속된 userId도 슬롯/스트라이프에 고르게 퍼지도록 섞는다. */
+    static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void recordHit() {
+        if (recordStats) hitCount.increment();
+    }
+
+    private void recordMiss() {
+        if (recordStats) missCount.increment();
+    }
+
+    private void recordEviction() {
+        if (recordStats) evictionCount.increment();
+    }
+
+    /**
+     * 선형 탐사(linear probing) 기반 테이블 한 조각.
+     * 쓰기는 StampedLock 쓰기 락 안에서만 일어나고, 읽기는 낙관적 읽기 후 validate로 확인한다.
+     */
+    private final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private final int limit;
+        private final int maxCapacity;
+        private final long epochDay;
+        private final boolean overflowStripe;
+        private boolean retired; // retireBefore로 떼어 낸 날짜 테이블 (쓰기 락 안에서만 읽고 씀)
+
+        private long[] keys;
+        private double[] values;
+        private int size;
+
+        Stripe(int limit, long epochDay) {
+            this.limit = limit;
+            this.epochDay = epochDay;
+            this.overflowStripe = epochDay == OVERFLOW_DAY;
+            this.maxCapacity = tableSizeFor((int) Math.ceil(limit / LOAD_FACTOR) + 1);
+            allocate(Math.min(INITIAL_CAPACITY, maxCapacity));
+        }
+
+        double getOrCompute(long key, int hash, DoubleSupplier generator, long packedKey) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                long[] ks = keys;
+                double[] vs = values;
+                int idx = find(ks, key, hash);
+                double value = (idx >= 0 && idx < vs.length) ? vs[idx] : 0.0;
+                if (idx >= 0 && lock.validate(stamp)) {
+                    recordHit();
+                    return value;
+                }
+            }
+
+            stamp = lock.writeLock();
+            try {
+                int idx = find(keys, key, hash);
+                if (idx >= 0) {
+                    recordHit();
+                    return values[idx];
+                }
+                if (retired) return RETRY; // 떼어 낸 날짜: overflow로 다시 라우팅
+                if (overflowStripe && !stillOverflow(dayOf(key))) return RETRY;
+                if (overflowStripe) {
+                    double archiving = retiredValue(packedKey); // 이력으로 기록 중인 날짜: 떼어 낸 값을 그대로 쓴다
+                    if (!Double.isNaN(archiving)) {
+                        recordHit();
+                        return archiving;
+                    }
+                }
+
+                double value = spill != null ? spill.promote(packedKey) : Double.NaN;
+                if (!Double.isNaN(value)) {
+                    // 밀려났던 엔트리: 같은 값을 다시 올린다. 이미 알린 값이므로 리스너(로그/복제)는 부르지 않는다
+                    recordHit();
+                    insert(key, hash, value);
+                    return value;
+                }
+                recordMiss();
+                value = generator.getAsDouble();
+                insert(key, hash, value);
+                InsertListener listener = insertListener;
+                if (listener != null) listener.onInsert(packedKey, value);
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        double get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                long[] ks = keys;
+                double[] vs = values;
+                int idx = find(ks, key, hash);
+                double value = (idx >= 0 && idx < vs.length) ? vs[idx] : Double.NaN;
+                if (lock.validate(stamp)) return value;
+            }
+
+            stamp = lock.readLock();
+            try {
+                int idx = find(keys, key, hash);
+                return idx >= 0 ? values[idx] : Double.NaN;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        boolean restore(long key, int hash, double value) {
+            long stamp = lock.writeLock();
+            try {
+                if (retired || find(keys, key, hash) >= 0) return false; // 떼어 낸 날짜는 곧 버려지므로 되살리지 않는다
+                if (spill != null && spill.contains(packedOf(key))) return false;
+                insert(key, hash, value);
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        MergeResult merge(long key, int hash, double value) {
+            long stamp = lock.writeLock();
+            try {
+                if (retired) return null; // 떼어 낸 날짜: 다시 라우팅
+                int idx = find(keys, key, hash);
+                if (idx >= 0) {
+                    MergeResult result = resolve(packedOf(key), values[idx], value);
+                    if (result == MergeResult.REPLACED) values[idx] = value;
+                    return result;
+                }
+                if (overflowStripe && !stillOverflow(dayOf(key))) return null; // 날짜 테이블로 옮겨짐: 다시 라우팅
+                if (spill != null) {
+                    long packed = packedOf(key);
+                    double spilled = spill.get(packed);
+                    if (!Double.isNaN(spilled)) {
+                        MergeResult result = resolve(packed, spilled, value);
+                        if (result != MergeResult.REPLACED) return result;
+                        spill.promote(packed); // 진 값은 spill에서 빼고 이긴 값을 힙에 둔다
+                        insert(key, hash, value);
+                        return result;
+                    }
+                }
+                insert(key, hash, value);
+                return MergeResult.INSERTED;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private MergeResult resolve(long packedKey, double current, double incoming) {
+            if (Double.doubleToRawLongBits(current) == Double.doubleToRawLongBits(incoming)) return MergeResult.SAME;
+            return wins(packedKey, incoming, current) ? MergeResult.REPLACED : MergeResult.KEPT;
+        }
+
+        /** filter를 통과한 엔트리를 copy에 담는다. 락은 복사하는 동안만 잡는다 */
+        void copyTo(LongPredicate filter, EntryBuffer copy) {
+            long stamp = lock.readLock();
+            try {
+                long[] ks = keys;
+                double[] vs = values;
+                copy.ensureCapacity(size);
+                for (int i = 0; i < ks.length; i++) {
+                    long key = ks[i];
+                    if (key != EMPTY && filter.test(key)) copy.add(key, vs[i]);
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        long[] keys() {
+            long stamp = lock.readLock();
+            try {
+                long[] out = new long[size];
+                int n = 0;
+                for (long key : keys) {
+                    if (key != EMPTY) out[n++] = key;
+                }
+                return out;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /** filter가 false를 돌려준 엔트리를 제거한다. 호출자가 쓰기 락을 잡고 있어야 한다 (overflow 정리용) */
+        void retainIfLocked(EntryFilter filter) {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            allocate(oldKeys.length);
+            for (int i = 0; i < oldKeys.length; i++) {
+                long key = oldKeys[i];
+                if (key != EMPTY && filter.keep(key, oldValues[i])) put(key, (int) mix(key), oldValues[i]);
+            }
+        }
+
+        private long packedOf(long key) {
+            return overflowStripe ? key : packKey(key, epochDay);
+        }
+
+        private int find(long[] ks, long key, int hash) {
+            int mask = ks.length - 1;
+            int idx = hash & mask;
+            for (int probes = 0; probes < ks.length; probes++) {
+                long k = ks[idx];
+                if (k == key) return idx;
+                if (k == EMPTY) return -1;
+                idx = (idx + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long key, int hash, double value) {
+            if (size >= limit) {
+                evictNear(hash);
+            } else if (size + 1 > keys.length * LOAD_FACTOR && keys.length < maxCapacity) {
+                resize(keys.length << 1);
+            }
+            put(key, hash, value);
+        }
+
+        private void put(long key, int hash, double value) {
+            int mask = keys.length - 1;
+            int idx = hash & mask;
+            while (keys[idx] != EMPTY) idx = (idx + 1) & mask;
+            keys[idx] = key;
+            values[idx] = value;
+            size++;
+        }
+
+        /**
+         * 새 키의 홈 슬롯부터 처음 만나는 엔트리를 밀어낸다. 해시가 고르므로 사실상 무작위 eviction
+         * spill 저장소가 받아 주면 값은 유지되므로 eviction으로 세지 않는다.
+         */
+        private void evictNear(int hash) {
+            int mask = keys.length - 1;
+            int idx = hash & mask;
+            while (keys[idx] == EMPTY) idx = (idx + 1) & mask;
+            long evictedKey = keys[idx];
+            double evictedValue = values[idx];
+            removeAt(idx);
+            if (spill == null || !spill.spill(packedOf(evictedKey), evictedValue)) recordEviction();
+        }
+
+        /** backward-shift 삭제: 묘비(tombstone) 없이 탐사 체인을 유지한다. */
+        private void removeAt(int idx) {
+            int mask = keys.length - 1;
+            int hole = idx;
+            int j = idx;
+            while (true) {
+                j = (j + 1) & mask;
+                long k = keys[j];
+                if (k == EMPTY) break;
+                int home = (int) mix(k) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = k;
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = EMPTY;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            allocate(capacity);
+            for (int i = 0; i < oldKeys.length; i++) {
+                long key = oldKeys[i];
+                if (key != EMPTY) put(key, (int) mix(key), oldValues[i]);
+            }
+        }
+
+        private void allocate(int capacity) {
+            long[] ks = new long[capacity];
+            Arrays.fill(ks, EMPTY);
+            this.keys = ks;
+            this.values = new double[capacity];
+            this.size = 0;
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.max(capacity, 2);
+    }
+}
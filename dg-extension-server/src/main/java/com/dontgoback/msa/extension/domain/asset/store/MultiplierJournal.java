@@ -0,0 +1,383 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * DailyMultiplierStore의 append-only 로그 + 스냅샷. 재배포/재시작 후에도 같은 날에는 같은 multiplier를 유지한다.
+ *
+ * 파일 구성 (directory 아래)
+ * - multipliers.snapshot : 마지막 압축 시점의 엔트리 전체. 헤더(매직, 버전, 개수 16B) + 레코드
+ * - multipliers-{seq}.log : 그 이후 새로 생성된 엔트리. 헤더(매직, 버전 8B) + 레코드
+ * - 레코드: 패킹된 키(8B) + multiplier의 double 비트(8B) = 16B 고정 길이
+ *
+ * - 쓰기: onInsert는 저장소 스트라이프 쓰기 락 안에서 불리므로 링 버퍼에 넣기만 한다. (AssetAuditLog와 같은 방식:
+ *   CAS로 슬롯 예약 → 값 채움 → 슬롯 시퀀스 발행. 락/할당/I/O 없음)
+ *   링이 가득 차면 기다리지 않고 레코드를 버리고 droppedRecords로 센 뒤, 다음 flush에서 압축(스냅샷)을 요청한다.
+ *   버려진 엔트리도 저장소에는 있으므로 스냅샷에 들어간다.
+ * - 기록: journal 스레드가 flushInterval마다 발행된 레코드를 모아 파일에 쓴다. 파일 쓰기와 fsync는 이 스레드(와 close)에서만 한다.
+ *   fsync는 압축/종료 시에만 하므로 비정상 종료 시 마지막 flushInterval 동안의 엔트리는 잃을 수 있다.
+ * - 압축: compactInterval마다 새 로그 세그먼트로 전환한 뒤 저장소 내용을 스냅샷으로 쓰고(임시 파일 → 원자적 교체),
+ *   전환 이전 세그먼트를 지운다. 중간에 죽어도 스냅샷 + 남은 세그먼트로 같은 상태가 복원된다.
+ * - 복원: 스냅샷과 세그먼트를 mmap으로 읽어 일괄 적재한다. 잘리거나 깨진 꼬리 레코드는 무시한다.
+ *   같은 키의 레코드가 여럿이면(피어 복제로 교체된 엔트리) DailyMultiplierStore.merge 규칙으로 합친다.
+ * - 동기화: lock은 flush/압축/종료(모두 요청 스레드가 아닌 쪽)끼리만 잡는다.
+ */
+@Slf4j
+public class MultiplierJournal implements DailyMultiplierStore.InsertListener, AutoCloseable {
+
+    static final int RECORD_BYTES = 16;
+    static final String SNAPSHOT_FILE = "multipliers.snapshot";
+    private static final String SEGMENT_PREFIX = "multipliers-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int SNAPSHOT_MAGIC = 0x44474d53; // "DGMS"
+    private static final int LOG_MAGIC = 0x44474d4c;      // "DGML"
+    private static final int VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 16;
+    private static final int LOG_HEADER_BYTES = 8;
+    private static final int WRITE_BATCH_BYTES = 64 * 1024;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Path directory;
+    private final DailyMultiplierStore store;
+
+    // 링 버퍼: onInsert(여러 스레드) → drain(lock 안의 한 스레드)
+    private final int capacity;
+    private final int mask;
+    private final long[] slots;     // capacity * 2 (키, 값 비트)
+    private final long[] sequences; // 슬롯별 발행된 시퀀스 + 1 (0 = 아직 비어 있음)
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;     // drain만 증가시킴
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean snapshotRequested; // 링이 가득 차서 버린 레코드가 있음
+    private volatile boolean accepting;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer out; // lock 안에서만 접근
+    private FileChannel segment;
+    private long segmentSeq;
+    private ScheduledExecutorService scheduler;
+    private LongSupplier retainFromDay = () -> Long.MIN_VALUE;
+
+    private long restoredEntries;
+    private long restoreMillis;
+    private volatile long appendedRecords;
+    private volatile long flushedBytes;
+    private volatile long compactions;
+    private volatile long lastCompactionMillis;
+
+    /**
+     * @param bufferBytes 링 버퍼 크기(바이트). 레코드당 16B, 레코드 수는 2의 거듭제곱으로 올림
+     */
+    public MultiplierJournal(Path directory, DailyMultiplierStore store, int bufferBytes) {
+        if (bufferBytes < 2 * RECORD_BYTES) throw new IllegalArgumentException("bufferBytes must be >= " + 2 * RECORD_BYTES);
+        this.directory = directory;
+        this.store = store;
+        this.capacity = Integer.highestOneBit(bufferBytes / RECORD_BYTES - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new long[capacity * 2];
+        this.sequences = new long[capacity];
+        this.out = ByteBuffer.allocateDirect(Math.min(capacity * RECORD_BYTES, WRITE_BATCH_BYTES));
+    }
+
+    /**
+     * 스냅샷과 남은 로그를 저장소에 복원한 뒤, 새 로그 세그먼트를 열고 주기 flush/압축을 예약한다.
+     * 복원이 끝난 뒤에 저장소의 insertListener로 등록해야 복원된 엔트리가 다시 기록되지 않는다.
+     *
+     * @param retainFromDay 이 epochDay 이상인 엔트리만 복원/압축 대상으로 삼는다 (호출 시점마다 다시 계산)
+     */
+    public void open(Duration flushInterval, Duration compactInterval, LongSupplier retainFromDay) throws IOException {
+        lock.lock();
+        try {
+            openLocked(flushInterval, compactInterval, retainFromDay);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openLocked(Duration flushInterval, Duration compactInterval, LongSupplier retainFromDay) throws IOException {
+        Files.createDirectories(directory);
+
+        long started = System.nanoTime();
+        long minEpochDay = retainFromDay.getAsLong();
+        long restored = load(directory.resolve(SNAPSHOT_FILE), SNAPSHOT_MAGIC, SNAPSHOT_HEADER_BYTES, minEpochDay);
+        List<Long> seqs = segmentSeqs();
+        for (long seq : seqs) {
+            restored += load(segmentPath(seq), LOG_MAGIC, LOG_HEADER_BYTES, minEpochDay);
+        }
+        restoredEntries = restored;
+        restoreMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("일별 배수 복원 완료 entries={} segments={} millis={}", restoredEntries, seqs.size(), restoreMillis);
+
+        openSegment(seqs.isEmpty() ? 1 : seqs.get(seqs.size() - 1) + 1);
+        this.retainFromDay = retainFromDay;
+        accepting = true;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "multiplier-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        long flushMillis = flushInterval.toMillis();
+        long compactMillis = compactInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::compactQuietly, compactMillis, compactMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 새로 생성된 엔트리를 링 버퍼에 넣는다. (저장소 스트라이프 쓰기 락 안에서 호출됨: 락/할당/I/O 없음)
+     * 링이 가득 차면 버리고 다음 flush에서 스냅샷을 요청한다.
+     */
+    @Override
+    public void onInsert(long key, double value) {
+        if (!accepting) return;
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head >= capacity) {
+                dropped.increment();
+                snapshotRequested = true;
+                return;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        int index = (int) (seq & mask);
+        slots[2 * index] = key;
+        slots[2 * index + 1] = Double.doubleToRawLongBits(value);
+        SEQUENCE.setRelease(sequences, index, seq + 1);
+    }
+
+    /** 발행된 레코드를 모두 로그 파일에 쓴다. (fsync 없음) */
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            if (segment != null) drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 새 세그먼트로 전환 → 저장소 전체를 스냅샷으로 기록 → 전환 이전 세그먼트 삭제.
+     * 전환 이후 생성된 엔트리는 새 세그먼트에도 남으므로, 스냅샷과 겹쳐도 복원 결과는 같다.
+     */
+    public void compact(long minEpochDay) throws IOException {
+        long started = System.nanoTime();
+        long retiredThrough;
+        lock.lock();
+        try {
+            if (segment == null) return;
+            snapshotRequested = false; // 이후에 버려진 레코드는 다시 요청된다
+            retiredThrough = segmentSeq;
+            drain();
+            segment.force(false);
+            segment.close();
+            openSegment(retiredThrough + 1);
+
+            long entries = writeSnapshot(minEpochDay);
+            for (long seq : segmentSeqs()) {
+                if (seq <= retiredThrough) Files.deleteIfExists(segmentPath(seq));
+            }
+            lastCompactionMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            compactions++;
+            log.info("일별 배수 스냅샷 압축 완료 entries={} millis={}", entries, lastCompactionMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public MultiplierJournalStats stats() {
+        return new MultiplierJournalStats(restoredEntries, restoreMillis, appendedRecords, dropped.sum(), flushedBytes,
+                compactions, lastCompactionMillis);
+    }
+
+    /** 주기 작업을 멈추고, 남은 레코드를 기록(버린 레코드가 있으면 스냅샷까지)하고 fsync한 뒤 닫는다. */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(10, TimeUnit.SECONDS); // 진행 중인 압축
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        accepting = false;
+        if (snapshotRequested) compactQuietly();
+        lock.lock();
+        try {
+            if (segment == null) return;
+            drain();
+            segment.force(false);
+            segment.close();
+        } catch (IOException e) {
+            log.error("일별 배수 로그 닫기 실패", e);
+        } finally {
+            segment = null;
+            lock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            log.error("일별 배수 로그 flush 실패", e);
+        }
+        if (snapshotRequested) {
+            log.warn("일별 배수 로그 버퍼가 가득 차 레코드를 버렸습니다. 스냅샷으로 보완합니다. dropped={}", dropped.sum());
+            compactQuietly();
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact(retainFromDay.getAsLong());
+        } catch (IOException | RuntimeException e) {
+            log.error("일별 배수 스냅샷 압축 실패 (다음 주기에 재시도)", e);
+        }
+    }
+
+    private long load(Path file, int magic, int headerBytes, long minEpochDay) throws IOException {
+        if (!Files.exists(file)) return 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < headerBytes) return 0;
+
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt() != magic || map.getInt() != VERSION) {
+                log.warn("알 수 없는 형식의 파일을 건너뜁니다: {}", file);
+                return 0;
+            }
+            long records = (size - headerBytes) / RECORD_BYTES;
+            if (headerBytes == SNAPSHOT_HEADER_BYTES) records = Math.min(records, map.getLong());
+
+            long restored = 0;
+            for (long i = 0; i < records; i++) {
+                long key = map.getLong();
+                double value = Double.longBitsToDouble(map.getLong());
+                if (key < 0 || !(value >= 0.0) || Double.isInfinite(value)) { // 쓰는 중에 끊긴 꼬리
+                    log.warn("깨진 레코드 이후를 무시합니다: {} record={}", file, i);
+                    break;
+                }
+                // 같은 키의 레코드가 여럿이면(피어 복제로 교체된 엔트리) 복제와 같은 규칙으로 합친다. 순서와 무관
+                if (DailyMultiplierStore.dayOf(key) >= minEpochDay
+                        && store.merge(key, value) == DailyMultiplierStore.MergeResult.INSERTED) restored++;
+            }
+            return restored;
+        }
+    }
+
+    private long writeSnapshot(long minEpochDay) throws IOException {
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        long[] count = new long[1];
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer out = ByteBuffer.allocateDirect(64 * 1024);
+            out.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(0L);
+            try {
+                store.forEach(minEpochDay, (key, value) -> {
+                    if (out.remaining() < RECORD_BYTES) drain(channel, out);
+                    out.putLong(key).putLong(Double.doubleToRawLongBits(value));
+                    count[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            drain(channel, out);
+            channel.write(ByteBuffer.allocate(8).putLong(0, count[0]), 8); // 헤더의 개수 채우기
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count[0];
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) {
+        out.flip();
+        try {
+            while (out.hasRemaining()) channel.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.clear();
+    }
+
+    private void openSegment(long seq) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(seq), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES).putInt(LOG_MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) channel.write(header);
+        segment = channel;
+        segmentSeq = seq;
+    }
+
+    /** 링에서 발행된 레코드를 순서대로 모아 파일에 쓴다. 예약만 되고 아직 채워지지 않은 슬롯에서 멈춘다. (lock 안에서) */
+    private void drain() throws IOException {
+        int batch = out.capacity() / RECORD_BYTES;
+        while (true) {
+            long position = head;
+            int count = 0;
+            out.clear();
+            while (count < batch) {
+                int index = (int) (position & mask);
+                if ((long) SEQUENCE.getAcquire(sequences, index) != position + 1) break;
+                out.putLong(slots[2 * index]).putLong(slots[2 * index + 1]);
+                position++;
+                count++;
+            }
+            if (count == 0) return;
+            head = position; // 슬롯 재사용 허용 (값은 이미 out에 복사됨)
+
+            out.flip();
+            flushedBytes += out.remaining();
+            while (out.hasRemaining()) segment.write(out);
+            appendedRecords += count;
+        }
+    }
+
+    private List<Long> segmentSeqs() throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String seq = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    seqs.add(Long.parseLong(seq));
+                } catch (NumberFormatException ignored) {
+                    // 다른 파일은 무시
+                }
+            }
+        }
+        seqs.sort(null);
+        return seqs;
+    }
+
+    private Path segmentPath(long seq) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,23 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+/**
+ * MultiplierJournal 통계 스냅샷.
+ *
+ * @param restoredEntries 기동 시 스냅샷 + 로그에서 되살린 엔트리 수
+ * @param restoreMillis   기동 시 복원에 걸린 시간
+ * @param appendedRecords 기동 이후 로그에 추가한 레코드 수
+ * @param droppedRecords  링 버퍼가 가득 차 로그 대신 스냅샷으로 넘긴 레코드 수
+ * @param flushedBytes    기동 이후 로그 파일에 쓴 바이트 수
+ * @param compactions     기동 이후 압축(스냅샷 생성) 횟수
+ * @param lastCompactionMillis 마지막 압축에 걸린 시간
+ */
+public record MultiplierJournalStats(
+        long restoredEntries,
+        long restoreMillis,
+        long appendedRecords,
+        long droppedRecords,
+        long flushedBytes,
+        long compactions,
+        long lastCompactionMillis
+) {
+}
@@ -0,0 +1,16 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+/**
+ * DailyMultiplierStore 통계 스냅샷. (Caffeine CacheStats의 hit/miss/eviction에 대응)
+ */
+public record MultiplierStoreStats(long hitCount, long missCount, long evictionCount, long size) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
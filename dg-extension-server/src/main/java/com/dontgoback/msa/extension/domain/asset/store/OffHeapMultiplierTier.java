@@ -0,0 +1,331 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * DailyMultiplierStore에서 밀려난(eviction) 엔트리를 받아 두는 힙 밖 2차 저장소.
+ * 힙 테이블이 가득 차도 같은 날 같은 유저에게 다른 multiplier가 나가지 않도록 한다.
+ *
+ * - 구조: 패킹된 키 -> multiplier 비트를 슬롯당 16B로 담는 오픈 어드레싱 테이블을 스트라이프별 ByteBuffer에 둔다.
+ *   키는 +1 해서 저장하므로 0으로 채워진 새 버퍼가 곧 빈 테이블이다. (초기화 비용 없음)
+ * - 메모리: directory가 없으면 direct 버퍼(-XX:MaxDirectMemorySize 범위), 있으면 파일을 mmap하여
+ *   메모리가 부족할 때 커널이 디스크로 내보낼 수 있게 한다. 어느 쪽이든 GC 대상 힙은 늘지 않는다.
+ *   파일은 재시작 간에 유지하지 않는다. (영속성은 MultiplierJournal 담당)
+ * - 용량: capacity를 넘으면 새로 밀려난 엔트리를 받지 않는다(rejected). 이때만 실제로 값이 사라진다.
+ * - 동시성: 스트라이프별 StampedLock. 호출은 DailyMultiplierStore 스트라이프 쓰기 락 안에서 일어나며,
+ *   이 클래스는 저장소를 다시 호출하지 않으므로 락 순서가 뒤집히지 않는다.
+ */
+public class OffHeapMultiplierTier implements AutoCloseable {
+
+    private static final int SLOT_BYTES = 16;
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_SEGMENT_ENTRIES = 1 << 25; // 스트라이프 버퍼 1GB 이하 (ByteBuffer int 인덱스)
+    private static final String FILE_PREFIX = "multipliers-spill-";
+
+    private final Segment[] segments = new Segment[STRIPES];
+    private final Path directory;
+
+    private final LongAdder spills = new LongAdder();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param capacity  담을 수 있는 최대 엔트리 수
+     * @param directory mmap 파일 디렉터리. null이면 direct 버퍼 사용
+     */
+    public OffHeapMultiplierTier(long capacity, Path directory) throws IOException {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        int limit = (int) Math.min(MAX_SEGMENT_ENTRIES, (capacity + STRIPES - 1) / STRIPES);
+        int slots = tableSizeFor((int) Math.ceil(limit / LOAD_FACTOR) + 1);
+
+        this.directory = directory;
+        if (directory != null) Files.createDirectories(directory);
+        for (int i = 0; i < STRIPES; i++) {
+            segments[i] = new Segment(limit, allocate(i, (long) slots * SLOT_BYTES));
+        }
+    }
+
+    /**
+     * 힙에서 밀려난 엔트리를 받는다.
+     * @return 용량이 가득 차서 받지 못했으면 false (호출자가 eviction으로 집계)
+     */
+    public boolean spill(long packedKey, double value) {
+        long hash = DailyMultiplierStore.mix(packedKey);
+        if (segmentOf(hash).put(packedKey, (int) hash, value)) {
+            spills.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 엔트리를 꺼낸다(힙으로 다시 올리기 위해 이 저장소에서는 제거).
+     * @return 없으면 NaN
+     */
+    public double promote(long packedKey) {
+        long hash = DailyMultiplierStore.mix(packedKey);
+        double value = segmentOf(hash).remove(packedKey, (int) hash);
+        if (!Double.isNaN(value)) promotions.increment();
+        return value;
+    }
+
+    /** 엔트리를 제거하지 않고 읽는다. 없으면 NaN */
+    public double get(long packedKey) {
+        long hash = DailyMultiplierStore.mix(packedKey);
+        return segmentOf(hash).get(packedKey, (int) hash);
+    }
+
+    public boolean contains(long packedKey) {
+        long hash = DailyMultiplierStore.mix(packedKey);
+        return segmentOf(hash).contains(packedKey, (int) hash);
+    }
+
+    /** epochDay가 minEpochDay 이상인 엔트리를 순회한다 (스트라이프별로 복사한 뒤 락 밖에서 consumer 호출) */
+    public void forEach(long minEpochDay, DailyMultiplierStore.EntryConsumer consumer) {
+        forEach(minEpochDay, Long.MAX_VALUE, consumer);
+    }
+
+    /** epochDay가 [fromEpochDay, toEpochDay) 범위인 엔트리를 순회한다 */
+    public void forEach(long fromEpochDay, long toEpochDay, DailyMultiplierStore.EntryConsumer consumer) {
+        forEach(fromEpochDay, toEpochDay, new DailyMultiplierStore.EntryBuffer(), consumer);
+    }
+
+    /**
+     * 스트라이프별로 읽기 락 안에서 copy에 담고 락을 푼 뒤 consumer를 부른다.
+     * spill은 저장소 스트라이프 쓰기 락 안에서 일어나므로, consumer가 락을 쥔 채 멈추면 그쪽 삽입까지 막힌다.
+     */
+    void forEach(long fromEpochDay, long toEpochDay, DailyMultiplierStore.EntryBuffer copy,
+                 DailyMultiplierStore.EntryConsumer consumer) {
+        for (Segment segment : segments) {
+            segment.copyTo(fromEpochDay, toEpochDay, copy);
+            copy.drainTo(consumer);
+        }
+    }
+
+    /**
+     * epochDay가 minEpochDay보다 이전인 엔트리를 지운다. 날짜가 바뀔 때 한 번, 슬롯 전체를 훑는다.
+     * @return 지운 엔트리 수
+     */
+    public long expireBefore(long minEpochDay) {
+        long removed = 0;
+        for (Segment segment : segments) {
+            removed += segment.expireBefore(minEpochDay);
+        }
+        return removed;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public long capacityBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    public long spillCount() {
+        return spills.sum();
+    }
+
+    public long promotionCount() {
+        return promotions.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /** mmap 파일을 지운다. (매핑은 버퍼가 GC될 때 해제되며, 그 전까지는 남은 참조로만 접근 가능) */
+    @Override
+    public void close() throws IOException {
+        if (directory == null) return;
+        for (int i = 0; i < STRIPES; i++) {
+            Files.deleteIfExists(filePath(i));
+        }
+    }
+
+    private Segment segmentOf(long hash) {
+        return segments[(int) (hash >>> (64 - STRIPE_BITS))];
+    }
+
+    private ByteBuffer allocate(int stripe, long bytes) throws IOException {
+        if (directory == null) return ByteBuffer.allocateDirect((int) bytes);
+
+        try (FileChannel channel = FileChannel.open(filePath(stripe), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes); // 늘어난 영역은 0으로 채워진 sparse 파일
+        }
+    }
+
+    private Path filePath(int stripe) {
+        return directory.resolve(String.format("%s%02d.bin", FILE_PREFIX, stripe));
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.max(capacity, 2);
+    }
+
+    /**
+     * 선형 탐사 테이블 한 조각. 슬롯 i: [i*16, +8) = 키+1 (0이면 빈 슬롯), [i*16+8, +8) = multiplier 비트
+     */
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private final ByteBuffer buffer;
+        private final int limit;
+        private final int mask;
+        private volatile int size;
+
+        Segment(int limit, ByteBuffer buffer) {
+            this.limit = limit;
+            this.buffer = buffer;
+            this.mask = buffer.capacity() / SLOT_BYTES - 1;
+        }
+
+        boolean put(long key, int hash, double value) {
+            long stamp = lock.writeLock();
+            try {
+                if (find(key, hash) >= 0) return true;
+                if (size >= limit) return false;
+                int idx = hash & mask;
+                while (storedKey(idx) != 0) idx = (idx + 1) & mask;
+                write(idx, key + 1, value);
+                size++;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        double remove(long key, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int idx = find(key, hash);
+                if (idx < 0) return Double.NaN;
+                double value = valueAt(idx);
+                removeAt(idx);
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        double get(long key, int hash) {
+            long stamp = lock.readLock();
+            try {
+                int idx = find(key, hash);
+                return idx >= 0 ? valueAt(idx) : Double.NaN;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        boolean contains(long key, int hash) {
+            long stamp = lock.readLock();
+            try {
+                return find(key, hash) >= 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void copyTo(long fromEpochDay, long toEpochDay, DailyMultiplierStore.EntryBuffer copy) {
+            long stamp = lock.readLock();
+            try {
+                copy.ensureCapacity(size);
+                for (int i = 0; i <= mask; i++) {
+                    long stored = storedKey(i);
+                    if (stored == 0) continue;
+                    long key = stored - 1;
+                    long day = DailyMultiplierStore.dayOf(key);
+                    if (day >= fromEpochDay && day < toEpochDay) copy.add(key, valueAt(i));
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * backward-shift 삭제는 아직 보지 않은 엔트리를 현재 위치 이후로만 옮기므로,
+         * 지운 자리를 다시 검사하는 것만으로 한 번의 순회에 모두 처리된다.
+         */
+        long expireBefore(long minEpochDay) {
+            long stamp = lock.writeLock();
+            try {
+                long removed = 0;
+                for (int i = 0; i <= mask && size > 0; ) {
+                    long stored = storedKey(i);
+                    if (stored != 0 && DailyMultiplierStore.dayOf(stored - 1) < minEpochDay) {
+                        removeAt(i);
+                        removed++;
+                    } else {
+                        i++;
+                    }
+                }
+                return removed;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private int find(long key, int hash) {
+            long stored = key + 1;
+            int idx = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long k = storedKey(idx);
+                if (k == stored) return idx;
+                if (k == 0) return -1;
+                idx = (idx + 1) & mask;
+            }
+            return -1;
+        }
+
+        /** backward-shift 삭제 (DailyMultiplierStore.Stripe.removeAt과 같은 방식) */
+        private void removeAt(int idx) {
+            int hole = idx;
+            int j = idx;
+            while (true) {
+                j = (j + 1) & mask;
+                long k = storedKey(j);
+                if (k == 0) break;
+                int home = (int) DailyMultiplierStore.mix(k - 1) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    write(hole, k, valueAt(j));
+                    hole = j;
+                }
+            }
+            write(hole, 0L, 0.0);
+            size--;
+        }
+
+        private long storedKey(int idx) {
+            return buffer.getLong(idx * SLOT_BYTES);
+        }
+
+        private double valueAt(int idx) {
+            return Double.longBitsToDouble(buffer.getLong(idx * SLOT_BYTES + 8));
+        }
+
+        private void write(int idx, long storedKey, double value) {
+            buffer.putLong(idx * SLOT_BYTES, storedKey);
+            buffer.putLong(idx * SLOT_BYTES + 8, Double.doubleToRawLongBits(value));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.dontgoback.msa.extension.global.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 코어 서버 ↔ 확장 서버 호출의 바이너리 형식(CBOR, Smile) 지원.
+ *
+ * - 요청은 Content-Type, 응답은 Accept로 고른다. 둘 다 없거나 와일드카드면 JSON (기존 클라이언트 그대로 동작)
+ * - ObjectMapper는 Boot의 Jackson2ObjectMapperBuilder(spring.jackson.* 설정, JavaTimeModule 등)를 그대로 쓰고
+ *   JsonFactory만 바꾼다. 그래서 필드 이름/날짜 형식은 JSON과 같다.
+ * - servlet: HttpMessageConverter 빈 → Boot가 기본 컨버터 목록의 같은 타입 자리(JSON 뒤)에 넣는다.
+ * - reactive: CodecCustomizer로 디코더와 writer 등록. 함수형 엔드포인트는 Accept를 보고 형식을 고르지 않으므로
+ *   ApiV1AssetHandler가 {@link #negotiate}로 응답 Content-Type을 직접 정한다.
+ *   - 인코더/디코더는 형식을 명시해 만든다. ObjectMapper만 넘기면 JSON 형식으로 등록되어 JSON 요청/응답을 가로챈다.
+ *   - Jackson CBOR/Smile 인코더는 encode(스트림)를 지원하지 않으므로 기본 EncoderHttpMessageWriter 대신
+ *     값 하나를 encodeValue로 쓰는 {@link SingleValueWriter}로 등록한다.
+ */
+@Configuration
+public class BinaryCodecConfiguration {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /** 자산 API가 주고받는 형식. 앞에 있을수록 우선 (Accept가 와일드카드면 JSON) */
+    public static final List<MediaType> ASSET_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private static final Comparator<MediaType> ACCEPT_ORDER = Comparator
+            .comparingDouble(MediaType::getQualityValue).reversed()
+            .thenComparing(MediaType::isWildcardType)
+            .thenComparing(MediaType::isWildcardSubtype);
+
+    /**
+     * Accept 헤더로 응답 형식을 고른다. 높은 q값, 같은 q값이면 와일드카드가 아닌 타입부터 보고,
+     * 맞는 형식이 없거나 Accept가 비어 있으면 JSON.
+     */
+    public static MediaType negotiate(List<MediaType> accept) {
+        List<MediaType> sorted = new ArrayList<>(accept);
+        sorted.sort(ACCEPT_ORDER);
+        for (MediaType requested : sorted) {
+            if (requested.getQualityValue() == 0.0) continue;
+            for (MediaType supported : ASSET_MEDIA_TYPES) {
+                if (requested.isCompatibleWith(supported)) return supported;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /** reactive 디코더/인코더가 다루는 형식 (Spring 기본 Smile 코덱과 같은 구성) */
+    private static final MediaType[] CBOR_TYPES = {MediaType.APPLICATION_CBOR};
+    private static final MediaType[] SMILE_TYPES = {APPLICATION_SMILE, MediaType.parseMediaType("application/*+x-jackson-smile")};
+
+    static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+
+    static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet {
+
+        @Bean
+        MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+        }
+
+        @Bean
+        MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive {
+
+        @Bean
+        CodecCustomizer binaryCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+            ObjectMapper cbor = cborMapper(builder);
+            ObjectMapper smile = smileMapper(builder);
+            return configurer -> {
+                configurer.customCodecs().register(new SingleValueWriter(new Jackson2CborEncoder(cbor, CBOR_TYPES)));
+                configurer.customCodecs().register(new Jackson2CborDecoder(cbor, CBOR_TYPES));
+                configurer.customCodecs().register(new SingleValueWriter(new Jackson2SmileEncoder(smile, SMILE_TYPES)));
+                configurer.customCodecs().register(new Jackson2SmileDecoder(smile, SMILE_TYPES));
+            };
+        }
+    }
+
+    /**
+     * 본문 값 하나를 encodeValue로 인코딩해 쓰는 writer. (bodyValue, Mono 본문)
+     * 여러 값을 담은 Flux는 첫 값만 쓰므로 CBOR/Smile 응답은 항상 값 하나로 만든다.
+     */
+    static final class SingleValueWriter implements HttpMessageWriter<Object> {
+        private final AbstractJackson2Encoder encoder;
+        private final List<MediaType> mediaTypes;
+
+        SingleValueWriter(AbstractJackson2Encoder encoder) {
+            this.encoder = encoder;
+            this.mediaTypes = MediaType.asMediaTypes(encoder.getEncodableMimeTypes());
+        }
+
+        @Override
+        public List<MediaType> getWritableMediaTypes() {
+            return mediaTypes;
+        }
+
+        @Override
+        public boolean canWrite(ResolvableType elementType, MediaType mediaType) {
+            return encoder.canEncode(elementType, mediaType);
+        }
+
+        @Override
+        public Mono<Void> write(Publisher<?> inputStream, ResolvableType elementType, MediaType mediaType,
+                                ReactiveHttpOutputMessage message, Map<String, Object> hints) {
+            MediaType contentType = mediaType != null && mediaType.isConcrete() ? mediaType : mediaTypes.get(0);
+            return Mono.from(inputStream)
+                    .flatMap(value -> {
+                        DataBuffer buffer = encoder.encodeValue(value, message.bufferFactory(), elementType, contentType, hints);
+                        HttpHeaders headers = message.getHeaders();
+                        if (headers.getContentType() == null) headers.setContentType(contentType);
+                        headers.setContentLength(buffer.readableByteCount());
+                        return message.writeWith(Mono.just(buffer));
+                    })
+                    .switchIfEmpty(Mono.defer(message::setComplete));
+        }
+    }
+}
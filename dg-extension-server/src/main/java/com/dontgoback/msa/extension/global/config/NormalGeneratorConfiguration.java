@@ -0,0 +1,23 @@
+package com.dontgoback.msa.extension.global.config;
+
+import com.dontgoback.msa.extension.domain.asset.AssetProperties;
+import com.dontgoback.msa.extension.domain.asset.NormalGenerator;
+import com.dontgoback.msa.extension.domain.asset.ThreadLocalNormalGenerator;
+import com.dontgoback.msa.extension.domain.asset.ZigguratNormalGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NormalGeneratorConfiguration {
+
+    /**
+     * asset.generator.algorithm 으로 표준정규 난수 구현을 선택한다. (기본: Box–Muller)
+     */
+    @Bean
+    public NormalGenerator normalGenerator(AssetProperties assetProperties) {
+        return switch (assetProperties.getGenerator().getAlgorithm()) {
+            case BOX_MULLER -> new ThreadLocalNormalGenerator();
+            case ZIGGURAT -> new ZigguratNormalGenerator();
+        };
+    }
+}
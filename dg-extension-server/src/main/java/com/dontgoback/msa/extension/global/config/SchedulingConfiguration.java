@@ -0,0 +1,12 @@
+package com.dontgoback.msa.extension.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화 (예: MultiplierPrewarmer의 자정 전 미리 생성)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,93 @@
+package com.dontgoback.msa.extension.global.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true)에서 캐리어 스레드 pinning을 감시한다.
+ *
+ * - JFR 이벤트 jdk.VirtualThreadPinned를 스트리밍으로 구독한다. (synchronized 안에서의 블로킹, 네이티브 프레임 등)
+ * - pinning 시간은 jvm.threads.virtual.pinned 타이머로, 원인 스택은 WARN 로그로 남긴다. (logInterval당 1회)
+ * - 기동 옵션 -Djdk.tracePinnedThreads=short 를 함께 쓰면 JFR 없이도 표준 출력으로 확인할 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+
+    /** 이 시간 이상 캐리어 스레드를 붙잡은 경우만 기록 */
+    @Value("${diagnostics.virtual-threads.pinned-threshold:20ms}")
+    private Duration threshold;
+
+    /** 같은 내용의 스택 로그 폭주 방지 */
+    @Value("${diagnostics.virtual-threads.log-interval:1m}")
+    private Duration logInterval;
+
+    private final AtomicLong lastLoggedNanos = new AtomicLong(System.nanoTime() - Duration.ofDays(1).toNanos());
+    private Timer pinned;
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("가상 스레드가 캐리어 스레드를 붙잡고 있던 시간 (threshold 이상)")
+                .register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("가상 스레드 pinning 감시 시작 threshold={}", threshold);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinned.record(duration);
+
+        long now = System.nanoTime();
+        long last = lastLoggedNanos.get();
+        if (now - last < logInterval.toNanos() || !lastLoggedNanos.compareAndSet(last, now)) return;
+        log.warn("가상 스레드 pinning {}ms thread={}\n{}", duration.toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "?", format(event.getStackTrace()));
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) return "\t(stack trace 없음)";
+        StringBuilder sb = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            sb.append("\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.dontgoback.msa.extension.config.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tokenBucket_allowsBurst_thenRefillsAtRate() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(100, 5, now); // 10ms마다 1개
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(now)).isZero();
+        }
+        assertThat(bucket.tryAcquire(now)).isEqualTo(10 * MS);
+
+        assertThat(bucket.tryAcquire(now + 10 * MS)).isZero();
+        assertThat(bucket.tryAcquire(now + 10 * MS)).isPositive();
+        assertThat(bucket.available(now + 1_000 * MS)).isEqualTo(5.0);
+    }
+
+    @Test
+    void concurrencyLimit_rejectsOverLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 100 * MS, 0.5, 0);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(2);
+
+        limit.release(MS, MS);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void concurrencyLimit_shrinksOncePerWindowOnSlowResponses() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 40, 100 * MS, 0.5, 0);
+        for (int i = 0; i < 3; i++) limit.tryAcquire();
+
+        // 느린 응답 세 개가 거의 동시에 끝나도 한 번만 줄인다
+        limit.release(200 * MS, 1_000 * MS);
+        limit.release(200 * MS, 1_001 * MS);
+        limit.release(200 * MS, 1_002 * MS);
+        assertThat(limit.limit()).isEqualTo(10);
+
+        limit.tryAcquire();
+        limit.release(200 * MS, 1_200 * MS);
+        assertThat(limit.limit()).isEqualTo(5);
+        limit.tryAcquire();
+        limit.release(200 * MS, 1_400 * MS);
+        assertThat(limit.limit()).isEqualTo(4); // minLimit
+    }
+
+    @Test
+    void concurrencyLimit_growsOnlyWhenBusyAndFast() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, 100 * MS, 0.5, 0);
+
+        // 한도의 절반도 안 쓰면 빨라도 늘리지 않는다
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.release(MS, i * MS);
+        }
+        assertThat(limit.limit()).isEqualTo(4);
+
+        // 한도를 다 쓰는 동안 빠른 응답이 한도만큼 쌓이면 +1
+        for (int i = 0; i < 4; i++) limit.tryAcquire();
+        for (int i = 0; i < 4; i++) {
+            limit.release(MS, 100 * MS);
+            limit.tryAcquire();
+        }
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void admission_appliesPerClientRate_withOverrides() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getRate().setPermitsPerSecond(1);
+        properties.getRate().setBurst(2);
+        AdmissionProperties.Client bulk = new AdmissionProperties.Client();
+        bulk.setBurst(3);
+        properties.getRate().getClients().put("bulk-client", bulk);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControl admission = new AdmissionControl(properties, registry);
+        admission.init();
+
+        assertThat(acquireAll(admission, "core-server", 3)).containsExactly(true, true, false);
+        assertThat(acquireAll(admission, "bulk-client", 4)).containsExactly(true, true, true, false);
+
+        AdmissionControl.Permit limited = admission.acquire("core-server");
+        assertThat(limited.outcome()).isEqualTo(AdmissionControl.Outcome.RATE_LIMITED);
+        assertThat(limited.retryAfterSeconds()).isEqualTo(1);
+        assertThat(registry.get("admission.rejected").tag("reason", "rate").tag("client", "core-server")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("admission.rate.limit").tag("client", "bulk-client").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void admission_shedsOverConcurrencyLimit_andReleasesPermits() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getRate().setPermitsPerSecond(0); // 속도 제한 없음
+        properties.getConcurrency().setInitialLimit(2);
+        properties.getConcurrency().setMinLimit(1);
+        properties.getConcurrency().setTargetLatency(Duration.ofSeconds(10));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControl admission = new AdmissionControl(properties, registry);
+        admission.init();
+
+        AdmissionControl.Permit first = admission.acquire("core-server");
+        AdmissionControl.Permit second = admission.acquire("core-server");
+        AdmissionControl.Permit third = admission.acquire("core-server");
+
+        assertThat(third.outcome()).isEqualTo(AdmissionControl.Outcome.OVERLOADED);
+        assertThat(registry.get("admission.concurrency.in-flight").gauge().value()).isEqualTo(2.0);
+
+        admission.release(first);
+        admission.release(second);
+        admission.release(third); // 거절된 Permit은 무시
+        assertThat(registry.get("admission.concurrency.in-flight").gauge().value()).isZero();
+        assertThat(admission.acquire("core-server").admitted()).isTrue();
+    }
+
+    @Test
+    void admission_longBulkStream_doesNotShrinkLimit() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getRate().setPermitsPerSecond(0);
+        properties.getConcurrency().setInitialLimit(10);
+        properties.getConcurrency().setMinLimit(1);
+        properties.getConcurrency().setTargetLatency(Duration.ofMillis(1));
+        properties.getConcurrency().setBackoffRatio(0.5);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControl admission = new AdmissionControl(properties, registry);
+        admission.init();
+
+        AdmissionControlFilter filter = new AdmissionControlFilter(admission);
+
+        // 목표 지연보다 훨씬 오래 걸린 NDJSON 벌크 갱신: 자리는 차지하지만 한도는 그대로
+        filter.doFilter(new MockHttpServletRequest("POST", "/msa/ext/api/update-assets"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    assertThat(registry.get("admission.concurrency.in-flight").gauge().value()).isEqualTo(1.0);
+                    sleep(20);
+                });
+        assertThat(registry.get("admission.concurrency.in-flight").gauge().value()).isZero();
+        assertThat(registry.get("admission.concurrency.limit").gauge().value()).isEqualTo(10.0);
+
+        // 같은 지연의 단건 요청은 과부하로 보고 줄인다
+        filter.doFilter(new MockHttpServletRequest("POST", "/msa/ext/api/update-asset/1"), new MockHttpServletResponse(),
+                (request, response) -> sleep(20));
+        assertThat(registry.get("admission.concurrency.limit").gauge().value()).isEqualTo(5.0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Boolean[] acquireAll(AdmissionControl admission, String clientId, int count) {
+        Boolean[] admitted = new Boolean[count];
+        for (int i = 0; i < count; i++) {
+            admitted[i] = admission.acquire(clientId).admitted();
+        }
+        return admitted;
+    }
+}
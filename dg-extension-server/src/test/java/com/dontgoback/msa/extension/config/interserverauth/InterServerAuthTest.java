@@ -1,6 +1,7 @@
 package com.dontgoback.msa.extension.config.interserverauth;
 
 import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtVerifier;
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerPublicKeyManager;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.security.PublicKey;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -28,6 +30,9 @@ public class InterServerAuthTest {
     @Autowired
     private InterServerJwtVerifier verifier;
 
+    @Autowired
+    private InterServerPublicKeyManager keyManager;
+
     private final String HEADER_AUTHORIZATION = "Authorization";
     private final String TOKEN_PREFIX = "Bearer ";
 
@@ -36,6 +41,7 @@ public class InterServerAuthTest {
 
     @BeforeAll
     void setup() throws Exception {
+        keyManager.awaitReady(Duration.ofSeconds(5)); // 공개키는 기동 후 비동기로 로드됨
         token = provider.getToken();
         System.out.println("발급받은 JWT (setup): " + token);
     }
@@ -0,0 +1,56 @@
+package com.dontgoback.msa.extension.config.interserverauth;
+
+import com.dontgoback.msa.extension.config.interserverauth.jwt.InterServerJwtVerifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterServerAuthenticationWebFilterTest {
+
+    InterServerJwtVerifier verifier = mock(InterServerJwtVerifier.class);
+    InterServerAuthenticationWebFilter filter = new InterServerAuthenticationWebFilter(verifier, new InterServerAuthFailureLog(Duration.ofSeconds(10)));
+
+    @Test
+    void validToken_putsAuthenticationInReactorContext() {
+        Authentication auth = new UsernamePasswordAuthenticationToken("core-server", null, List.of());
+        when(verifier.authenticate("good")).thenReturn(auth);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/msa/ext/api/x")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer good"));
+
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        filter.filter(exchange, ex -> ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .doOnNext(seen::set)
+                .then()).block();
+
+        assertThat(seen.get()).isSameAs(auth);
+    }
+
+    @Test
+    void invalidToken_is401_andChainIsNotCalled() {
+        when(verifier.authenticate(any())).thenThrow(new IllegalArgumentException("invalid"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/msa/ext/api/x"));
+
+        AtomicReference<Boolean> called = new AtomicReference<>(false);
+        filter.filter(exchange, ex -> {
+            called.set(true);
+            return ex.getResponse().setComplete();
+        }).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(called.get()).isFalse();
+    }
+}
@@ -0,0 +1,290 @@
+package com.dontgoback.msa.extension.config.interserverauth.jwt;
+
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerKeyProperties;
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerKeySet;
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerPublicKeyManager;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 인증 서버 없이 로컬 RSA 키쌍으로 검증 캐시 동작을 확인한다.
+ */
+class InterServerJwtVerifierTest {
+
+    static final String ISSUER = "dontgoback-auth-server";
+
+    KeyPair keyPair;
+    StubKeyManager keyManager;
+    InterServerJwtProperties jwtProperties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyPair = newKeyPair();
+        keyManager = new StubKeyManager((RSAPublicKey) keyPair.getPublic());
+        jwtProperties = new InterServerJwtProperties();
+        jwtProperties.setIssuer(ISSUER);
+    }
+
+    @Test
+    void sameToken_isVerifiedOnce_thenServedFromCache() {
+        InterServerJwtVerifier verifier = spy(new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry()));
+        verifier.init();
+        String token = token(keyPair, 60_000);
+
+        Authentication first = verifier.authenticate(token);
+        Authentication second = verifier.authenticate(token);
+
+        assertThat(second.getName()).isEqualTo(first.getName()).isEqualTo("dontgoback-core-server");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_INTERSERVER");
+        verify(verifier, times(1)).parseAndValidate(eq(token), any());
+    }
+
+    @Test
+    void publicKeyChange_invalidatesVerifiedTokens() throws Exception {
+        InterServerJwtVerifier verifier = new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry());
+        verifier.init();
+        String token = token(keyPair, 60_000);
+        verifier.authenticate(token);
+
+        // 인증 서버가 키를 교체: 이전 키로 서명된 토큰은 캐시가 있어도 더 이상 통과하면 안 된다
+        keyManager.keySet = InterServerKeySet.of((RSAPublicKey) newKeyPair().getPublic());
+
+        assertThatThrownBy(() -> verifier.authenticate(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keyChangeDuringVerification_doesNotLeaveUsableCacheEntry() throws Exception {
+        InterServerJwtVerifier verifier = spy(new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry()));
+        verifier.init();
+        String token = token(keyPair, 60_000);
+        InterServerKeySet next = InterServerKeySet.of((RSAPublicKey) newKeyPair().getPublic());
+
+        // 이전 키 묶음으로 검증하는 도중에 키가 교체되고, 다른 요청이 캐시를 무효화한다
+        doAnswer(invocation -> {
+            keyManager.keySet = next;
+            assertThatThrownBy(() -> verifier.authenticate("garbage")).isInstanceOf(IllegalArgumentException.class);
+            return invocation.callRealMethod();
+        }).when(verifier).parseAndValidate(eq(token), any());
+
+        assertThat(verifier.authenticate(token).getName()).isEqualTo("dontgoback-core-server"); // 읽은 스냅샷 기준으로는 유효
+
+        // 무효화 뒤에 들어간 엔트리는 이전 키 묶음 것이므로 쓰지 않고, 새 키로 다시 검증해 거부한다
+        assertThatThrownBy(() -> verifier.authenticate(token)).isInstanceOf(IllegalArgumentException.class);
+        verify(verifier, times(2)).parseAndValidate(eq(token), any());
+    }
+
+    @Test
+    void cachedToken_expiresAtTokenExp() throws Exception {
+        InterServerJwtVerifier verifier = new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry());
+        verifier.init();
+        String token = token(keyPair, 1_200);
+        verifier.authenticate(token);
+
+        Thread.sleep(1_500);
+
+        assertThatThrownBy(() -> verifier.authenticate(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("만료");
+    }
+
+    @Test
+    void cacheDisabled_verifiesEveryTime() {
+        jwtProperties.getCache().setEnabled(false);
+        InterServerJwtVerifier verifier = spy(new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry()));
+        verifier.init();
+        String token = token(keyPair, 60_000);
+
+        verifier.authenticate(token);
+        verifier.authenticate(token);
+
+        verify(verifier, times(2)).parseAndValidate(eq(token), any());
+    }
+
+    @Test
+    void unknownKid_isRejected_andRequestsRefresh() {
+        InterServerJwtVerifier verifier = new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry());
+        verifier.init();
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "next-key")
+                .setIssuer(ISSUER)
+                .setSubject("dontgoback-core-server")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+
+        assertThatThrownBy(() -> verifier.authenticate(token))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(keyManager.unknownKids).containsExactly("next-key");
+    }
+
+    @Test
+    void precheck_rejectsWithoutSignatureCheck() {
+        InterServerJwtVerifier verifier = spy(new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry()));
+        verifier.init();
+        String hs256 = Jwts.builder()
+                .setIssuer(ISSUER)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(new byte[32]), SignatureAlgorithm.HS256)
+                .compact();
+        String otherIssuer = Jwts.builder()
+                .setIssuer("someone-else")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        String noExpiration = Jwts.builder()
+                .setIssuer(ISSUER)
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        String expired = token(keyPair, -1_000);
+
+        for (String bad : List.of("garbage", "a.b.c", "..", "e30.e30.", hs256, otherIssuer, noExpiration, expired)) {
+            assertThatThrownBy(() -> verifier.authenticate(bad))
+                    .as(bad)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> verifier.authenticate(expired)).hasMessageContaining("만료");
+        verify(verifier, never()).parseAndValidate(anyString(), any());
+    }
+
+    @Test
+    void otherRsaAlgorithms_areAccepted_unlessRestricted() {
+        InterServerJwtVerifier verifier = new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry());
+        verifier.init();
+        String rs512 = token(keyPair, 60_000, SignatureAlgorithm.RS512);
+        String ps256 = token(keyPair, 60_000, SignatureAlgorithm.PS256);
+
+        // 기본값: 사전 검사 도입 전 jjwt처럼 같은 RSA 키로 서명한 RS384/RS512/PS* 도 통과
+        assertThat(verifier.authenticate(rs512).getName()).isEqualTo("dontgoback-core-server");
+        assertThat(verifier.authenticate(ps256).getName()).isEqualTo("dontgoback-core-server");
+
+        for (boolean precheck : new boolean[]{true, false}) {
+            jwtProperties.getReject().setAlgorithms(List.of("RS256"));
+            jwtProperties.getReject().setPrecheck(precheck);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            InterServerJwtVerifier restricted = new InterServerJwtVerifier(jwtProperties, keyManager, registry);
+            restricted.init();
+
+            assertThatThrownBy(() -> restricted.authenticate(rs512)).as("precheck=" + precheck)
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(registry.get("interserver.jwt.rejected").tag("reason", "algorithm").counter().count()).isEqualTo(1.0);
+            assertThat(restricted.authenticate(token(keyPair, 60_000)).getName()).isEqualTo("dontgoback-core-server");
+        }
+    }
+
+    @Test
+    void tokenWithoutExpiration_isRejectedByDefault_andAcceptedWhenNotRequired() {
+        String noExpiration = Jwts.builder()
+                .setIssuer(ISSUER)
+                .setSubject("dontgoback-core-server")
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        InterServerJwtVerifier verifier = new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry());
+        verifier.init();
+        assertThatThrownBy(() -> verifier.authenticate(noExpiration)).hasMessageContaining("만료");
+
+        for (boolean precheck : new boolean[]{true, false}) {
+            jwtProperties.getReject().setRequireExpiration(false);
+            jwtProperties.getReject().setPrecheck(precheck);
+            InterServerJwtVerifier lenient = spy(new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry()));
+            lenient.init();
+
+            Authentication first = lenient.authenticate(noExpiration);
+            lenient.authenticate(noExpiration);
+
+            assertThat(first.getName()).as("precheck=" + precheck).isEqualTo("dontgoback-core-server");
+            assertThat(((Map<?, ?>) first.getDetails()).containsKey("exp")).isFalse();
+            verify(lenient, times(2)).parseAndValidate(eq(noExpiration), any()); // exp가 없으면 검증 캐시에 남기지 않는다
+        }
+    }
+
+    @Test
+    void rejectedToken_isNotVerifiedAgain() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InterServerJwtVerifier verifier = spy(new InterServerJwtVerifier(jwtProperties, keyManager, registry));
+        verifier.init();
+        String forged = token(newKeyPair(), 60_000); // 형식/iss/exp는 맞지만 다른 키로 서명
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> verifier.authenticate(forged)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        verify(verifier, times(1)).parseAndValidate(eq(forged), any());
+        assertThat(registry.get("interserver.jwt.rejected").tag("reason", "signature").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void publicKeyChange_clearsRejectedTokens() throws Exception {
+        InterServerJwtVerifier verifier = new InterServerJwtVerifier(jwtProperties, keyManager, new SimpleMeterRegistry());
+        verifier.init();
+        KeyPair next = newKeyPair();
+        String signedWithNextKey = token(next, 60_000);
+        assertThatThrownBy(() -> verifier.authenticate(signedWithNextKey)).isInstanceOf(IllegalArgumentException.class);
+
+        // 인증 서버가 새 키로 교체한 뒤에는 거부 캐시에 남은 토큰도 다시 검증해 통과해야 한다
+        keyManager.keySet = InterServerKeySet.of((RSAPublicKey) next.getPublic());
+
+        assertThat(verifier.authenticate(signedWithNextKey).getName()).isEqualTo("dontgoback-core-server");
+    }
+
+    static String token(KeyPair keyPair, long ttlMillis) {
+        return token(keyPair, ttlMillis, SignatureAlgorithm.RS256);
+    }
+
+    static String token(KeyPair keyPair, long ttlMillis, SignatureAlgorithm algorithm) {
+        return Jwts.builder()
+                .setIssuer(ISSUER)
+                .setSubject("dontgoback-core-server")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(keyPair.getPrivate(), algorithm)
+                .compact();
+    }
+
+    static KeyPair newKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    static class StubKeyManager extends InterServerPublicKeyManager {
+        volatile InterServerKeySet keySet;
+        final List<String> unknownKids = new CopyOnWriteArrayList<>();
+
+        StubKeyManager(RSAPublicKey key) {
+            super(new InterServerKeyProperties(), null, new SimpleMeterRegistry());
+            this.keySet = InterServerKeySet.of(key);
+        }
+
+        @Override
+        public InterServerKeySet getKeySet() {
+            return keySet;
+        }
+
+        @Override
+        public RSAPublicKey getPublicKey() {
+            return keySet.primary();
+        }
+
+        @Override
+        public void onUnknownKeyId(String kid) {
+            unknownKids.add(kid);
+        }
+    }
+}
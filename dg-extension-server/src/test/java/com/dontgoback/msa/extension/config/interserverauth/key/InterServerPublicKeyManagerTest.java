@@ -0,0 +1,175 @@
+package com.dontgoback.msa.extension.config.interserverauth.key;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 인증 서버 대신 RestTemplate을 목으로 두고 키 묶음 갱신 동작을 확인한다.
+ */
+class InterServerPublicKeyManagerTest {
+
+    RestTemplate restTemplate = mock(RestTemplate.class);
+    InterServerKeyProperties props = new InterServerKeyProperties();
+    InterServerPublicKeyManager manager;
+
+    RSAPublicKey keyA;
+    RSAPublicKey keyB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        props.setPublicKeyApi("http://auth/public-key");
+        props.setRefreshInterval(Duration.ofHours(1)); // 테스트 중 주기 갱신이 끼어들지 않도록
+        keyA = newKey();
+        keyB = newKey();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) manager.shutdown();
+    }
+
+    @Test
+    void plainBase64Response_becomesPrimaryKey() throws Exception {
+        respond(encode(keyA));
+
+        startManager();
+
+        assertThat(manager.awaitReady(Duration.ofSeconds(5))).isTrue();
+        assertThat(manager.getPublicKey()).isEqualTo(keyA);
+        assertThat(manager.getKeySet().find(null)).isEqualTo(keyA);
+    }
+
+    @Test
+    void jsonResponse_resolvesKeysByKid() throws Exception {
+        respond("{\"keys\":[{\"kid\":\"b\",\"key\":\"" + encode(keyB) + "\"},"
+                + "{\"kid\":\"a\",\"key\":\"" + encode(keyA) + "\"}]}");
+
+        startManager();
+
+        assertThat(manager.awaitReady(Duration.ofSeconds(5))).isTrue();
+        InterServerKeySet keySet = manager.getKeySet();
+        assertThat(keySet.primary()).isEqualTo(keyB);
+        assertThat(keySet.find("a")).isEqualTo(keyA);
+        assertThat(keySet.find("c")).isNull();
+    }
+
+    @Test
+    void failedInitialLoad_doesNotFailStartup_andRequestThreadFailsFast() {
+        when(restTemplate.getForEntity(anyString(), eq(String.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+
+        startManager();
+
+        verify(restTemplate, timeout(5_000)).getForEntity(anyString(), eq(String.class));
+        assertThat(manager.isReady()).isFalse();
+        assertThat(manager.getKeySet().isEmpty()).isTrue();
+        assertThatThrownBy(() -> manager.getPublicKey()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void init_doesNotWaitForAuthServer_andReadinessFollowsFirstLoad() throws Exception {
+        CountDownLatch authServer = new CountDownLatch(1);
+        when(restTemplate.getForEntity(anyString(), eq(String.class))).thenAnswer(invocation -> {
+            authServer.await(); // 응답이 늦는 인증 서버
+            return ResponseEntity.ok(encode(keyA));
+        });
+        InterServerKeyHealthIndicator health = new InterServerKeyHealthIndicator(startManager());
+
+        assertThat(manager.isReady()).isFalse();
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        authServer.countDown();
+
+        assertThat(manager.awaitReady(Duration.ofSeconds(5))).isTrue();
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(manager.getPublicKey()).isEqualTo(keyA);
+    }
+
+    @Test
+    void retiredKey_isKeptDuringGrace_thenDropped() throws Exception {
+        InterServerKeySet before = InterServerKeySetParser.parse(
+                "{\"keys\":[{\"kid\":\"a\",\"key\":\"" + encode(keyA) + "\"}]}");
+        InterServerKeySet fetched = InterServerKeySetParser.parse(
+                "{\"keys\":[{\"kid\":\"b\",\"key\":\"" + encode(keyB) + "\"}]}");
+        Instant now = Instant.parse("2025-08-09T00:00:00Z");
+        Duration grace = Duration.ofHours(1);
+
+        InterServerKeySet rotated = before.rotateTo(fetched, now, grace);
+        assertThat(rotated.primary()).isEqualTo(keyB);
+        assertThat(rotated.find("a")).isEqualTo(keyA);
+
+        InterServerKeySet stillInGrace = rotated.rotateTo(fetched, now.plus(Duration.ofMinutes(30)), grace);
+        assertThat(stillInGrace).isSameAs(rotated);
+
+        InterServerKeySet afterGrace = rotated.rotateTo(fetched, now.plus(grace), grace);
+        assertThat(afterGrace.find("a")).isNull();
+        assertThat(afterGrace.find("b")).isEqualTo(keyB);
+    }
+
+    @Test
+    void unchangedKeys_keepSameSnapshot() throws Exception {
+        InterServerKeySet current = InterServerKeySetParser.parse(encode(keyA));
+        InterServerKeySet fetched = InterServerKeySetParser.parse(encode(keyA));
+
+        assertThat(current.rotateTo(fetched, Instant.now(), Duration.ofHours(1))).isSameAs(current);
+    }
+
+    @Test
+    void virtualThreadMode_fetchesOnVirtualThread() throws Exception {
+        props.setVirtualThreads(true);
+        respond(encode(keyA));
+        startManager();
+        assertThat(manager.awaitReady(Duration.ofSeconds(5))).isTrue();
+
+        CompletableFuture<Boolean> fetchedOnVirtual = new CompletableFuture<>();
+        when(restTemplate.getForEntity(anyString(), eq(String.class))).thenAnswer(invocation -> {
+            fetchedOnVirtual.complete(Thread.currentThread().isVirtual());
+            return ResponseEntity.ok(encode(keyB));
+        });
+        manager.requestRefresh();
+
+        assertThat(fetchedOnVirtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /** 첫 조회는 갱신 스레드에서 하므로 init()은 바로 돌아온다 */
+    private InterServerPublicKeyManager startManager() {
+        manager = new InterServerPublicKeyManager(props, endpoint -> restTemplate.getForEntity(endpoint, String.class),
+                new SimpleMeterRegistry());
+        manager.init();
+        return manager;
+    }
+
+    private void respond(String body) {
+        when(restTemplate.getForEntity(anyString(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok(body));
+    }
+
+    private static String encode(RSAPublicKey key) {
+        return Base64.getEncoder().encodeToString(key.getEncoded());
+    }
+
+    private static RSAPublicKey newKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return (RSAPublicKey) generator.generateKeyPair().getPublic();
+    }
+}
@@ -0,0 +1,67 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * servlet 자산 API의 예외 응답이 reactive 쪽과 같은 형식(ResData, 400/500)인지 확인한다.
+ */
+class ApiV1AssetControllerAdviceTest {
+
+    AssetService assetService;
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        assetService = mock(AssetService.class);
+        mvc = MockMvcBuilders
+                .standaloneSetup(new ApiV1AssetController(assetService, mock(AssetHistoryService.class), mock(BulkAssetUpdater.class)))
+                .setControllerAdvice(new ApiV1AssetControllerAdvice())
+                .build();
+    }
+
+    @Test
+    void illegalArgument_isBadRequest_withMessage() throws Exception {
+        when(assetService.leaderboard(anyInt())).thenThrow(new IllegalArgumentException("limit must be positive"));
+
+        mvc.perform(get("/msa/ext/api/leaderboard").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("F"))
+                .andExpect(jsonPath("$.message").value("limit must be positive"));
+    }
+
+    @Test
+    void unexpectedException_isInternalServerError() throws Exception {
+        when(assetService.updateAsset(eq(7L), any(UpdateAssetRequest.class))).thenThrow(new IllegalStateException("boom"));
+
+        mvc.perform(post("/msa/ext/api/update-asset/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"asset\":10000}"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.resultCode").value("F"))
+                .andExpect(jsonPath("$.message").value("Unexpected error occurred."));
+    }
+
+    @Test
+    void bindingErrors_keepSpringDefaults() throws Exception {
+        mvc.perform(post("/msa/ext/api/update-asset/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"asset\":"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/msa/ext/api/leaderboard").param("limit", "ten"))
+                .andExpect(status().isBadRequest());
+    }
+}
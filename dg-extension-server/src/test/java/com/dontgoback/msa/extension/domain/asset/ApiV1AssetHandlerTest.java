@@ -0,0 +1,121 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * reactive 프로필의 자산 API가 servlet 컨트롤러와 같은 응답을 주는지 확인한다. (인증 필터 제외)
+ */
+class ApiV1AssetHandlerTest {
+
+    WebTestClient client;
+    final List<String> serviceThreads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        AssetProperties props = new AssetProperties();
+        ZoneId kst = ZoneId.of("Asia/Seoul");
+        Clock clock = Clock.fixed(LocalDate.of(2025, 8, 9).atStartOfDay(kst).toInstant(), kst);
+        AssetService assetService = new AssetService(props, new ThreadLocalNormalGenerator(), clock, new SimpleMeterRegistry()) {
+            @Override
+            public UpdateAssetResponse updateAsset(long userId, UpdateAssetRequest req) {
+                serviceThreads.add(Thread.currentThread().getName());
+                return super.updateAsset(userId, req);
+            }
+        };
+        assetService.init();
+
+        ApiV1AssetHandler handler = new ApiV1AssetHandler(assetService, new AssetHistoryService(assetService, props, new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        client = WebTestClient.bindToRouterFunction(new ApiV1AssetRouter().assetRoutes(handler)).build();
+    }
+
+    @Test
+    void updateAsset_returnsSuccess() {
+        client.post().uri("/msa/ext/api/update-asset/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"asset\":10000}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.resultCode").isEqualTo("S")
+                .jsonPath("$.data.userId").isEqualTo(7)
+                .jsonPath("$.data.date").isEqualTo("2025-08-09");
+    }
+
+    @Test
+    void serviceCall_runsOffEventLoop() {
+        client.post().uri("/msa/ext/api/update-asset/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"asset\":10000}")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(serviceThreads).singleElement().asString().startsWith("boundedElastic");
+    }
+
+    @Test
+    void negativeAsset_isBadRequest() {
+        client.post().uri("/msa/ext/api/update-asset/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"asset\":-1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.resultCode").isEqualTo("F");
+    }
+
+    @Test
+    void malformedBody_isBadRequest() {
+        client.post().uri("/msa/ext/api/update-asset/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"asset\":")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.resultCode").isEqualTo("F");
+    }
+
+    @Test
+    void catchUp_thenHistory_reportsSameMultipliers() {
+        client.post().uri("/msa/ext/api/catch-up-asset/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"asset\":10000,\"from\":\"2025-08-07\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.to").isEqualTo("2025-08-09")
+                .jsonPath("$.data.multipliers.length()").isEqualTo(3);
+
+        client.get().uri("/msa/ext/api/multipliers/7?from=2025-08-01&to=2025-08-09")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.resultCode").isEqualTo("S")
+                .jsonPath("$.data.multipliers.length()").isEqualTo(3)
+                .jsonPath("$.data.multipliers[0].date").isEqualTo("2025-08-07");
+    }
+
+    @Test
+    void historyWithBadDate_isBadRequest() {
+        client.get().uri("/msa/ext/api/multipliers/7?from=2025-13-01")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.resultCode").isEqualTo("F");
+    }
+}
@@ -0,0 +1,24 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+
+/**
+ * 다른 패키지의 테스트(예: 복제)에서 AssetService를 시작/종료하기 위한 도우미. (init/shutdown은 package-private)
+ */
+public final class AssetServiceFixture {
+
+    private AssetServiceFixture() {
+    }
+
+    public static AssetService start(AssetProperties props, NormalGenerator normal, Clock clock, MeterRegistry registry) {
+        AssetService service = new AssetService(props, normal, clock, registry);
+        service.init();
+        return service;
+    }
+
+    public static void stop(AssetService service) {
+        service.shutdown();
+    }
+}
@@ -1,9 +1,15 @@
 package com.dontgoback.msa.extension.domain.asset;
 
+import com.dontgoback.msa.extension.domain.asset.dto.CatchUpAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.DailyMultiplier;
+import com.dontgoback.msa.extension.domain.asset.dto.MultiplierHistoryResponse;
 import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.time.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -30,7 +36,7 @@ class AssetServiceTest {
         // given: Z=0 으로 설정 → multiplier ≈ exp(-0.5σ^2) ≈ 0.9998.. 클램프 범위 내
         FakeNormal normal = new FakeNormal(0.0);
         FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
-        AssetService svc = new AssetService(props, normal, clock);
+        AssetService svc = new AssetService(props, normal, clock, new SimpleMeterRegistry());
         svc.init();
 
         var req = new UpdateAssetRequest();
@@ -55,7 +61,7 @@ class AssetServiceTest {
     void negativeOriginal_shouldThrow() {
         FakeNormal normal = new FakeNormal(0.0);
         FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
-        AssetService svc = new AssetService(props, normal, clock);
+        AssetService svc = new AssetService(props, normal, clock, new SimpleMeterRegistry());
         svc.init();
 
         var req = new UpdateAssetRequest();
@@ -75,7 +81,7 @@ class AssetServiceTest {
         // given: 첫 호출 Z=2.0 (꽤 큰 값이지만 클램프로 제한), 두 번째 호출은 캐시 사용
         FakeNormal normal = new FakeNormal(2.0);
         FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
-        AssetService svc = new AssetService(props, normal, clock);
+        AssetService svc = new AssetService(props, normal, clock, new SimpleMeterRegistry());
         svc.init();
 
         var req = new UpdateAssetRequest();
@@ -99,7 +105,7 @@ class AssetServiceTest {
         // given: 첫날 Z=0.0, 다음날 Z=1.0
         FakeNormal normal = new FakeNormal(0.0, 1.0);
         FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
-        AssetService svc = new AssetService(props, normal, clock);
+        AssetService svc = new AssetService(props, normal, clock, new SimpleMeterRegistry());
         svc.init();
 
         var req = new UpdateAssetRequest();
@@ -123,7 +129,7 @@ class AssetServiceTest {
         // given: 매우 큰 Z로 raw multiplier가 상한을 초과하도록 유도
         FakeNormal normal = new FakeNormal(10.0);
         FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
-        AssetService svc = new AssetService(props, normal, clock);
+        AssetService svc = new AssetService(props, normal, clock, new SimpleMeterRegistry());
         svc.init();
 
         var req = new UpdateAssetRequest();
@@ -139,6 +145,218 @@ class AssetServiceTest {
         assertThat(res.getMultiplier()).isEqualTo(maxMul);
     }
 
+    @Test
+    void deterministicMode_sameResultAcrossInstances_withoutRandomSource() {
+        // given: 두 인스턴스(재시작/로드밸런서 뒤 다른 노드)를 같은 secret으로 구성
+        props.getGenerator().setMode(AssetProperties.Generator.Mode.DETERMINISTIC);
+        props.getGenerator().setSecret("test-secret");
+        FakeNormal normal = new FakeNormal(0.0);
+        FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
+        AssetService a = new AssetService(props, normal, clock, new SimpleMeterRegistry());
+        AssetService b = new AssetService(props, normal, clock, new SimpleMeterRegistry());
+        a.init();
+        b.init();
+
+        var req = new UpdateAssetRequest();
+        try {
+            var f = req.getClass().getDeclaredField("asset");
+            f.setAccessible(true);
+            f.set(req, 100_000L);
+        } catch (Exception e) { throw new RuntimeException(e); }
+
+        var r1 = a.updateAsset(5L, req);
+        var r2 = b.updateAsset(5L, req);
+
+        // then: 같은 배수, 클램프 범위 유지, 난수 생성기/저장소 미사용
+        assertThat(r1.getMultiplier()).isEqualTo(r2.getMultiplier());
+        assertThat(r1.getMultiplier()).isBetween(0.95, 1.05);
+        assertThat(normal.calls()).isZero();
+        assertThat(a.dailyMultiplierStats().size()).isZero();
+    }
+
+    @Test
+    void journalEnabled_restartKeepsSameMultiplier(@TempDir Path dir) {
+        // given: 로그/스냅샷 사용, 재시작 전후로 다른 난수를 돌려주는 생성기
+        props.getJournal().setEnabled(true);
+        props.getJournal().setDirectory(dir.toString());
+        FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
+
+        AssetService before = new AssetService(props, new FakeNormal(1.0), clock, new SimpleMeterRegistry());
+        before.init();
+        double first = before.updateAsset(3L, 10_000L, null).getMultiplier();
+        before.shutdown(); // 배포로 인한 종료
+
+        // when: 재시작
+        FakeNormal afterNormal = new FakeNormal(-1.0);
+        AssetService after = new AssetService(props, afterNormal, clock, new SimpleMeterRegistry());
+        after.init();
+        double second = after.updateAsset(3L, 10_000L, null).getMultiplier();
+        after.shutdown();
+
+        // then: 같은 날은 재생성 없이 같은 배수
+        assertThat(second).isEqualTo(first);
+        assertThat(afterNormal.calls()).isZero();
+        assertThat(after.journalStats().restoredEntries()).isEqualTo(1);
+    }
+
+    @Test
+    void metrics_recordUpdates_andStoreHitMiss() {
+        props.getCaffeine().setRecordStats(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FixedClock clock = new FixedClock(java.time.LocalDate.of(2025, 8, 9), KST);
+        AssetService svc = new AssetService(props, new FakeNormal(0.0), clock, registry);
+        svc.init();
+
+        svc.updateAsset(1L, 10_000L, null); // miss
+        svc.updateAsset(1L, 20_000L, null); // hit
+
+        assertThat(registry.get("asset.update").timer().count()).isEqualTo(2);
+        assertThat(registry.get("asset.update.applied.percent").summary().mean()).isBetween(95.0, 105.0);
+        assertThat(registry.get("asset.multiplier.store.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("asset.multiplier.store.requests").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("asset.multiplier.store.size").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void history_rangeAndCompoundedReturn_surviveExpiryAndRestart(@TempDir Path dir) {
+        props.getHistory().setEnabled(true);
+        props.getHistory().setDirectory(dir.toString());
+        FixedClock clock = new FixedClock(LocalDate.of(2025, 8, 9), KST);
+        AssetService svc = new AssetService(props, new FakeNormal(0.0, 1.0, -1.0, 0.5), clock, new SimpleMeterRegistry());
+        svc.init();
+        AssetHistoryService history = historyOf(svc);
+
+        double[] applied = new double[4];
+        for (int i = 0; i < 4; i++) {
+            applied[i] = svc.updateAsset(5L, 10_000L, null).getMultiplier();
+            clock.plusDays(1); // 다음 날 첫 요청에서 보관 기간이 지난 날짜는 이력 파일로
+        }
+        LocalDate from = LocalDate.of(2025, 8, 9);
+        LocalDate to = LocalDate.of(2025, 8, 12);
+        var live = history.multiplierHistory(5L, from, to);
+        history.shutdown();
+        svc.shutdown();
+
+        // when: 재시작 (로그 없이, 다른 난수)
+        FakeNormal afterNormal = new FakeNormal(-2.0);
+        AssetService after = new AssetService(props, afterNormal, clock, new SimpleMeterRegistry());
+        after.init();
+        AssetHistoryService afterHistory = historyOf(after);
+        var restored = afterHistory.multiplierHistory(5L, from, to);
+        double firstDay = after.updateAsset(5L, 10_000L, from).getMultiplier();
+        afterHistory.shutdown();
+        after.shutdown();
+
+        // then: 같은 배수, 복리 수익률 = 배수의 곱
+        double product = applied[0] * applied[1] * applied[2] * applied[3];
+        for (var res : new MultiplierHistoryResponse[]{live, restored}) {
+            assertThat(res.getMultipliers()).extracting(DailyMultiplier::getMultiplier)
+                    .containsExactly(applied[0], applied[1], applied[2], applied[3]);
+            assertThat(res.getCompoundedMultiplier()).isCloseTo(product, within(1e-12));
+            assertThat(res.getCompoundedReturnPercent()).isCloseTo((product - 1.0) * 100.0, within(1e-9));
+        }
+        assertThat(firstDay).isEqualTo(applied[0]);
+        assertThat(afterNormal.calls()).isZero();
+    }
+
+    @Test
+    void catchUp_equalsDayByDayUpdates_andSkipsNothing() {
+        FixedClock clock = new FixedClock(LocalDate.of(2025, 8, 9), KST);
+        AssetService svc = new AssetService(props, new FakeNormal(1.0, -1.0, 2.0), clock, new SimpleMeterRegistry());
+        svc.init();
+
+        var res = historyOf(svc).catchUpAsset(9L, new CatchUpAssetRequest(12_345L, LocalDate.of(2025, 8, 7), null));
+
+        long expected = 12_345L;
+        for (var day : res.getMultipliers()) {
+            assertThat(svc.updateAsset(9L, 0L, LocalDate.parse(day.getDate())).getMultiplier())
+                    .isEqualTo(day.getMultiplier()); // 같은 날은 같은 배수
+            expected = Math.round(expected * day.getMultiplier());
+        }
+        assertThat(res.getMultipliers()).extracting(DailyMultiplier::getDate)
+                .containsExactly("2025-08-07", "2025-08-08", "2025-08-09");
+        assertThat(res.getUpdatedAsset()).isEqualTo(expected);
+        assertThat(res.getTo()).isEqualTo("2025-08-09");
+    }
+
+    @Test
+    void range_rejectsFutureAndTooLong() {
+        props.getHistory().setMaxRangeDays(30);
+        FixedClock clock = new FixedClock(LocalDate.of(2025, 8, 9), KST);
+        AssetService svc = new AssetService(props, new FakeNormal(0.0), clock, new SimpleMeterRegistry());
+        svc.init();
+        AssetHistoryService history = historyOf(svc);
+
+        assertThatThrownBy(() -> history.multiplierHistory(1L, LocalDate.of(2025, 8, 9), LocalDate.of(2025, 8, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("after today");
+        assertThatThrownBy(() -> history.multiplierHistory(1L, LocalDate.of(2025, 7, 1), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most 30 days");
+        assertThat(history.multiplierHistory(1L, LocalDate.of(2025, 8, 1), null).getMultipliers()).isEmpty();
+    }
+
+    @Test
+    void distribution_countsAppliedMultipliersPerDay_andClampHits() {
+        FixedClock clock = new FixedClock(LocalDate.of(2025, 8, 9), KST);
+        AssetService svc = new AssetService(props, new FakeNormal(1.0, -1.0, 10.0), clock, new SimpleMeterRegistry());
+        svc.init();
+
+        historyOf(svc).catchUpAsset(9L, new CatchUpAssetRequest(12_345L, LocalDate.of(2025, 8, 7), null)); // 마지막 날은 +5% 클램프
+
+        var res = svc.multiplierDistribution(3);
+        assertThat(res.getFrom()).isEqualTo("2025-08-07");
+        assertThat(res.getDays()).extracting(d -> d.getDate())
+                .containsExactly("2025-08-07", "2025-08-08", "2025-08-09");
+        assertThat(res.getTotal().getCount()).isEqualTo(3);
+        assertThat(res.getTotal().getUpperClampCount()).isEqualTo(1);
+        assertThat(res.getTotal().getChangePercentQuantiles().get("p99")).isCloseTo(5.0, within(0.01));
+        assertThatThrownBy(() -> svc.multiplierDistribution(props.getDistribution().getRetentionDays() + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fixedClamp_minEqualsMax_updatesAndRecordsDistribution() {
+        props.getClamp().setMinPercent(1.0);
+        props.getClamp().setMaxPercent(1.0);
+        FixedClock clock = new FixedClock(LocalDate.of(2025, 8, 9), KST);
+        AssetService svc = new AssetService(props, new FakeNormal(-1.0), clock, new SimpleMeterRegistry());
+        svc.init();
+
+        assertThat(svc.updateAsset(1L, 1_000L, null).getUpdatedAsset()).isEqualTo(1_010L);
+        var total = svc.multiplierDistribution(1).getTotal();
+        assertThat(total.getCount()).isEqualTo(1);
+        assertThat(total.getChangePercentQuantiles().get("p50")).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void leaderboard_ranksTodaysUpdatesByGainAndLoss() {
+        FixedClock clock = new FixedClock(LocalDate.of(2025, 8, 9), KST);
+        AssetService svc = new AssetService(props, new FakeNormal(1.0, -1.0, 2.0), clock, new SimpleMeterRegistry());
+        svc.init();
+
+        svc.updateAsset(1L, 1_000L, null);  // +
+        svc.updateAsset(2L, 1_000L, null);  // -
+        svc.updateAsset(3L, 1_000L, null);  // ++
+        svc.updateAsset(1L, 5_000L, null);  // 같은 날 다시: 더 큰 이득으로 한 번만
+        svc.updateAsset(4L, 9_000L, LocalDate.of(2025, 8, 8)); // 오늘이 아닌 날짜는 제외
+
+        var res = svc.leaderboard(10);
+        assertThat(res.getDate()).isEqualTo("2025-08-09");
+        assertThat(res.getGainers()).extracting(e -> e.getUserId()).containsExactly(1L, 3L);
+        assertThat(res.getGainers().get(0).getOriginalAsset()).isEqualTo(5_000L);
+        assertThat(res.getLosers()).extracting(e -> e.getUserId()).containsExactly(2L);
+        assertThat(svc.leaderboard(1).getGainers()).hasSize(1);
+        assertThatThrownBy(() -> svc.leaderboard(props.getLeaderboard().getSize() + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AssetHistoryService historyOf(AssetService svc) {
+        AssetHistoryService history = new AssetHistoryService(svc, props, new SimpleMeterRegistry());
+        history.init();
+        return history;
+    }
+
     class FakeNormal implements NormalGenerator {
         private final double[] values;
         private int idx = 0;
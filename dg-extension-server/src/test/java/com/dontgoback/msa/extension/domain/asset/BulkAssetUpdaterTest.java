@@ -0,0 +1,104 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BulkAssetUpdaterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    AssetProperties props;
+    AssetService assetService;
+
+    @BeforeEach
+    void setUp() {
+        props = new AssetProperties();
+        props.getCaffeine().setMaxSize(10_000);
+        props.getBulk().setWindow(4);
+
+        ZoneId kst = ZoneId.of("Asia/Seoul");
+        Clock clock = Clock.fixed(LocalDate.of(2025, 8, 9).atStartOfDay(kst).toInstant(), kst);
+        assetService = new AssetService(props, new ThreadLocalNormalGenerator(), clock, new SimpleMeterRegistry());
+        assetService.init();
+    }
+
+    @Test
+    void eachLine_getsOneResult_inInputOrder() throws Exception {
+        props.getBulk().setParallelism(4);
+        StringBuilder ndjson = new StringBuilder();
+        for (int userId = 1; userId <= 100; userId++) {
+            ndjson.append("{\"userId\":").append(userId).append(",\"asset\":1000}\n");
+        }
+
+        List<JsonNode> results = run(new BulkAssetUpdater(assetService, objectMapper, props), ndjson.toString());
+
+        assertThat(results).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(results.get(i).get("resultCode").asText()).isEqualTo("S");
+            assertThat(results.get(i).get("data").get("userId").asLong()).isEqualTo(i + 1);
+            assertThat(results.get(i).get("data").get("date").asText()).isEqualTo("2025-08-09");
+        }
+    }
+
+    @Test
+    void badRecord_failsAlone_andStreamContinues() throws Exception {
+        props.getBulk().setParallelism(1);
+        props.getBulk().setMaxLineBytes(64);
+        String ndjson = """
+                {"userId":1,"asset":1000,"snapshotDay":"2025-08-08"}
+                {"userId":2,"asset":-1}
+                not-json
+
+                {"asset":1000}
+                {"userId":3,"asset":1000,"padding":"xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx"}
+                {"userId":4,"asset":1000}""";
+
+        List<JsonNode> results = run(new BulkAssetUpdater(assetService, objectMapper, props), ndjson);
+
+        assertThat(results).extracting(r -> r.get("resultCode").asText())
+                .containsExactly("S", "F", "F", "F", "F", "S");
+        assertThat(results.get(0).get("data").get("date").asText()).isEqualTo("2025-08-08");
+        assertThat(results.get(1).get("message").asText()).isEqualTo("line 2: asset must be >= 0");
+        assertThat(results.get(2).get("message").asText()).startsWith("line 3:");
+        assertThat(results.get(3).get("message").asText()).isEqualTo("line 5: userId must not be null");
+        assertThat(results.get(4).get("message").asText()).contains("exceeds");
+        assertThat(results.get(5).get("data").get("userId").asLong()).isEqualTo(4);
+    }
+
+    @Test
+    void sameUserSameDay_inBulk_matchesSingleUpdate() throws Exception {
+        var single = assetService.updateAsset(9L, 1000L, null);
+
+        List<JsonNode> results = run(new BulkAssetUpdater(assetService, objectMapper, props),
+                "{\"userId\":9,\"asset\":1000}\n");
+
+        assertThat(results.get(0).get("data").get("multiplier").asDouble()).isEqualTo(single.getMultiplier());
+    }
+
+    private List<JsonNode> run(BulkAssetUpdater updater, String ndjson) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            updater.process(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), out);
+        } finally {
+            updater.shutdown();
+        }
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+}
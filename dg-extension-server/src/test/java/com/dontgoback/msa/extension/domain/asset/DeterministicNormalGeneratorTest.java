@@ -0,0 +1,106 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DeterministicNormalGeneratorTest {
+
+    static final int N = 200_000;
+    static final long DAY = 20_309L; // 2025-08-09
+
+    @Test
+    void sameInput_sameZ_acrossInstances() {
+        var a = new DeterministicNormalGenerator("secret");
+        var b = new DeterministicNormalGenerator("secret");
+
+        assertThat(a.nextZ(42L, DAY)).isEqualTo(b.nextZ(42L, DAY));
+        assertThat(a.nextZ(42L, DAY)).isNotEqualTo(a.nextZ(42L, DAY + 1));
+        assertThat(a.nextZ(42L, DAY)).isNotEqualTo(a.nextZ(43L, DAY));
+    }
+
+    @Test
+    void differentSecret_differentZ() {
+        var a = new DeterministicNormalGenerator("secret-a");
+        var b = new DeterministicNormalGenerator("secret-b");
+
+        assertThat(a.nextZ(42L, DAY)).isNotEqualTo(b.nextZ(42L, DAY));
+    }
+
+    @Test
+    void blankSecret_shouldThrow() {
+        assertThatThrownBy(() -> new DeterministicNormalGenerator(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void distribution_matchesBoxMuller_andStandardNormal() {
+        // given: 연속 userId(같은 날) — 실제 운영 입력과 같은 모양
+        var deterministic = new DeterministicNormalGenerator("secret");
+        double[] hashed = new double[N];
+        for (int i = 0; i < N; i++) hashed[i] = deterministic.nextZ(i, DAY);
+
+        var boxMuller = new ThreadLocalNormalGenerator();
+        double[] random = new double[N];
+        for (int i = 0; i < N; i++) random[i] = boxMuller.nextZ();
+
+        // then: 두 경로 모두 N(0,1)의 적률과 KS 통계량 허용 범위 안
+        assertStandardNormal(hashed);
+        assertStandardNormal(random);
+        assertThat(Math.abs(mean(hashed) - mean(random))).isLessThan(0.02);
+    }
+
+    @Test
+    void distribution_acrossDays_forSameUser() {
+        var deterministic = new DeterministicNormalGenerator("secret");
+        double[] z = new double[N];
+        for (int i = 0; i < N; i++) z[i] = deterministic.nextZ(7L, i);
+
+        assertStandardNormal(z);
+    }
+
+    static void assertStandardNormal(double[] z) {
+        double mean = mean(z);
+        double var = 0, skew = 0, kurt = 0;
+        for (double v : z) {
+            double d = v - mean;
+            var += d * d;
+            skew += d * d * d;
+            kurt += d * d * d * d;
+        }
+        var /= z.length;
+        skew = skew / z.length / Math.pow(var, 1.5);
+        kurt = kurt / z.length / (var * var);
+
+        assertThat(mean).isCloseTo(0.0, within(0.015));
+        assertThat(var).isCloseTo(1.0, within(0.02));
+        assertThat(skew).isCloseTo(0.0, within(0.03));
+        assertThat(kurt).isCloseTo(3.0, within(0.08));
+
+        // Kolmogorov–Smirnov: 유의수준 0.01% 임계값 ≈ 2.15 / sqrt(n)
+        double[] sorted = z.clone();
+        Arrays.sort(sorted);
+        double d = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            double cdf = normalCdf(sorted[i]);
+            d = Math.max(d, Math.max(cdf - (double) i / sorted.length, (double) (i + 1) / sorted.length - cdf));
+        }
+        assertThat(d).isLessThan(2.15 / Math.sqrt(sorted.length));
+    }
+
+    static double mean(double[] z) {
+        double sum = 0;
+        for (double v : z) sum += v;
+        return sum / z.length;
+    }
+
+    /** Φ(x) = (1 + erf(x/√2)) / 2, erf는 Abramowitz–Stegun 7.1.26 근사(오차 1.5e-7) */
+    static double normalCdf(double x) {
+        double t = 1.0 / (1.0 + 0.3275911 * Math.abs(x) / Math.sqrt(2));
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        double erf = 1.0 - poly * Math.exp(-x * x / 2);
+        return x >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+}
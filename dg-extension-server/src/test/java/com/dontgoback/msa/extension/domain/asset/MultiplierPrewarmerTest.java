@@ -0,0 +1,82 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MultiplierPrewarmerTest {
+
+    static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    static final LocalDate TODAY = LocalDate.of(2025, 8, 9);
+
+    AssetProperties props;
+    CountingNormal normal;
+
+    @BeforeEach
+    void setUp() {
+        props = new AssetProperties();
+        props.getCaffeine().setMaxSize(10_000);
+        props.getPrewarm().setParallelism(2);
+        props.getPrewarm().setBatchSize(64);
+        props.getPrewarm().setCpuBudget(1.0);
+        normal = new CountingNormal();
+    }
+
+    @Test
+    void activeUsers_getTomorrowsMultiplier_beforeMidnight() {
+        AssetService beforeMidnight = service(Clock.fixed(TODAY.atTime(23, 50).atZone(KST).toInstant(), KST));
+        for (long userId = 1; userId <= 500; userId++) {
+            beforeMidnight.updateAsset(userId, 1000L, null);
+        }
+        beforeMidnight.updateAsset(1_000L, 1000L, TODAY.minusDays(1)); // 어제만 활동한 유저
+
+        int users = new MultiplierPrewarmer(beforeMidnight, props, Clock.systemDefaultZone()).prewarm(TODAY.plusDays(1));
+
+        assertThat(users).isEqualTo(501);
+        int generated = normal.calls.get();
+
+        // 자정 이후 첫 요청: 새로 생성하지 않고 미리 만든 값을 사용
+        for (long userId = 1; userId <= 500; userId++) {
+            beforeMidnight.updateAsset(userId, 1000L, TODAY.plusDays(1));
+        }
+        assertThat(normal.calls.get()).isEqualTo(generated);
+    }
+
+    @Test
+    void prewarmAgain_doesNotRegenerate() {
+        AssetService svc = service(Clock.fixed(TODAY.atStartOfDay(KST).toInstant(), KST));
+        for (long userId = 1; userId <= 100; userId++) {
+            svc.updateAsset(userId, 1000L, null);
+        }
+        MultiplierPrewarmer prewarmer = new MultiplierPrewarmer(svc, props, Clock.systemDefaultZone());
+
+        prewarmer.prewarm(TODAY.plusDays(1));
+        int afterFirst = normal.calls.get();
+        prewarmer.prewarm(TODAY.plusDays(1));
+
+        assertThat(normal.calls.get()).isEqualTo(afterFirst);
+    }
+
+    private AssetService service(Clock clock) {
+        AssetService svc = new AssetService(props, normal, clock, new SimpleMeterRegistry());
+        svc.init();
+        return svc;
+    }
+
+    static class CountingNormal implements NormalGenerator {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public double nextZ() {
+            calls.incrementAndGet();
+            return 0.5;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.dontgoback.msa.extension.domain.asset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static com.dontgoback.msa.extension.domain.asset.DeterministicNormalGeneratorTest.assertStandardNormal;
+import static org.assertj.core.api.Assertions.*;
+
+class ZigguratNormalGeneratorTest {
+
+    static final int N = 200_000;
+
+    @Test
+    void seededSamples_matchStandardNormal() {
+        SplittableRandom random = new SplittableRandom(20250809L);
+        double[] z = new double[N];
+        for (int i = 0; i < N; i++) z[i] = ZigguratNormalGenerator.sample(random);
+
+        assertStandardNormal(z);
+    }
+
+    @Test
+    void tails_haveNormalMass() {
+        // P(|Z| > 3) ≈ 0.0027, P(|Z| > R=3.4426) ≈ 0.000576 — 꼬리 분기까지 검증
+        SplittableRandom random = new SplittableRandom(7L);
+        int n = 2_000_000;
+        int beyond3 = 0, beyondR = 0;
+        for (int i = 0; i < n; i++) {
+            double z = Math.abs(ZigguratNormalGenerator.sample(random));
+            if (z > 3.0) beyond3++;
+            if (z > 3.442619855899) beyondR++;
+        }
+
+        assertThat(beyond3 / (double) n).isCloseTo(0.0026998, within(0.0003));
+        assertThat(beyondR / (double) n).isCloseTo(0.000576, within(0.0001));
+    }
+
+    @Test
+    void bulkAndSingle_matchStandardNormal() {
+        ZigguratNormalGenerator generator = new ZigguratNormalGenerator();
+        double[] bulk = new double[N];
+        generator.nextZ(bulk);
+        assertStandardNormal(bulk);
+
+        double[] single = new double[N];
+        for (int i = 0; i < N; i++) single[i] = generator.nextZ();
+        assertStandardNormal(single);
+    }
+
+    @Test
+    void boxMuller_pairedBulk_matchesStandardNormal() {
+        double[] z = new double[N + 1]; // 홀수 길이: 마지막 한 쌍은 cos만 사용
+        new ThreadLocalNormalGenerator().nextZ(z);
+
+        assertStandardNormal(z);
+    }
+}
@@ -0,0 +1,115 @@
+package com.dontgoback.msa.extension.domain.asset.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AssetAuditLogTest {
+
+    long DAY = 20_309L; // 2025-08-09
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendedRecords_areWritten_andDecodedByReader() throws Exception {
+        AssetAuditLog audit = new AssetAuditLog(dir, 1024, 64, 1024 * 1024, 4);
+        audit.open(Duration.ofMillis(10));
+        audit.append(1_754_700_000_000L, 7L, DAY, 10_000L, 1.0123, 10_123L);
+        audit.append(1_754_700_000_001L, 8L, DAY, 0L, 0.97, 0L);
+        audit.close();
+
+        List<AssetAuditRecord> records = readAll();
+        assertThat(records).containsExactly(
+                new AssetAuditRecord(1_754_700_000_000L, 7L, DAY, 10_000L, 1.0123, 10_123L),
+                new AssetAuditRecord(1_754_700_000_001L, 8L, DAY, 0L, 0.97, 0L));
+        assertThat(records.get(0).snapshotDay()).hasToString("2025-08-09");
+        assertThat(audit.writtenRecords()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentProducers_loseNothing_whenBufferKeepsUp() throws Exception {
+        int threads = 4;
+        int perThread = 20_000;
+        AssetAuditLog audit = new AssetAuditLog(dir, 1 << 16, 1024, 64L * 1024 * 1024, 4);
+        audit.open(Duration.ofMillis(1));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            long base = t * 1_000_000L;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    long userId = base + i;
+                    while (!audit.append(i, userId, DAY, userId, 1.0, userId)) Thread.onSpinWait();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        audit.close();
+
+        List<AssetAuditRecord> records = readAll();
+        Set<Long> users = new HashSet<>();
+        for (AssetAuditRecord r : records) {
+            assertThat(r.original()).isEqualTo(r.userId()); // 다른 스레드 값과 섞이지 않음
+            users.add(r.userId());
+        }
+        assertThat(records).hasSize(threads * perThread);
+        assertThat(users).hasSize(threads * perThread);
+    }
+
+    @Test
+    void fullBuffer_dropsWithoutBlocking() {
+        AssetAuditLog audit = new AssetAuditLog(dir, 4, 4, 1024, 1); // writer 미시작
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(audit.append(i, i, DAY, 1L, 1.0, 1L)).isTrue();
+        }
+        assertThat(audit.append(4, 4, DAY, 1L, 1.0, 1L)).isFalse();
+        assertThat(audit.droppedRecords()).isEqualTo(1);
+    }
+
+    @Test
+    void rolling_keepsOnlyMaxFiles() throws Exception {
+        // 파일 하나에 레코드 2건까지
+        long maxFileBytes = AssetAuditLog.HEADER_BYTES + 2L * AssetAuditLog.RECORD_BYTES;
+        AssetAuditLog audit = new AssetAuditLog(dir, 16, 2, maxFileBytes, 2);
+        audit.open(Duration.ofMillis(1));
+        for (int i = 0; i < 10; i++) {
+            while (!audit.append(i, i, DAY, 1L, 1.0, 1L)) Thread.onSpinWait();
+        }
+        audit.close();
+
+        try (var files = Files.list(dir)) {
+            assertThat(files.filter(f -> f.toString().endsWith(AssetAuditLog.FILE_SUFFIX))).hasSize(2);
+        }
+        List<AssetAuditRecord> records = readAll();
+        assertThat(records).isNotEmpty();
+        assertThat(records.get(records.size() - 1).userId()).isEqualTo(9L); // 최신 레코드는 남음
+    }
+
+    private List<AssetAuditRecord> readAll() throws Exception {
+        List<AssetAuditRecord> records = new ArrayList<>();
+        for (long seq : AssetAuditReader.fileSeqs(dir)) {
+            AssetAuditReader.read(AssetAuditReader.filePath(dir, seq), records::add);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,36 @@
+package com.dontgoback.msa.extension.domain.asset.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MultiplierDistributionTest {
+
+    static final long TODAY = 20_309L;
+
+    @Test
+    void recordsOnlyRetainedDays() {
+        MultiplierDistribution distribution = new MultiplierDistribution(0.95, 1.05, 0.0001, 3);
+
+        distribution.record(TODAY, TODAY, 1.01);
+        distribution.record(TODAY, TODAY - 2, 0.99);
+        distribution.record(TODAY, TODAY - 3, 1.0); // 보관 범위 밖
+        distribution.record(TODAY, TODAY + 1, 1.0); // 미래
+
+        assertThat(distribution.snapshot(TODAY).count()).isEqualTo(1);
+        assertThat(distribution.snapshot(TODAY - 2).count()).isEqualTo(1);
+        assertThat(distribution.snapshot(TODAY - 3)).isNull();
+        assertThat(distribution.snapshot(TODAY + 1)).isNull();
+    }
+
+    @Test
+    void newDay_replacesOldestSketch() {
+        MultiplierDistribution distribution = new MultiplierDistribution(0.95, 1.05, 0.0001, 3);
+        distribution.record(TODAY, TODAY - 2, 0.99);
+
+        distribution.record(TODAY + 1, TODAY + 1, 1.02); // 같은 칸: 3일 전 스케치를 교체
+
+        assertThat(distribution.snapshot(TODAY - 2)).isNull();
+        assertThat(distribution.snapshot(TODAY + 1).count()).isEqualTo(1);
+    }
+}
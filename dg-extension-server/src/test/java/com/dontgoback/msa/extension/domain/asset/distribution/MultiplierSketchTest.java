@@ -0,0 +1,117 @@
+package com.dontgoback.msa.extension.domain.asset.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MultiplierSketchTest {
+
+    static final long DAY = 20_309L;
+    static final double MIN = 0.95;
+    static final double MAX = 1.05;
+    static final int BINS = 1000; // 0.01%p
+
+    @Test
+    void quantiles_areWithinOneBinOfExact() {
+        MultiplierSketch sketch = new MultiplierSketch(DAY, MIN, MAX, BINS, 4);
+        SplittableRandom random = new SplittableRandom(7);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(-0.0002 + 0.02 * gaussian(random));
+            sketch.record(Math.min(MAX, Math.max(MIN, values[i])));
+        }
+        Arrays.sort(values);
+
+        MultiplierSketch.Snapshot snapshot = sketch.snapshot();
+        double binWidth = (MAX - MIN) / BINS;
+        for (double q : new double[]{0.05, 0.25, 0.5, 0.75, 0.95}) {
+            double exact = values[(int) Math.ceil(q * values.length) - 1];
+            assertThat(snapshot.quantile(q)).as("q=%s", q).isCloseTo(exact, within(binWidth));
+        }
+        assertThat(snapshot.count()).isEqualTo(values.length);
+    }
+
+    @Test
+    void clampHits_areCountedExactly() {
+        MultiplierSketch sketch = new MultiplierSketch(DAY, MIN, MAX, BINS, 1);
+        sketch.record(MIN);
+        sketch.record(MIN);
+        sketch.record(MAX);
+        sketch.record(1.0);
+
+        MultiplierSketch.Snapshot snapshot = sketch.snapshot();
+        assertThat(snapshot.lowerClampCount()).isEqualTo(2);
+        assertThat(snapshot.upperClampCount()).isEqualTo(1);
+        assertThat(snapshot.clampRatio()).isEqualTo(0.75);
+        assertThat(snapshot.quantile(0.0)).isEqualTo(MIN);
+        assertThat(snapshot.quantile(1.0)).isEqualTo(MAX);
+        assertThat(snapshot.quantile(0.75)).isCloseTo(1.0, within((MAX - MIN) / BINS));
+    }
+
+    @Test
+    void fixedClamp_minEqualsMax_countsEverythingInOneBin() {
+        MultiplierSketch sketch = new MultiplierSketch(DAY, 1.0, 1.0, BINS, 2);
+        sketch.record(1.0);
+        sketch.record(1.0);
+
+        MultiplierSketch.Snapshot snapshot = sketch.snapshot();
+        assertThat(snapshot.count()).isEqualTo(2);
+        assertThat(snapshot.clampRatio()).isZero();
+        assertThat(snapshot.quantile(0.5)).isEqualTo(1.0);
+        assertThat(snapshot.merge(snapshot).count()).isEqualTo(4);
+    }
+
+    @Test
+    void merge_equalsRecordingIntoOneSketch() {
+        MultiplierSketch a = new MultiplierSketch(DAY, MIN, MAX, BINS, 2);
+        MultiplierSketch b = new MultiplierSketch(DAY + 1, MIN, MAX, BINS, 2);
+        MultiplierSketch both = new MultiplierSketch(DAY, MIN, MAX, BINS, 2);
+        for (int i = 0; i < 1_000; i++) {
+            double value = MIN + (MAX - MIN) * i / 1_000.0;
+            (i % 3 == 0 ? a : b).record(value);
+            both.record(value);
+        }
+
+        assertThat(a.snapshot().merge(b.snapshot()).counts()).isEqualTo(both.snapshot().counts());
+        assertThatThrownBy(() -> a.snapshot().merge(new MultiplierSketch(DAY, MIN, MAX, 10, 1).snapshot()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentRecording_losesNothing_andMemoryStaysFixed() throws Exception {
+        MultiplierSketch sketch = new MultiplierSketch(DAY, MIN, MAX, BINS, 8);
+        long bytesBefore = sketch.countBytes();
+        int threads = 8;
+        int perThread = 200_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    sketch.record(1.0); // 모든 스레드가 같은 칸
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sketch.snapshot().count()).isEqualTo((long) threads * perThread);
+        assertThat(sketch.countBytes()).isEqualTo(bytesBefore);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,125 @@
+package com.dontgoback.msa.extension.domain.asset.history;
+
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MultiplierHistoryTest {
+
+    long DAY = 20_309L; // 2025-08-09
+
+    @TempDir
+    Path dir;
+
+    MultiplierHistory history;
+
+    @AfterEach
+    void tearDown() {
+        if (history != null) history.close();
+    }
+
+    @Test
+    void archivedDays_areFoundByUserId_inAnyInsertOrder() throws Exception {
+        history = open();
+        int users = 10_000;
+        MultiplierHistory.Batch batch = new MultiplierHistory.Batch();
+        Random random = new Random(42);
+        for (int i = 0; i < users; i++) {
+            long userId = random.nextInt(1_000_000) * 2L; // 짝수만 기록
+            batch.accept(DailyMultiplierStore.packKey(userId, DAY), valueOf(userId, DAY));
+            batch.accept(DailyMultiplierStore.packKey(userId, DAY + 1), valueOf(userId, DAY + 1));
+        }
+        history.archive(batch);
+
+        random = new Random(42);
+        for (int i = 0; i < users; i++) {
+            long userId = random.nextInt(1_000_000) * 2L;
+            assertThat(history.find(userId, DAY)).isEqualTo(valueOf(userId, DAY));
+            assertThat(history.find(userId, DAY + 1)).isEqualTo(valueOf(userId, DAY + 1));
+            assertThat(history.find(userId + 1, DAY)).isNaN();
+        }
+        assertThat(history.days()).isEqualTo(2);
+        assertThat(history.find(2L, DAY + 2)).isNaN();
+    }
+
+    @Test
+    void archivingSameDayAgain_mergesAndKeepsExistingValues() throws Exception {
+        history = open();
+        history.archive(batchOf(DAY, new long[]{1, 3}, new double[]{1.01, 1.03}));
+        history.archive(batchOf(DAY, new long[]{3, 2}, new double[]{0.5, 1.02}));
+
+        assertThat(history.find(1, DAY)).isEqualTo(1.01);
+        assertThat(history.find(2, DAY)).isEqualTo(1.02);
+        assertThat(history.find(3, DAY)).isEqualTo(1.03); // 기존 값 우선
+    }
+
+    @Test
+    void reopen_mapsExistingFiles_andSkipsBrokenOnes() throws Exception {
+        history = open();
+        history.archive(batchOf(DAY, new long[]{7}, new double[]{0.99}));
+        history.close();
+        Files.write(dir.resolve("multipliers-2025-08-10.col"), new byte[]{1, 2, 3}); // 잘린 파일
+
+        history = open();
+
+        assertThat(history.hasDay(DAY)).isTrue();
+        assertThat(history.hasDay(DAY + 1)).isFalse();
+        assertThat(history.find(7, DAY)).isEqualTo(0.99);
+    }
+
+    @Test
+    void expireBefore_deletesOlderDayFiles() throws Exception {
+        history = open();
+        history.archive(batchOf(DAY, new long[]{1}, new double[]{1.0}));
+        history.archive(batchOf(DAY + 1, new long[]{1}, new double[]{1.0}));
+
+        history.expireBefore(DAY + 1);
+
+        assertThat(history.hasDay(DAY)).isFalse();
+        assertThat(Files.exists(history.filePath(DAY))).isFalse();
+        assertThat(history.hasDay(DAY + 1)).isTrue();
+    }
+
+    @Test
+    void sort_ordersKeysAndCarriesValues() {
+        int n = 5_000;
+        long[] keys = new long[n];
+        double[] values = new double[n];
+        Random random = new Random(7);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(1_000); // 중복 포함
+            values[i] = keys[i] * 0.5;
+        }
+        MultiplierHistory.sort(keys, values, 0, n - 1);
+
+        for (int i = 0; i < n; i++) {
+            if (i > 0) assertThat(keys[i]).isGreaterThanOrEqualTo(keys[i - 1]);
+            assertThat(values[i]).isEqualTo(keys[i] * 0.5);
+        }
+    }
+
+    private MultiplierHistory open() throws Exception {
+        MultiplierHistory opened = new MultiplierHistory(dir);
+        opened.open();
+        return opened;
+    }
+
+    private static MultiplierHistory.Batch batchOf(long day, long[] userIds, double[] values) {
+        MultiplierHistory.Batch batch = new MultiplierHistory.Batch();
+        for (int i = 0; i < userIds.length; i++) {
+            batch.accept(DailyMultiplierStore.packKey(userIds[i], day), values[i]);
+        }
+        return batch;
+    }
+
+    private static double valueOf(long userId, long day) {
+        return 0.95 + ((userId * 31 + day) % 1000) / 10_000.0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.dontgoback.msa.extension.domain.asset.kernel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+/**
+ * Vector API 구현을 Math.exp 기준(스칼라 구현)과 비교한다. 테스트 JVM은 --add-modules jdk.incubator.vector로 뜬다(build.gradle).
+ */
+class MultiplierKernelTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.02, 0.95, 1.05",   // 운영 설정 (±5%)
+            "0.5,  0.01, 6.0",    // 넓은 클램프: 범위 축소 경로
+            "3.0,  0.0,  1e300",  // exp가 비정규 수/최대치에 닿는 구간: 스칼라로 대체되는 묶음
+    })
+    void vector_matchesMathExp_withinFewUlps(double sigma, double minMul, double maxMul) {
+        assumeThat(MultiplierKernels.vectorApiAvailable()).isTrue();
+        double mu = -0.5 * sigma * sigma;
+        MultiplierKernel vector = MultiplierKernels.create(mu, sigma, minMul, maxMul, true);
+        MultiplierKernel scalar = MultiplierKernels.scalar(mu, sigma, minMul, maxMul);
+        assertThat(vector.name()).startsWith("vector");
+
+        int n = 100_003; // 레인 수의 배수가 아님 (꼬리 포함)
+        double[] z = new double[n];
+        Random random = new Random(3);
+        for (int i = 0; i < n; i++) {
+            z[i] = random.nextGaussian() * 3 + (i % 1000 == 0 ? random.nextGaussian() * 100 : 0);
+        }
+        double[] expected = new double[n];
+        double[] actual = new double[n];
+        scalar.apply(z, expected, n);
+        vector.apply(z, actual, n);
+
+        for (int i = 0; i < n; i++) {
+            assertThat(actual[i]).isBetween(minMul, maxMul);
+            assertThat(actual[i]).isCloseTo(expected[i], within(4 * Math.ulp(expected[i])));
+        }
+    }
+
+    @Test
+    void vectorDisabled_fallsBackToScalar_bitForBit() {
+        double sigma = 0.02;
+        double mu = -0.5 * sigma * sigma;
+        MultiplierKernel kernel = MultiplierKernels.create(mu, sigma, 0.95, 1.05, false);
+
+        double[] z = {-10.0, -1.0, 0.0, 0.5, 1.0, 10.0};
+        double[] out = new double[z.length];
+        kernel.apply(z, out, z.length);
+
+        assertThat(kernel.name()).isEqualTo("scalar");
+        for (int i = 0; i < z.length; i++) {
+            assertThat(out[i]).isEqualTo(Math.min(1.05, Math.max(0.95, Math.exp(mu + sigma * z[i]))));
+        }
+        assertThat(out[0]).isEqualTo(0.95);
+        assertThat(out[5]).isEqualTo(1.05);
+    }
+
+    @Test
+    void inPlace_andPartialLength() {
+        MultiplierKernel kernel = MultiplierKernels.create(0.0, 0.02, 0.95, 1.05, true);
+        double[] values = {0.0, 0.0, 0.0, 7.0};
+
+        kernel.apply(values, values, 3);
+
+        assertThat(values).containsExactly(1.0, 1.0, 1.0, 7.0);
+    }
+}
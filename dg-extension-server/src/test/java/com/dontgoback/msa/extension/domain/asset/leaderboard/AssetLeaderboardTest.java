@@ -0,0 +1,99 @@
+package com.dontgoback.msa.extension.domain.asset.leaderboard;
+
+import com.dontgoback.msa.extension.domain.asset.dto.LeaderboardEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AssetLeaderboardTest {
+
+    static final long TODAY = 20_309L;
+
+    @Test
+    void concurrentUpdates_keepExactTopN_oncePerUser() throws Exception {
+        AssetLeaderboard leaderboard = new AssetLeaderboard(10, 0);
+        int threads = 8;
+        int usersPerThread = 5_000;
+        long[] gain = new long[threads * usersPerThread]; // 유저별 가장 큰 이득 (손실이면 음수 중 가장 작은 값)
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int base = t * usersPerThread;
+            SplittableRandom random = new SplittableRandom(t);
+            long[] originals = random.longs(usersPerThread * 3L, 0, 1_000_000).toArray();
+            double[] multipliers = random.doubles(usersPerThread, 0.95, 1.05).toArray();
+            for (int i = 0; i < usersPerThread * 3; i++) {
+                int user = i % usersPerThread;
+                long change = Math.round(originals[i] * multipliers[user]) - originals[i];
+                gain[base + user] = change > 0 ? Math.max(gain[base + user], change) : Math.min(gain[base + user], change);
+            }
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < usersPerThread * 3; i++) { // 같은 유저를 원금만 바꿔 세 번 갱신
+                    int user = i % usersPerThread;
+                    long updated = Math.round(originals[i] * multipliers[user]);
+                    leaderboard.record(TODAY, TODAY, base + user, originals[i], updated, multipliers[user]);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        List<long[]> expected = new ArrayList<>(); // (userId, change)
+        for (int user = 0; user < gain.length; user++) expected.add(new long[]{user, gain[user]});
+        expected.sort(Comparator.<long[]>comparingLong(e -> -e[1]).thenComparingLong(e -> e[0]));
+
+        AssetLeaderboard.Snapshot snapshot = leaderboard.snapshot(TODAY, 0L);
+        assertThat(snapshot.gainers()).extracting(LeaderboardEntry::getUserId)
+                .containsExactlyElementsOf(expected.subList(0, 10).stream().map(e -> e[0]).toList());
+        assertThat(snapshot.gainers()).extracting(LeaderboardEntry::getChange)
+                .containsExactlyElementsOf(expected.subList(0, 10).stream().map(e -> e[1]).toList());
+
+        expected.sort(Comparator.<long[]>comparingLong(e -> e[1]).thenComparingLong(e -> e[0]));
+        assertThat(snapshot.losers()).extracting(LeaderboardEntry::getChange)
+                .containsExactlyElementsOf(expected.subList(0, 10).stream().map(e -> e[1]).toList());
+        assertThat(snapshot.losers()).extracting(LeaderboardEntry::getRank).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    void snapshot_isReusedUntilRefreshInterval() {
+        AssetLeaderboard leaderboard = new AssetLeaderboard(5, 1_000);
+        leaderboard.record(TODAY, TODAY, 1L, 1_000L, 1_010L, 1.01);
+        AssetLeaderboard.Snapshot first = leaderboard.snapshot(TODAY, 10_000L);
+
+        leaderboard.record(TODAY, TODAY, 2L, 1_000L, 1_020L, 1.02);
+
+        assertThat(leaderboard.snapshot(TODAY, 10_999L)).isSameAs(first);
+        assertThat(leaderboard.snapshot(TODAY, 11_000L).gainers()).extracting(LeaderboardEntry::getUserId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void dayRollover_dropsPreviousDay_andIgnoresOtherDays() {
+        AssetLeaderboard leaderboard = new AssetLeaderboard(5, 60_000);
+        leaderboard.record(TODAY, TODAY, 1L, 1_000L, 1_010L, 1.01);
+        leaderboard.record(TODAY, TODAY - 1, 2L, 1_000L, 1_040L, 1.04); // 오늘이 아닌 날짜
+        leaderboard.record(TODAY, TODAY, 3L, 1_000L, 1_000L, 1.0);      // 변동 없음
+        assertThat(leaderboard.snapshot(TODAY, 0L).gainers()).extracting(LeaderboardEntry::getUserId).containsExactly(1L);
+
+        assertThat(leaderboard.snapshot(TODAY + 1, 1L).gainers()).isEmpty(); // 주기 전이어도 지난 날짜 스냅샷은 주지 않음
+
+        leaderboard.record(TODAY + 1, TODAY + 1, 4L, 1_000L, 990L, 0.99);
+        leaderboard.record(TODAY + 1, TODAY, 1L, 1_000L, 1_030L, 1.01); // 어제 갱신은 버림
+        AssetLeaderboard.Snapshot next = leaderboard.snapshot(TODAY + 1, 60_001L);
+        assertThat(next.gainers()).isEmpty();
+        assertThat(next.losers()).extracting(LeaderboardEntry::getUserId).containsExactly(4L);
+    }
+}
@@ -0,0 +1,261 @@
+package com.dontgoback.msa.extension.domain.asset.replication;
+
+import com.dontgoback.msa.extension.domain.asset.AssetProperties;
+import com.dontgoback.msa.extension.domain.asset.AssetService;
+import com.dontgoback.msa.extension.domain.asset.AssetServiceFixture;
+import com.dontgoback.msa.extension.domain.asset.ThreadLocalNormalGenerator;
+import com.dontgoback.msa.extension.domain.asset.store.DailyMultiplierStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * localhost에 인스턴스 세 개(AssetService + MultiplierReplicator + HTTP 서버)를 띄워 실제 HTTP로 복제한다.
+ * 인증 필터 대신 HTTP 서버가 Bearer 토큰만 확인한다. 복제 주기는 길게 두고 replicate()를 직접 호출한다.
+ */
+class MultiplierReplicatorTest {
+
+    static final String TOKEN = "test-token";
+    static final Clock CLOCK = Clock.system(ZoneId.of("Asia/Seoul"));
+
+    final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Node node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    void instances_convergeToSameMultipliers() throws Exception {
+        List<Node> cluster = startCluster(3);
+        Node a = cluster.get(0), b = cluster.get(1), c = cluster.get(2);
+
+        for (long userId = 1; userId <= 100; userId++) a.update(userId);
+        for (long userId = 51; userId <= 150; userId++) b.update(userId); // 51~100은 a와 다른 값으로 충돌
+
+        for (Node node : cluster) node.replicator.replicate();
+
+        long today = LocalDate.now(CLOCK).toEpochDay();
+        for (long userId = 1; userId <= 150; userId++) {
+            long key = DailyMultiplierStore.packKey(userId, today);
+            double expected = a.stored(key);
+            assertThat(expected).as("user %d", userId).isNotNaN();
+            assertThat(b.stored(key)).as("user %d", userId).isEqualTo(expected);
+            assertThat(c.stored(key)).as("user %d", userId).isEqualTo(expected);
+        }
+        // 갱신 응답도 이후에는 모든 인스턴스에서 같은 배수
+        assertThat(c.update(75L)).isEqualTo(a.update(75L)).isEqualTo(b.update(75L));
+
+        assertThat(a.registry.get("asset.replication.bytes").tag("direction", "sent").counter().count())
+                .isGreaterThanOrEqualTo(2 * (MultiplierReplicationCodec.HEADER_BYTES + 100.0 * MultiplierReplicationCodec.ENTRY_BYTES));
+        assertThat(a.registry.get("asset.replication.lag").tag("peer", b.url()).timer().count()).isEqualTo(1);
+        assertThat(c.registry.get("asset.replication.merged").tag("result", "inserted").counter().count()).isEqualTo(150);
+    }
+
+    @Test
+    void losingSender_adoptsWinner_fromResponse() throws Exception {
+        List<Node> cluster = startCluster(2);
+        Node a = cluster.get(0), b = cluster.get(1);
+        for (long userId = 1; userId <= 50; userId++) {
+            a.update(userId);
+            b.update(userId);
+        }
+
+        long today = LocalDate.now(CLOCK).toEpochDay();
+        int bWins = 0;
+        for (long userId = 1; userId <= 50; userId++) {
+            long key = DailyMultiplierStore.packKey(userId, today);
+            if (a.stored(key) != b.stored(key) && DailyMultiplierStore.wins(key, b.stored(key), a.stored(key))) bWins++;
+        }
+
+        a.replicator.replicate(); // b는 아직 보내지 않음: b가 이긴 키는 응답(정정)으로 a에 온다
+
+        for (long userId = 1; userId <= 50; userId++) {
+            long key = DailyMultiplierStore.packKey(userId, today);
+            assertThat(a.stored(key)).as("user %d", userId).isEqualTo(b.stored(key));
+        }
+        assertThat(bWins).isPositive();
+        assertThat(a.registry.get("asset.replication.merged").tag("result", "replaced").counter().count()).isEqualTo(bWins);
+        assertThat(b.registry.get("asset.replication.entries").tag("direction", "sent").counter().count()).isEqualTo(bWins);
+    }
+
+    @Test
+    void unreachablePeer_keepsEntriesForNextRound() throws Exception {
+        List<Node> cluster = startCluster(2);
+        Node a = cluster.get(0), b = cluster.get(1);
+        b.server.stop(0);
+
+        for (long userId = 1; userId <= 10; userId++) a.update(userId);
+        a.replicator.replicate();
+
+        assertThat(a.registry.get("asset.replication.push").tag("peer", b.url()).tag("outcome", "error").counter().count())
+                .isEqualTo(1);
+        assertThat(a.registry.get("asset.replication.pending").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void rejectsBodyThatIsNotReplication() throws Exception {
+        Node node = startCluster(1).get(0);
+
+        assertThatThrownBy(() -> node.replicator.receive(new byte[]{1, 2, 3}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsWholeBatch_whenAnyEntryIsOutOfRange() throws Exception {
+        Node node = startCluster(1).get(0);
+        long today = LocalDate.now(CLOCK).toEpochDay();
+        long valid = DailyMultiplierStore.packKey(1L, today);
+
+        long[][] badKeys = {
+                {DailyMultiplierStore.packKey(2L, today + 2)}, // 모레
+                {DailyMultiplierStore.packKey(2L, today - 2)}, // 보관 기간(1일) 이전
+                {-1L},
+                {DailyMultiplierStore.packKey(2L, today)},
+                {DailyMultiplierStore.packKey(2L, today)},
+                {DailyMultiplierStore.packKey(2L, today)},
+        };
+        double[] badValues = {1.01, 1.01, 1.01, Double.NaN, Double.POSITIVE_INFINITY, 1.06}; // 클램프 ±5%
+        for (int i = 0; i < badValues.length; i++) {
+            MultiplierReplicationCodec.Entries entries = new MultiplierReplicationCodec.Entries(2);
+            entries.add(valid, 1.01);
+            entries.add(badKeys[i][0], badValues[i]);
+            byte[] body = MultiplierReplicationCodec.encode(42L, CLOCK.millis(), entries);
+
+            assertThatThrownBy(() -> node.replicator.receive(body)).as("case %d", i)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(node.stored(valid)).isNaN(); // 앞의 정상 엔트리도 합치지 않는다
+        assertThat(node.registry.get("asset.replication.dropped").tag("reason", "invalid").counter().count())
+                .isEqualTo(2.0 * badValues.length);
+
+        MultiplierReplicationCodec.Entries edges = new MultiplierReplicationCodec.Entries(3);
+        edges.add(DailyMultiplierStore.packKey(3L, today - 1), 0.95);
+        edges.add(DailyMultiplierStore.packKey(3L, today + 1), 1.05);
+        edges.add(valid, 1.01);
+        node.replicator.receive(MultiplierReplicationCodec.encode(42L, CLOCK.millis(), edges));
+        assertThat(node.stored(valid)).isEqualTo(1.01);
+    }
+
+    @Test
+    void batchRejectedByPeer_isDropped_notRetried() throws Exception {
+        Node a = new Node();
+        Node b = new Node();
+        nodes.add(a);
+        nodes.add(b);
+        a.start(List.of(b.url()), props -> { });
+        b.start(List.of(a.url()), props -> { // 설정이 다른 피어: a의 배수가 모두 범위 밖
+            props.getClamp().setMinPercent(0.0);
+            props.getClamp().setMaxPercent(0.0);
+        });
+
+        for (long userId = 1; userId <= 10; userId++) a.update(userId);
+        a.replicator.replicate();
+
+        assertThat(a.registry.get("asset.replication.push").tag("peer", b.url()).tag("outcome", "rejected").counter().count())
+                .isEqualTo(1);
+        assertThat(a.registry.get("asset.replication.dropped").tag("reason", "rejected").counter().count()).isEqualTo(10);
+        assertThat(a.registry.get("asset.replication.pending").gauge().value()).isZero();
+        assertThat(b.stored(DailyMultiplierStore.packKey(1L, LocalDate.now(CLOCK).toEpochDay()))).isNaN();
+    }
+
+    private List<Node> startCluster(int size) throws IOException {
+        List<Node> cluster = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            cluster.add(new Node());
+        }
+        for (Node node : cluster) {
+            List<String> peers = new ArrayList<>();
+            for (Node other : cluster) {
+                if (other != node) peers.add(other.url());
+            }
+            node.start(peers, props -> { });
+            nodes.add(node);
+        }
+        return cluster;
+    }
+
+    /** 인스턴스 하나: 복제 API만 처리하는 HTTP 서버 + AssetService + MultiplierReplicator */
+    static final class Node {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final HttpServer server;
+        AssetService assetService;
+        MultiplierReplicator replicator;
+
+        Node() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext(HttpMultiplierPeerClient.PATH, this::handle);
+        }
+
+        void start(List<String> peers, Consumer<AssetProperties> customizer) {
+            AssetProperties props = new AssetProperties();
+            props.getCaffeine().setMaxSize(10_000);
+            props.getReplication().setEnabled(true);
+            props.getReplication().setPeers(peers);
+            props.getReplication().setBatchInterval(Duration.ofHours(1));
+            customizer.accept(props);
+
+            assetService = AssetServiceFixture.start(props, new ThreadLocalNormalGenerator(), CLOCK, registry);
+            replicator = new MultiplierReplicator(assetService, props,
+                    new HttpMultiplierPeerClient(Duration.ofSeconds(3), () -> TOKEN, () -> { }), CLOCK, registry);
+            replicator.init();
+            server.start();
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        double update(long userId) {
+            return assetService.updateAsset(userId, 1_000L, null).getMultiplier();
+        }
+
+        double stored(long packedKey) {
+            return assetService.storedMultiplier(packedKey);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (exchange) {
+                if (!("Bearer " + TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                    exchange.sendResponseHeaders(401, -1);
+                    return;
+                }
+                byte[] response;
+                try {
+                    response = replicator.receive(exchange.getRequestBody().readAllBytes());
+                } catch (IllegalArgumentException e) { // 컨트롤러와 같이 400
+                    exchange.sendResponseHeaders(400, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", HttpMultiplierPeerClient.OCTET_STREAM);
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        }
+
+        void close() {
+            server.stop(0);
+            if (replicator != null) replicator.shutdown();
+            if (assetService != null) AssetServiceFixture.stop(assetService);
+        }
+    }
+}
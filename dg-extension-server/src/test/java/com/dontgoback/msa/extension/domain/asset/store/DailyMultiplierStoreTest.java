@@ -0,0 +1,315 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DailyMultiplierStoreTest {
+
+    long DAY = 20_309L; // 2025-08-09
+
+    @Test
+    void sameUser_sameDay_returnsStoredValue_andCountsStats() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+        AtomicInteger calls = new AtomicInteger();
+
+        double first = store.getOrCompute(10L, DAY, () -> 1.01 + calls.getAndIncrement());
+        double second = store.getOrCompute(10L, DAY, () -> 1.01 + calls.getAndIncrement());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(calls.get()).isEqualTo(1);
+
+        MultiplierStoreStats stats = store.stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void differentDay_isDifferentEntry() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+
+        double d1 = store.getOrCompute(7L, DAY, () -> 0.99);
+        double d2 = store.getOrCompute(7L, DAY + 1, () -> 1.02);
+
+        assertThat(d1).isEqualTo(0.99);
+        assertThat(d2).isEqualTo(1.02);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void keysOutsidePackableRange_areRejected() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+        long maxUserId = (1L << DailyMultiplierStore.USER_ID_BITS) - 1;
+
+        assertThat(store.getOrCompute(maxUserId, 0L, () -> 1.01)).isEqualTo(1.01); // 경계: 가장 큰 userId, 1970-01-01
+        for (long[] key : new long[][]{{-1L, DAY}, {maxUserId + 1, DAY}, {1L, -1L}, {1L, 1L << DailyMultiplierStore.DAY_BITS}}) {
+            assertThatThrownBy(() -> store.getOrCompute(key[0], key[1], () -> 1.0))
+                    .as("userId=%d day=%d", key[0], key[1])
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> store.get(key[0], key[1])).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void recordStatsDisabled_reportsEmptyStats() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, false);
+        store.getOrCompute(1L, DAY, () -> 1.0);
+        store.getOrCompute(1L, DAY, () -> 1.0);
+
+        MultiplierStoreStats stats = store.stats();
+        assertThat(stats.hitCount()).isZero();
+        assertThat(stats.missCount()).isZero();
+    }
+
+    @Test
+    void sizeStaysBounded_byMaxSize() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1_600, true);
+
+        for (long userId = 0; userId < 10_000; userId++) {
+            store.getOrCompute(userId, DAY, () -> 1.0);
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(1_600);
+        assertThat(store.stats().evictionCount()).isEqualTo(10_000 - store.size());
+    }
+
+    @Test
+    void expireBefore_dropsOlderDaysOnly() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+        store.getOrCompute(1L, DAY - 1, () -> 0.98);
+        store.getOrCompute(1L, DAY, () -> 1.03);
+        store.getOrCompute(2L, DAY, () -> 1.04);
+
+        store.expireBefore(DAY);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.getOrCompute(1L, DAY, () -> -1.0)).isEqualTo(1.03);
+        assertThat(store.getOrCompute(2L, DAY, () -> -1.0)).isEqualTo(1.04);
+        assertThat(store.getOrCompute(1L, DAY - 1, () -> 0.5)).isEqualTo(0.5);
+    }
+
+    @Test
+    void rollover_dropsWholeDayTables_andCountsEvictions() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+        for (long userId = 0; userId < 100; userId++) {
+            store.getOrCompute(userId, DAY - 1, () -> 0.99);
+            store.getOrCompute(userId, DAY, () -> 1.01);
+        }
+        assertThat(store.days()).containsExactly(DAY - 1, DAY);
+
+        store.expireBefore(DAY);
+
+        assertThat(store.days()).containsExactly(DAY);
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(store.stats().evictionCount()).isEqualTo(100);
+    }
+
+    @Test
+    void retiredDays_stayReadable_andLateEntriesAreNotReleased() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+        store.getOrCompute(1L, DAY - 1, () -> 0.98);
+        store.getOrCompute(2L, DAY - 1, () -> 0.97);
+        store.getOrCompute(1L, DAY, () -> 1.03);
+
+        DailyMultiplierStore.Retired retired = store.retireBefore(DAY);
+
+        // 기록하는 동안: 떼어 낸 값은 그대로 조회되고, 새 엔트리는 떼어 낸 테이블이 아닌 overflow로 간다
+        assertThat(store.getOrCompute(1L, DAY - 1, () -> -1.0)).isEqualTo(0.98);
+        assertThat(store.get(2L, DAY - 1)).isEqualTo(0.97);
+        assertThat(store.getOrCompute(3L, DAY - 1, () -> 0.96)).isEqualTo(0.96);
+
+        AtomicInteger copied = new AtomicInteger();
+        retired.forEach((key, value) -> copied.incrementAndGet());
+        assertThat(copied.get()).isEqualTo(2);
+
+        store.release(retired);
+
+        assertThat(store.get(1L, DAY - 1)).isNaN();
+        assertThat(store.get(3L, DAY - 1)).isEqualTo(0.96); // 복사 뒤에 들어온 엔트리는 다음 정리 때까지 남는다
+        assertThat(store.stats().evictionCount()).isEqualTo(2);
+        assertThatThrownBy(() -> store.release(retired)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void daysOutsideWindow_useOverflow_untilWindowReachesThem() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+        store.expireBefore(DAY);
+
+        store.getOrCompute(1L, DAY - 5, () -> 0.96); // 보관 기간이 지난 소급 요청
+        store.getOrCompute(1L, DAY + 30, () -> 1.04); // 먼 미래
+        assertThat(store.days()).isEmpty();
+        assertThat(store.getOrCompute(1L, DAY + 30, () -> -1.0)).isEqualTo(1.04);
+
+        store.expireBefore(DAY + 25); // DAY+30이 날짜 테이블 범위 안으로 들어옴
+
+        assertThat(store.days()).containsExactly(DAY + 30);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.getOrCompute(1L, DAY + 30, () -> -1.0)).isEqualTo(1.04);
+    }
+
+    @Test
+    void concurrentCallers_generateOncePerKey() throws Exception {
+        DailyMultiplierStore store = new DailyMultiplierStore(100_000, true);
+        AtomicInteger generated = new AtomicInteger();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (long userId = 0; userId < 5_000; userId++) {
+                    store.getOrCompute(userId, DAY, () -> {
+                        generated.incrementAndGet();
+                        return 1.0;
+                    });
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(generated.get()).isEqualTo(5_000);
+        assertThat(store.size()).isEqualTo(5_000);
+    }
+
+    @Test
+    void outOfRangeKey_shouldThrow() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, true);
+
+        assertThatThrownBy(() -> store.getOrCompute(-1L, DAY, () -> 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.getOrCompute(1L, -1L, () -> 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void merge_convergesToSameValue_regardlessOfOrder() {
+        long key = DailyMultiplierStore.packKey(42L, DAY);
+        double a = 1.013;
+        double b = 0.987;
+        double winner = DailyMultiplierStore.wins(key, a, b) ? a : b;
+        assertThat(DailyMultiplierStore.wins(key, b, a)).isEqualTo(winner == b);
+
+        DailyMultiplierStore first = new DailyMultiplierStore(1000, false);
+        DailyMultiplierStore second = new DailyMultiplierStore(1000, false);
+        assertThat(first.merge(key, a)).isEqualTo(DailyMultiplierStore.MergeResult.INSERTED);
+        first.merge(key, b);
+        second.merge(key, b);
+        second.merge(key, a);
+
+        assertThat(first.get(42L, DAY)).isEqualTo(winner);
+        assertThat(second.get(42L, DAY)).isEqualTo(winner);
+        assertThat(first.merge(key, winner)).isEqualTo(DailyMultiplierStore.MergeResult.SAME);
+        assertThat(first.merge(key, winner == a ? b : a)).isEqualTo(DailyMultiplierStore.MergeResult.KEPT);
+    }
+
+    @Test
+    void merge_doesNotNotifyInsertListener() {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, false);
+        AtomicInteger notified = new AtomicInteger();
+        store.setInsertListener((key, value) -> notified.incrementAndGet());
+
+        store.merge(DailyMultiplierStore.packKey(1L, DAY), 1.01);
+        store.getOrCompute(2L, DAY, () -> 1.02);
+
+        assertThat(notified.get()).isEqualTo(1);
+    }
+
+    @Test
+    void merge_replacesSpilledEntry_whenIncomingWins() throws Exception {
+        try (OffHeapMultiplierTier spill = new OffHeapMultiplierTier(1000, null)) {
+            DailyMultiplierStore store = new DailyMultiplierStore(16, false, spill); // 스트라이프당 1개
+            for (long userId = 0; userId < 200; userId++) {
+                store.getOrCompute(userId, DAY, () -> 1.0);
+            }
+            long spilledUser = -1;
+            for (long userId = 0; userId < 200 && spilledUser < 0; userId++) {
+                if (spill.contains(DailyMultiplierStore.packKey(userId, DAY))) spilledUser = userId;
+            }
+            assertThat(spilledUser).isNotNegative();
+
+            long key = DailyMultiplierStore.packKey(spilledUser, DAY);
+            double incoming = 1.0;
+            for (double candidate = 1.001; incoming == 1.0; candidate += 0.001) {
+                if (DailyMultiplierStore.wins(key, candidate, 1.0)) incoming = candidate;
+            }
+
+            assertThat(store.merge(key, incoming)).isEqualTo(DailyMultiplierStore.MergeResult.REPLACED);
+            assertThat(spill.contains(key)).isFalse();
+            assertThat(store.get(spilledUser, DAY)).isEqualTo(incoming);
+        }
+    }
+
+    @Test
+    void forEach_blockedConsumer_doesNotBlockInserts() throws Exception {
+        DailyMultiplierStore store = new DailyMultiplierStore(1000, false);
+        for (long userId = 0; userId < 100; userId++) {
+            store.getOrCompute(userId, DAY, () -> 1.0);
+        }
+
+        assertInsertsWhileForEachBlocked(store, key -> true);
+    }
+
+    @Test
+    void forEach_blockedConsumerOnSpill_doesNotBlockInserts() throws Exception {
+        try (OffHeapMultiplierTier spill = new OffHeapMultiplierTier(1000, null)) {
+            DailyMultiplierStore store = new DailyMultiplierStore(16, false, spill); // 삽입마다 spill로 밀려남
+            for (long userId = 0; userId < 100; userId++) {
+                store.getOrCompute(userId, DAY, () -> 1.0);
+            }
+
+            assertInsertsWhileForEachBlocked(store, spill::contains);
+        }
+    }
+
+    /** 스냅샷 쓰기가 디스크에서 멈춘 상황: blockAt을 만족하는 엔트리에서 consumer를 세워 두고 모든 스트라이프에 삽입한다 */
+    private void assertInsertsWhileForEachBlocked(DailyMultiplierStore store, LongPredicate blockAt) throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> snapshot = pool.submit(() -> store.forEach(DAY, (key, value) -> {
+                if (blocked.getCount() > 0 && blockAt.test(key)) {
+                    blocked.countDown();
+                    awaitQuietly(resume);
+                }
+            }));
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> inserts = pool.submit(() -> {
+                for (long userId = 100; userId < 1_100; userId++) {
+                    store.getOrCompute(userId, DAY, () -> 1.01);
+                }
+            });
+            inserts.get(5, TimeUnit.SECONDS);
+
+            resume.countDown();
+            snapshot.get(5, TimeUnit.SECONDS);
+        } finally {
+            resume.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
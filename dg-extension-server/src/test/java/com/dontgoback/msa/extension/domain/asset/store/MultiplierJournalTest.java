@@ -0,0 +1,116 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MultiplierJournalTest {
+
+    long DAY = 20_309L; // 2025-08-09
+    Duration LONG = Duration.ofHours(1); // 테스트 중 주기 작업이 끼어들지 않도록
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restart_restoresSameMultipliers_fromLog() throws Exception {
+        DailyMultiplierStore before = new DailyMultiplierStore(1000, true);
+        MultiplierJournal journal = open(before);
+        before.getOrCompute(1L, DAY, () -> 1.01);
+        before.getOrCompute(2L, DAY, () -> 0.97);
+        journal.close();
+
+        DailyMultiplierStore after = new DailyMultiplierStore(1000, true);
+        MultiplierJournal reopened = open(after);
+
+        assertThat(reopened.stats().restoredEntries()).isEqualTo(2);
+        assertThat(after.getOrCompute(1L, DAY, () -> -1.0)).isEqualTo(1.01);
+        assertThat(after.getOrCompute(2L, DAY, () -> -1.0)).isEqualTo(0.97);
+        reopened.close();
+    }
+
+    @Test
+    void compaction_writesSnapshot_andDropsOldSegments() throws Exception {
+        DailyMultiplierStore before = new DailyMultiplierStore(1000, true);
+        MultiplierJournal journal = open(before);
+        before.getOrCompute(1L, DAY - 3, () -> 0.95);
+        before.getOrCompute(1L, DAY, () -> 1.02);
+        journal.compact(DAY - 1);
+        before.getOrCompute(2L, DAY, () -> 1.03); // 압축 이후 새 세그먼트에 기록
+        journal.close();
+
+        assertThat(Files.exists(dir.resolve(MultiplierJournal.SNAPSHOT_FILE))).isTrue();
+        try (var files = Files.list(dir)) {
+            assertThat(files.filter(f -> f.toString().endsWith(".log"))).hasSize(1);
+        }
+
+        DailyMultiplierStore after = new DailyMultiplierStore(1000, true);
+        MultiplierJournal reopened = open(after);
+
+        assertThat(reopened.stats().restoredEntries()).isEqualTo(2); // 보관 기간이 지난 DAY-3은 제외
+        assertThat(after.getOrCompute(1L, DAY, () -> -1.0)).isEqualTo(1.02);
+        assertThat(after.getOrCompute(2L, DAY, () -> -1.0)).isEqualTo(1.03);
+        reopened.close();
+    }
+
+    @Test
+    void tornTail_isIgnored() throws Exception {
+        DailyMultiplierStore before = new DailyMultiplierStore(1000, true);
+        MultiplierJournal journal = open(before);
+        before.getOrCompute(1L, DAY, () -> 1.01);
+        journal.close();
+
+        // 쓰는 도중 죽은 것처럼 마지막 레코드를 반쯤 잘라 붙인다
+        Path segment;
+        try (var files = Files.list(dir)) {
+            segment = files.filter(f -> f.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[MultiplierJournal.RECORD_BYTES / 2]));
+        }
+
+        DailyMultiplierStore after = new DailyMultiplierStore(1000, true);
+        MultiplierJournal reopened = open(after);
+
+        assertThat(after.size()).isEqualTo(1);
+        assertThat(after.getOrCompute(1L, DAY, () -> -1.0)).isEqualTo(1.01);
+        reopened.close();
+    }
+
+    @Test
+    void fullRing_dropsWithoutBlocking_andSnapshotCoversDropped() throws Exception {
+        DailyMultiplierStore before = new DailyMultiplierStore(1000, true);
+        MultiplierJournal journal = open(before); // 256B = 16레코드
+        for (long userId = 1; userId <= 40; userId++) {
+            double value = 1.0 + userId / 1000.0;
+            before.getOrCompute(userId, DAY, () -> value);
+        }
+        assertThat(journal.stats().droppedRecords()).isEqualTo(24);
+        assertThat(journal.stats().appendedRecords()).isZero(); // 요청 스레드는 파일에 쓰지 않는다
+
+        journal.close(); // 버린 레코드가 있으므로 스냅샷까지 남긴다
+        assertThat(Files.exists(dir.resolve(MultiplierJournal.SNAPSHOT_FILE))).isTrue();
+
+        DailyMultiplierStore after = new DailyMultiplierStore(1000, true);
+        MultiplierJournal reopened = open(after);
+        assertThat(after.size()).isEqualTo(40);
+        assertThat(after.getOrCompute(40L, DAY, () -> -1.0)).isEqualTo(1.04);
+        reopened.close();
+    }
+
+    private MultiplierJournal open(DailyMultiplierStore store) throws IOException {
+        MultiplierJournal journal = new MultiplierJournal(dir, store, 256);
+        journal.open(LONG, LONG, () -> DAY - 1);
+        store.setInsertListener(journal);
+        return journal;
+    }
+}
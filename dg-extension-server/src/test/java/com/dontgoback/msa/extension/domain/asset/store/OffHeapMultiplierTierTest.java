@@ -0,0 +1,101 @@
+package com.dontgoback.msa.extension.domain.asset.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OffHeapMultiplierTierTest {
+
+    long DAY = 20_309L; // 2025-08-09
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void evictedEntries_spillOffHeap_andKeepSameDayMultiplier() throws Exception {
+        OffHeapMultiplierTier tier = new OffHeapMultiplierTier(100_000, null);
+        DailyMultiplierStore store = new DailyMultiplierStore(1_000, true, tier);
+        AtomicInteger notified = new AtomicInteger();
+        store.setInsertListener((key, value) -> notified.incrementAndGet());
+
+        Map<Long, Double> first = new HashMap<>();
+        for (long userId = 0; userId < 20_000; userId++) {
+            double value = 1.0 + userId * 1e-6;
+            first.put(userId, store.getOrCompute(userId, DAY, () -> value));
+        }
+        assertThat(tier.size()).isGreaterThan(15_000); // 힙은 maxSize 근처로 유지
+
+        AtomicInteger regenerated = new AtomicInteger();
+        for (long userId = 0; userId < 20_000; userId++) {
+            double again = store.getOrCompute(userId, DAY, () -> {
+                regenerated.incrementAndGet();
+                return -1.0;
+            });
+            assertThat(again).isEqualTo(first.get(userId));
+        }
+
+        assertThat(regenerated.get()).isZero();
+        assertThat(tier.promotionCount()).isGreaterThan(0);
+        assertThat(notified.get()).isEqualTo(20_000); // 다시 올라온 엔트리는 로그/복제에 다시 알리지 않는다
+        assertThat(store.stats().evictionCount()).isZero();
+        assertThat(store.size()).isEqualTo(20_000);
+    }
+
+    @Test
+    void fullTier_rejects_andCountsEviction() throws Exception {
+        OffHeapMultiplierTier tier = new OffHeapMultiplierTier(16, null); // 스트라이프당 1개
+        DailyMultiplierStore store = new DailyMultiplierStore(16, true, tier);
+
+        for (long userId = 0; userId < 1_000; userId++) {
+            store.getOrCompute(userId, DAY, () -> 1.0);
+        }
+
+        assertThat(tier.rejectedCount()).isGreaterThan(0);
+        assertThat(store.stats().evictionCount()).isEqualTo(tier.rejectedCount());
+    }
+
+    @Test
+    void rollover_expiresSpilledEntries_andForEachIncludesThem() throws Exception {
+        OffHeapMultiplierTier tier = new OffHeapMultiplierTier(100_000, dir);
+        DailyMultiplierStore store = new DailyMultiplierStore(100, true, tier);
+        for (long userId = 0; userId < 2_000; userId++) {
+            store.getOrCompute(userId, DAY - 1, () -> 0.99);
+            store.getOrCompute(userId, DAY, () -> 1.01);
+        }
+
+        AtomicInteger today = new AtomicInteger();
+        store.forEach(DAY, (key, value) -> today.incrementAndGet());
+        assertThat(today.get()).isEqualTo(2_000);
+        assertThat(store.userIds(DAY)).hasSize(2_000);
+
+        store.expireBefore(DAY);
+
+        assertThat(store.size()).isEqualTo(2_000);
+        tier.forEach(0, (key, value) -> assertThat(DailyMultiplierStore.dayOf(key)).isEqualTo(DAY));
+        try (var files = Files.list(dir)) {
+            assertThat(files.count()).isPositive(); // mmap 파일 사용
+        }
+        tier.close();
+        try (var files = Files.list(dir)) {
+            assertThat(files.count()).isZero();
+        }
+    }
+
+    @Test
+    void restore_skipsKeysAlreadySpilled() throws Exception {
+        OffHeapMultiplierTier tier = new OffHeapMultiplierTier(1_000, null);
+        DailyMultiplierStore store = new DailyMultiplierStore(1_000, true, tier);
+        long key = DailyMultiplierStore.packKey(5L, DAY);
+        tier.spill(key, 1.02);
+
+        assertThat(store.restore(key, 0.98)).isFalse();
+        assertThat(store.getOrCompute(5L, DAY, () -> -1.0)).isEqualTo(1.02);
+    }
+}
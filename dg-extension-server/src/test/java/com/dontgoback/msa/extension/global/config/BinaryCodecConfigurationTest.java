@@ -0,0 +1,175 @@
+package com.dontgoback.msa.extension.global.config;
+
+import com.dontgoback.msa.extension.domain.asset.ApiV1AssetController;
+import com.dontgoback.msa.extension.domain.asset.ApiV1AssetHandler;
+import com.dontgoback.msa.extension.domain.asset.ApiV1AssetRouter;
+import com.dontgoback.msa.extension.domain.asset.AssetHistoryService;
+import com.dontgoback.msa.extension.domain.asset.AssetService;
+import com.dontgoback.msa.extension.domain.asset.BulkAssetUpdater;
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetRequest;
+import com.dontgoback.msa.extension.domain.asset.dto.UpdateAssetResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 자산 API가 Content-Type/Accept에 따라 JSON, CBOR, Smile을 주고받는지 확인한다. (servlet, reactive 각각)
+ */
+class BinaryCodecConfigurationTest {
+
+    AssetService assetService;
+    ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    ObjectMapper cbor = BinaryCodecConfiguration.cborMapper(Jackson2ObjectMapperBuilder.json());
+    ObjectMapper smile = BinaryCodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json());
+
+    @BeforeEach
+    void setUp() {
+        assetService = mock(AssetService.class);
+        when(assetService.updateAsset(eq(7L), any(UpdateAssetRequest.class)))
+                .thenReturn(new UpdateAssetResponse(7L, 10_000L, 1.01, 10_100L, "2025-08-09"));
+    }
+
+    @Test
+    void servlet_cborRequest_getsCborResponse() throws Exception {
+        MvcResult result = servlet().perform(post("/msa/ext/api/update-asset/7")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(Map.of("asset", 10_000L))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode body = cbor.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("resultCode").asText()).isEqualTo("S");
+        assertThat(body.get("data").get("updatedAsset").asLong()).isEqualTo(10_100L);
+    }
+
+    @Test
+    void servlet_withoutAccept_defaultsToJson() throws Exception {
+        servlet().perform(post("/msa/ext/api/update-asset/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"asset\":10000}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.updatedAsset").value(10_100));
+    }
+
+    @Test
+    void servlet_smileRequest_canAskForJson() throws Exception {
+        servlet().perform(post("/msa/ext/api/update-asset/7")
+                        .contentType(BinaryCodecConfiguration.APPLICATION_SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(smile.writeValueAsBytes(Map.of("asset", 10_000L))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.resultCode").value("S"));
+    }
+
+    @Test
+    void reactive_cborRequest_getsCborResponse() throws Exception {
+        byte[] response = reactive().post().uri("/msa/ext/api/update-asset/7")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(cbor.writeValueAsBytes(Map.of("asset", 10_000L)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        JsonNode body = cbor.readTree(response);
+        assertThat(body.get("resultCode").asText()).isEqualTo("S");
+        assertThat(body.get("data").get("updatedAsset").asLong()).isEqualTo(10_100L);
+    }
+
+    @Test
+    void reactive_smileRequest_getsSmileResponse_andJsonStaysDefault() throws Exception {
+        byte[] response = reactive().post().uri("/msa/ext/api/update-asset/7")
+                .contentType(BinaryCodecConfiguration.APPLICATION_SMILE)
+                .accept(BinaryCodecConfiguration.APPLICATION_SMILE)
+                .bodyValue(smile.writeValueAsBytes(Map.of("asset", 10_000L)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(BinaryCodecConfiguration.APPLICATION_SMILE)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+        assertThat(smile.readTree(response).get("data").get("updatedAsset").asLong()).isEqualTo(10_100L);
+
+        // 바이너리 코덱을 등록해도 JSON 요청/응답은 기본 Jackson JSON 코덱이 처리한다
+        reactive().post().uri("/msa/ext/api/update-asset/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"asset\":10000}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.data.updatedAsset").isEqualTo(10_100);
+    }
+
+    @Test
+    void reactive_unsupportedContentType_isRejected() {
+        reactive().post().uri("/msa/ext/api/update-asset/7")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("asset=10000")
+                .exchange()
+                .expectStatus().isEqualTo(415)
+                .expectBody()
+                .jsonPath("$.resultCode").isEqualTo("F");
+    }
+
+    @Test
+    void negotiate_prefersQualityThenConcreteType_andFallsBackToJson() {
+        assertThat(negotiate("application/cbor")).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(negotiate("*/*, application/x-jackson-smile")).isEqualTo(BinaryCodecConfiguration.APPLICATION_SMILE);
+        assertThat(negotiate("application/cbor;q=0.5, application/json")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(negotiate("application/cbor;q=0, */*;q=0.1")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(negotiate("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(negotiate("text/html")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(BinaryCodecConfiguration.negotiate(List.of())).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    private MockMvc servlet() {
+        BinaryCodecConfiguration.Servlet config = new BinaryCodecConfiguration.Servlet();
+        return MockMvcBuilders
+                .standaloneSetup(new ApiV1AssetController(assetService, mock(AssetHistoryService.class), mock(BulkAssetUpdater.class)))
+                .setMessageConverters(
+                        new MappingJackson2HttpMessageConverter(json),
+                        config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                        config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()))
+                .build();
+    }
+
+    private WebTestClient reactive() {
+        ApiV1AssetHandler handler = new ApiV1AssetHandler(assetService, mock(AssetHistoryService.class),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        var customizer = new BinaryCodecConfiguration.Reactive().binaryCodecCustomizer(Jackson2ObjectMapperBuilder.json());
+        return WebTestClient.bindToRouterFunction(new ApiV1AssetRouter().assetRoutes(handler))
+                .handlerStrategies(HandlerStrategies.builder().codecs(customizer::customize).build())
+                .build();
+    }
+
+    private static MediaType negotiate(String accept) {
+        return BinaryCodecConfiguration.negotiate(MediaType.parseMediaTypes(accept));
+    }
+}
@@ -0,0 +1,87 @@
+package com.dontgoback.msa.extension.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * 부하 테스트 한 번의 결과. 실행마다 JSON 파일 하나를 남기고, history.csv에 한 줄을 덧붙여 실행 간 비교한다.
+ * 서버 측 값(storeHitRatio, storeEvictions)은 측정 구간 동안의 증가분이다.
+ */
+record LoadTestResult(
+        String startedAt,
+        String label,
+        String stack,
+        boolean virtualThreads,
+        int serverMaxThreads,
+        long storeMaxSize,
+        int concurrency,
+        long users,
+        int days,
+        double durationSeconds,
+        long requests,
+        long errors,
+        double throughput,
+        double p50Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        double storeHitRatio,
+        long storeEvictions,
+        long storeSize,
+        long heapUsedMb
+) {
+    static final String HISTORY_FILE = "history.csv";
+    private static final String HISTORY_HEADER = "startedAt,label,stack,virtualThreads,serverMaxThreads,storeMaxSize,"
+            + "concurrency,users,days,durationSeconds,requests,errors,throughput,p50Ms,p99Ms,p999Ms,maxMs,"
+            + "storeHitRatio,storeEvictions,storeSize,heapUsedMb";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** @return 저장한 JSON 파일 경로 */
+    Path save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String fileTime = ZonedDateTime.parse(startedAt).format(FILE_TIME);
+        Path json = directory.resolve(fileTime + "-" + safeLabel() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), this);
+
+        Path history = directory.resolve(HISTORY_FILE);
+        if (Files.notExists(history)) {
+            Files.writeString(history, HISTORY_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        Files.writeString(history, toCsvLine() + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        return json;
+    }
+
+    String summary() {
+        return String.format(Locale.ROOT,
+                "[%s] %d req in %.0fs (c=%d, users=%d, days=%d): %.0f req/s, p50 %.2f ms, p99 %.2f ms, p999 %.2f ms, "
+                        + "max %.2f ms, errors %d, store hit %.1f%%, evictions %d",
+                label, requests, durationSeconds, concurrency, users, days, throughput, p50Ms, p99Ms, p999Ms,
+                maxMs, errors, storeHitRatio * 100, storeEvictions);
+    }
+
+    private String toCsvLine() {
+        return String.join(",", startedAt, safeLabel(), stack, String.valueOf(virtualThreads),
+                String.valueOf(serverMaxThreads), String.valueOf(storeMaxSize), String.valueOf(concurrency),
+                String.valueOf(users), String.valueOf(days), fmt(durationSeconds), String.valueOf(requests),
+                String.valueOf(errors), fmt(throughput), fmt(p50Ms), fmt(p99Ms), fmt(p999Ms), fmt(maxMs),
+                fmt(storeHitRatio), String.valueOf(storeEvictions), String.valueOf(storeSize), String.valueOf(heapUsedMb));
+    }
+
+    /** 파일 이름과 CSV에 그대로 쓸 수 있는 label */
+    private String safeLabel() {
+        return label.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String fmt(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
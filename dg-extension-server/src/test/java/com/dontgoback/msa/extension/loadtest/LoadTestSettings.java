@@ -0,0 +1,32 @@
+package com.dontgoback.msa.extension.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 부하 테스트 설정. ./gradlew loadTest -Dloadtest.concurrency=64 ... 처럼 시스템 프로퍼티로 넘긴다.
+ *
+ * @param concurrency  동시에 요청을 보내는 클라이언트 스레드 수 (스레드당 연결 1개, 응답을 받으면 바로 다음 요청)
+ * @param users        userId 범위 [0, users) 에서 균등하게 고른다 (DAU 규모)
+ * @param days         snapshotDay를 오늘부터 days일 전까지 균등하게 고른다 (1이면 오늘만)
+ * @param warmup       통계에서 제외하는 시작 구간 (JIT, 저장소 채우기)
+ * @param duration     측정 구간
+ * @param label        결과 파일/이력에 남길 이름 (예: max-size-300k)
+ * @param resultsDir   결과 저장 디렉터리
+ * @param maxErrorRate 측정 구간 실패 비율이 이보다 크면 테스트 실패
+ */
+record LoadTestSettings(int concurrency, long users, int days, Duration warmup, Duration duration,
+                        String label, Path resultsDir, double maxErrorRate) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.concurrency", 32),
+                Long.getLong("loadtest.users", 100_000L),
+                Integer.getInteger("loadtest.days", 1),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5L)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30L)),
+                System.getProperty("loadtest.label", "default"),
+                Path.of(System.getProperty("loadtest.results-dir", "loadtest-results")),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001")));
+    }
+}
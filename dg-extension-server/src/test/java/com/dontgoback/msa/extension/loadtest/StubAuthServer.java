@@ -0,0 +1,88 @@
+package com.dontgoback.msa.extension.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 테스트용 인증 서버 대역 (네트워크 없이 실행). 실행마다 RSA 키 쌍을 새로 만든다.
+ * - GET  /public-key : 공개키 (Base64 X.509, InterServerKeySetParser의 단일 키 형식)
+ * - POST /jwt        : 서버 간 토큰 발급. InterServerKeyTokenTestProvider.getToken()이 보내는 형식 그대로 받는다.
+ */
+class StubAuthServer implements AutoCloseable {
+
+    static final String ISSUER = "loadtest-auth";
+    private static final Pattern CLIENT_ID = Pattern.compile("\"clientId\"\\s*:\\s*\"([^\"]*)\"");
+
+    private final HttpServer server;
+    private final KeyPair keyPair;
+    private final Duration tokenTtl;
+
+    StubAuthServer(Duration tokenTtl) throws IOException, NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        this.keyPair = generator.generateKeyPair();
+        this.tokenTtl = tokenTtl;
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/public-key", exchange ->
+                respond(exchange, Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded())));
+        server.createContext("/jwt", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher clientId = CLIENT_ID.matcher(body);
+            respond(exchange, mintToken(clientId.find() ? clientId.group(1) : "loadtest-client"));
+        });
+        server.start();
+    }
+
+    String publicKeyApi() {
+        return baseUrl() + "/public-key";
+    }
+
+    String jwtApi() {
+        return baseUrl() + "/jwt";
+    }
+
+    String mintToken(String clientId) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setIssuer(ISSUER)
+                .setSubject(clientId)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + tokenTtl.toMillis()))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.dontgoback.msa.extension.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * update-asset을 닫힌 루프로 호출한다. 스레드마다 응답을 받으면 바로 다음 요청을 보낸다.
+ * 측정 구간의 지연은 스레드별 배열에 모두 모아 정확한 백분위를 계산한다. (수백만 건이어도 수십 MB)
+ * 확장 서버와 같은 JVM에서 돌기 때문에 절대 용량이 아니라 설정 간 비교용이다.
+ */
+class UpdateAssetLoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(3))
+            .build();
+    private final String baseUrl;
+    private final String authorization;
+    private final LocalDate today;
+
+    /**
+     * @param baseUrl http://localhost:{port}
+     * @param token   서버 간 JWT (Bearer)
+     * @param today   기준 타임존의 오늘 (snapshotDay 분포의 기준)
+     */
+    UpdateAssetLoadDriver(String baseUrl, String token, LocalDate today) {
+        this.baseUrl = baseUrl + "/msa/ext/api/update-asset/";
+        this.authorization = "Bearer " + token;
+        this.today = today;
+    }
+
+    /**
+     * warmup 후 duration 동안 측정한다.
+     * @param atMeasureStart 측정 구간 시작 시 호출 (서버 측 지표 스냅샷)
+     */
+    Measurement run(LoadTestSettings settings, Runnable atMeasureStart) throws InterruptedException {
+        long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+        long measureTo = measureFrom + settings.duration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency(), r -> {
+            Thread t = new Thread(r, "loadtest-client");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Samples>> futures = new ArrayList<>();
+            for (int i = 0; i < settings.concurrency(); i++) {
+                futures.add(workers.submit(() -> drive(settings, measureFrom, measureTo)));
+            }
+            Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+            atMeasureStart.run();
+
+            List<Samples> samples = new ArrayList<>();
+            for (Future<Samples> future : futures) {
+                samples.add(future.get());
+            }
+            return Measurement.merge(samples, settings.duration());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("load worker failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Samples drive(LoadTestSettings settings, long measureFrom, long measureTo) throws InterruptedException {
+        Samples samples = new Samples();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long started;
+        while ((started = System.nanoTime()) < measureTo) {
+            HttpRequest request = request(random.nextLong(settings.users()),
+                    settings.days() > 1 ? random.nextInt(settings.days()) : 0);
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                ok = false;
+            }
+            if (started >= measureFrom) samples.record(System.nanoTime() - started, ok);
+        }
+        return samples;
+    }
+
+    private HttpRequest request(long userId, int daysAgo) {
+        long asset = 1_000_000L + userId % 1_000L;
+        String body = daysAgo == 0
+                ? "{\"asset\":" + asset + "}"
+                : "{\"asset\":" + asset + ",\"snapshotDay\":\"" + today.minusDays(daysAgo) + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + userId))
+                .timeout(Duration.ofSeconds(10))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /** 스레드 하나의 측정값 (다른 스레드와 공유하지 않음) */
+    private static final class Samples {
+        long[] latencies = new long[1 << 14];
+        int count;
+        long errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+            if (!ok) errors++;
+        }
+    }
+
+    /**
+     * 측정 구간 전체 결과
+     * @param latencies 정렬된 지연(나노초)
+     */
+    record Measurement(long requests, long errors, Duration elapsed, long[] latencies) {
+
+        static Measurement merge(List<Samples> samples, Duration elapsed) {
+            int total = samples.stream().mapToInt(s -> s.count).sum();
+            long[] merged = new long[total];
+            int offset = 0;
+            long errors = 0;
+            for (Samples s : samples) {
+                System.arraycopy(s.latencies, 0, merged, offset, s.count);
+                offset += s.count;
+                errors += s.errors;
+            }
+            Arrays.sort(merged);
+            return new Measurement(total, errors, elapsed, merged);
+        }
+
+        double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        double errorRate() {
+            return requests == 0 ? 1.0 : (double) errors / requests;
+        }
+
+        /** 최근접 순위(nearest-rank) 백분위, 밀리초 */
+        double percentileMillis(double quantile) {
+            if (latencies.length == 0) return Double.NaN;
+            int rank = (int) Math.ceil(quantile * latencies.length);
+            return latencies[Math.min(latencies.length, Math.max(1, rank)) - 1] / 1e6;
+        }
+    }
+}
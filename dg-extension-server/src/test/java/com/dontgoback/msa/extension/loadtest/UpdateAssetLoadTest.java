@@ -0,0 +1,166 @@
+package com.dontgoback.msa.extension.loadtest;
+
+import com.dontgoback.msa.extension.config.interserverauth.InterServerKeyTokenTestProvider;
+import com.dontgoback.msa.extension.config.interserverauth.key.InterServerPublicKeyManager;
+import com.dontgoback.msa.extension.domain.asset.AssetProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * update-asset 부하 테스트 (네트워크 없이 실행). 기본 test 태스크에서는 제외하고 ./gradlew loadTest 로만 돈다.
+ *
+ * - 인증 서버 대신 StubAuthServer를 띄우고, auth.* 설정을 그쪽으로 돌린다.
+ *   토큰은 통합 테스트와 같은 InterServerKeyTokenTestProvider로 받는다.
+ * - 확장 서버는 실제 설정(dev 프로필)으로 임의 포트에 뜬다. 저널/감사/이력 파일은 임시 디렉터리에 쓴다.
+ * - 서버 설정은 일반 스프링 프로퍼티로 바꾼다.
+ *   예: -Dasset.caffeine.max-size=500000 -Dserver.tomcat.threads.max=400 -Dspring.profiles.active=dev,reactive
+ * - 부하 설정은 LoadTestSettings를, 결과 형식은 LoadTestResult를 참고한다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UpdateAssetLoadTest {
+
+    static StubAuthServer authServer;
+    static Path dataDir;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    InterServerKeyTokenTestProvider tokenProvider;
+
+    @Autowired
+    InterServerPublicKeyManager keyManager;
+
+    @Autowired
+    AssetProperties assetProperties;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    Clock clock;
+
+    @Autowired
+    Environment environment;
+
+    @DynamicPropertySource
+    static void offlineProperties(DynamicPropertyRegistry registry) throws Exception {
+        authServer = new StubAuthServer(Duration.ofHours(1));
+        dataDir = Files.createTempDirectory("loadtest-data");
+
+        registry.add("auth.key.public-key-api", authServer::publicKeyApi);
+        registry.add("auth.jwt.issuer", () -> StubAuthServer.ISSUER);
+        registry.add("auth.jwt.jwt-api", authServer::jwtApi);
+        registry.add("auth.client.id", () -> "loadtest-core-server");
+        registry.add("auth.client.secret", () -> "loadtest");
+        registry.add("asset.journal.directory", () -> dataDir.resolve("multiplier-journal").toString());
+        registry.add("asset.audit.directory", () -> dataDir.resolve("asset-audit").toString());
+        registry.add("asset.history.directory", () -> dataDir.resolve("multiplier-history").toString());
+        // 서버 처리량을 재려는 것이므로 수용 제어는 기본으로 끈다. (-Dadmission.enabled=true 로 켜서 비교)
+        registry.add("admission.enabled", () -> System.getProperty("admission.enabled", "false"));
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (authServer != null) authServer.close();
+        if (dataDir != null) FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Test
+    void updateAsset() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        assertThat(keyManager.awaitReady(Duration.ofSeconds(10))).as("stub public key loaded").isTrue();
+
+        ZonedDateTime startedAt = ZonedDateTime.now(clock);
+        UpdateAssetLoadDriver driver = new UpdateAssetLoadDriver("http://localhost:" + port,
+                tokenProvider.getToken(), startedAt.toLocalDate());
+
+        AtomicReference<StoreCounters> before = new AtomicReference<>();
+        UpdateAssetLoadDriver.Measurement measurement = driver.run(settings, () -> before.set(StoreCounters.read(meterRegistry)));
+        StoreCounters during = StoreCounters.read(meterRegistry).minus(before.get());
+
+        boolean reactive = "reactive".equalsIgnoreCase(environment.getProperty("spring.main.web-application-type"));
+        LoadTestResult result = new LoadTestResult(
+                startedAt.toOffsetDateTime().toString(),
+                settings.label(),
+                reactive ? "reactive" : "servlet",
+                environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false),
+                reactive
+                        ? Integer.getInteger("reactor.netty.ioWorkerCount", Runtime.getRuntime().availableProcessors())
+                        : environment.getProperty("server.tomcat.threads.max", Integer.class, 200),
+                assetProperties.getCaffeine().getMaxSize(),
+                settings.concurrency(),
+                settings.users(),
+                settings.days(),
+                measurement.elapsed().toMillis() / 1000.0,
+                measurement.requests(),
+                measurement.errors(),
+                measurement.throughput(),
+                measurement.percentileMillis(0.50),
+                measurement.percentileMillis(0.99),
+                measurement.percentileMillis(0.999),
+                measurement.percentileMillis(1.0),
+                during.hitRatio(),
+                (long) during.evictions(),
+                (long) gauge("asset.multiplier.store.size"),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20);
+
+        Path saved = result.save(settings.resultsDir());
+        System.out.println(result.summary() + " -> " + saved.toAbsolutePath());
+
+        assertThat(measurement.requests()).isPositive();
+        assertThat(measurement.errorRate()).isLessThanOrEqualTo(settings.maxErrorRate());
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        return gauge == null ? Double.NaN : gauge.value();
+    }
+
+    /** 측정 구간 전후로 읽어 차이를 내는 저장소 카운터 */
+    private record StoreCounters(double hits, double misses, double evictions) {
+
+        static StoreCounters read(MeterRegistry registry) {
+            return new StoreCounters(
+                    count(registry.find("asset.multiplier.store.requests").tag("result", "hit").functionCounter()),
+                    count(registry.find("asset.multiplier.store.requests").tag("result", "miss").functionCounter()),
+                    count(registry.find("asset.multiplier.store.evictions").functionCounter()));
+        }
+
+        StoreCounters minus(StoreCounters earlier) {
+            return new StoreCounters(hits - earlier.hits, misses - earlier.misses, evictions - earlier.evictions);
+        }
+
+        double hitRatio() {
+            double total = hits + misses;
+            return total == 0 ? Double.NaN : hits / total;
+        }
+
+        private static double count(FunctionCounter counter) {
+            return counter == null ? 0 : counter.count();
+        }
+    }
+}